@@ -59,12 +59,17 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Implementation of the A2A AgentExecutor interface that uses ADK to execute agent tasks. */
+/**
+ * Implementation of the A2A AgentExecutor interface that uses ADK to execute agent tasks.
+ *
+ * <p>All tasks are run by one {@link Runner}, built when the executor is created. The state of a
+ * task is kept in its own subscription and event processor, and in the session of its context.
+ */
 public class AgentExecutor implements io.a2a.server.agentexecution.AgentExecutor {
   private static final Logger logger = LoggerFactory.getLogger(AgentExecutor.class);
   private static final String USER_ID_PREFIX = "A2A_USER_";
   private final Map<String, Disposable> activeTasks = new ConcurrentHashMap<>();
-  private final Runner.Builder runnerBuilder;
+  private final Runner runner;
   private final AgentExecutorConfig agentExecutorConfig;
 
   private AgentExecutor(
@@ -79,7 +84,7 @@ public class AgentExecutor implements io.a2a.server.agentexecution.AgentExecutor
     requireNonNull(agentExecutorConfig);
     this.agentExecutorConfig = agentExecutorConfig;
 
-    this.runnerBuilder =
+    Runner.Builder runnerBuilder =
         Runner.builder()
             .agent(agent)
             .appName(appName)
@@ -88,10 +93,9 @@ public class AgentExecutor implements io.a2a.server.agentexecution.AgentExecutor
             .memoryService(memoryService)
             .plugins(plugins);
     if (app != null) {
-      this.runnerBuilder.app(app);
+      runnerBuilder.app(app);
     }
-    // Check that the runner is configured correctly and can be built.
-    var unused = runnerBuilder.build();
+    this.runner = runnerBuilder.build();
   }
 
   /** Builder for {@link AgentExecutor}. */
@@ -197,7 +201,6 @@ public class AgentExecutor implements io.a2a.server.agentexecution.AgentExecutor
             ? agentExecutorConfig.beforeExecuteCallback().call(ctx)
             : Single.just(false);
 
-    Runner runner = runnerBuilder.build();
     taskDisposables.add(
         skipExecution
             .flatMapPublisher(
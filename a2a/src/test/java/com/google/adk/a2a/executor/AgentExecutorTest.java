@@ -342,6 +342,54 @@ public final class AgentExecutorTest {
     assertThat(statusEvents).isEmpty();
   }
 
+  @Test
+  public void execute_multipleTasks_keepPerTaskStateSeparate() {
+    Event agentEvent =
+        Event.builder()
+            .id("event-1")
+            .author("agent")
+            .content(
+                Content.builder()
+                    .role("model")
+                    .parts(ImmutableList.of(Part.builder().text("Hello").build()))
+                    .build())
+            .build();
+    testAgent.setEventsToEmit(Flowable.just(agentEvent));
+    AgentExecutor executor =
+        new AgentExecutor.Builder()
+            .agentExecutorConfig(AgentExecutorConfig.builder().build())
+            .app(App.builder().name("test_app").rootAgent(testAgent).build())
+            .sessionService(new InMemorySessionService())
+            .artifactService(new InMemoryArtifactService())
+            .build();
+
+    RequestContext first = createRequestContext();
+    RequestContext second = createRequestContext();
+    executor.execute(first, eventQueue);
+    executor.execute(second, eventQueue);
+
+    ImmutableList<TaskArtifactUpdateEvent> artifactEvents =
+        enqueuedEvents.stream()
+            .filter(e -> e instanceof TaskArtifactUpdateEvent)
+            .map(e -> (TaskArtifactUpdateEvent) e)
+            .collect(toImmutableList());
+    assertThat(artifactEvents.stream().map(TaskArtifactUpdateEvent::getTaskId))
+        .containsExactly(first.getTaskId(), second.getTaskId())
+        .inOrder();
+    assertThat(artifactEvents.get(0).getArtifact().artifactId())
+        .isNotEqualTo(artifactEvents.get(1).getArtifact().artifactId());
+    // Each task starts its own artifact rather than appending to the previous task's one.
+    assertThat(artifactEvents.get(1).isAppend()).isFalse();
+    ImmutableList<TaskStatusUpdateEvent> finalEvents =
+        enqueuedEvents.stream()
+            .filter(e -> e instanceof TaskStatusUpdateEvent)
+            .map(e -> (TaskStatusUpdateEvent) e)
+            .filter(TaskStatusUpdateEvent::isFinal)
+            .collect(toImmutableList());
+    assertThat(finalEvents.stream().map(e -> e.getStatus().state()))
+        .containsExactly(TaskState.COMPLETED, TaskState.COMPLETED);
+  }
+
   private RequestContext createRequestContext() {
     Message message =
         new Message.Builder()
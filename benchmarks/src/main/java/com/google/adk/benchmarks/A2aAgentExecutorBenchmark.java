@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.adk.a2a.executor.AgentExecutor;
+import com.google.adk.a2a.executor.AgentExecutorConfig;
+import com.google.adk.agents.LlmAgent;
+import com.google.adk.apps.App;
+import com.google.adk.artifacts.InMemoryArtifactService;
+import com.google.adk.sessions.InMemorySessionService;
+import com.google.common.collect.ImmutableList;
+import io.a2a.server.agentexecution.RequestContext;
+import io.a2a.server.events.EventQueue;
+import io.a2a.spec.Message;
+import io.a2a.spec.TextPart;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the A2A request throughput of {@link AgentExecutor}: one operation is one short A2A
+ * task, from {@link AgentExecutor#execute} to the final status update, for an {@link LlmAgent}
+ * backed by a {@link StubLlm}.
+ *
+ * <p>The A2A server is replaced by what its request handler passes to the executor: a request
+ * context carrying the user message, and an event queue that discards the task updates. The
+ * stand-ins are stub-only mocks so they do not record the calls of the benchmark.
+ *
+ * <p>{@code sharedRunner} uses one executor, which runs every task on the {@code Runner} it built
+ * up front. {@code runnerPerTaskReference} builds an executor, and so a {@code Runner} with its
+ * plugin manager and services wiring, for every task, as {@code execute} did before.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class A2aAgentExecutorBenchmark {
+
+  private App app;
+  private InMemorySessionService sessionService;
+  private InMemoryArtifactService artifactService;
+  private AgentExecutorConfig config;
+  private AgentExecutor executor;
+  private RequestContext requestContext;
+  private EventQueue eventQueue;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    app =
+        App.builder()
+            .name(BenchmarkSessions.APP_NAME)
+            .rootAgent(
+                LlmAgent.builder()
+                    .name("a2a_agent")
+                    .model(new StubLlm(/* toolCalls= */ 0))
+                    .instruction("You are a benchmark agent.")
+                    .build())
+            .build();
+    artifactService = new InMemoryArtifactService();
+    config = AgentExecutorConfig.builder().build();
+    Message message =
+        new Message.Builder()
+            .messageId("message")
+            .role(Message.Role.USER)
+            .parts(ImmutableList.of(new TextPart("What is the weather like?")))
+            .build();
+    // Tasks complete within execute, so one task ID can be reused.
+    requestContext = mock(RequestContext.class, withSettings().stubOnly());
+    when(requestContext.getMessage()).thenReturn(message);
+    when(requestContext.getTaskId()).thenReturn("task");
+    when(requestContext.getContextId()).thenReturn("context");
+    eventQueue = mock(EventQueue.class, withSettings().stubOnly());
+  }
+
+  /** Starts every iteration with empty sessions, as each task creates one. */
+  @Setup(Level.Iteration)
+  public void setUpIteration() {
+    sessionService = new InMemorySessionService();
+    executor = newExecutor();
+  }
+
+  @Benchmark
+  public void sharedRunner() {
+    executor.execute(requestContext, eventQueue);
+  }
+
+  @Benchmark
+  public void runnerPerTaskReference() {
+    newExecutor().execute(requestContext, eventQueue);
+  }
+
+  private AgentExecutor newExecutor() {
+    return new AgentExecutor.Builder()
+        .app(app)
+        .sessionService(sessionService)
+        .artifactService(artifactService)
+        .agentExecutorConfig(config)
+        .build();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import com.google.adk.events.Event;
+import com.google.adk.sessions.BaseSessionService;
+import com.google.adk.sessions.Session;
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import java.util.Map;
+
+/** Helpers shared by the benchmarks to build sessions with a pre-existing history. */
+final class BenchmarkSessions {
+
+  static final String APP_NAME = "benchmark-app";
+  static final String USER_ID = "benchmark-user";
+
+  /**
+   * Builds {@code count} alternating user/model events authored by {@code agentName}, mimicking a
+   * plain chat history.
+   */
+  static ImmutableList<Event> history(int count, String agentName) {
+    ImmutableList.Builder<Event> events = ImmutableList.builder();
+    long timestamp = System.currentTimeMillis() - count;
+    for (int i = 0; i < count; i++) {
+      boolean fromUser = i % 2 == 0;
+      events.add(
+          Event.builder()
+              .id(Event.generateEventId())
+              .invocationId("history-" + (i / 2))
+              .author(fromUser ? "user" : agentName)
+              .content(
+                  Content.builder()
+                      .role(fromUser ? "user" : "model")
+                      .parts(Part.fromText("message " + i))
+                      .build())
+              .timestamp(timestamp + i)
+              .build());
+    }
+    return events.build();
+  }
+
+  /** Creates a new session in {@code sessionService} and appends {@code history} to it. */
+  static Session seed(
+      BaseSessionService sessionService, String sessionId, Iterable<Event> history) {
+    Session session =
+        sessionService
+            .createSession(APP_NAME, USER_ID, (Map<String, Object>) null, sessionId)
+            .blockingGet();
+    for (Event event : history) {
+      sessionService.appendEvent(session, event).blockingGet();
+    }
+    return session;
+  }
+
+  static Content userMessage() {
+    return Content.builder().role("user").parts(Part.fromText("hello")).build();
+  }
+
+  private BenchmarkSessions() {}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import com.google.adk.tools.Annotations.Schema;
+import com.google.adk.tools.FunctionTool;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+
+/** Function tools used by the benchmarks. They must be public to be invoked by FunctionTool. */
+public final class BenchmarkTools {
+
+  /** Returns a constant result without doing any work; called by {@link StubLlm}. */
+  @Schema(name = StubLlm.TOOL_NAME, description = "Looks up a value.")
+  public static Map<String, Object> lookup(@Schema(name = "key") String key) {
+    return ImmutableMap.of("key", key, "value", "v");
+  }
+
+  /** A tool with scalar, list and object parameters, used by {@link FunctionToolBenchmark}. */
+  @Schema(name = "search", description = "Searches for items.")
+  public static Map<String, Object> search(
+      @Schema(name = "query") String query,
+      @Schema(name = "limit") int limit,
+      @Schema(name = "threshold") double threshold,
+      @Schema(name = "tags") List<String> tags,
+      @Schema(name = "filter") Filter filter) {
+    return ImmutableMap.of("query", query, "count", Math.min(limit, tags.size()));
+  }
+
+  /** Object parameter of {@link #search}. */
+  public static final class Filter {
+    public String field;
+    public String value;
+  }
+
+  static FunctionTool lookupTool() {
+    return FunctionTool.create(BenchmarkTools.class, "lookup");
+  }
+
+  private BenchmarkTools() {}
+}
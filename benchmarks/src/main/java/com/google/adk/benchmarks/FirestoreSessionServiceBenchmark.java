@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.adk.events.Event;
+import com.google.adk.sessions.FirestoreSessionService;
+import com.google.adk.sessions.Session;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteResult;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many concurrent {@link FirestoreSessionService#appendEvent} calls a small, fixed
+ * thread pool sustains when every Firestore write takes {@code latencyMillis} to be acknowledged.
+ *
+ * <p>Firestore is replaced by an in-process stand-in whose writes complete on a separate timer
+ * thread after the configured latency, like an emulator or a remote backend would. One operation
+ * issues {@code concurrency} appends, each subscribed on a pool of {@value #POOL_THREADS} threads,
+ * and waits for all of them.
+ *
+ * <p>{@code nonBlocking} uses the service as is: a pool thread is released as soon as the writes
+ * are issued, so the whole wave takes about one write latency. {@code blockingReference} waits for
+ * each append on its pool thread, as the service did before, so the pool only has {@value
+ * #POOL_THREADS} appends in flight at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FirestoreSessionServiceBenchmark {
+
+  private static final int POOL_THREADS = 4;
+
+  @Param({"64"})
+  public int concurrency;
+
+  @Param({"5"})
+  public long latencyMillis;
+
+  private final AtomicLong sessionIds = new AtomicLong();
+  private ExecutorService pool;
+  private Scheduler scheduler;
+  private ScheduledExecutorService firestoreTimer;
+  private FirestoreSessionService sessionService;
+  private Event event;
+
+  @Setup
+  public void setUp() {
+    pool = Executors.newFixedThreadPool(POOL_THREADS);
+    scheduler = Schedulers.from(pool);
+    firestoreTimer = Executors.newSingleThreadScheduledExecutor();
+    sessionService = new FirestoreSessionService(stubFirestore());
+    event =
+        Event.builder()
+            .id(Event.generateEventId())
+            .invocationId("benchmark")
+            .author("model")
+            .content(BenchmarkSessions.userMessage())
+            .timestamp(System.currentTimeMillis())
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdownNow();
+    firestoreTimer.shutdownNow();
+  }
+
+  @Benchmark
+  public void nonBlocking() {
+    Flowable.range(0, concurrency)
+        .flatMapSingle(
+            unused -> sessionService.appendEvent(newSession(), event).subscribeOn(scheduler),
+            /* delayErrors= */ false,
+            concurrency)
+        .blockingSubscribe();
+  }
+
+  @Benchmark
+  public void blockingReference() {
+    Flowable.range(0, concurrency)
+        .flatMapSingle(
+            unused ->
+                Single.fromCallable(
+                        () -> sessionService.appendEvent(newSession(), event).blockingGet())
+                    .subscribeOn(scheduler),
+            /* delayErrors= */ false,
+            concurrency)
+        .blockingSubscribe();
+  }
+
+  /** A fresh session per append, so the appended events do not accumulate. */
+  private Session newSession() {
+    return Session.builder("session-" + sessionIds.incrementAndGet())
+        .appName(BenchmarkSessions.APP_NAME)
+        .userId(BenchmarkSessions.USER_ID)
+        .state(new ConcurrentHashMap<>())
+        .build();
+  }
+
+  /**
+   * A {@link Firestore} stand-in where every collection and document path resolves, and every write
+   * is acknowledged {@code latencyMillis} after it is issued. The mocks are stub-only so they do
+   * not record the invocations of the benchmark.
+   */
+  private Firestore stubFirestore() {
+    Firestore firestore = mock(Firestore.class, withSettings().stubOnly());
+    CollectionReference collection = mock(CollectionReference.class, withSettings().stubOnly());
+    DocumentReference document = mock(DocumentReference.class, withSettings().stubOnly());
+    when(firestore.collection(anyString())).thenReturn(collection);
+    when(collection.document(anyString())).thenReturn(document);
+    when(collection.document()).thenReturn(document);
+    when(document.collection(anyString())).thenReturn(collection);
+    when(document.getId()).thenReturn("event");
+    when(document.set(anyMap())).thenAnswer(unused -> delayedWrite());
+    when(document.update(anyMap())).thenAnswer(unused -> delayedWrite());
+    return firestore;
+  }
+
+  private ApiFuture<WriteResult> delayedWrite() {
+    SettableApiFuture<WriteResult> future = SettableApiFuture.create();
+    firestoreTimer.schedule(() -> future.set(null), latencyMillis, TimeUnit.MILLISECONDS);
+    return future;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.adk.JsonBaseModel;
+import com.google.adk.tools.Annotations.Schema;
+import com.google.adk.tools.FunctionTool;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a single {@link FunctionTool} call, from the arguments produced by the model
+ * to the result map, on a tool taking scalar, list and object parameters.
+ *
+ * <p>{@code functionTool} goes through {@link FunctionTool#runAsync}, which uses the invoker and
+ * argument converters built when the tool is created. {@code reflective} is the reference it is
+ * compared to: it reads the parameters and converts every argument with {@link
+ * ObjectMapper#convertValue(Object, Class)} on each call, then invokes the {@link Method}
+ * reflectively and converts its result to a map, as {@code FunctionTool} did before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FunctionToolBenchmark {
+
+  private static final TypeReference<Map<String, Object>> RESULT_TYPE = new TypeReference<>() {};
+
+  private FunctionTool tool;
+  private Method method;
+  private ObjectMapper objectMapper;
+  private Map<String, Object> args;
+
+  @Setup
+  public void setUp() {
+    tool = FunctionTool.create(BenchmarkTools.class, "search");
+    method = tool.func();
+    objectMapper = JsonBaseModel.getMapper();
+    args =
+        ImmutableMap.of(
+            "query", "benchmark",
+            "limit", 10,
+            "threshold", 0.5,
+            "tags", ImmutableList.of("a", "b", "c"),
+            "filter", ImmutableMap.of("field", "kind", "value", "tool"));
+  }
+
+  @Benchmark
+  public Map<String, Object> functionTool() {
+    return tool.runAsync(args, /* toolContext= */ null).blockingGet();
+  }
+
+  @Benchmark
+  public Map<String, Object> reflective() throws ReflectiveOperationException {
+    Parameter[] parameters = method.getParameters();
+    Object[] arguments = new Object[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      String name = parameters[i].getAnnotation(Schema.class).name();
+      arguments[i] = objectMapper.convertValue(args.get(name), parameters[i].getType());
+    }
+    return objectMapper.convertValue(method.invoke(null, arguments), RESULT_TYPE);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import com.google.adk.agents.LlmAgent;
+import com.google.adk.agents.RunConfig;
+import com.google.adk.events.Event;
+import com.google.adk.runner.Runner;
+import com.google.adk.sessions.InMemorySessionService;
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.Content;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per-turn overhead of {@link Runner#runAsync} driving a single {@link LlmAgent}
+ * through {@code BaseLlmFlow} against a {@link StubLlm}.
+ *
+ * <p>Each invocation runs one full turn (user message, model call(s), tool calls, persistence) on a
+ * session that already holds {@code historySize} events. Run with {@code -prof gc} to report {@code
+ * gc.alloc.rate.norm}, i.e. the bytes allocated per turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RunnerTurnBenchmark {
+
+  private static final String AGENT_NAME = "root_agent";
+
+  /** Number of events already in the session before the measured turn. */
+  @Param({"10", "1000", "10000"})
+  public int historySize;
+
+  /** Number of function calls the model issues in the turn; 0 means a text-only turn. */
+  @Param({"0", "1", "4"})
+  public int toolCalls;
+
+  private Runner runner;
+  private InMemorySessionService sessionService;
+  private ImmutableList<Event> history;
+  private Content userMessage;
+  private RunConfig runConfig;
+  private String sessionId;
+  private int sessionCounter;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    LlmAgent agent =
+        LlmAgent.builder()
+            .name(AGENT_NAME)
+            .model(new StubLlm(toolCalls))
+            .instruction("You are a benchmark agent.")
+            .tools(BenchmarkTools.lookupTool())
+            .build();
+    sessionService = new InMemorySessionService();
+    runner =
+        Runner.builder()
+            .agent(agent)
+            .appName(BenchmarkSessions.APP_NAME)
+            .sessionService(sessionService)
+            .build();
+    history = BenchmarkSessions.history(historySize, AGENT_NAME);
+    userMessage = BenchmarkSessions.userMessage();
+    runConfig = RunConfig.builder().build();
+  }
+
+  /**
+   * Every turn appends to the session, so each invocation gets a freshly seeded session to keep the
+   * history size constant. A turn is far longer than the JMH timestamping overhead, which makes a
+   * per-invocation setup acceptable here.
+   */
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    if (sessionId != null) {
+      sessionService
+          .deleteSession(BenchmarkSessions.APP_NAME, BenchmarkSessions.USER_ID, sessionId)
+          .blockingAwait();
+    }
+    sessionId = "session-" + sessionCounter++;
+    BenchmarkSessions.seed(sessionService, sessionId, history);
+  }
+
+  @Benchmark
+  public void runTurn(Blackhole blackhole) {
+    runner
+        .runAsync(BenchmarkSessions.USER_ID, sessionId, userMessage, runConfig)
+        .blockingForEach(blackhole::consume);
+  }
+}
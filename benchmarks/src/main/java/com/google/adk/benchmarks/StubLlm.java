@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import io.reactivex.rxjava3.core.Flowable;
+import java.util.List;
+
+/**
+ * A {@link BaseLlm} that answers instantly without any I/O, so that benchmarks measure only the
+ * framework overhead around the model call.
+ *
+ * <p>When configured with {@code toolCalls > 0}, the first call of a turn answers with that many
+ * calls to {@link #TOOL_NAME}; once the history ends with the function responses, it answers with a
+ * final text response.
+ */
+final class StubLlm extends BaseLlm {
+
+  static final String TOOL_NAME = "lookup";
+
+  private final LlmResponse textResponse;
+  private final LlmResponse toolCallResponse;
+
+  StubLlm(int toolCalls) {
+    super("stub-llm");
+    this.textResponse =
+        LlmResponse.builder()
+            .content(Content.builder().role("model").parts(Part.fromText("done")).build())
+            .build();
+    ImmutableList.Builder<Part> calls = ImmutableList.builder();
+    for (int i = 0; i < toolCalls; i++) {
+      calls.add(Part.fromFunctionCall(TOOL_NAME, ImmutableMap.of("key", "k" + i)));
+    }
+    List<Part> callParts = calls.build();
+    this.toolCallResponse =
+        callParts.isEmpty()
+            ? null
+            : LlmResponse.builder()
+                .content(Content.builder().role("model").parts(callParts).build())
+                .build();
+  }
+
+  @Override
+  public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+    if (toolCallResponse == null || endsWithFunctionResponse(llmRequest)) {
+      return Flowable.just(textResponse);
+    }
+    return Flowable.just(toolCallResponse);
+  }
+
+  @Override
+  public BaseLlmConnection connect(LlmRequest llmRequest) {
+    throw new UnsupportedOperationException("Live connections are not benchmarked.");
+  }
+
+  private static boolean endsWithFunctionResponse(LlmRequest llmRequest) {
+    Content last = Iterables.getLast(llmRequest.contents(), null);
+    return last != null
+        && last.parts().orElse(ImmutableList.of()).stream()
+            .anyMatch(part -> part.functionResponse().isPresent());
+  }
+}
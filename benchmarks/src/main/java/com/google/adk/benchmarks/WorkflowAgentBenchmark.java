@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.benchmarks;
+
+import com.google.adk.agents.BaseAgent;
+import com.google.adk.agents.LlmAgent;
+import com.google.adk.agents.ParallelAgent;
+import com.google.adk.agents.RunConfig;
+import com.google.adk.agents.SequentialAgent;
+import com.google.adk.runner.Runner;
+import com.google.adk.sessions.InMemorySessionService;
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.Content;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the per-turn overhead of {@link SequentialAgent} and {@link ParallelAgent} trees whose
+ * leaves are {@link LlmAgent}s backed by a {@link StubLlm}.
+ *
+ * <p>Run with {@code -prof gc} to report the bytes allocated per turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WorkflowAgentBenchmark {
+
+  /** The workflow agent at the root of the tree. */
+  @Param({"sequential", "parallel"})
+  public String workflow;
+
+  /** Number of {@link LlmAgent} leaves under the workflow agent. */
+  @Param({"2", "8"})
+  public int width;
+
+  /** Number of function calls each leaf issues in the turn; 0 means a text-only turn. */
+  @Param({"0", "1"})
+  public int toolCalls;
+
+  private Runner runner;
+  private InMemorySessionService sessionService;
+  private Content userMessage;
+  private RunConfig runConfig;
+  private String sessionId;
+  private int sessionCounter;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    List<BaseAgent> leaves = new ArrayList<>();
+    for (int i = 0; i < width; i++) {
+      leaves.add(
+          LlmAgent.builder()
+              .name("leaf_" + i)
+              .model(new StubLlm(toolCalls))
+              .instruction("You are a benchmark agent.")
+              .tools(BenchmarkTools.lookupTool())
+              .build());
+    }
+    BaseAgent root =
+        workflow.equals("parallel")
+            ? ParallelAgent.builder().name("root_agent").subAgents(leaves).build()
+            : SequentialAgent.builder().name("root_agent").subAgents(leaves).build();
+    sessionService = new InMemorySessionService();
+    runner =
+        Runner.builder()
+            .agent(root)
+            .appName(BenchmarkSessions.APP_NAME)
+            .sessionService(sessionService)
+            .build();
+    userMessage = BenchmarkSessions.userMessage();
+    runConfig = RunConfig.builder().build();
+  }
+
+  /** Gives every invocation an empty session so that turns do not accumulate history. */
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    if (sessionId != null) {
+      sessionService
+          .deleteSession(BenchmarkSessions.APP_NAME, BenchmarkSessions.USER_ID, sessionId)
+          .blockingAwait();
+    }
+    sessionId = "session-" + sessionCounter++;
+    BenchmarkSessions.seed(sessionService, sessionId, ImmutableList.of());
+  }
+
+  @Benchmark
+  public void runTurn(Blackhole blackhole) {
+    runner
+        .runAsync(BenchmarkSessions.USER_ID, sessionId, userMessage, runConfig)
+        .blockingForEach(blackhole::consume);
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.plugins.agentanalytics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
+import com.google.cloud.bigquery.storage.v1.StreamWriter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long a {@link BatchProcessor} takes to write {@code rows} analytics rows when
+ * BigQuery acknowledges every append {@code latencyMillis} after it is issued.
+ *
+ * <p>The {@link StreamWriter} is replaced by an in-process stand-in whose appends complete on a
+ * separate timer thread after the configured latency. One operation appends the rows and waits with
+ * {@link BatchProcessor#flushThrough} until all of them are written.
+ *
+ * <p>With {@code maxInFlightAppends} set to 1, each flush waits for the previous append to be
+ * acknowledged, as the processor did before, so the operation takes about one latency per batch.
+ * Larger windows overlap the appends. The benchmark lives in the plugin's package because {@link
+ * BatchProcessor} is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchProcessorBenchmark {
+
+  @Param({"1", "4"})
+  public int maxInFlightAppends;
+
+  @Param({"1000"})
+  public int rows;
+
+  @Param({"50"})
+  public int batchSize;
+
+  @Param({"5"})
+  public long latencyMillis;
+
+  private ScheduledExecutorService executor;
+  private ScheduledExecutorService bigQueryTimer;
+  private BatchProcessor batchProcessor;
+  private Map<String, Object> row;
+
+  @Setup
+  public void setUp() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    bigQueryTimer = Executors.newSingleThreadScheduledExecutor();
+    batchProcessor =
+        new BatchProcessor(
+            stubWriter(),
+            batchSize,
+            Duration.ofMinutes(1),
+            /* queueMaxSize= */ rows,
+            maxInFlightAppends,
+            executor);
+    row = new HashMap<>();
+    row.put("timestamp", Instant.now());
+    row.put("event_type", "LLM_RESPONSE");
+    row.put("agent", "benchmark_agent");
+    row.put("session_id", "session");
+    row.put("invocation_id", "invocation");
+    row.put("user_id", "user");
+    row.put("content", "{\"response\": \"The weather in Paris is sunny.\"}");
+    row.put("is_truncated", false);
+    row.put(
+        "content_parts",
+        ImmutableList.of(
+            ImmutableMap.of(
+                "mime_type",
+                "text/plain",
+                "text",
+                "The weather in Paris is sunny.",
+                "part_index",
+                0L)));
+  }
+
+  @TearDown
+  public void tearDown() {
+    batchProcessor.close();
+    executor.shutdownNow();
+    bigQueryTimer.shutdownNow();
+  }
+
+  @Benchmark
+  public void appendAndFlush() {
+    long lastSequence = 0;
+    for (int i = 0; i < rows; i++) {
+      lastSequence = batchProcessor.append(row);
+    }
+    batchProcessor.flushThrough(lastSequence);
+  }
+
+  /**
+   * A {@link StreamWriter} stand-in acknowledging every append {@code latencyMillis} after it is
+   * issued. The mock is stub-only so it does not record the appends of the benchmark.
+   */
+  private StreamWriter stubWriter() {
+    StreamWriter writer = mock(StreamWriter.class, withSettings().stubOnly());
+    when(writer.append(any(ArrowRecordBatch.class))).thenAnswer(unused -> delayedAppend());
+    return writer;
+  }
+
+  private ApiFuture<AppendRowsResponse> delayedAppend() {
+    SettableApiFuture<AppendRowsResponse> future = SettableApiFuture.create();
+    bigQueryTimer.schedule(
+        () -> future.set(AppendRowsResponse.getDefaultInstance()),
+        latencyMillis,
+        TimeUnit.MILLISECONDS);
+    return future;
+  }
+}
@@ -48,7 +48,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -72,6 +71,9 @@ public class FirestoreSessionService implements BaseSessionService {
   private static final String ID_KEY = Constants.KEY_ID;
   private static final String UPDATE_TIME_KEY = Constants.KEY_UPDATE_TIME;
   private static final String TIMESTAMP_KEY = Constants.KEY_TIMESTAMP;
+  // Firestore batches can have up to 500 operations: one per event, plus the app state, user state
+  // and session updates.
+  private static final int MAX_EVENTS_PER_BATCH = 497;
 
   /** Constructor for FirestoreSessionService. */
   public FirestoreSessionService(Firestore firestore) {
@@ -103,7 +105,7 @@ public class FirestoreSessionService implements BaseSessionService {
       String userId,
       @Nullable Map<String, Object> state,
       @Nullable String sessionId) {
-    return Single.fromCallable(
+    return Single.defer(
         () -> {
           Objects.requireNonNull(appName, "appName cannot be null");
           Objects.requireNonNull(userId, "userId cannot be null");
@@ -140,12 +142,10 @@ public class FirestoreSessionService implements BaseSessionService {
           sessionData.put(UPDATE_TIME_KEY, newSession.lastUpdateTime().toString());
           sessionData.put(STATE_KEY, newSession.state());
 
-          // Asynchronously write to Firestore and wait for the result
+          // Emit the session once the write is acknowledged
           ApiFuture<WriteResult> future =
               getSessionsCollection(userId).document(resolvedSessionId).set(sessionData);
-          future.get(); // Block until the write is complete
-
-          return newSession;
+          return ApiFutureUtils.toCompletable(future).toSingleDefault(newSession);
         });
   }
 
@@ -439,7 +439,7 @@ public class FirestoreSessionService implements BaseSessionService {
   /** Lists all sessions for a given appName and userId. */
   @Override
   public Single<ListSessionsResponse> listSessions(String appName, String userId) {
-    return Single.fromCallable(
+    return Single.defer(
         () -> {
           Objects.requireNonNull(appName, "appName cannot be null");
           Objects.requireNonNull(userId, "userId cannot be null");
@@ -454,32 +454,36 @@ public class FirestoreSessionService implements BaseSessionService {
                   snapshot -> snapshot.getDocuments(),
                   MoreExecutors.directExecutor());
 
-          List<Session> sessions = new ArrayList<>();
-          for (DocumentSnapshot document : querySnapshot.get()) {
-            Map<String, Object> data = document.getData();
-            if (data != null) {
-              // Create a session object with empty events and state, as per
-              // InMemorySessionService
-              Session session =
-                  Session.builder((String) data.get(ID_KEY))
-                      .appName((String) data.get(APP_NAME_KEY))
-                      .userId((String) data.get(USER_ID_KEY))
-                      .lastUpdateTime(Instant.parse((String) data.get(UPDATE_TIME_KEY)))
-                      .state(new ConcurrentHashMap<>()) // Empty state
-                      .events(new ArrayList<>()) // Empty events
-                      .build();
-              sessions.add(session);
-            }
-          }
+          return ApiFutureUtils.toSingle(querySnapshot)
+              .map(
+                  documents -> {
+                    List<Session> sessions = new ArrayList<>();
+                    for (DocumentSnapshot document : documents) {
+                      Map<String, Object> data = document.getData();
+                      if (data != null) {
+                        // Create a session object with empty events and state, as per
+                        // InMemorySessionService
+                        Session session =
+                            Session.builder((String) data.get(ID_KEY))
+                                .appName((String) data.get(APP_NAME_KEY))
+                                .userId((String) data.get(USER_ID_KEY))
+                                .lastUpdateTime(Instant.parse((String) data.get(UPDATE_TIME_KEY)))
+                                .state(new ConcurrentHashMap<>()) // Empty state
+                                .events(new ArrayList<>()) // Empty events
+                                .build();
+                        sessions.add(session);
+                      }
+                    }
 
-          return ListSessionsResponse.builder().sessions(sessions).build();
+                    return ListSessionsResponse.builder().sessions(sessions).build();
+                  });
         });
   }
 
   /** Deletes a session and all its associated events from Firestore. */
   @Override
   public Completable deleteSession(String appName, String userId, String sessionId) {
-    return Completable.fromAction(
+    return Completable.defer(
         () -> {
           Objects.requireNonNull(appName, "appName cannot be null");
           Objects.requireNonNull(userId, "userId cannot be null");
@@ -493,37 +497,37 @@ public class FirestoreSessionService implements BaseSessionService {
 
           // 1. Fetch all events in the subcollection to delete them in batches.
           CollectionReference eventsRef = sessionRef.collection(EVENTS_SUBCOLLECTION_NAME);
-          com.google.api.core.ApiFuture<com.google.cloud.firestore.QuerySnapshot> eventsQuery =
-              eventsRef.get();
-          List<QueryDocumentSnapshot> eventDocuments = eventsQuery.get().getDocuments();
-
-          if (!eventDocuments.isEmpty()) {
-            List<ApiFuture<List<WriteResult>>> batchCommitFutures = new ArrayList<>();
-            // Firestore batches can have up to 500 operations.
-            for (int i = 0; i < eventDocuments.size(); i += 500) {
-              WriteBatch batch = firestore.batch();
-              List<QueryDocumentSnapshot> chunk =
-                  eventDocuments.subList(i, Math.min(i + 500, eventDocuments.size()));
-              for (QueryDocumentSnapshot doc : chunk) {
-                batch.delete(doc.getReference());
-              }
-              batchCommitFutures.add(batch.commit());
-            }
-            // Wait for all batch deletions to complete.
-            ApiFutures.allAsList(batchCommitFutures).get();
-          }
-
-          // 2. Delete the session document itself
-          sessionRef.delete().get(); // Block until deletion is complete
-
-          logger.info("Successfully deleted session: {}", sessionId);
+          return ApiFutureUtils.toSingle(eventsRef.get())
+              .flatMapCompletable(eventsQuery -> deleteEvents(eventsQuery.getDocuments()))
+              // 2. Delete the session document itself
+              .andThen(Completable.defer(() -> ApiFutureUtils.toCompletable(sessionRef.delete())))
+              .doOnComplete(() -> logger.info("Successfully deleted session: {}", sessionId));
         });
   }
 
+  /** Deletes the given event documents in batches, completing once every batch is committed. */
+  private Completable deleteEvents(List<QueryDocumentSnapshot> eventDocuments) {
+    if (eventDocuments.isEmpty()) {
+      return Completable.complete();
+    }
+    List<ApiFuture<List<WriteResult>>> batchCommitFutures = new ArrayList<>();
+    // Firestore batches can have up to 500 operations.
+    for (int i = 0; i < eventDocuments.size(); i += 500) {
+      WriteBatch batch = firestore.batch();
+      List<QueryDocumentSnapshot> chunk =
+          eventDocuments.subList(i, Math.min(i + 500, eventDocuments.size()));
+      for (QueryDocumentSnapshot doc : chunk) {
+        batch.delete(doc.getReference());
+      }
+      batchCommitFutures.add(batch.commit());
+    }
+    return ApiFutureUtils.toCompletable(ApiFutures.allAsList(batchCommitFutures));
+  }
+
   /** Lists all events for a given appName, userId, and sessionId. */
   @Override
   public Single<ListEventsResponse> listEvents(String appName, String userId, String sessionId) {
-    return Single.fromCallable(
+    return Single.defer(
         () -> {
           Objects.requireNonNull(appName, "appName cannot be null");
           Objects.requireNonNull(userId, "userId cannot be null");
@@ -534,34 +538,46 @@ public class FirestoreSessionService implements BaseSessionService {
           // First, check if the session document exists.
           ApiFuture<DocumentSnapshot> sessionFuture =
               getSessionsCollection(userId).document(sessionId).get();
-          DocumentSnapshot sessionDocument = sessionFuture.get(); // Block for the result
-
-          if (!sessionDocument.exists()) {
-            logger.warn(
-                "Session not found for sessionId: {}. Returning empty list of events.", sessionId);
-            throw new SessionNotFoundException(appName + "," + userId + "," + sessionId);
-          }
 
-          // Session exists, now fetch the events.
-          CollectionReference eventsCollection =
-              sessionDocument.getReference().collection(EVENTS_SUBCOLLECTION_NAME);
-          Query eventsQuery = eventsCollection.orderBy(TIMESTAMP_KEY);
-
-          ApiFuture<List<QueryDocumentSnapshot>> eventsFuture =
-              ApiFutures.transform(
-                  eventsQuery.get(),
-                  querySnapshot -> querySnapshot.getDocuments(),
-                  MoreExecutors.directExecutor());
+          return ApiFutureUtils.toSingle(sessionFuture)
+              .flatMap(
+                  sessionDocument -> {
+                    if (!sessionDocument.exists()) {
+                      logger.warn(
+                          "Session not found for sessionId: {}. Returning empty list of events.",
+                          sessionId);
+                      return Single.error(
+                          new SessionNotFoundException(appName + "," + userId + "," + sessionId));
+                    }
 
-          List<Event> events = new ArrayList<>();
-          for (DocumentSnapshot eventDoc : eventsFuture.get()) {
-            Event event = eventFromMap(eventDoc.getData(), userId);
-            if (event != null) {
-              events.add(event);
-            }
-          }
-          logger.info("Returning {} events for sessionId: {}", events.size(), sessionId);
-          return ListEventsResponse.builder().events(events).build();
+                    // Session exists, now fetch the events.
+                    CollectionReference eventsCollection =
+                        sessionDocument.getReference().collection(EVENTS_SUBCOLLECTION_NAME);
+                    Query eventsQuery = eventsCollection.orderBy(TIMESTAMP_KEY);
+
+                    ApiFuture<List<QueryDocumentSnapshot>> eventsFuture =
+                        ApiFutures.transform(
+                            eventsQuery.get(),
+                            querySnapshot -> querySnapshot.getDocuments(),
+                            MoreExecutors.directExecutor());
+
+                    return ApiFutureUtils.toSingle(eventsFuture)
+                        .map(
+                            eventDocs -> {
+                              List<Event> events = new ArrayList<>();
+                              for (DocumentSnapshot eventDoc : eventDocs) {
+                                Event event = eventFromMap(eventDoc.getData(), userId);
+                                if (event != null) {
+                                  events.add(event);
+                                }
+                              }
+                              logger.info(
+                                  "Returning {} events for sessionId: {}",
+                                  events.size(),
+                                  sessionId);
+                              return ListEventsResponse.builder().events(events).build();
+                            });
+                  });
         });
   }
 
@@ -569,7 +585,7 @@ public class FirestoreSessionService implements BaseSessionService {
   @CanIgnoreReturnValue
   @Override
   public Single<Event> appendEvent(Session session, Event event) {
-    return Single.fromCallable(
+    return Single.defer(
         () -> {
           Objects.requireNonNull(session, "session cannot be null");
           Objects.requireNonNull(session.appName(), "session.appName cannot be null");
@@ -581,68 +597,37 @@ public class FirestoreSessionService implements BaseSessionService {
           String sessionId = session.id();
 
           List<ApiFuture<WriteResult>> futures = new ArrayList<>();
+          Map<String, Object> appStateUpdates = new HashMap<>();
+          Map<String, Object> userStateUpdates = new HashMap<>();
+          StagedEvent staged = stageEvent(session, event, appStateUpdates, userStateUpdates);
 
           // --- Update User/App State ---
-          EventActions actions = event.actions();
-          if (actions != null) {
-            Map<String, Object> stateDelta = actions.stateDelta();
-            if (stateDelta != null && !stateDelta.isEmpty()) {
-              AtomicBoolean sessionStateChanged = new AtomicBoolean(false);
-              Map<String, Object> appStateUpdates = new HashMap<>();
-              Map<String, Object> userStateUpdates = new HashMap<>();
-
-              stateDelta.forEach(
-                  (key, value) -> {
-                    if (key.startsWith("_app_")) {
-                      appStateUpdates.put(key.substring("_app_".length()), value);
-                    } else if (key.startsWith("_user_")) {
-                      userStateUpdates.put(key.substring("_user_".length()), value);
-                    } else {
-                      // Regular session state
-                      sessionStateChanged.set(true);
-                      if (value == null) {
-                        session.state().remove(key);
-                      } else {
-                        session.state().put(key, value);
-                      }
-                    }
-                  });
-
-              if (!appStateUpdates.isEmpty()) {
-                futures.add(
-                    firestore
-                        .collection(APP_STATE_COLLECTION)
-                        .document(appName)
-                        .set(appStateUpdates, com.google.cloud.firestore.SetOptions.merge()));
-              }
-              if (!userStateUpdates.isEmpty()) {
-                futures.add(
-                    firestore
-                        .collection(USER_STATE_COLLECTION)
-                        .document(appName)
-                        .collection("users")
-                        .document(userId)
-                        .set(userStateUpdates, com.google.cloud.firestore.SetOptions.merge()));
-              }
-
-              // Only update the session state if it actually changed.
-              if (sessionStateChanged.get()) {
-                futures.add(
-                    getSessionsCollection(userId)
-                        .document(sessionId)
-                        .update(STATE_KEY, session.state()));
-              }
-            }
+          if (!appStateUpdates.isEmpty()) {
+            futures.add(
+                firestore
+                    .collection(APP_STATE_COLLECTION)
+                    .document(appName)
+                    .set(appStateUpdates, com.google.cloud.firestore.SetOptions.merge()));
+          }
+          if (!userStateUpdates.isEmpty()) {
+            futures.add(
+                firestore
+                    .collection(USER_STATE_COLLECTION)
+                    .document(appName)
+                    .collection("users")
+                    .document(userId)
+                    .set(userStateUpdates, com.google.cloud.firestore.SetOptions.merge()));
           }
 
-          // Manually add the event to the session's internal list.
-          session.events().add(event);
-          session.lastUpdateTime(getInstantFromEvent(event));
+          // Only update the session state if it actually changed.
+          if (staged.sessionStateChanged()) {
+            futures.add(
+                getSessionsCollection(userId)
+                    .document(sessionId)
+                    .update(STATE_KEY, session.state()));
+          }
 
           // --- Persist event to Firestore ---
-          Map<String, Object> eventData = eventToMap(session, event);
-          eventData.put(USER_ID_KEY, userId);
-          eventData.put(APP_NAME_KEY, appName);
           // Generate a new ID for the event document
           String eventId =
               getSessionsCollection(userId)
@@ -655,7 +640,7 @@ public class FirestoreSessionService implements BaseSessionService {
                   .document(sessionId)
                   .collection(EVENTS_SUBCOLLECTION_NAME)
                   .document(eventId)
-                  .set(eventData));
+                  .set(staged.document()));
 
           // --- Update the session document in Firestore ---
           Map<String, Object> sessionUpdates = new HashMap<>();
@@ -663,18 +648,140 @@ public class FirestoreSessionService implements BaseSessionService {
               UPDATE_TIME_KEY, session.lastUpdateTime().toString()); // Always update the timestamp
           futures.add(getSessionsCollection(userId).document(sessionId).update(sessionUpdates));
 
-          // Block and wait for all async Firestore operations to complete.
-          // This makes the method effectively synchronous within the reactive chain,
-          // ensuring the database is consistent before the runner proceeds.
-          ApiFutures.allAsList(futures).get();
-
-          logger.info("Event appended successfully to sessionId: {}", sessionId);
-          logger.info("Returning appended event: {}", event.stringifyContent());
+          // Emit the event once all Firestore writes are acknowledged, so the database is
+          // consistent before the runner proceeds, without holding a thread while waiting.
+          return ApiFutureUtils.toCompletable(ApiFutures.allAsList(futures))
+              .doOnComplete(
+                  () -> {
+                    logger.info("Event appended successfully to sessionId: {}", sessionId);
+                    logger.info("Returning appended event: {}", event.stringifyContent());
+                  })
+              .toSingleDefault(event);
+        });
+  }
 
-          return event;
+  /**
+   * Appends several events to a session with one Firestore {@link WriteBatch} commit, instead of
+   * the round trips {@link #appendEvent} makes for each event. State deltas are applied in order,
+   * so later events win; the app, user and session state documents are written once per batch.
+   * Lists longer than a single batch allows are committed in consecutive batches.
+   */
+  @CanIgnoreReturnValue
+  @Override
+  public Single<List<Event>> appendEvents(Session session, List<Event> events) {
+    return Single.defer(
+        () -> {
+          Objects.requireNonNull(session, "session cannot be null");
+          Objects.requireNonNull(events, "events cannot be null");
+          Objects.requireNonNull(session.appName(), "session.appName cannot be null");
+          Objects.requireNonNull(session.userId(), "session.userId cannot be null");
+          Objects.requireNonNull(session.id(), "session.id cannot be null");
+          List<Completable> commits = new ArrayList<>();
+          for (int i = 0; i < events.size(); i += MAX_EVENTS_PER_BATCH) {
+            List<Event> chunk =
+                events.subList(i, Math.min(i + MAX_EVENTS_PER_BATCH, events.size()));
+            commits.add(Completable.defer(() -> commitEvents(session, chunk)));
+          }
+          return Completable.concat(commits).toSingleDefault(events);
         });
   }
 
+  /** Stages {@code events} and the state and session updates they cause in one batch. */
+  private Completable commitEvents(Session session, List<Event> events) {
+    String appName = session.appName();
+    String userId = session.userId();
+    String sessionId = session.id();
+    logger.info("appendEvents - appending {} events to sessionId: {}", events.size(), sessionId);
+    com.google.cloud.firestore.DocumentReference sessionRef =
+        getSessionsCollection(userId).document(sessionId);
+    WriteBatch batch = firestore.batch();
+    Map<String, Object> appStateUpdates = new HashMap<>();
+    Map<String, Object> userStateUpdates = new HashMap<>();
+    boolean sessionStateChanged = false;
+
+    for (Event event : events) {
+      StagedEvent staged = stageEvent(session, event, appStateUpdates, userStateUpdates);
+      sessionStateChanged |= staged.sessionStateChanged();
+      batch.set(sessionRef.collection(EVENTS_SUBCOLLECTION_NAME).document(), staged.document());
+    }
+
+    if (!appStateUpdates.isEmpty()) {
+      batch.set(
+          firestore.collection(APP_STATE_COLLECTION).document(appName),
+          appStateUpdates,
+          com.google.cloud.firestore.SetOptions.merge());
+    }
+    if (!userStateUpdates.isEmpty()) {
+      batch.set(
+          firestore
+              .collection(USER_STATE_COLLECTION)
+              .document(appName)
+              .collection("users")
+              .document(userId),
+          userStateUpdates,
+          com.google.cloud.firestore.SetOptions.merge());
+    }
+    Map<String, Object> sessionUpdates = new HashMap<>();
+    if (sessionStateChanged) {
+      sessionUpdates.put(STATE_KEY, session.state());
+    }
+    sessionUpdates.put(UPDATE_TIME_KEY, session.lastUpdateTime().toString());
+    batch.update(sessionRef, sessionUpdates);
+
+    return ApiFutureUtils.toCompletable(batch.commit())
+        .doOnComplete(
+            () ->
+                logger.info(
+                    "{} events appended successfully to sessionId: {}", events.size(), sessionId));
+  }
+
+  /**
+   * Applies {@code event} to the in-memory {@code session} and builds its Firestore document. Keys
+   * of the event's state delta prefixed with {@code _app_} or {@code _user_} are collected, without
+   * the prefix, into {@code appStateUpdates} and {@code userStateUpdates}; the other keys update
+   * the session state, a null value removing the key.
+   */
+  private StagedEvent stageEvent(
+      Session session,
+      Event event,
+      Map<String, Object> appStateUpdates,
+      Map<String, Object> userStateUpdates) {
+    boolean sessionStateChanged = false;
+    EventActions actions = event.actions();
+    Map<String, Object> stateDelta = actions == null ? null : actions.stateDelta();
+    if (stateDelta != null) {
+      for (Map.Entry<String, Object> entry : stateDelta.entrySet()) {
+        String key = entry.getKey();
+        Object value = entry.getValue();
+        if (key.startsWith("_app_")) {
+          appStateUpdates.put(key.substring("_app_".length()), value);
+        } else if (key.startsWith("_user_")) {
+          userStateUpdates.put(key.substring("_user_".length()), value);
+        } else {
+          // Regular session state
+          sessionStateChanged = true;
+          if (value == null) {
+            session.state().remove(key);
+          } else {
+            session.state().put(key, value);
+          }
+        }
+      }
+    }
+
+    // Manually add the event to the session's internal list.
+    session.events().add(event);
+    session.lastUpdateTime(getInstantFromEvent(event));
+
+    Map<String, Object> eventData = eventToMap(session, event);
+    eventData.put(USER_ID_KEY, session.userId());
+    eventData.put(APP_NAME_KEY, session.appName());
+    return new StagedEvent(eventData, sessionStateChanged);
+  }
+
+  /** The Firestore document of an event and whether the event changed the session state. */
+  private record StagedEvent(Map<String, Object> document, boolean sessionStateChanged) {}
+
   /** Converts an event's timestamp to an Instant. Adapt based on actual Event structure. */
   private Instant getInstantFromEvent(Event event) {
     // The event timestamp is in milliseconds since the epoch.
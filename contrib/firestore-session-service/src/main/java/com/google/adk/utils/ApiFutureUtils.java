@@ -19,13 +19,14 @@ import com.google.api.core.ApiFuture;
 import com.google.api.core.ApiFutureCallback;
 import com.google.api.core.ApiFutures;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Utility class for converting ApiFuture to RxJava Single and Maybe types. */
+/** Utility class for converting ApiFuture to RxJava Single, Maybe and Completable types. */
 public class ApiFutureUtils {
 
   /** Logger for this class. */
@@ -75,4 +76,32 @@ public class ApiFutureUtils {
   public static <T> Maybe<T> toMaybe(ApiFuture<T> future) {
     return toSingle(future).toMaybe();
   }
+
+  /**
+   * Converts an ApiFuture to an RxJava Completable, discarding its result.
+   *
+   * @param future the ApiFuture to convert
+   * @return a Completable that completes when the ApiFuture succeeds
+   */
+  public static Completable toCompletable(ApiFuture<?> future) {
+    return Completable.create(
+        emitter -> {
+          ApiFutures.addCallback(
+              future,
+              new ApiFutureCallback<Object>() {
+                @Override
+                public void onSuccess(Object result) {
+                  // The result may be null (e.g. ApiFuture<Void>), which a Single cannot emit.
+                  emitter.onComplete();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                  logger.error("ApiFuture failed with an exception.", t);
+                  emitter.onError(t);
+                }
+              },
+              executor);
+        });
+  }
 }
@@ -31,6 +31,7 @@ import com.google.adk.events.Event;
 import com.google.adk.events.EventActions;
 import com.google.adk.utils.Constants;
 import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
@@ -430,6 +431,95 @@ public class FirestoreSessionServiceTest {
     assertThat(keywords).containsExactly("hello", "world");
   }
 
+  /** Tests that appendEvent waits for the Firestore writes without blocking the subscriber. */
+  @Test
+  void appendEvent_emitsOnlyOnceWritesComplete() {
+    // Arrange
+    Session session =
+        Session.builder(SESSION_ID)
+            .appName(APP_NAME)
+            .userId(USER_ID)
+            .state(new ConcurrentHashMap<>())
+            .build();
+    Event event =
+        Event.builder()
+            .author(Constants.KEY_USER)
+            .content(Content.builder().parts(List.of(Part.fromText("hello"))).build())
+            .build();
+    SettableApiFuture<WriteResult> eventWrite = SettableApiFuture.create();
+    when(mockSessionsCollection.document(SESSION_ID)).thenReturn(mockSessionDocRef);
+    when(mockEventsCollection.document()).thenReturn(mockEventDocRef);
+    when(mockEventDocRef.getId()).thenReturn(EVENT_ID);
+    when(mockEventsCollection.document(EVENT_ID)).thenReturn(mockEventDocRef);
+    when(mockEventDocRef.set(anyMap())).thenReturn(eventWrite);
+
+    // Act
+    TestObserver<Event> testObserver = sessionService.appendEvent(session, event).test();
+
+    // Assert: subscribing returned while the write is still pending.
+    testObserver.assertNotComplete();
+    testObserver.assertNoValues();
+
+    eventWrite.set(mockWriteResult);
+
+    testObserver.awaitCount(1);
+    testObserver.assertComplete();
+    testObserver.assertValue(event);
+  }
+
+  /** Tests that appendEvents writes every event and the session update with one batch commit. */
+  @Test
+  @SuppressWarnings("unchecked")
+  void appendEvents_commitsAllEventsInOneBatch() {
+    // Arrange
+    Session session =
+        Session.builder(SESSION_ID)
+            .appName(APP_NAME)
+            .userId(USER_ID)
+            .state(new ConcurrentHashMap<>())
+            .build();
+    ImmutableList<Event> events =
+        ImmutableList.of(
+            Event.builder()
+                .author(Constants.KEY_USER)
+                .content(Content.builder().parts(List.of(Part.fromText("hello"))).build())
+                .build(),
+            Event.builder()
+                .author("model")
+                .content(Content.builder().parts(List.of(Part.fromText("hi"))).build())
+                .actions(
+                    EventActions.builder()
+                        .stateDelta(new ConcurrentHashMap<>(ImmutableMap.of("key", "value")))
+                        .build())
+                .build(),
+            Event.builder()
+                .author("model")
+                .content(Content.builder().parts(List.of(Part.fromText("bye"))).build())
+                .build());
+    when(mockSessionsCollection.document(SESSION_ID)).thenReturn(mockSessionDocRef);
+    when(mockEventsCollection.document()).thenReturn(mockEventDocRef);
+
+    // Act
+    TestObserver<List<Event>> testObserver = sessionService.appendEvents(session, events).test();
+
+    // Assert
+    testObserver.awaitCount(1);
+    testObserver.assertComplete();
+    testObserver.assertValue(events);
+    assertThat(session.events()).containsExactlyElementsIn(events).inOrder();
+    assertThat(session.state()).containsEntry("key", "value");
+
+    verify(mockDb, times(1)).batch();
+    verify(mockWriteBatch, times(3)).set(eq(mockEventDocRef), anyMap());
+    ArgumentCaptor<Map<String, Object>> sessionUpdateCaptor = ArgumentCaptor.forClass(Map.class);
+    verify(mockWriteBatch, times(1)).update(eq(mockSessionDocRef), sessionUpdateCaptor.capture());
+    assertThat(sessionUpdateCaptor.getValue()).containsKey(Constants.KEY_STATE);
+    verify(mockWriteBatch, times(1)).commit();
+    verify(mockEventDocRef, never()).set(anyMap());
+    verify(mockSessionDocRef, never()).update(anyMap());
+    verify(mockSessionDocRef, never()).update(anyString(), any());
+  }
+
   /** Tests that appendAndGet correctly serializes and deserializes events with all part types. */
   @Test
   void appendAndGet_withAllPartTypes_serializesAndDeserializesCorrectly() {
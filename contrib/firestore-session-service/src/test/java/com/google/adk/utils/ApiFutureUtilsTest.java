@@ -16,8 +16,11 @@
 
 package com.google.adk.utils;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import com.google.api.core.SettableApiFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.observers.TestObserver;
@@ -91,4 +94,33 @@ public class ApiFutureUtilsTest {
     testObserver.assertError(testException);
     testObserver.assertNotComplete();
   }
+
+  /** Tests that ApiFutureUtils.toCompletable completes on success, even with a null result. */
+  @Test
+  void toCompletable_onSuccess_completes() {
+    SettableApiFuture<Void> future = SettableApiFuture.create();
+    Completable completable = ApiFutureUtils.toCompletable(future);
+    TestObserver<Void> testObserver = completable.test();
+
+    testObserver.assertNotComplete();
+    future.set(null);
+
+    testObserver.awaitDone(1, SECONDS);
+    testObserver.assertComplete();
+    testObserver.assertNoErrors();
+  }
+
+  /** Tests that ApiFutureUtils.toCompletable emits the expected error on failure. */
+  @Test
+  void toCompletable_onFailure_emitsError() {
+    SettableApiFuture<String> future = SettableApiFuture.create();
+    Completable completable = ApiFutureUtils.toCompletable(future);
+    TestObserver<Void> testObserver = completable.test();
+    Exception testException = new RuntimeException("test-exception");
+
+    future.setException(testException);
+
+    testObserver.awaitDone(1, SECONDS);
+    testObserver.assertError(testException);
+  }
 }
@@ -15,6 +15,7 @@
  */
 package com.google.adk.agents;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 import com.google.adk.agents.ConfigAgentUtils.ConfigurationException;
@@ -25,6 +26,7 @@ import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.ArrayList;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,11 +68,23 @@ import org.slf4j.LoggerFactory;
  *     ParallelAgent.builder().name("gather").subAgents(contacts, schedule).build();
  * var root = SequentialAgent.builder().name("root").subAgents(gather, writer).build();
  * }</pre>
+ *
+ * <p><b>Fan-out width:</b> by default all sub-agents start at once. With {@link
+ * Builder#maxConcurrency} at most that many run at a time, and the others start in list order as
+ * running ones complete. A {@link TokenBucketRateLimiter}, which can be shared with other agents,
+ * additionally limits how often sub-agents start.
+ *
+ * <p><b>Event ordering:</b> the events of each sub-agent are emitted in the order that sub-agent
+ * produces them; events of different sub-agents are interleaved in the order they are produced, so
+ * there is no ordering between sub-agents. An event escalating ends the run: running sub-agents are
+ * cancelled and pending ones are not started.
  */
 public class ParallelAgent extends BaseAgent {
 
   private static final Logger logger = LoggerFactory.getLogger(ParallelAgent.class);
   private final Scheduler scheduler;
+  private final @Nullable Integer maxConcurrency;
+  private final @Nullable TokenBucketRateLimiter rateLimiter;
 
   /**
    * Constructor for ParallelAgent.
@@ -81,6 +95,8 @@ public class ParallelAgent extends BaseAgent {
    * @param beforeAgentCallback Optional callback before the agent runs.
    * @param afterAgentCallback Optional callback after the agent runs.
    * @param scheduler The scheduler to use for parallel execution.
+   * @param maxConcurrency Optional maximum number of sub-agents running at a time.
+   * @param rateLimiter Optional limiter of how often sub-agents start.
    */
   private ParallelAgent(
       String name,
@@ -88,16 +104,22 @@ public class ParallelAgent extends BaseAgent {
       List<? extends BaseAgent> subAgents,
       List<Callbacks.BeforeAgentCallback> beforeAgentCallback,
       List<Callbacks.AfterAgentCallback> afterAgentCallback,
-      Scheduler scheduler) {
+      Scheduler scheduler,
+      @Nullable Integer maxConcurrency,
+      @Nullable TokenBucketRateLimiter rateLimiter) {
 
     super(name, description, subAgents, beforeAgentCallback, afterAgentCallback);
     this.scheduler = scheduler;
+    this.maxConcurrency = maxConcurrency;
+    this.rateLimiter = rateLimiter;
   }
 
   /** Builder for {@link ParallelAgent}. */
   public static class Builder extends BaseAgent.Builder<Builder> {
 
     private Scheduler scheduler = Schedulers.io();
+    private @Nullable Integer maxConcurrency;
+    private @Nullable TokenBucketRateLimiter rateLimiter;
 
     @CanIgnoreReturnValue
     public Builder scheduler(Scheduler scheduler) {
@@ -105,10 +127,33 @@ public class ParallelAgent extends BaseAgent {
       return this;
     }
 
+    /** Sets the maximum number of sub-agents running at a time; unbounded if null. */
+    @CanIgnoreReturnValue
+    public Builder maxConcurrency(@Nullable Integer maxConcurrency) {
+      checkArgument(
+          maxConcurrency == null || maxConcurrency > 0, "maxConcurrency must be positive");
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /** Sets a limiter that each sub-agent acquires a permit from before it starts. */
+    @CanIgnoreReturnValue
+    public Builder rateLimiter(@Nullable TokenBucketRateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
     @Override
     public ParallelAgent build() {
       return new ParallelAgent(
-          name, description, subAgents, beforeAgentCallback, afterAgentCallback, scheduler);
+          name,
+          description,
+          subAgents,
+          beforeAgentCallback,
+          afterAgentCallback,
+          scheduler,
+          maxConcurrency,
+          rateLimiter);
     }
   }
 
@@ -131,6 +176,10 @@ public class ParallelAgent extends BaseAgent {
     Builder builder = ParallelAgent.builder();
     ConfigAgentUtils.resolveAndSetCommonAgentFields(builder, config, configAbsPath);
 
+    if (config.maxConcurrency() != null) {
+      builder.maxConcurrency(config.maxConcurrency());
+    }
+
     // Build and return the agent
     ParallelAgent agent = builder.build();
     logger.info(
@@ -163,7 +212,8 @@ public class ParallelAgent extends BaseAgent {
   /**
    * Runs sub-agents in parallel and emits their events.
    *
-   * <p>Sets the branch and merges event streams from all sub-agents.
+   * <p>Sets the branch and merges event streams from all sub-agents, running at most {@code
+   * maxConcurrency} of them at a time.
    *
    * @param invocationContext Invocation context.
    * @return Flowable emitting events from all sub-agents.
@@ -178,10 +228,17 @@ public class ParallelAgent extends BaseAgent {
     var updatedInvocationContext = setBranchForCurrentAgent(this, invocationContext);
     List<Flowable<Event>> agentFlowables = new ArrayList<>();
     for (BaseAgent subAgent : currentSubAgents) {
-      agentFlowables.add(subAgent.runAsync(updatedInvocationContext).subscribeOn(scheduler));
+      Flowable<Event> agentFlowable = subAgent.runAsync(updatedInvocationContext);
+      if (rateLimiter != null) {
+        agentFlowable = rateLimiter.acquire(scheduler).andThen(agentFlowable);
+      }
+      agentFlowables.add(agentFlowable.subscribeOn(scheduler));
     }
-    return Flowable.merge(agentFlowables)
-        .takeUntil((Event event) -> event.actions().escalate().orElse(false));
+    Flowable<Event> merged =
+        maxConcurrency == null
+            ? Flowable.merge(agentFlowables)
+            : Flowable.merge(agentFlowables, maxConcurrency);
+    return merged.takeUntil((Event event) -> event.actions().escalate().orElse(false));
   }
 
   /**
@@ -17,8 +17,17 @@ package com.google.adk.agents;
 
 /** Configuration for ParallelAgent. */
 public class ParallelAgentConfig extends BaseAgentConfig {
+  private Integer maxConcurrency;
 
   public ParallelAgentConfig() {
     super("ParallelAgent");
   }
+
+  public Integer maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency(Integer maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.google.adk.agents;
 
+import com.google.adk.models.LlmRequest;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -56,12 +57,19 @@ public abstract class RunConfig {
    * <p>PARALLEL_SUBSCRIBE: like {@code PARALLEL}, but every tool is additionally subscribed on a
    * worker thread, so blocking tools also run concurrently. Tool implementations must be
    * thread-safe. The worker is the agent's executor when set, otherwise the RxJava IO scheduler.
+   *
+   * <p>PARALLEL_VIRTUAL_THREADS: like {@code PARALLEL_SUBSCRIBE}, but every tool is subscribed on a
+   * new virtual thread, so blocking tools scale without growing a platform thread pool. Virtual
+   * threads need Java 21; on earlier runtimes this mode falls back to the RxJava IO scheduler.
+   *
+   * <p>In the last two modes, {@link #maxConcurrentToolCalls()} bounds how many tools run at once.
    */
   public enum ToolExecutionMode {
     NONE,
     SEQUENTIAL,
     PARALLEL,
-    PARALLEL_SUBSCRIBE
+    PARALLEL_SUBSCRIBE,
+    PARALLEL_VIRTUAL_THREADS
   }
 
   public abstract @Nullable SpeechConfig speechConfig();
@@ -82,8 +90,29 @@ public abstract class RunConfig {
 
   public abstract int maxLlmCalls();
 
+  /**
+   * The maximum number of tool calls, out of one model response, running at the same time in the
+   * {@link ToolExecutionMode#PARALLEL_SUBSCRIBE} and {@link
+   * ToolExecutionMode#PARALLEL_VIRTUAL_THREADS} modes; zero or less for no limit. Further calls
+   * start as running ones complete, and responses keep the order of the calls.
+   */
+  public abstract int maxConcurrentToolCalls();
+
   public abstract boolean autoCreateSession();
 
+  /**
+   * The priority of the LLM requests of the run, used by models that queue requests for admission,
+   * such as {@link com.google.adk.models.AdmissionControlledLlm}. Defaults to {@code INTERACTIVE}.
+   */
+  public abstract LlmRequest.Priority requestPriority();
+
+  /**
+   * Whether the {@code Runner} coalesces the events emitted within one flow step into a single
+   * {@code BaseSessionService.appendEvents} call instead of appending them one by one. Events are
+   * still released to the caller in order, once their batch has been persisted.
+   */
+  public abstract boolean batchEventPersistence();
+
   public abstract Builder toBuilder();
 
   public static Builder builder() {
@@ -93,7 +122,10 @@ public abstract class RunConfig {
         .streamingMode(StreamingMode.NONE)
         .toolExecutionMode(ToolExecutionMode.NONE)
         .maxLlmCalls(500)
-        .autoCreateSession(false);
+        .maxConcurrentToolCalls(0)
+        .autoCreateSession(false)
+        .requestPriority(LlmRequest.Priority.INTERACTIVE)
+        .batchEventPersistence(false);
   }
 
   public static Builder builder(RunConfig runConfig) {
@@ -102,12 +134,15 @@ public abstract class RunConfig {
         .streamingMode(runConfig.streamingMode())
         .toolExecutionMode(runConfig.toolExecutionMode())
         .maxLlmCalls(runConfig.maxLlmCalls())
+        .maxConcurrentToolCalls(runConfig.maxConcurrentToolCalls())
         .responseModalities(runConfig.responseModalities())
         .speechConfig(runConfig.speechConfig())
         .avatarConfig(runConfig.avatarConfig())
         .outputAudioTranscription(runConfig.outputAudioTranscription())
         .inputAudioTranscription(runConfig.inputAudioTranscription())
-        .autoCreateSession(runConfig.autoCreateSession());
+        .autoCreateSession(runConfig.autoCreateSession())
+        .requestPriority(runConfig.requestPriority())
+        .batchEventPersistence(runConfig.batchEventPersistence());
   }
 
   /** Builder for {@link RunConfig}. */
@@ -193,6 +228,9 @@ public abstract class RunConfig {
     @CanIgnoreReturnValue
     public abstract Builder maxLlmCalls(int maxLlmCalls);
 
+    @CanIgnoreReturnValue
+    public abstract Builder maxConcurrentToolCalls(int maxConcurrentToolCalls);
+
     @Deprecated
     @CanIgnoreReturnValue
     public final Builder setAutoCreateSession(boolean autoCreateSession) {
@@ -202,6 +240,12 @@ public abstract class RunConfig {
     @CanIgnoreReturnValue
     public abstract Builder autoCreateSession(boolean autoCreateSession);
 
+    @CanIgnoreReturnValue
+    public abstract Builder requestPriority(LlmRequest.Priority requestPriority);
+
+    @CanIgnoreReturnValue
+    public abstract Builder batchEventPersistence(boolean batchEventPersistence);
+
     abstract RunConfig autoBuild();
 
     public RunConfig build() {
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.agents;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Scheduler;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A token bucket limiting how often sub-agents are started, e.g. by {@link ParallelAgent}.
+ *
+ * <p>The bucket holds up to {@code burst} permits and is refilled at {@code permitsPerSecond}.
+ * Acquiring a permit never blocks a thread: when the bucket is empty the permit is reserved ahead
+ * and {@link #acquire} completes once it becomes available; disposing the acquisition before then
+ * returns the permit. One instance can be shared by several agents of a tree to bound their
+ * combined rate.
+ */
+public final class TokenBucketRateLimiter {
+
+  private final double permitsPerNano;
+  private final double burst;
+
+  private double storedPermits;
+  private long lastRefillNanos = Long.MIN_VALUE;
+
+  /**
+   * @param permitsPerSecond The rate at which permits are added.
+   * @param burst The maximum number of permits held, i.e. that can be acquired at once after an
+   *     idle period. The bucket starts full.
+   */
+  public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+    checkArgument(permitsPerSecond > 0, "permitsPerSecond must be positive");
+    checkArgument(burst > 0, "burst must be positive");
+    this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+    this.burst = burst;
+    this.storedPermits = burst;
+  }
+
+  /**
+   * Returns a {@link Completable} that reserves a permit when subscribed, and completes when the
+   * permit is available, waiting on {@code scheduler} if needed.
+   */
+  public Completable acquire(Scheduler scheduler) {
+    return Completable.defer(
+        () -> {
+          long waitNanos = reserve(scheduler.now(NANOSECONDS));
+          if (waitNanos == 0) {
+            return Completable.complete();
+          }
+          AtomicBoolean waiting = new AtomicBoolean(true);
+          return Completable.timer(waitNanos, NANOSECONDS, scheduler)
+              .doOnComplete(() -> waiting.set(false))
+              .doOnDispose(
+                  () -> {
+                    // Cancelled before the permit was used: give it back to later acquirers.
+                    if (waiting.compareAndSet(true, false)) {
+                      release();
+                    }
+                  });
+        });
+  }
+
+  /** Takes one permit, possibly ahead of time; returns how long to wait until it is available. */
+  private synchronized long reserve(long nowNanos) {
+    if (lastRefillNanos == Long.MIN_VALUE) {
+      lastRefillNanos = nowNanos;
+    } else if (nowNanos > lastRefillNanos) {
+      storedPermits =
+          Math.min(burst, storedPermits + (nowNanos - lastRefillNanos) * permitsPerNano);
+      lastRefillNanos = nowNanos;
+    }
+    storedPermits -= 1;
+    return storedPermits >= 0 ? 0 : (long) Math.ceil(-storedPermits / permitsPerNano);
+  }
+
+  /** Returns a permit reserved by {@link #reserve} that will not be used. */
+  private synchronized void release() {
+    storedPermits = Math.min(burst, storedPermits + 1);
+  }
+}
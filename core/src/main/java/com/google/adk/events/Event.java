@@ -39,7 +39,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 import org.jspecify.annotations.Nullable;
 
 // TODO - b/413761119 update Agent.java when resolved.
@@ -71,10 +70,21 @@ public class Event extends JsonBaseModel {
 
   private long timestamp;
 
+  private static volatile EventIdGenerator idGenerator = EventIdGenerator.timeOrdered();
+
   private Event() {}
 
+  /**
+   * Returns a new event ID from the current {@link EventIdGenerator}, {@link
+   * EventIdGenerator#timeOrdered()} unless set otherwise with {@link #setIdGenerator}.
+   */
   public static String generateEventId() {
-    return UUID.randomUUID().toString();
+    return idGenerator.generate();
+  }
+
+  /** Sets the generator of the IDs returned by {@link #generateEventId()}. */
+  public static void setIdGenerator(EventIdGenerator generator) {
+    idGenerator = Objects.requireNonNull(generator);
   }
 
   /** The event id. */
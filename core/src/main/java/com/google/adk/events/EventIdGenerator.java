@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.events;
+
+import java.util.UUID;
+
+/**
+ * Mints the IDs returned by {@link Event#generateEventId()}.
+ *
+ * <p>The generator in use is set with {@link Event#setIdGenerator}; implementations must be
+ * thread-safe, as IDs are minted concurrently by all running invocations.
+ */
+@FunctionalInterface
+public interface EventIdGenerator {
+
+  /** Returns a new, unique ID. */
+  String generate();
+
+  /**
+   * The default generator: version 7 UUIDs, which start with the creation time in milliseconds, so
+   * that IDs sort by creation time. They are minted from thread-local state, without locking or
+   * {@link java.security.SecureRandom}; IDs minted by the same thread are strictly increasing.
+   */
+  static EventIdGenerator timeOrdered() {
+    return TimeOrderedEventIdGenerator.INSTANCE;
+  }
+
+  /** A generator of random (version 4) UUIDs, the format used by earlier releases. */
+  static EventIdGenerator randomUuid() {
+    return () -> UUID.randomUUID().toString();
+  }
+}
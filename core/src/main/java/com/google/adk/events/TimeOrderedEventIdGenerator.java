@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.events;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates version 7 UUIDs (RFC 9562): a 48-bit Unix timestamp in milliseconds, a 12-bit counter
+ * and 62 random bits.
+ *
+ * <p>The counter starts at a random value in the lower half of its range each millisecond and is
+ * incremented for each ID minted by the same thread in that millisecond, so IDs of a thread are
+ * strictly increasing. If the counter runs out, or the clock goes back, the timestamp is advanced
+ * past the last one used instead.
+ */
+final class TimeOrderedEventIdGenerator implements EventIdGenerator {
+
+  static final TimeOrderedEventIdGenerator INSTANCE =
+      new TimeOrderedEventIdGenerator(System::currentTimeMillis);
+
+  private static final int MAX_COUNTER = 0xFFF;
+
+  private final LongSupplier currentTimeMillis;
+  private final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(ThreadState::new);
+
+  TimeOrderedEventIdGenerator(LongSupplier currentTimeMillis) {
+    this.currentTimeMillis = currentTimeMillis;
+  }
+
+  @Override
+  public String generate() {
+    return nextUuid().toString();
+  }
+
+  UUID nextUuid() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    ThreadState state = threadState.get();
+    long now = currentTimeMillis.getAsLong();
+    if (now > state.millis) {
+      state.millis = now;
+      state.counter = random.nextInt(MAX_COUNTER / 2 + 1);
+    } else if (state.counter < MAX_COUNTER) {
+      state.counter++;
+    } else {
+      state.millis++;
+      state.counter = random.nextInt(MAX_COUNTER / 2 + 1);
+    }
+    long mostSigBits = (state.millis << 16) | 0x7000L | state.counter;
+    long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /** The timestamp and counter of the last ID minted by a thread. */
+  private static final class ThreadState {
+    long millis = -1;
+    int counter;
+  }
+}
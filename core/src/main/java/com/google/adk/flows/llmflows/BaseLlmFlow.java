@@ -61,7 +61,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,6 +76,8 @@ public abstract class BaseLlmFlow implements BaseFlow {
   // "Max steps" is experimental and may evolve in the future (e.g., to support persistence).
   protected final int maxSteps;
 
+  private final ToolDeclarationCache toolDeclarationCache = new ToolDeclarationCache();
+
   public BaseLlmFlow(
       List<RequestProcessor> requestProcessors, List<ResponseProcessor> responseProcessors) {
     this(requestProcessors, responseProcessors, /* maxSteps= */ Optional.empty());
@@ -118,36 +120,36 @@ public abstract class BaseLlmFlow implements BaseFlow {
    * methods of all tools and toolsets associated with this agent to the incoming {@link
    * LlmRequest}.
    *
+   * <p>Consecutive tools that only contribute their declaration are applied together, from a
+   * declarations fragment memoized per agent and tool list.
+   *
    * @return A {@link RequestProcessor} that applies tool-specific modifications to LLM requests.
    */
   @VisibleForTesting
   RequestProcessor getRequestProcessorFromTools(LlmAgent agent) {
     return (context, request) -> {
       ReadonlyContext readonlyContext = new ReadonlyContext(context);
-      List<BiFunction<LlmRequest.Builder, ToolContext, Completable>> processors = new ArrayList<>();
+      List<Function<ToolDeclarationCache.Batch, Completable>> processors = new ArrayList<>();
 
       for (Object toolOrToolset : agent.toolsUnion()) {
         if (toolOrToolset instanceof BaseTool baseTool) {
-          processors.add(
-              (builder, ctx) -> {
-                Completable c = baseTool.processLlmRequest(builder, ctx);
-                return c == null ? Completable.complete() : c;
-              });
+          processors.add(batch -> batch.process(baseTool));
         } else if (toolOrToolset instanceof BaseToolset baseToolset) {
           // First apply the toolset's own request processor, then unwrap all tools from the toolset
           // and apply each individual tool's request processor sequentially.
           processors.add(
-              (builder, ctx) -> {
-                Completable c = baseToolset.processLlmRequest(builder, ctx);
-                Completable toolsetProcessor = c == null ? Completable.complete() : c;
-                return toolsetProcessor
-                    .andThen(baseToolset.getTools(readonlyContext))
-                    .concatMapCompletable(
-                        b -> {
-                          Completable tc = b.processLlmRequest(builder, ctx);
-                          return tc == null ? Completable.complete() : tc;
-                        });
-              });
+              batch ->
+                  Completable.defer(
+                      () -> {
+                        batch.flush();
+                        Completable c =
+                            baseToolset.processLlmRequest(
+                                batch.llmRequestBuilder(), batch.toolContext());
+                        Completable toolsetProcessor = c == null ? Completable.complete() : c;
+                        return toolsetProcessor
+                            .andThen(baseToolset.getTools(readonlyContext))
+                            .concatMapCompletable(batch::process);
+                      }));
         } else {
           throw new IllegalArgumentException(
               "Object in tools list is not of a supported type: "
@@ -156,12 +158,16 @@ public abstract class BaseLlmFlow implements BaseFlow {
       }
 
       LlmRequest.Builder builder = request.toBuilder();
-      ToolContext toolContext = ToolContext.builder(context).build();
+      ToolDeclarationCache.Batch batch =
+          toolDeclarationCache.newBatch(agent, builder, ToolContext.builder(context).build());
       return Flowable.fromIterable(processors)
-          .concatMapCompletable(f -> f.apply(builder, toolContext))
+          .concatMapCompletable(f -> f.apply(batch))
           .andThen(
               Single.fromCallable(
-                  () -> RequestProcessingResult.create(builder.build(), ImmutableList.of())));
+                  () -> {
+                    batch.flush();
+                    return RequestProcessingResult.create(builder.build(), ImmutableList.of());
+                  }));
     };
   }
 
@@ -432,7 +438,10 @@ public abstract class BaseLlmFlow implements BaseFlow {
 
     return Flowable.defer(
         () -> {
-          return preprocess(context, llmRequestRef)
+          // With batched persistence, events emitted before this step (e.g. by a previous agent)
+          // may still be held by the Runner; flush them before building the request.
+          return PersistBarrier.awaitPending(context)
+              .andThen(preprocess(context, llmRequestRef))
               .concatWith(
                   Flowable.defer(
                       () -> {
@@ -476,7 +485,14 @@ public abstract class BaseLlmFlow implements BaseFlow {
                                   String oldId = event.id();
                                   String newId = Event.generateEventId();
                                   logger.debug("Resetting event ID from {} to {}", oldId, newId);
-                                  event = event.toBuilder().id(newId).build();
+                                  if (oldId.equals(mutableEventTemplate.id())) {
+                                    // Model response events, one per streamed chunk, are built
+                                    // from the template for this step and not emitted yet, so
+                                    // they take their ID in place instead of through a copy.
+                                    event.setId(newId);
+                                  } else {
+                                    event = event.toBuilder().id(newId).build();
+                                  }
                                   Flowable<Event> postProcessedEvents = Flowable.just(event);
                                   if (event.actions().transferToAgent().isPresent()) {
                                     String agentToTransfer =
@@ -816,7 +832,9 @@ public abstract class BaseLlmFlow implements BaseFlow {
 
     Event event = eventBuilder.build();
 
-    logger.debug("event: {} functionCalls: {}", event, event.functionCalls());
+    if (logger.isDebugEnabled()) {
+      logger.debug("event: {} functionCalls: {}", event, event.functionCalls());
+    }
 
     if (!event.functionCalls().isEmpty()) {
       Functions.populateClientFunctionCallId(event);
@@ -61,7 +61,8 @@ public final class Basic implements RequestProcessor {
                 agent
                     .generateContentConfig()
                     .orElseGet(() -> GenerateContentConfig.builder().build()))
-            .liveConnectConfig(liveConnectConfigBuilder.build());
+            .liveConnectConfig(liveConnectConfigBuilder.build())
+            .priority(context.runConfig().requestPriority());
 
     agent
         .outputSchema()
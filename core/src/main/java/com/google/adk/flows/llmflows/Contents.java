@@ -17,7 +17,6 @@
 package com.google.adk.flows.llmflows;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.adk.JsonBaseModel;
@@ -39,14 +38,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jspecify.annotations.Nullable;
 
 /** {@link RequestProcessor} that populates content in request for LLM flows. */
 public final class Contents implements RequestProcessor {
+  private static final String CONTENTS_STATES_KEY =
+      "com.google.adk.flows.llmflows.contents.states";
+
   public Contents() {}
 
   @Override
@@ -58,12 +62,11 @@ public final class Contents implements RequestProcessor {
     }
     LlmAgent llmAgent = (LlmAgent) context.agent();
 
-    ImmutableList<Event> sessionEvents;
-    synchronized (context.session().events()) {
-      sessionEvents = ImmutableList.copyOf(context.session().events());
-    }
-
     if (llmAgent.includeContents() == LlmAgent.IncludeContents.NONE) {
+      ImmutableList<Event> sessionEvents;
+      synchronized (context.session().events()) {
+        sessionEvents = ImmutableList.copyOf(context.session().events());
+      }
       return Single.just(
           RequestProcessor.RequestProcessingResult.create(
               request.toBuilder()
@@ -75,7 +78,8 @@ public final class Contents implements RequestProcessor {
     }
 
     ImmutableList<Content> contents =
-        getContents(context.branch().orElse(null), sessionEvents, context.agent().name());
+        contentsState(context, context.branch().orElse(null), context.agent().name())
+            .update(context.session().events());
 
     return Single.just(
         RequestProcessor.RequestProcessingResult.create(
@@ -89,61 +93,63 @@ public final class Contents implements RequestProcessor {
     for (int i = events.size() - 1; i >= 0; i--) {
       Event event = events.get(i);
       if (event.author().equals("user") || isOtherAgentReply(agentName, event)) {
-        return getContents(currentBranch, events.subList(i, events.size()), agentName);
+        return new ContentsState(currentBranch, agentName)
+            .update(events.subList(i, events.size()));
       }
     }
     return ImmutableList.of();
   }
 
-  private ImmutableList<Content> getContents(
-      @Nullable String currentBranch, List<Event> events, String agentName) {
-    List<Event> filteredEvents = new ArrayList<>();
-    boolean hasCompactEvent = false;
-
-    // Filter the events, leaving the contents and the function calls and responses from the current
-    // agent.
-    for (Event event : events) {
-      if (event.actions().compaction().isPresent()) {
-        // Always include the compaction event for the later processCompactionEvent call.
-        // The compaction event is used to filter out normal events that are covered by the
-        // compaction event.
-        hasCompactEvent = true;
-        filteredEvents.add(event);
-        continue;
-      }
-
-      // Skip events without content, or generated neither by user nor by model or has empty text.
-      // E.g. events purely for mutating session states.
-      if (isEmptyContent(event)) {
-        continue;
-      }
-      if (!isEventBelongsToBranch(currentBranch, event)) {
-        continue;
-      }
-      if (isRequestConfirmationEvent(event)) {
-        continue;
-      }
-
-      // TODO: Skip auth events.
+  /**
+   * Returns the {@link ContentsState} of the given agent and branch. States live in the
+   * per-invocation {@link InvocationContext#callbackContextData()} map, so every step of a
+   * multi-step invocation only processes the events appended since the previous step.
+   */
+  // Safe: CONTENTS_STATES_KEY only ever holds the Map created here.
+  @SuppressWarnings("unchecked")
+  private static ContentsState contentsState(
+      InvocationContext context, @Nullable String currentBranch, String agentName) {
+    Map<String, ContentsState> states =
+        (Map<String, ContentsState>)
+            context
+                .callbackContextData()
+                .computeIfAbsent(
+                    CONTENTS_STATES_KEY,
+                    unusedKey -> new ConcurrentHashMap<String, ContentsState>());
+    return states.computeIfAbsent(
+        Strings.nullToEmpty(currentBranch) + "\n" + agentName,
+        unusedKey -> new ContentsState(currentBranch, agentName));
+  }
 
-      if (isOtherAgentReply(agentName, event)) {
-        filteredEvents.add(convertForeignEvent(event));
-      } else {
-        filteredEvents.add(event);
-      }
+  /**
+   * Returns the event as it is sent to the model, or {@code null} if it is left out of the request.
+   *
+   * <p>Keeps the contents and the function calls and responses from the current agent, converts
+   * replies from other agents to contextual user messages, and always keeps compaction events for
+   * the later {@link #processCompactionEvent} call.
+   */
+  private static @Nullable Event filterEvent(
+      @Nullable String currentBranch, String agentName, Event event) {
+    if (event.actions().compaction().isPresent()) {
+      // The compaction event is used to filter out normal events that are covered by it.
+      return event;
     }
 
-    if (hasCompactEvent) {
-      filteredEvents = processCompactionEvent(filteredEvents);
+    // Skip events without content, or generated neither by user nor by model or has empty text.
+    // E.g. events purely for mutating session states.
+    if (isEmptyContent(event)) {
+      return null;
+    }
+    if (!isEventBelongsToBranch(currentBranch, event)) {
+      return null;
+    }
+    if (isRequestConfirmationEvent(event)) {
+      return null;
     }
 
-    List<Event> resultEvents = rearrangeEventsForLatestFunctionResponse(filteredEvents);
-    resultEvents = rearrangeEventsForAsyncFunctionResponsesInHistory(resultEvents);
+    // TODO: Skip auth events.
 
-    return resultEvents.stream()
-        .map(Event::content)
-        .flatMap(Optional::stream)
-        .collect(toImmutableList());
+    return isOtherAgentReply(agentName, event) ? convertForeignEvent(event) : event;
   }
 
   /**
@@ -157,7 +163,7 @@ public final class Contents implements RequestProcessor {
    * @param event the event to check.
    * @return {@code true} if the event is considered to have empty content, {@code false} otherwise.
    */
-  private boolean isEmptyContent(Event event) {
+  private static boolean isEmptyContent(Event event) {
     if (event.content().isEmpty()) {
       return true;
     }
@@ -166,7 +172,7 @@ public final class Contents implements RequestProcessor {
         || content.role().get().isEmpty()
         || content.parts().isEmpty()
         || content.parts().get().isEmpty()
-        || content.parts().get().stream().allMatch(this::isPartInvisible));
+        || content.parts().get().stream().allMatch(Contents::isPartInvisible));
   }
 
   /**
@@ -186,7 +192,7 @@ public final class Contents implements RequestProcessor {
    * @param part the part to check.
    * @return {@code true} if the part is invisible, {@code false} otherwise.
    */
-  private boolean isPartInvisible(Part part) {
+  private static boolean isPartInvisible(Part part) {
     if (part.functionCall().isPresent() || part.functionResponse().isPresent()) {
       return false;
     }
@@ -268,7 +274,7 @@ public final class Contents implements RequestProcessor {
    * @param events the list of event to filter.
    * @return a new list with compaction applied.
    */
-  private List<Event> processCompactionEvent(List<Event> events) {
+  private static List<Event> processCompactionEvent(List<Event> events) {
     // Step 1: Split events into compaction events and regular events.
     List<Event> compactionEvents = new ArrayList<>();
     List<Event> regularEvents = new ArrayList<>();
@@ -554,95 +560,6 @@ public final class Contents implements RequestProcessor {
     return resultEvents;
   }
 
-  private static List<Event> rearrangeEventsForAsyncFunctionResponsesInHistory(List<Event> events) {
-    Map<String, Integer> functionCallIdToResponseEventIndex = new HashMap<>();
-    for (int i = 0; i < events.size(); i++) {
-      final int index = i;
-      Event event = events.get(index);
-      event
-          .content()
-          .flatMap(Content::parts)
-          .ifPresent(
-              parts -> {
-                for (Part part : parts) {
-                  part.functionResponse()
-                      .ifPresent(
-                          response ->
-                              response
-                                  .id()
-                                  .ifPresent(
-                                      functionCallId ->
-                                          functionCallIdToResponseEventIndex.put(
-                                              functionCallId, index)));
-                }
-              });
-    }
-
-    List<Event> resultEvents = new ArrayList<>();
-    // Keep track of response events already added to avoid duplicates when merging
-    Set<Integer> processedResponseIndices = new HashSet<>();
-
-    for (int i = 0; i < events.size(); i++) {
-      Event event = events.get(i);
-
-      if (!event.functionResponses().isEmpty()) {
-        continue;
-      }
-
-      Optional<List<Part>> partsOptional = event.content().flatMap(Content::parts);
-      boolean hasFunctionCalls =
-          partsOptional
-              .map(parts -> parts.stream().anyMatch(p -> p.functionCall().isPresent()))
-              .orElse(false);
-
-      if (hasFunctionCalls) {
-        Set<Integer> responseEventIndices = new HashSet<>();
-        // Iterate through parts again to get function call IDs
-        partsOptional
-            .get()
-            .forEach(
-                part ->
-                    part.functionCall()
-                        .ifPresent(
-                            call ->
-                                call.id()
-                                    .ifPresent(
-                                        functionCallId -> {
-                                          if (functionCallIdToResponseEventIndex.containsKey(
-                                              functionCallId)) {
-                                            responseEventIndices.add(
-                                                functionCallIdToResponseEventIndex.get(
-                                                    functionCallId));
-                                          }
-                                        })));
-
-        resultEvents.add(event); // Add the function call event
-
-        if (!responseEventIndices.isEmpty()) {
-          List<Event> responseEventsToAdd = new ArrayList<>();
-          List<Integer> sortedIndices = new ArrayList<>(responseEventIndices);
-          Collections.sort(sortedIndices); // Process in chronological order
-
-          for (int index : sortedIndices) {
-            if (processedResponseIndices.add(index)) { // Add index and check if it was newly added
-              responseEventsToAdd.add(events.get(index));
-            }
-          }
-
-          if (responseEventsToAdd.size() == 1) {
-            resultEvents.add(responseEventsToAdd.get(0));
-          } else if (responseEventsToAdd.size() > 1) {
-            resultEvents.add(mergeFunctionResponseEvents(responseEventsToAdd));
-          }
-        }
-      } else {
-        resultEvents.add(event);
-      }
-    }
-
-    return resultEvents;
-  }
-
   /**
    * Merges a list of function response events into one event.
    *
@@ -747,4 +664,276 @@ public final class Contents implements RequestProcessor {
                         .map(Functions.REQUEST_CONFIRMATION_FUNCTION_CALL_NAME::equals)
                         .orElse(false));
   }
+
+  /** Returns the ids of the function calls in {@code event}, in order, without duplicates. */
+  private static Set<String> functionCallIds(Event event) {
+    Set<String> ids = new LinkedHashSet<>();
+    event
+        .content()
+        .flatMap(Content::parts)
+        .ifPresent(
+            parts -> {
+              for (Part part : parts) {
+                part.functionCall().flatMap(FunctionCall::id).ifPresent(ids::add);
+              }
+            });
+    return ids;
+  }
+
+  /** Returns the ids of the function responses in {@code event}, in order, without duplicates. */
+  private static Set<String> functionResponseIds(Event event) {
+    Set<String> ids = new LinkedHashSet<>();
+    event
+        .content()
+        .flatMap(Content::parts)
+        .ifPresent(
+            parts -> {
+              for (Part part : parts) {
+                part.functionResponse().flatMap(FunctionResponse::id).ifPresent(ids::add);
+              }
+            });
+    return ids;
+  }
+
+  /**
+   * The LLM request contents of one agent on one branch, maintained incrementally as events are
+   * appended to the session.
+   *
+   * <p>Each {@link #update} only filters the events appended since the previous call and extends
+   * the previous result, so request assembly in a multi-step invocation is proportional to the new
+   * events rather than to the whole session. Everything is recomputed from scratch when the session
+   * events no longer extend the ones seen before (e.g. events were removed or replaced), and the
+   * compaction stage is recomputed whenever a new compaction event shows up.
+   */
+  private static final class ContentsState {
+    private final @Nullable String currentBranch;
+    private final String agentName;
+
+    /** The session events list seen so far, and how much of it has been consumed. */
+    private @Nullable List<Event> source;
+
+    private int consumed;
+    private @Nullable Event lastConsumed;
+
+    /** Consumed events that passed {@link #filterEvent}, including compaction events. */
+    private final List<Event> filtered = new ArrayList<>();
+
+    /** {@link #filtered} with compaction applied; the same list while there is no compaction. */
+    private List<Event> compacted = filtered;
+
+    private boolean hasCompactEvent;
+    private long lastCompactionEndTimestamp;
+    private ResponseArrangement arrangement = new ResponseArrangement(filtered);
+
+    ContentsState(@Nullable String currentBranch, String agentName) {
+      this.currentBranch = currentBranch;
+      this.agentName = agentName;
+    }
+
+    /** Catches up with {@code sessionEvents} and returns the contents for the LLM request. */
+    synchronized ImmutableList<Content> update(List<Event> sessionEvents) {
+      List<Event> newEvents;
+      synchronized (sessionEvents) {
+        if (!extendsConsumedEvents(sessionEvents)) {
+          reset(sessionEvents);
+        }
+        newEvents = new ArrayList<>(sessionEvents.subList(consumed, sessionEvents.size()));
+        consumed = sessionEvents.size();
+        lastConsumed = consumed == 0 ? null : sessionEvents.get(consumed - 1);
+      }
+
+      boolean recompact = false;
+      for (Event event : newEvents) {
+        Event filteredEvent = filterEvent(currentBranch, agentName, event);
+        if (filteredEvent == null) {
+          continue;
+        }
+        filtered.add(filteredEvent);
+        if (filteredEvent.actions().compaction().isPresent()) {
+          // The latest compaction event is always kept, see removeOverlappingCompactions.
+          hasCompactEvent = true;
+          lastCompactionEndTimestamp = filteredEvent.actions().compaction().get().endTimestamp();
+          recompact = true;
+        } else if (hasCompactEvent && !recompact) {
+          // Events after the latest compaction are kept as is, so they can simply be appended.
+          if (filteredEvent.timestamp() > lastCompactionEndTimestamp) {
+            compacted.add(filteredEvent);
+          } else {
+            recompact = true;
+          }
+        }
+      }
+      if (recompact) {
+        compacted = new ArrayList<>(processCompactionEvent(filtered));
+        arrangement = new ResponseArrangement(compacted);
+      }
+      arrangement.catchUp();
+
+      List<Event> rearranged = rearrangeEventsForLatestFunctionResponse(compacted);
+      if (rearranged != compacted) {
+        // The latest function response answers an earlier async call. This is rare, so the
+        // rearranged history is arranged from scratch instead of patching the incremental result.
+        ResponseArrangement oneOff = new ResponseArrangement(rearranged);
+        oneOff.catchUp();
+        return ImmutableList.copyOf(oneOff.contents);
+      }
+      return ImmutableList.copyOf(arrangement.contents);
+    }
+
+    private boolean extendsConsumedEvents(List<Event> sessionEvents) {
+      return sessionEvents == source
+          && sessionEvents.size() >= consumed
+          && (consumed == 0 || sessionEvents.get(consumed - 1) == lastConsumed);
+    }
+
+    private void reset(List<Event> sessionEvents) {
+      source = sessionEvents;
+      consumed = 0;
+      lastConsumed = null;
+      filtered.clear();
+      compacted = filtered;
+      hasCompactEvent = false;
+      lastCompactionEndTimestamp = 0;
+      arrangement = new ResponseArrangement(filtered);
+    }
+  }
+
+  /**
+   * Incrementally computed contents of a list of events where each function call event is directly
+   * followed by its (merged) function response events, even if the responses arrived later in
+   * history (e.g. async function calls).
+   *
+   * <p>The result is grouped per non-response event: the event itself, followed by the response
+   * events that answer its function calls. Appending an event only touches the last group. If an
+   * appended event changes an earlier group (it answers a function call that is not the latest
+   * event, or answers an already answered call again), the arrangement is rebuilt from scratch.
+   */
+  private static final class ResponseArrangement {
+    private final List<Event> events;
+    private final List<Content> contents = new ArrayList<>();
+    private final List<Group> groups = new ArrayList<>();
+
+    /** Function call id to the index of the latest event responding to it. */
+    private final Map<String, Integer> responseIndexByCallId = new HashMap<>();
+
+    /** Function call id to the index of the first group that issued it. */
+    private final Map<String, Integer> groupIndexByCallId = new HashMap<>();
+
+    /** Indices of the response events already placed after a function call event. */
+    private final Set<Integer> placedResponseIndices = new HashSet<>();
+
+    private int arranged;
+
+    ResponseArrangement(List<Event> events) {
+      this.events = events;
+    }
+
+    /** Arranges the events appended to {@link #events} since the previous call. */
+    void catchUp() {
+      while (arranged < events.size()) {
+        if (!append(arranged)) {
+          rebuild();
+          return;
+        }
+        arranged++;
+      }
+    }
+
+    private void rebuild() {
+      contents.clear();
+      groups.clear();
+      responseIndexByCallId.clear();
+      groupIndexByCallId.clear();
+      placedResponseIndices.clear();
+      for (int i = 0; i < events.size(); i++) {
+        for (String callId : functionResponseIds(events.get(i))) {
+          responseIndexByCallId.put(callId, i);
+        }
+      }
+      for (Event event : events) {
+        if (event.functionResponses().isEmpty()) {
+          startGroup(event);
+        }
+      }
+      arranged = events.size();
+    }
+
+    /**
+     * Adds the event at {@code index} to the arrangement, returning {@code false} if that requires
+     * changing a group other than the last one.
+     */
+    private boolean append(int index) {
+      Event event = events.get(index);
+      if (event.functionResponses().isEmpty()) {
+        startGroup(event);
+        return true;
+      }
+
+      int lastGroupIndex = groups.size() - 1;
+      boolean answersLastGroup = false;
+      Set<String> callIds = functionResponseIds(event);
+      for (String callId : callIds) {
+        if (responseIndexByCallId.containsKey(callId)) {
+          return false;
+        }
+        Integer groupIndex = groupIndexByCallId.get(callId);
+        if (groupIndex != null) {
+          if (groupIndex != lastGroupIndex) {
+            return false;
+          }
+          answersLastGroup = true;
+        }
+      }
+      for (String callId : callIds) {
+        responseIndexByCallId.put(callId, index);
+      }
+      if (answersLastGroup) {
+        Group lastGroup = groups.get(lastGroupIndex);
+        placedResponseIndices.add(index);
+        lastGroup.responseIndices.add(index);
+        contents.subList(lastGroup.contentsStart, contents.size()).clear();
+        emit(lastGroup);
+      }
+      return true;
+    }
+
+    private void startGroup(Event event) {
+      Group group = new Group(event, contents.size());
+      for (String callId : functionCallIds(event)) {
+        groupIndexByCallId.putIfAbsent(callId, groups.size());
+        Integer responseIndex = responseIndexByCallId.get(callId);
+        if (responseIndex != null && placedResponseIndices.add(responseIndex)) {
+          group.responseIndices.add(responseIndex);
+        }
+      }
+      Collections.sort(group.responseIndices); // Keep responses in chronological order.
+      groups.add(group);
+      emit(group);
+    }
+
+    private void emit(Group group) {
+      group.event.content().ifPresent(contents::add);
+      if (group.responseIndices.size() == 1) {
+        events.get(group.responseIndices.get(0)).content().ifPresent(contents::add);
+      } else if (group.responseIndices.size() > 1) {
+        List<Event> responseEvents = new ArrayList<>();
+        for (int responseIndex : group.responseIndices) {
+          responseEvents.add(events.get(responseIndex));
+        }
+        mergeFunctionResponseEvents(responseEvents).content().ifPresent(contents::add);
+      }
+    }
+
+    /** A non-response event and the indices of the response events placed after it. */
+    private static final class Group {
+      final Event event;
+      final int contentsStart;
+      final List<Integer> responseIndices = new ArrayList<>();
+
+      Group(Event event, int contentsStart) {
+        this.event = event;
+        this.contentsStart = contentsStart;
+      }
+    }
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.flows.llmflows;
+
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.models.LlmRequest;
+import com.google.common.collect.ImmutableList;
+import io.reactivex.rxjava3.core.Single;
+
+/**
+ * {@link RequestProcessor} that passes the app's {@link com.google.adk.agents.ContextCacheConfig}
+ * to the model through {@link LlmRequest#cacheConfig()}.
+ */
+public final class ContextCaching implements RequestProcessor {
+
+  public ContextCaching() {}
+
+  @Override
+  public Single<RequestProcessor.RequestProcessingResult> processRequest(
+      InvocationContext context, LlmRequest request) {
+    if (context.contextCacheConfig().isEmpty()) {
+      return Single.just(
+          RequestProcessor.RequestProcessingResult.create(request, ImmutableList.of()));
+    }
+    return Single.just(
+        RequestProcessor.RequestProcessingResult.create(
+            request.toBuilder().cacheConfig(context.contextCacheConfig().get()).build(),
+            ImmutableList.of()));
+  }
+}
@@ -25,6 +25,7 @@ import com.google.adk.agents.Callbacks.BeforeToolCallback;
 import com.google.adk.agents.Callbacks.OnToolErrorCallback;
 import com.google.adk.agents.InvocationContext;
 import com.google.adk.agents.LlmAgent;
+import com.google.adk.agents.RunConfig;
 import com.google.adk.agents.RunConfig.ToolExecutionMode;
 import com.google.adk.events.Event;
 import com.google.adk.events.EventActions;
@@ -60,7 +61,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,7 +79,7 @@ public final class Functions {
 
   /** Generates a unique ID for a function call. */
   public static String generateClientFunctionCallId() {
-    return AF_FUNCTION_CALL_ID_PREFIX + UUID.randomUUID();
+    return AF_FUNCTION_CALL_ID_PREFIX + Event.generateEventId();
   }
 
   /**
@@ -253,7 +255,12 @@ public final class Functions {
    *       subscribes each tool on a worker scheduler, so blocking tools also run concurrently.
    *       {@code concatMapEager} preserves input order required by {@link
    *       #mergeParallelFunctionResponseEvents}.
+   *   <li>{@link ToolExecutionMode#PARALLEL_VIRTUAL_THREADS} is like {@code PARALLEL_SUBSCRIBE},
+   *       with each tool subscribed on a new virtual thread when the runtime supports them.
    * </ul>
+   *
+   * <p>In the two worker modes, {@link RunConfig#maxConcurrentToolCalls()} caps the number of tools
+   * subscribed at once.
    */
   private static Observable<Event> buildToolExecutionObservable(
       InvocationContext invocationContext,
@@ -264,11 +271,18 @@ public final class Functions {
     if (sequential) {
       return Observable.fromIterable(validFunctionCalls).concatMapMaybe(functionCallMapper);
     }
-    if (mode == ToolExecutionMode.PARALLEL_SUBSCRIBE) {
-      Scheduler scheduler = resolveToolExecutionScheduler(invocationContext);
+    if (mode == ToolExecutionMode.PARALLEL_SUBSCRIBE
+        || mode == ToolExecutionMode.PARALLEL_VIRTUAL_THREADS) {
+      Scheduler scheduler =
+          mode == ToolExecutionMode.PARALLEL_VIRTUAL_THREADS
+              ? VirtualThreadScheduler.INSTANCE
+              : resolveToolExecutionScheduler(invocationContext);
+      int maxConcurrentToolCalls = invocationContext.runConfig().maxConcurrentToolCalls();
       return Observable.fromIterable(validFunctionCalls)
           .concatMapEager(
-              call -> functionCallMapper.apply(call).toObservable().subscribeOn(scheduler));
+              call -> functionCallMapper.apply(call).toObservable().subscribeOn(scheduler),
+              maxConcurrentToolCalls > 0 ? maxConcurrentToolCalls : Integer.MAX_VALUE,
+              Observable.bufferSize());
     }
     // PARALLEL (and NONE, which defaults to PARALLEL): eager subscribe on the caller thread,
     // without offloading to a worker. Async tools run concurrently; blocking tools still block.
@@ -284,6 +298,28 @@ public final class Functions {
     return Schedulers.io();
   }
 
+  /**
+   * Runs each task on a new virtual thread. Virtual threads are looked up reflectively, as the
+   * library targets Java 17; before Java 21 the IO scheduler is used instead.
+   */
+  private static final class VirtualThreadScheduler {
+    static final Scheduler INSTANCE = create();
+
+    private static Scheduler create() {
+      try {
+        ExecutorService executor =
+            (ExecutorService)
+                Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        return Schedulers.from(executor);
+      } catch (ReflectiveOperationException e) {
+        logger.info("Virtual threads are not available, running tools on the IO scheduler.");
+        return Schedulers.io();
+      }
+    }
+
+    private VirtualThreadScheduler() {}
+  }
+
   private static Function<FunctionCall, Maybe<Event>> getFunctionCallMapper(
       InvocationContext invocationContext,
       Map<String, BaseTool> tools,
@@ -20,7 +20,7 @@ import com.google.adk.agents.InvocationContext;
 import com.google.adk.agents.LlmAgent;
 import com.google.adk.agents.ReadonlyContext;
 import com.google.adk.models.LlmRequest;
-import com.google.adk.utils.InstructionUtils;
+import com.google.adk.utils.InstructionTemplate;
 import com.google.common.collect.ImmutableList;
 import io.reactivex.rxjava3.core.Single;
 import java.util.Map;
@@ -73,7 +73,9 @@ public final class Instructions implements RequestProcessor {
                   if (bypassStateInjection) {
                     return Single.just(builder.appendInstructions(ImmutableList.of(instruction)));
                   }
-                  return InstructionUtils.injectSessionState(context, instruction)
+                  // Not bypassed: this is the agent's static instruction.
+                  return InstructionTemplate.compileStatic(instruction)
+                      .render(context)
                       .map(
                           resolvedInstr ->
                               builder.appendInstructions(ImmutableList.of(resolvedInstr)));
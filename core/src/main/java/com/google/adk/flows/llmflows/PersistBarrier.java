@@ -43,12 +43,22 @@ import java.util.concurrent.ConcurrentHashMap;
  * {@code appendEvent}) concurrently with {@code awaitPersisted}; {@link
  * java.util.concurrent.ConcurrentHashMap#computeIfAbsent} hands both sides the same subject, which
  * itself serializes its terminal signal against subscription.
+ *
+ * <p>When the {@code Runner} persists events in batches ({@link #enableBatching}), it holds events
+ * back until a flush is requested. Waiting on the barrier -- {@link #awaitPersisted} between steps
+ * and {@link #awaitPending} before each step -- requests that flush, so a step never waits on a
+ * write that has not been issued. Held events are also tracked until they resolve, so {@link
+ * #awaitPending} only visits the events of the batches not yet written rather than every event of
+ * the invocation.
  */
 public final class PersistBarrier {
 
   private static final String ENABLED_KEY = "com.google.adk.flows.llmflows.persistBarrier.enabled";
   private static final String BARRIERS_KEY =
       "com.google.adk.flows.llmflows.persistBarrier.barriers";
+  private static final String UNRESOLVED_KEY =
+      "com.google.adk.flows.llmflows.persistBarrier.unresolved";
+  private static final String FLUSH_KEY = "com.google.adk.flows.llmflows.persistBarrier.flush";
 
   private PersistBarrier() {}
 
@@ -61,6 +71,16 @@ public final class PersistBarrier {
     context.callbackContextData().put(ENABLED_KEY, true);
   }
 
+  /**
+   * Marks that the {@code Runner} holds events back and persists them in batches. {@code flush}
+   * must issue the write of every held event; it is called whenever the flow waits on the barrier
+   * and may be called concurrently.
+   */
+  public static void enableBatching(InvocationContext context, Runnable flush) {
+    enable(context);
+    context.callbackContextData().put(FLUSH_KEY, flush);
+  }
+
   /**
    * Completes once every event in {@code events} has been {@link #markPersisted}, or fails if any
    * was {@link #markFailed}; completes immediately if the barrier was never {@link #enable}d.
@@ -72,6 +92,7 @@ public final class PersistBarrier {
     if (enabled == null || !enabled) {
       return Completable.complete();
     }
+    requestFlush(context);
     Completable result = Completable.complete();
     for (Event event : events) {
       String eventId = event.id();
@@ -82,10 +103,50 @@ public final class PersistBarrier {
     return result;
   }
 
+  /**
+   * Completes once every event registered with {@link #markPending} so far has been persisted, or
+   * fails if any of them failed. Lets a step -- including the first step of an agent that follows
+   * another one -- build its request from a session holding everything emitted before it. Completes
+   * immediately unless batching was {@link #enableBatching enabled}.
+   */
+  public static Completable awaitPending(InvocationContext context) {
+    if (!context.callbackContextData().containsKey(FLUSH_KEY)) {
+      return Completable.complete();
+    }
+    requestFlush(context);
+    Completable result = Completable.complete();
+    for (CompletableSubject barrier : unresolved(context).values()) {
+      result = result.andThen(barrier);
+    }
+    return result;
+  }
+
+  /**
+   * Completes once the event with the given id has been persisted, without requesting a flush. Used
+   * by the {@code Runner} to release events to its caller in order once their batch is written.
+   */
+  public static Completable whenPersisted(InvocationContext context, String eventId) {
+    return eventId == null ? Completable.complete() : barrier(context, eventId);
+  }
+
+  /** Registers an event that the {@code Runner} holds back until the next batch is written. */
+  public static void markPending(InvocationContext context, String eventId) {
+    if (eventId != null) {
+      CompletableSubject barrier = barrier(context, eventId);
+      Map<String, CompletableSubject> unresolved = unresolved(context);
+      unresolved.put(eventId, barrier);
+      // A mark racing ahead of this registration would not see the entry; drop it here instead.
+      if (barrier.hasComplete() || barrier.hasThrowable()) {
+        unresolved.remove(eventId);
+      }
+    }
+  }
+
   /** Signals that the {@code Runner} persisted the event with the given id. */
   public static void markPersisted(InvocationContext context, String eventId) {
     if (eventId != null) {
       barrier(context, eventId).onComplete();
+      unresolved(context).remove(eventId);
     }
   }
 
@@ -96,6 +157,14 @@ public final class PersistBarrier {
   public static void markFailed(InvocationContext context, String eventId, Throwable error) {
     if (eventId != null) {
       barrier(context, eventId).onError(error);
+      unresolved(context).remove(eventId);
+    }
+  }
+
+  private static void requestFlush(InvocationContext context) {
+    Runnable flush = (Runnable) context.callbackContextData().get(FLUSH_KEY);
+    if (flush != null) {
+      flush.run();
     }
   }
 
@@ -119,13 +188,27 @@ public final class PersistBarrier {
     return pending;
   }
 
-  // Safe: BARRIERS_KEY only ever holds the Map created here.
-  @SuppressWarnings("unchecked")
   private static Map<String, CompletableSubject> barriers(InvocationContext context) {
+    return subjects(context, BARRIERS_KEY);
+  }
+
+  /** The {@link #markPending held} events not yet persisted or failed. */
+  private static Map<String, CompletableSubject> unresolved(InvocationContext context) {
+    return subjects(context, UNRESOLVED_KEY);
+  }
+
+  /** Held events not yet resolved; the events {@link #awaitPending} waits on. */
+  @VisibleForTesting
+  static int unresolvedCount(InvocationContext context) {
+    return unresolved(context).size();
+  }
+
+  // Safe: BARRIERS_KEY and UNRESOLVED_KEY only ever hold the Maps created here.
+  @SuppressWarnings("unchecked")
+  private static Map<String, CompletableSubject> subjects(InvocationContext context, String key) {
     return (Map<String, CompletableSubject>)
         context
             .callbackContextData()
-            .computeIfAbsent(
-                BARRIERS_KEY, unusedKey -> new ConcurrentHashMap<String, CompletableSubject>());
+            .computeIfAbsent(key, unusedKey -> new ConcurrentHashMap<String, CompletableSubject>());
   }
 }
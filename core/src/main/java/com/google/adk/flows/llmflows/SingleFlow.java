@@ -33,6 +33,7 @@ public class SingleFlow extends BaseLlmFlow {
           new Identity(),
           new Compaction(),
           new Contents(),
+          new ContextCaching(),
           CodeExecution.requestProcessor);
 
   protected static final ImmutableList<ResponseProcessor> RESPONSE_PROCESSORS =
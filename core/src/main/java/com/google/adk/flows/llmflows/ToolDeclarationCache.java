@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.flows.llmflows;
+
+import com.google.adk.agents.LlmAgent;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.tools.BaseTool;
+import com.google.adk.tools.ToolContext;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.FunctionDeclaration;
+import com.google.genai.types.Tool;
+import io.reactivex.rxjava3.core.Completable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Memoizes, per agent, the function declarations of tools that rely on the default {@link
+ * BaseTool#processLlmRequest}, i.e. only contribute their declaration to the request.
+ *
+ * <p>Consecutive tools of that kind are applied together, from a {@link Tool} built once per agent
+ * and resolved tool list; tools are compared by identity, and the declaration of a tool instance is
+ * assumed not to change. Tools overriding {@code processLlmRequest} are still called one by one, in
+ * their original order.
+ */
+final class ToolDeclarationCache {
+
+  /** Bounds the tool lists kept per agent, for toolsets that return new tools on each call. */
+  private static final int MAX_TOOL_LISTS_PER_AGENT = 16;
+
+  private static final ClassValue<Boolean> USES_DEFAULT_REQUEST_PROCESSING =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          try {
+            Method method =
+                type.getMethod("processLlmRequest", LlmRequest.Builder.class, ToolContext.class);
+            return method.getDeclaringClass() == BaseTool.class;
+          } catch (NoSuchMethodException e) {
+            return false;
+          }
+        }
+      };
+
+  private final Cache<LlmAgent, Cache<ImmutableList<BaseTool>, Optional<Fragment>>> declarations =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  /** Starts collecting the tools applied to {@code llmRequestBuilder} for one request. */
+  Batch newBatch(LlmAgent agent, LlmRequest.Builder llmRequestBuilder, ToolContext toolContext) {
+    return new Batch(agent, llmRequestBuilder, toolContext);
+  }
+
+  private Optional<Fragment> fragment(LlmAgent agent, ImmutableList<BaseTool> tools) {
+    try {
+      return declarations
+          .get(
+              agent,
+              () -> CacheBuilder.newBuilder().maximumSize(MAX_TOOL_LISTS_PER_AGENT).build())
+          .get(tools, () -> buildFragment(tools));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to build the tool declarations.", e.getCause());
+    }
+  }
+
+  private static Optional<Fragment> buildFragment(List<BaseTool> tools) {
+    ImmutableList.Builder<BaseTool> declaredTools = ImmutableList.builder();
+    ImmutableList.Builder<FunctionDeclaration> functionDeclarations = ImmutableList.builder();
+    for (BaseTool tool : tools) {
+      Optional<FunctionDeclaration> declaration = tool.declaration();
+      if (declaration.isPresent()) {
+        declaredTools.add(tool);
+        functionDeclarations.add(declaration.get());
+      }
+    }
+    ImmutableList<BaseTool> toolsWithDeclarations = declaredTools.build();
+    if (toolsWithDeclarations.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new Fragment(
+            toolsWithDeclarations,
+            Tool.builder().functionDeclarations(functionDeclarations.build()).build()));
+  }
+
+  /** The tools of a tool list that have a declaration, and a {@link Tool} declaring them. */
+  private record Fragment(ImmutableList<BaseTool> tools, Tool declarationsTool) {}
+
+  /** The tools of one request, applied in order to its builder. */
+  final class Batch {
+    private final LlmAgent agent;
+    private final LlmRequest.Builder llmRequestBuilder;
+    private final ToolContext toolContext;
+    private final List<BaseTool> pendingTools = new ArrayList<>();
+
+    private Batch(LlmAgent agent, LlmRequest.Builder llmRequestBuilder, ToolContext toolContext) {
+      this.agent = agent;
+      this.llmRequestBuilder = llmRequestBuilder;
+      this.toolContext = toolContext;
+    }
+
+    LlmRequest.Builder llmRequestBuilder() {
+      return llmRequestBuilder;
+    }
+
+    ToolContext toolContext() {
+      return toolContext;
+    }
+
+    /**
+     * Applies {@code tool} to the request, deferring it to the next {@link #flush} if it only
+     * contributes its declaration. Any other tool first flushes the deferred ones.
+     */
+    Completable process(BaseTool tool) {
+      return Completable.defer(
+          () -> {
+            if (USES_DEFAULT_REQUEST_PROCESSING.get(tool.getClass())) {
+              pendingTools.add(tool);
+              return Completable.complete();
+            }
+            flush();
+            Completable c = tool.processLlmRequest(llmRequestBuilder, toolContext);
+            return c == null ? Completable.complete() : c;
+          });
+    }
+
+    /** Applies the declarations of the deferred tools. */
+    void flush() {
+      if (pendingTools.isEmpty()) {
+        return;
+      }
+      ImmutableList<BaseTool> tools = ImmutableList.copyOf(pendingTools);
+      pendingTools.clear();
+      fragment(agent, tools)
+          .ifPresent(
+              fragment ->
+                  BaseTool.appendFunctionDeclarations(
+                      llmRequestBuilder, fragment.tools(), fragment.declarationsTool()));
+    }
+  }
+}
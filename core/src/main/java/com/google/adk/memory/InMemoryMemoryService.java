@@ -16,43 +16,65 @@
 
 package com.google.adk.memory;
 
-import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.adk.events.Event;
 import com.google.adk.sessions.Session;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.genai.types.Content;
 import com.google.genai.types.Part;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
 
 /**
  * An in-memory memory service for prototyping purposes only.
  *
- * <p>Uses keyword matching instead of semantic search.
+ * <p>Uses keyword matching instead of semantic search. Events are indexed when their session is
+ * added to memory, and a search returns the events sharing at least one word with the query, ranked
+ * by BM25 relevance and limited to the top {@code maxResults}.
  */
 public final class InMemoryMemoryService implements BaseMemoryService {
 
+  /** The number of memories returned by a search unless configured otherwise. */
+  public static final int DEFAULT_MAX_RESULTS = 10;
+
   // Pattern to extract words, matching the Python version.
   private static final Pattern WORD_PATTERN = Pattern.compile("[A-Za-z]+");
 
-  /** Keys are "app_name/user_id", values are maps of "session_id" to a list of events. */
-  private final Map<String, Map<String, List<Event>>> sessionEvents;
+  /** Keys are "app_name/user_id". */
+  private final Map<String, UserIndex> userIndexes;
+
+  private final int maxResults;
 
   public InMemoryMemoryService() {
-    this.sessionEvents = new ConcurrentHashMap<>();
+    this(DEFAULT_MAX_RESULTS);
+  }
+
+  /**
+   * Creates a memory service whose searches return at most {@code maxResults} memories, the most
+   * relevant first.
+   */
+  public InMemoryMemoryService(int maxResults) {
+    checkArgument(maxResults > 0, "maxResults must be positive, got %s", maxResults);
+    this.userIndexes = new ConcurrentHashMap<>();
+    this.maxResults = maxResults;
   }
 
   private static String userKey(String appName, String userId) {
@@ -64,19 +86,11 @@ public final class InMemoryMemoryService implements BaseMemoryService {
     return Completable.fromAction(
         () -> {
           String key = userKey(session.appName(), session.userId());
-          Map<String, List<Event>> userSessions =
-              sessionEvents.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
-          ImmutableList<Event> nonEmptyEvents =
-              session.events().stream()
-                  .filter(
-                      event ->
-                          event
-                              .content()
-                              .flatMap(c -> c.parts())
-                              .filter(parts -> !parts.isEmpty())
-                              .isPresent())
-                  .collect(toImmutableList());
-          userSessions.put(session.id(), nonEmptyEvents);
+          List<Event> events;
+          synchronized (session.events()) {
+            events = new ArrayList<>(session.events());
+          }
+          userIndexes.computeIfAbsent(key, k -> new UserIndex()).addSession(session.id(), events);
         });
   }
 
@@ -84,58 +98,273 @@ public final class InMemoryMemoryService implements BaseMemoryService {
   public Single<SearchMemoryResponse> searchMemory(String appName, String userId, String query) {
     return Single.fromCallable(
         () -> {
-          String key = userKey(appName, userId);
-
-          if (!sessionEvents.containsKey(key)) {
+          UserIndex userIndex = userIndexes.get(userKey(appName, userId));
+          if (userIndex == null) {
             return SearchMemoryResponse.builder().build();
           }
 
-          Map<String, List<Event>> userSessions = sessionEvents.get(key);
-
           ImmutableSet<String> wordsInQuery =
               ImmutableSet.copyOf(query.toLowerCase(Locale.ROOT).split("\\s+"));
 
-          List<MemoryEntry> matchingMemories = new ArrayList<>();
-
-          for (List<Event> eventsInSession : userSessions.values()) {
-            for (Event event : eventsInSession) {
-              if (event.content().isEmpty() || event.content().get().parts().isEmpty()) {
-                continue;
-              }
-
-              Set<String> wordsInEvent = new HashSet<>();
-              for (Part part : event.content().get().parts().get()) {
-                if (!Strings.isNullOrEmpty(part.text().get())) {
-                  Matcher matcher = WORD_PATTERN.matcher(part.text().get());
-                  while (matcher.find()) {
-                    wordsInEvent.add(matcher.group().toLowerCase(Locale.ROOT));
-                  }
-                }
-              }
-
-              if (wordsInEvent.isEmpty()) {
-                continue;
-              }
-
-              if (!Collections.disjoint(wordsInQuery, wordsInEvent)) {
-                MemoryEntry memory =
-                    MemoryEntry.builder()
-                        .content(event.content().get())
-                        .author(event.author())
-                        .timestamp(formatTimestamp(event.timestamp()))
-                        .build();
-                matchingMemories.add(memory);
-              }
-            }
-          }
-
           return SearchMemoryResponse.builder()
-              .memories(ImmutableList.copyOf(matchingMemories))
+              .memories(userIndex.search(wordsInQuery, maxResults))
               .build();
         });
   }
 
-  private String formatTimestamp(long timestamp) {
+  private static String formatTimestamp(long timestamp) {
     return Instant.ofEpochSecond(timestamp).toString();
   }
+
+  /** Returns how many times each word occurs in the text parts of {@code content}. */
+  private static Map<String, Integer> termFrequencies(Content content) {
+    Map<String, Integer> frequencies = new HashMap<>();
+    for (Part part : content.parts().orElse(ImmutableList.of())) {
+      String text = part.text().orElse(null);
+      if (Strings.isNullOrEmpty(text)) {
+        continue;
+      }
+      Matcher matcher = WORD_PATTERN.matcher(text);
+      while (matcher.find()) {
+        frequencies.merge(matcher.group().toLowerCase(Locale.ROOT), 1, Integer::sum);
+      }
+    }
+    return frequencies;
+  }
+
+  /**
+   * The inverted index over the memories of one user.
+   *
+   * <p>Every indexed event is a document identified by its position in {@link #documents}. Each
+   * word maps to the postings of the documents containing it, so a search only visits the documents
+   * sharing a word with the query. Re-adding a session whose indexed events are a prefix of its new
+   * events only indexes the new ones; otherwise the session's documents are removed and its events
+   * re-indexed. Removed documents are skipped by searches and dropped by {@link #compact} once they
+   * outnumber the live ones.
+   */
+  private static final class UserIndex {
+    // BM25 parameters, using the usual defaults.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, SessionDocuments> sessions = new HashMap<>();
+    private int liveDocuments;
+    private long totalLength;
+
+    void addSession(String sessionId, List<Event> events) {
+      lock.writeLock().lock();
+      try {
+        SessionDocuments indexed = sessions.get(sessionId);
+        int from = 0;
+        if (indexed != null && indexed.isPrefixOf(events)) {
+          from = indexed.eventCount;
+        } else if (indexed != null) {
+          indexed.documentIds.forEach(this::remove);
+          indexed = null;
+        }
+        if (indexed == null) {
+          indexed = new SessionDocuments();
+          sessions.put(sessionId, indexed);
+        }
+        for (int i = from; i < events.size(); i++) {
+          int documentId = index(events.get(i));
+          if (documentId >= 0) {
+            indexed.documentIds.add(documentId);
+          }
+        }
+        indexed.eventCount = events.size();
+        indexed.lastEvent = events.isEmpty() ? null : events.get(events.size() - 1);
+        if (documents.size() > 2 * liveDocuments + 64) {
+          compact();
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    ImmutableList<MemoryEntry> search(ImmutableSet<String> words, int maxResults) {
+      lock.readLock().lock();
+      try {
+        if (liveDocuments == 0) {
+          return ImmutableList.of();
+        }
+        double averageLength = (double) totalLength / liveDocuments;
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String word : words) {
+          Postings wordPostings = postings.get(word);
+          if (wordPostings == null || wordPostings.liveCount == 0) {
+            continue;
+          }
+          double idf =
+              Math.log(
+                  1
+                      + (liveDocuments - wordPostings.liveCount + 0.5)
+                          / (wordPostings.liveCount + 0.5));
+          for (int i = 0; i < wordPostings.size; i++) {
+            Document document = documents.get(wordPostings.documentIds[i]);
+            if (document.removed) {
+              continue;
+            }
+            double frequency = wordPostings.frequencies[i];
+            double score =
+                idf
+                    * frequency
+                    * (K1 + 1)
+                    / (frequency + K1 * (1 - B + B * document.length / averageLength));
+            scores.merge(wordPostings.documentIds[i], score, Double::sum);
+          }
+        }
+        return topResults(scores, maxResults);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /** Returns the memories of the best scoring documents, ties going to the earliest indexed. */
+    private ImmutableList<MemoryEntry> topResults(Map<Integer, Double> scores, int maxResults) {
+      Comparator<Map.Entry<Integer, Double>> ranking =
+          Map.Entry.<Integer, Double>comparingByValue()
+              .reversed()
+              .thenComparing(Map.Entry.comparingByKey());
+      PriorityQueue<Map.Entry<Integer, Double>> top =
+          new PriorityQueue<>(Math.min(scores.size(), maxResults) + 1, ranking.reversed());
+      for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+        top.add(entry);
+        if (top.size() > maxResults) {
+          top.poll();
+        }
+      }
+      List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(top);
+      ranked.sort(ranking);
+      return ranked.stream()
+          .map(entry -> documents.get(entry.getKey()).memory)
+          .collect(ImmutableList.toImmutableList());
+    }
+
+    /** Indexes {@code event} and returns its document id, or -1 if it has no words. */
+    private int index(Event event) {
+      Content content = event.content().orElse(null);
+      if (content == null || content.parts().map(List::isEmpty).orElse(true)) {
+        return -1;
+      }
+      Map<String, Integer> frequencies = termFrequencies(content);
+      if (frequencies.isEmpty()) {
+        return -1;
+      }
+      int documentId = documents.size();
+      int length = 0;
+      for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+        postings
+            .computeIfAbsent(entry.getKey(), k -> new Postings())
+            .add(documentId, entry.getValue());
+        length += entry.getValue();
+      }
+      MemoryEntry memory =
+          MemoryEntry.builder()
+              .content(content)
+              .author(event.author())
+              .timestamp(formatTimestamp(event.timestamp()))
+              .build();
+      documents.add(new Document(memory, ImmutableSet.copyOf(frequencies.keySet()), length));
+      liveDocuments++;
+      totalLength += length;
+      return documentId;
+    }
+
+    private void remove(int documentId) {
+      Document document = documents.get(documentId);
+      document.removed = true;
+      for (String word : document.words) {
+        postings.get(word).liveCount--;
+      }
+      liveDocuments--;
+      totalLength -= document.length;
+    }
+
+    /** Rebuilds the index without the removed documents. */
+    private void compact() {
+      List<Document> oldDocuments = new ArrayList<>(documents);
+      int[] newIds = new int[oldDocuments.size()];
+      documents.clear();
+      for (int i = 0; i < oldDocuments.size(); i++) {
+        Document document = oldDocuments.get(i);
+        newIds[i] = document.removed ? -1 : documents.size();
+        if (!document.removed) {
+          documents.add(document);
+        }
+      }
+      for (Postings wordPostings : postings.values()) {
+        wordPostings.renumber(newIds);
+      }
+      postings.values().removeIf(wordPostings -> wordPostings.size == 0);
+      for (SessionDocuments indexed : sessions.values()) {
+        indexed.documentIds.replaceAll(id -> newIds[id]);
+      }
+    }
+  }
+
+  /** An indexed event. */
+  private static final class Document {
+    final MemoryEntry memory;
+    final ImmutableSet<String> words;
+    final int length;
+    boolean removed;
+
+    Document(MemoryEntry memory, ImmutableSet<String> words, int length) {
+      this.memory = memory;
+      this.words = words;
+      this.length = length;
+    }
+  }
+
+  /** The ids of the documents containing a word, with the word's frequency in each. */
+  private static final class Postings {
+    int[] documentIds = new int[4];
+    int[] frequencies = new int[4];
+    int size;
+    int liveCount;
+
+    void add(int documentId, int frequency) {
+      if (size == documentIds.length) {
+        documentIds = Arrays.copyOf(documentIds, size * 2);
+        frequencies = Arrays.copyOf(frequencies, size * 2);
+      }
+      documentIds[size] = documentId;
+      frequencies[size] = frequency;
+      size++;
+      liveCount++;
+    }
+
+    /** Maps every document id through {@code newIds}, dropping the ones mapped to -1. */
+    void renumber(int[] newIds) {
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        int newId = newIds[documentIds[i]];
+        if (newId >= 0) {
+          documentIds[kept] = newId;
+          frequencies[kept] = frequencies[i];
+          kept++;
+        }
+      }
+      size = kept;
+    }
+  }
+
+  /** What has been indexed for a session, to index only its new events when it is re-added. */
+  private static final class SessionDocuments {
+    final List<Integer> documentIds = new ArrayList<>();
+    int eventCount;
+    @Nullable Event lastEvent;
+
+    /** Whether the events indexed so far are still the first events of {@code events}. */
+    boolean isPrefixOf(List<Event> events) {
+      if (events.size() < eventCount) {
+        return false;
+      }
+      return eventCount == 0 || events.get(eventCount - 1).equals(lastEvent);
+    }
+  }
 }
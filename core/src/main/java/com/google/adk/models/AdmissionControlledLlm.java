@@ -0,0 +1,399 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.models;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.adk.telemetry.Metrics;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.genai.errors.ApiException;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link BaseLlm} that admits requests to another model under a concurrency limit and a
+ * token-per-minute budget, so that bursts are queued here rather than rejected by the provider.
+ *
+ * <p>Waiting requests are admitted by {@link LlmRequest#priority()}: {@code INTERACTIVE} requests
+ * before {@code BATCH} ones, and in arrival order within a priority. Tokens are estimated from the
+ * request before admission and reconciled with the usage metadata of the response.
+ *
+ * <p>When a request fails with a throttling error (HTTP 429 or 503 by default) before any response
+ * was received, admission is paused for an exponentially growing backoff, the concurrency limit is
+ * halved, and the request is queued again, up to {@link Builder#maxRetries} times. Each successful
+ * request raises the limit by one again, up to the configured maximum, and resets the backoff.
+ *
+ * <p>Share one instance between the agents calling a model to bound their combined load. Queue
+ * depth and wait time are recorded with {@link Metrics}. Live connections are not queued.
+ */
+public final class AdmissionControlledLlm extends BaseLlm {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdmissionControlledLlm.class);
+
+  private static final long NANOS_PER_MINUTE = Duration.ofMinutes(1).toNanos();
+
+  private final BaseLlm delegate;
+  private final int maxConcurrentRequests;
+  private final long tokensPerMinute;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final int maxRetries;
+  private final Predicate<Throwable> isThrottlingError;
+  private final Scheduler scheduler;
+
+  // Guarded by this.
+  private final Deque<Ticket> interactiveQueue = new ArrayDeque<>();
+  private final Deque<Ticket> batchQueue = new ArrayDeque<>();
+  private int running;
+  private double concurrencyLimit;
+  private double availableTokens;
+  private long lastRefillNanos;
+  private long pausedUntilNanos;
+  private Duration backoff;
+  private long scheduledDrainNanos = Long.MAX_VALUE;
+
+  private AdmissionControlledLlm(Builder builder) {
+    super(builder.delegate.model());
+    this.delegate = builder.delegate;
+    this.maxConcurrentRequests = builder.maxConcurrentRequests;
+    this.tokensPerMinute = builder.tokensPerMinute;
+    this.initialBackoff = builder.initialBackoff;
+    this.maxBackoff = builder.maxBackoff;
+    this.maxRetries = builder.maxRetries;
+    this.isThrottlingError = builder.isThrottlingError;
+    this.scheduler = builder.scheduler;
+    this.concurrencyLimit = maxConcurrentRequests;
+    this.availableTokens = tokensPerMinute;
+    this.lastRefillNanos = scheduler.now(NANOSECONDS);
+    this.backoff = initialBackoff;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Builder for {@link AdmissionControlledLlm}. */
+  public static final class Builder {
+    private BaseLlm delegate;
+    private int maxConcurrentRequests = Integer.MAX_VALUE;
+    private long tokensPerMinute = 0;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    private int maxRetries = 3;
+    private Predicate<Throwable> isThrottlingError = AdmissionControlledLlm::isThrottlingStatus;
+    private Scheduler scheduler = Schedulers.computation();
+
+    private Builder() {}
+
+    /** The model requests are admitted to. */
+    @CanIgnoreReturnValue
+    public Builder delegate(BaseLlm delegate) {
+      this.delegate = delegate;
+      return this;
+    }
+
+    /** The maximum number of requests running at once. Unbounded by default. */
+    @CanIgnoreReturnValue
+    public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+      checkArgument(maxConcurrentRequests > 0, "maxConcurrentRequests must be positive");
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    /** The budget of estimated tokens per minute; zero, the default, for no budget. */
+    @CanIgnoreReturnValue
+    public Builder tokensPerMinute(long tokensPerMinute) {
+      checkArgument(tokensPerMinute >= 0, "tokensPerMinute must not be negative");
+      this.tokensPerMinute = tokensPerMinute;
+      return this;
+    }
+
+    /** The first pause after a throttling error, doubled on each consecutive one. */
+    @CanIgnoreReturnValue
+    public Builder initialBackoff(Duration initialBackoff) {
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /** The longest pause after a throttling error. */
+    @CanIgnoreReturnValue
+    public Builder maxBackoff(Duration maxBackoff) {
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /** How many times a throttled request is queued again before its error is returned. */
+    @CanIgnoreReturnValue
+    public Builder maxRetries(int maxRetries) {
+      checkArgument(maxRetries >= 0, "maxRetries must not be negative");
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /** Identifies throttling errors; by default Gemini API errors with status 429 or 503. */
+    @CanIgnoreReturnValue
+    public Builder throttlingErrorPredicate(Predicate<Throwable> isThrottlingError) {
+      this.isThrottlingError = isThrottlingError;
+      return this;
+    }
+
+    /** The scheduler used to resume admission after a pause. */
+    @CanIgnoreReturnValue
+    public Builder scheduler(Scheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public AdmissionControlledLlm build() {
+      checkNotNull(delegate, "delegate must be set");
+      return new AdmissionControlledLlm(this);
+    }
+  }
+
+  @Override
+  public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+    long estimatedTokens = tokensPerMinute > 0 ? estimateTokens(llmRequest) : 0;
+    return generate(llmRequest, stream, estimatedTokens, /* attempt= */ 0);
+  }
+
+  @Override
+  public BaseLlmConnection connect(LlmRequest llmRequest) {
+    return delegate.connect(llmRequest);
+  }
+
+  private Flowable<LlmResponse> generate(
+      LlmRequest llmRequest, boolean stream, long estimatedTokens, int attempt) {
+    AtomicBoolean responded = new AtomicBoolean();
+    return Flowable.using(
+            () -> enqueue(llmRequest.priority(), estimatedTokens),
+            ticket ->
+                ticket
+                    .admitted()
+                    .andThen(Flowable.defer(() -> delegate.generateContent(llmRequest, stream)))
+                    .doOnNext(
+                        response -> {
+                          responded.set(true);
+                          ticket.recordUsage(response);
+                        })
+                    .doOnComplete(ticket::markSucceeded),
+            this::release)
+        .onErrorResumeNext(
+            error -> {
+              if (responded.get() || !isThrottlingError.test(error)) {
+                return Flowable.error(error);
+              }
+              Duration pause = onThrottled();
+              if (attempt >= maxRetries) {
+                return Flowable.error(error);
+              }
+              logger.warn(
+                  "Model {} is throttling requests, retrying in {} ms (attempt {} of {}).",
+                  model(),
+                  pause.toMillis(),
+                  attempt + 1,
+                  maxRetries);
+              return generate(llmRequest, stream, estimatedTokens, attempt + 1);
+            });
+  }
+
+  private Ticket enqueue(LlmRequest.Priority priority, long estimatedTokens) {
+    Ticket ticket = new Ticket(priority, estimatedTokens, scheduler.now(NANOSECONDS));
+    synchronized (this) {
+      queue(priority).addLast(ticket);
+    }
+    Metrics.recordLlmAdmissionQueueDepthChange(model(), ticket.priorityName(), 1);
+    drain();
+    return ticket;
+  }
+
+  /** Releases the ticket's slot, or drops it from its queue if it was never admitted. */
+  private void release(Ticket ticket) {
+    boolean dequeued = false;
+    synchronized (this) {
+      if (ticket.admitted) {
+        running--;
+        if (tokensPerMinute > 0 && ticket.actualTokens >= 0) {
+          availableTokens -= ticket.actualTokens - ticket.chargedTokens;
+        }
+        if (ticket.succeeded) {
+          concurrencyLimit = Math.min(maxConcurrentRequests, concurrencyLimit + 1);
+          backoff = initialBackoff;
+        }
+      } else {
+        dequeued = queue(ticket.priority).remove(ticket);
+      }
+    }
+    if (dequeued) {
+      Metrics.recordLlmAdmissionQueueDepthChange(model(), ticket.priorityName(), -1);
+    }
+    drain();
+  }
+
+  /** Pauses admission and lowers the concurrency limit; returns the pause. */
+  private synchronized Duration onThrottled() {
+    Duration pause = backoff;
+    pausedUntilNanos = Math.max(pausedUntilNanos, scheduler.now(NANOSECONDS) + pause.toNanos());
+    concurrencyLimit = Math.max(1, Math.min(concurrencyLimit, running + 1) / 2);
+    Duration doubled = backoff.multipliedBy(2);
+    backoff = doubled.compareTo(maxBackoff) > 0 ? maxBackoff : doubled;
+    return pause;
+  }
+
+  /** Admits the waiting requests that fit, and schedules another drain if one has to wait. */
+  private void drain() {
+    List<Ticket> admitted = new ArrayList<>();
+    long now = scheduler.now(NANOSECONDS);
+    long retryAtNanos = Long.MAX_VALUE;
+    synchronized (this) {
+      refillTokens(now);
+      while (running < (int) concurrencyLimit) {
+        Ticket next = !interactiveQueue.isEmpty() ? interactiveQueue.peek() : batchQueue.peek();
+        if (next == null) {
+          break;
+        }
+        if (now < pausedUntilNanos) {
+          retryAtNanos = pausedUntilNanos;
+          break;
+        }
+        long chargedTokens = Math.min(next.estimatedTokens, tokensPerMinute);
+        if (tokensPerMinute > 0 && availableTokens < chargedTokens) {
+          double missingTokens = chargedTokens - availableTokens;
+          retryAtNanos = now + (long) Math.ceil(missingTokens * NANOS_PER_MINUTE / tokensPerMinute);
+          break;
+        }
+        queue(next.priority).poll();
+        availableTokens -= chargedTokens;
+        next.chargedTokens = chargedTokens;
+        next.admitted = true;
+        running++;
+        admitted.add(next);
+      }
+      if (retryAtNanos < scheduledDrainNanos) {
+        scheduledDrainNanos = retryAtNanos;
+      } else {
+        retryAtNanos = Long.MAX_VALUE;
+      }
+    }
+    if (retryAtNanos != Long.MAX_VALUE) {
+      var unused =
+          scheduler.scheduleDirect(
+              () -> {
+                synchronized (this) {
+                  scheduledDrainNanos = Long.MAX_VALUE;
+                }
+                drain();
+              },
+              retryAtNanos - now,
+              NANOSECONDS);
+    }
+    for (Ticket ticket : admitted) {
+      Metrics.recordLlmAdmissionQueueDepthChange(model(), ticket.priorityName(), -1);
+      Metrics.recordLlmAdmissionWait(
+          model(), ticket.priorityName(), Duration.ofNanos(now - ticket.enqueuedNanos));
+      ticket.admission.onComplete();
+    }
+  }
+
+  private void refillTokens(long now) {
+    if (tokensPerMinute > 0 && now > lastRefillNanos) {
+      double refill = (double) (now - lastRefillNanos) * tokensPerMinute / NANOS_PER_MINUTE;
+      availableTokens = Math.min(tokensPerMinute, availableTokens + refill);
+    }
+    lastRefillNanos = Math.max(lastRefillNanos, now);
+  }
+
+  private Deque<Ticket> queue(LlmRequest.Priority priority) {
+    return priority == LlmRequest.Priority.BATCH ? batchQueue : interactiveQueue;
+  }
+
+  /** A rough estimate of the prompt tokens, at about four characters per token. */
+  private static long estimateTokens(LlmRequest llmRequest) {
+    long chars =
+        llmRequest
+            .config()
+            .flatMap(GenerateContentConfig::systemInstruction)
+            .map(content -> (long) content.toJson().length())
+            .orElse(0L);
+    for (Content content : llmRequest.contents()) {
+      chars += content.toJson().length();
+    }
+    return Math.max(1, chars / 4);
+  }
+
+  private static boolean isThrottlingStatus(Throwable error) {
+    return error instanceof ApiException apiException
+        && (apiException.code() == 429 || apiException.code() == 503);
+  }
+
+  /** One attempt of a request, from the time it is queued until it completes. */
+  private static final class Ticket {
+    final LlmRequest.Priority priority;
+    final long estimatedTokens;
+    final long enqueuedNanos;
+    final CompletableSubject admission = CompletableSubject.create();
+
+    // Guarded by the enclosing AdmissionControlledLlm.
+    boolean admitted;
+    long chargedTokens;
+
+    volatile boolean succeeded;
+    volatile long actualTokens = -1;
+
+    Ticket(LlmRequest.Priority priority, long estimatedTokens, long enqueuedNanos) {
+      this.priority = priority;
+      this.estimatedTokens = estimatedTokens;
+      this.enqueuedNanos = enqueuedNanos;
+    }
+
+    Completable admitted() {
+      return admission;
+    }
+
+    String priorityName() {
+      return priority.name().toLowerCase(Locale.ROOT);
+    }
+
+    void recordUsage(LlmResponse response) {
+      response
+          .usageMetadata()
+          .flatMap(GenerateContentResponseUsageMetadata::totalTokenCount)
+          .ifPresent(total -> actualTokens = total);
+    }
+
+    void markSucceeded() {
+      succeeded = true;
+    }
+  }
+}
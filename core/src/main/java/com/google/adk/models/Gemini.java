@@ -19,6 +19,7 @@ package com.google.adk.models;
 import static com.google.common.base.StandardSystemProperty.JAVA_VERSION;
 
 import com.google.adk.Version;
+import com.google.adk.events.Event;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -40,7 +41,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -69,6 +69,7 @@ public class Gemini extends BaseLlm {
   }
 
   private final Client apiClient;
+  private final GeminiContextCacheManager contextCacheManager;
 
   /**
    * Constructs a new Gemini instance.
@@ -79,6 +80,7 @@ public class Gemini extends BaseLlm {
   public Gemini(String modelName, Client apiClient) {
     super(modelName);
     this.apiClient = Objects.requireNonNull(apiClient, "apiClient cannot be null");
+    this.contextCacheManager = new GeminiContextCacheManager(this.apiClient);
   }
 
   /**
@@ -95,6 +97,7 @@ public class Gemini extends BaseLlm {
             .apiKey(apiKey)
             .httpOptions(HttpOptions.builder().headers(TRACKING_HEADERS).build())
             .build();
+    this.contextCacheManager = new GeminiContextCacheManager(this.apiClient);
   }
 
   /**
@@ -112,6 +115,7 @@ public class Gemini extends BaseLlm {
     vertexCredentials.location().ifPresent(apiClientBuilder::location);
     vertexCredentials.credentials().ifPresent(apiClientBuilder::credentials);
     this.apiClient = apiClientBuilder.build();
+    this.contextCacheManager = new GeminiContextCacheManager(this.apiClient);
   }
 
   /**
@@ -211,11 +215,26 @@ public class Gemini extends BaseLlm {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>If the request carries a {@link LlmRequest#cacheConfig()}, its stable prefix is served from
+   * a Gemini context cache, created on first use.
+   */
   @Override
   public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
-    llmRequest =
+    LlmRequest preparedRequest =
         GeminiUtil.prepareGenenerateContentRequest(
             llmRequest, !apiClient.vertexAI(), /* stripThoughts= */ false);
+    if (preparedRequest.cacheConfig().isPresent()) {
+      return contextCacheManager
+          .applyCache(preparedRequest, preparedRequest.model().orElse(model()))
+          .flatMapPublisher(cachedRequest -> generate(cachedRequest, stream));
+    }
+    return generate(preparedRequest, stream);
+  }
+
+  private Flowable<LlmResponse> generate(LlmRequest llmRequest, boolean stream) {
     GenerateContentConfig config = llmRequest.config().orElse(null);
     String effectiveModelName = llmRequest.model().orElse(model());
 
@@ -352,7 +371,7 @@ public class Gemini extends BaseLlm {
      * that already sees IDs with the {@code "adk-"} prefix continues to work.
      */
     private static String generateClientFunctionCallId() {
-      return "adk-" + UUID.randomUUID();
+      return "adk-" + Event.generateEventId();
     }
 
     /**
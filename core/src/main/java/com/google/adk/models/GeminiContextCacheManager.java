@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.models;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.adk.agents.ContextCacheConfig;
+import com.google.adk.telemetry.Metrics;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.genai.Client;
+import com.google.genai.types.CachedContent;
+import com.google.genai.types.Content;
+import com.google.genai.types.CreateCachedContentConfig;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.Tool;
+import io.reactivex.rxjava3.core.Single;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates and reuses Gemini cached-content resources for the stable prefix of {@link LlmRequest}s
+ * that carry a {@link LlmRequest#cacheConfig()}.
+ *
+ * <p>The prefix is the system instruction, the tools and tool config, and every content before the
+ * trailing run of {@code user} contents, which changes on every step. Caches are keyed by the
+ * fingerprint of the model, system instruction, tools and the cached contents, so conversations
+ * with different histories never share or displace each other's caches. A request uses the cache of
+ * its longest cached prefix, as long as it has been used fewer than {@link
+ * ContextCacheConfig#maxInvocations()} times and its TTL has not run out; otherwise a new cache is
+ * created from the current request. Caches are never deleted here, since a request still in flight
+ * may use them: they expire on the server with their TTL and are then forgotten. A request using a
+ * cache references it through {@link GenerateContentConfig#cachedContent()} and only carries what
+ * follows the cached prefix.
+ *
+ * <p>Requests estimated below {@link ContextCacheConfig#minTokens()} are sent unchanged, as are
+ * requests whose cache could not be created; after a failed creation, requests with the same model,
+ * system instruction and tools do not try again for {@link #RETRY_AFTER_FAILURE}. Each lookup is
+ * counted with {@link Metrics#recordContextCacheRequest}.
+ */
+final class GeminiContextCacheManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(GeminiContextCacheManager.class);
+
+  /** A cache is not used during the last moments of its TTL, so it does not expire in flight. */
+  private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(10);
+
+  /** How long a group waits before trying to create a cache again after a failure. */
+  static final Duration RETRY_AFTER_FAILURE = Duration.ofMinutes(1);
+
+  private final BiFunction<String, CreateCachedContentConfig, CompletableFuture<CachedContent>>
+      createCache;
+  private final Clock clock;
+  // Keyed by the prefix fingerprint of each cache, see prefixFingerprints.
+  private final ConcurrentMap<HashCode, CacheEntry> caches = new ConcurrentHashMap<>();
+  // Group fingerprint -> when creating a cache for the group may be tried again.
+  private final ConcurrentMap<HashCode, Instant> failedGroups = new ConcurrentHashMap<>();
+
+  GeminiContextCacheManager(Client apiClient) {
+    this((model, config) -> apiClient.async.caches.create(model, config), Clock.systemUTC());
+  }
+
+  GeminiContextCacheManager(
+      BiFunction<String, CreateCachedContentConfig, CompletableFuture<CachedContent>> createCache,
+      Clock clock) {
+    this.createCache = createCache;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns {@code request} rewritten to reference a cache of its prefix, creating the cache if
+   * needed, or {@code request} itself if it has no cache config or is not worth caching.
+   */
+  Single<LlmRequest> applyCache(LlmRequest request, String model) {
+    if (request.cacheConfig().isEmpty()
+        || request.config().flatMap(GenerateContentConfig::cachedContent).isPresent()) {
+      return Single.just(request);
+    }
+    ContextCacheConfig cacheConfig = request.cacheConfig().get();
+    GenerateContentConfig config =
+        request.config().orElseGet(() -> GenerateContentConfig.builder().build());
+    List<Content> contents = request.contents();
+    HashCode groupKey = groupFingerprint(model, config);
+    int prefixLength = cacheablePrefixLength(contents);
+    // The trailing turn is never cached, so at least one content must follow a cached prefix.
+    List<HashCode> fingerprints =
+        prefixFingerprints(groupKey, contents, Math.min(prefixLength, contents.size() - 1));
+    Instant now = clock.instant();
+
+    for (int length = fingerprints.size() - 1; length >= 0; length--) {
+      CacheEntry entry = caches.get(fingerprints.get(length));
+      if (entry != null && entry.isReusableFor(cacheConfig, now)) {
+        Metrics.recordContextCacheRequest(model, "hit");
+        return Single.just(useCache(request, config, entry));
+      }
+    }
+    Instant retryTime = failedGroups.get(groupKey);
+    if (retryTime != null && now.isBefore(retryTime)) {
+      Metrics.recordContextCacheRequest(model, "skipped");
+      return Single.just(request);
+    }
+
+    boolean emptyPrefix =
+        prefixLength == 0 && config.systemInstruction().isEmpty() && config.tools().isEmpty();
+    if (emptyPrefix
+        || prefixLength >= contents.size()
+        || estimateTokens(config, contents) < cacheConfig.minTokens()) {
+      Metrics.recordContextCacheRequest(model, "skipped");
+      return Single.just(request);
+    }
+
+    HashCode key = fingerprints.get(prefixLength);
+    List<Content> prefix = ImmutableList.copyOf(contents.subList(0, prefixLength));
+    CreateCachedContentConfig.Builder createConfig =
+        CreateCachedContentConfig.builder().ttl(cacheConfig.ttl()).contents(prefix);
+    config.systemInstruction().ifPresent(createConfig::systemInstruction);
+    config.tools().ifPresent(createConfig::tools);
+    config.toolConfig().ifPresent(createConfig::toolConfig);
+
+    return Single.defer(
+            () -> Single.fromCompletionStage(createCache.apply(model, createConfig.build())))
+        .map(
+            cachedContent -> {
+              String name =
+                  cachedContent
+                      .name()
+                      .orElseThrow(() -> new IllegalStateException("Cache has no name."));
+              CacheEntry created = new CacheEntry(name, prefixLength, now.plus(cacheConfig.ttl()));
+              removeExpired(now);
+              caches.put(key, created);
+              failedGroups.remove(groupKey);
+              Metrics.recordContextCacheRequest(model, "miss");
+              logger.debug("Created context cache {} for model {}", name, model);
+              return useCache(request, config, created);
+            })
+        .onErrorReturn(
+            error -> {
+              logger.warn("Failed to create context cache, sending the request uncached.", error);
+              failedGroups.put(groupKey, now.plus(RETRY_AFTER_FAILURE));
+              Metrics.recordContextCacheRequest(model, "error");
+              return request;
+            });
+  }
+
+  /** Forgets caches whose TTL has run out; the server has deleted them. */
+  private void removeExpired(Instant now) {
+    caches.values().removeIf(entry -> !now.isBefore(entry.expireTime()));
+    failedGroups.values().removeIf(retryTime -> !now.isBefore(retryTime));
+  }
+
+  private static LlmRequest useCache(
+      LlmRequest request, GenerateContentConfig config, CacheEntry entry) {
+    List<Content> contents = request.contents();
+    return request.toBuilder()
+        .contents(ImmutableList.copyOf(contents.subList(entry.prefixLength(), contents.size())))
+        .config(
+            config.toBuilder()
+                .clearSystemInstruction()
+                .clearTools()
+                .clearToolConfig()
+                .cachedContent(entry.name())
+                .build())
+        .build();
+  }
+
+  /** The number of leading contents that are cached: all but the trailing {@code user} turn. */
+  private static int cacheablePrefixLength(List<Content> contents) {
+    int length = contents.size();
+    while (length > 0 && contents.get(length - 1).role().orElse("user").equals("user")) {
+      length--;
+    }
+    return length;
+  }
+
+  /** A rough estimate of the prompt tokens, at about four characters per token. */
+  private static long estimateTokens(GenerateContentConfig config, List<Content> contents) {
+    long chars = 0;
+    if (config.systemInstruction().isPresent()) {
+      chars += config.systemInstruction().get().toJson().length();
+    }
+    for (Tool tool : config.tools().orElse(ImmutableList.of())) {
+      chars += tool.toJson().length();
+    }
+    for (Content content : contents) {
+      chars += content.toJson().length();
+    }
+    return chars / 4;
+  }
+
+  private static HashCode groupFingerprint(String model, GenerateContentConfig config) {
+    Hasher hasher = Hashing.sha256().newHasher().putString(model, UTF_8).putByte((byte) 0);
+    config.systemInstruction().ifPresent(content -> hasher.putString(content.toJson(), UTF_8));
+    hasher.putByte((byte) 0);
+    for (Tool tool : config.tools().orElse(ImmutableList.of())) {
+      hasher.putString(tool.toJson(), UTF_8).putByte((byte) 0);
+    }
+    config.toolConfig().ifPresent(toolConfig -> hasher.putString(toolConfig.toJson(), UTF_8));
+    return hasher.hash();
+  }
+
+  /**
+   * Returns the fingerprints of the prefixes of {@code contents} of length 0 to {@code maxLength}
+   * (none if {@code maxLength} is negative). Each one chains the previous one with the next
+   * content, starting from the group fingerprint, so all of them are computed in one pass.
+   */
+  private static List<HashCode> prefixFingerprints(
+      HashCode groupKey, List<Content> contents, int maxLength) {
+    List<HashCode> fingerprints = new ArrayList<>();
+    if (maxLength < 0) {
+      return fingerprints;
+    }
+    HashCode fingerprint = groupKey;
+    fingerprints.add(fingerprint);
+    for (int i = 0; i < maxLength; i++) {
+      fingerprint =
+          Hashing.sha256()
+              .newHasher()
+              .putBytes(fingerprint.asBytes())
+              .putString(contents.get(i).toJson(), UTF_8)
+              .hash();
+      fingerprints.add(fingerprint);
+    }
+    return fingerprints;
+  }
+
+  /** One cache, holding the first {@code prefixLength} contents of the requests that use it. */
+  private record CacheEntry(String name, int prefixLength, Instant expireTime, AtomicInteger uses) {
+
+    CacheEntry(String name, int prefixLength, Instant expireTime) {
+      // The request that creates the cache is its first use.
+      this(name, prefixLength, expireTime, new AtomicInteger(1));
+    }
+
+    /** Whether the cache can be used for another request; counts a use if so. */
+    boolean isReusableFor(ContextCacheConfig config, Instant now) {
+      if (!now.plus(EXPIRY_MARGIN).isBefore(expireTime)) {
+        return false;
+      }
+      return uses.getAndIncrement() < config.maxInvocations();
+    }
+  }
+}
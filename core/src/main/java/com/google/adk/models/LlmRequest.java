@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.adk.JsonBaseModel;
+import com.google.adk.agents.ContextCacheConfig;
 import com.google.adk.tools.BaseTool;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableList;
@@ -87,6 +88,29 @@ public abstract class LlmRequest extends JsonBaseModel {
   @JsonIgnore
   public abstract Map<String, BaseTool> tools();
 
+  /**
+   * Returns the context cache configuration of the invocation, if context caching is enabled. Set
+   * from the app's {@link ContextCacheConfig}; models that support explicit caching use it to cache
+   * the stable prefix of the request.
+   */
+  @JsonIgnore
+  public abstract Optional<ContextCacheConfig> cacheConfig();
+
+  /** How urgently the request should be served, when requests wait for admission to a model. */
+  public enum Priority {
+    /** A user is waiting for the response. */
+    INTERACTIVE,
+    /** Background work, served after waiting interactive requests. */
+    BATCH
+  }
+
+  /**
+   * Returns the priority of the request, set from {@code RunConfig.requestPriority()}. Used by
+   * {@link AdmissionControlledLlm} to order waiting requests.
+   */
+  @JsonIgnore
+  public abstract Priority priority();
+
   /** returns the first system instruction text from the request if present. */
   @JsonIgnore
   public Optional<String> getFirstSystemInstruction() {
@@ -115,7 +139,8 @@ public abstract class LlmRequest extends JsonBaseModel {
     return new AutoValue_LlmRequest.Builder()
         .tools(ImmutableMap.of())
         .contents(ImmutableList.of())
-        .liveConnectConfig(LiveConnectConfig.builder().build());
+        .liveConnectConfig(LiveConnectConfig.builder().build())
+        .priority(Priority.INTERACTIVE);
   }
 
   public abstract Builder toBuilder();
@@ -154,6 +179,12 @@ public abstract class LlmRequest extends JsonBaseModel {
 
     abstract Map<String, BaseTool> tools();
 
+    @CanIgnoreReturnValue
+    public abstract Builder cacheConfig(ContextCacheConfig cacheConfig);
+
+    @CanIgnoreReturnValue
+    public abstract Builder priority(Priority priority);
+
     @CanIgnoreReturnValue
     public final Builder appendInstructions(List<String> instructions) {
       if (instructions.isEmpty()) {
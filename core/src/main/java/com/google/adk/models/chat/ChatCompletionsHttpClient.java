@@ -16,8 +16,10 @@
 
 package com.google.adk.models.chat;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.adk.JsonBaseModel;
 import com.google.adk.models.LlmRequest;
 import com.google.adk.models.LlmResponse;
@@ -26,8 +28,12 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.genai.types.HttpOptions;
 import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Emitter;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableEmitter;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Map;
@@ -41,7 +47,8 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
-import okio.BufferedSource;
+import okio.Buffer;
+import okio.ByteString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,7 +63,8 @@ public final class ChatCompletionsHttpClient implements ChatCompletionsClient {
   private static final ObjectMapper objectMapper = JsonBaseModel.getMapper();
 
   private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
-  private static final String SSE_DATA_PREFIX = "data:";
+  private static final ObjectReader CHUNK_READER =
+      objectMapper.readerFor(ChatCompletionsResponse.ChatCompletionChunk.class);
 
   /**
    * Default OkHttp call timeout used when the caller does not supply an {@link HttpOptions}
@@ -210,86 +218,147 @@ public final class ChatCompletionsHttpClient implements ChatCompletionsClient {
         });
   }
 
+  /**
+   * Streams the SSE response of {@code request}. Events are read from the response body only as
+   * downstream requests responses, one event ahead at most, on an I/O thread; a slow consumer slows
+   * the reads down instead of having the whole stream buffered in memory.
+   */
   private Flowable<LlmResponse> createStreamingFlowable(Request request) {
-    return Flowable.create(
-        emitter -> {
+    return Flowable.defer(
+        () -> {
           Call call = client.newCall(request);
-          emitter.setCancellable(call::cancel);
-          call.enqueue(
-              new Callback() {
-                @Override
-                public void onFailure(Call call, IOException e) {
-                  emitter.tryOnError(e);
-                }
-
-                @Override
-                public void onResponse(Call call, Response response) {
-                  try (ResponseBody body = response.body()) {
-                    if (!response.isSuccessful()) {
-                      String bodyStr = body != null ? body.string() : "";
-                      emitter.tryOnError(
-                          new IOException(
-                              "HTTP request failed with status: "
-                                  + response
-                                  + " - body: "
-                                  + bodyStr));
-                      return;
-                    }
-                    if (body == null) {
-                      emitter.tryOnError(new IOException("Empty response body"));
-                      return;
-                    }
-
-                    BufferedSource source = body.source();
-                    ChatCompletionsResponse.ChatCompletionChunkCollection collection =
-                        new ChatCompletionsResponse.ChatCompletionChunkCollection();
-                    while (!source.exhausted() && !emitter.isCancelled()) {
-                      String line = source.readUtf8Line();
-                      if (line == null) {
-                        break;
-                      }
-                      if (line.isEmpty()) {
-                        continue;
-                      }
-                      // TODO: Support SSE "event", "id", and "retry".
-                      // See
-                      // https://html.spec.whatwg.org/multipage/server-sent-events.html#event-stream-interpretation
-                      if (!line.startsWith(SSE_DATA_PREFIX)) {
-                        logger.debug("Ignoring SSE line without data prefix: {}", line);
-                        continue;
-                      }
-                      // The SSE spec allows whitespace after the prefix,
-                      //   eg: "data:foo" vs "data: foo".
-                      String data = line.substring(SSE_DATA_PREFIX.length()).stripLeading();
-                      if (data.equals("[DONE]")) {
-                        break;
-                      }
-                      // A single malformed chunk must not abort the entire stream. Log a
-                      // warning and continue.
-                      try {
-                        logger.trace("Raw streaming chat-completion chunk: {}", data);
-                        ChatCompletionsResponse.ChatCompletionChunk chunk =
-                            objectMapper.readValue(
-                                data, ChatCompletionsResponse.ChatCompletionChunk.class);
-                        ImmutableList<LlmResponse> responses = collection.processChunk(chunk);
-                        if (!responses.isEmpty()) {
-                          logger.trace("Responses to emit: {}", responses);
-                        }
-                        for (LlmResponse resp : responses) {
-                          emitter.onNext(resp);
-                        }
-                      } catch (JsonProcessingException e) {
-                        logger.warn("Failed to parse JSON chunk: {}", data, e);
-                      }
-                    }
-                    emitter.onComplete();
-                  } catch (Exception e) {
-                    emitter.tryOnError(e);
-                  }
-                }
-              });
-        },
-        BackpressureStrategy.BUFFER);
+          return Single.<ResponseBody>create(
+                  emitter -> call.enqueue(new StreamingCallback(emitter)))
+              .flatMapPublisher(
+                  body ->
+                      Flowable.<ImmutableList<LlmResponse>, ChunkStream>generate(
+                              () -> new ChunkStream(body),
+                              ChunkStream::emitNext,
+                              ChunkStream::close)
+                          .subscribeOn(Schedulers.io()))
+              .concatMapIterable(responses -> responses, /* prefetch= */ 1)
+              .doOnCancel(call::cancel);
+        });
+  }
+
+  /**
+   * Hands the body of a successful streaming response to the emitter, without reading it, or fails
+   * it with the HTTP error.
+   */
+  private static final class StreamingCallback implements Callback {
+    private final SingleEmitter<ResponseBody> emitter;
+
+    StreamingCallback(SingleEmitter<ResponseBody> emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+      emitter.tryOnError(e);
+    }
+
+    @Override
+    public void onResponse(Call call, Response response) {
+      ResponseBody body = response.body();
+      try {
+        if (!response.isSuccessful()) {
+          String bodyStr = body != null ? body.string() : "";
+          emitter.tryOnError(
+              new IOException(
+                  "HTTP request failed with status: " + response + " - body: " + bodyStr));
+          response.close();
+          return;
+        }
+        if (body == null) {
+          emitter.tryOnError(new IOException("Empty response body"));
+          response.close();
+          return;
+        }
+        if (emitter.isDisposed()) {
+          response.close();
+          return;
+        }
+        emitter.onSuccess(body);
+      } catch (Exception e) {
+        response.close();
+        emitter.tryOnError(e);
+      }
+    }
+  }
+
+  /**
+   * Turns the SSE events of a streaming response body into {@link LlmResponse}s. Each {@code data}
+   * payload is parsed with a streaming {@link JsonParser} straight from the bytes read off the
+   * connection, without building a {@link String} for it.
+   */
+  private static final class ChunkStream {
+    private static final ByteString DONE = ByteString.encodeUtf8("[DONE]");
+
+    private final ResponseBody body;
+    private final ServerSentEventReader reader;
+    private final ChatCompletionsResponse.ChatCompletionChunkCollection collection =
+        new ChatCompletionsResponse.ChatCompletionChunkCollection();
+
+    ChunkStream(ResponseBody body) {
+      this.body = body;
+      this.reader = new ServerSentEventReader(body.source());
+    }
+
+    /** Emits the responses produced by the next chunks that produce any, or completes. */
+    void emitNext(Emitter<ImmutableList<LlmResponse>> emitter) throws IOException {
+      while (reader.next()) {
+        String eventType = reader.eventType();
+        Buffer data = reader.data();
+        if (eventType != null && !eventType.equals("message")) {
+          if (eventType.equals("error")) {
+            emitter.onError(new IOException("Server sent an error event: " + data.readUtf8()));
+            return;
+          }
+          logger.debug("Ignoring SSE event of type {}", eventType);
+          continue;
+        }
+        if (isDone(data)) {
+          emitter.onComplete();
+          return;
+        }
+        ImmutableList<LlmResponse> responses = processChunk(data);
+        if (!responses.isEmpty()) {
+          logger.trace("Responses to emit: {}", responses);
+          emitter.onNext(responses);
+          return;
+        }
+      }
+      emitter.onComplete();
+    }
+
+    private ImmutableList<LlmResponse> processChunk(Buffer data) throws IOException {
+      if (logger.isTraceEnabled()) {
+        logger.trace("Raw streaming chat-completion chunk: {}", data.snapshot().utf8());
+      }
+      ChatCompletionsResponse.ChatCompletionChunk chunk;
+      // Parsed from a peek so the payload can still be logged if it is malformed.
+      try (JsonParser parser = objectMapper.getFactory().createParser(data.peek().inputStream())) {
+        chunk = CHUNK_READER.readValue(parser);
+      } catch (JsonProcessingException e) {
+        // A single malformed chunk must not abort the entire stream. Log a warning and continue.
+        logger.warn("Failed to parse JSON chunk: {}", data.readUtf8(), e);
+        return ImmutableList.of();
+      }
+      return collection.processChunk(chunk);
+    }
+
+    /** Whether {@code data} is the {@code [DONE]} sentinel, after optional leading whitespace. */
+    private static boolean isDone(Buffer data) {
+      long start = 0;
+      while (start < data.size() && Character.isWhitespace(data.getByte(start))) {
+        start++;
+      }
+      return data.size() - start == DONE.size() && data.rangeEquals(start, DONE);
+    }
+
+    void close() {
+      body.close();
+    }
   }
 
   /**
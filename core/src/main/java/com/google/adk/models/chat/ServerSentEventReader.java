@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.models.chat;
+
+import java.io.IOException;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Decodes a {@code text/event-stream} body one event at a time, following the <a
+ * href="https://html.spec.whatwg.org/multipage/server-sent-events.html#event-stream-interpretation">event
+ * stream interpretation</a> of the SSE specification.
+ *
+ * <p>The {@code data} of an event is moved from the source into a reused {@link Buffer} without
+ * being decoded to a {@link String}, so a caller can parse it in place. {@code event}, {@code id}
+ * and {@code retry} fields are decoded, comments and unknown fields are skipped. Lines may end with
+ * {@code \n}, {@code \r\n} or {@code \r}.
+ *
+ * <p>Not thread-safe. Reconnection is not implemented: {@link #lastEventId()} and {@link
+ * #retryMillis()} are only recorded.
+ */
+final class ServerSentEventReader {
+  private static final ByteString LINE_TERMINATORS = ByteString.encodeUtf8("\r\n");
+  private static final ByteString DATA = ByteString.encodeUtf8("data");
+  private static final ByteString EVENT = ByteString.encodeUtf8("event");
+  private static final ByteString ID = ByteString.encodeUtf8("id");
+  private static final ByteString RETRY = ByteString.encodeUtf8("retry");
+
+  private final BufferedSource source;
+  private final Buffer data = new Buffer();
+  private int dataLines;
+  private @Nullable String eventType;
+  private @Nullable String lastEventId;
+  private long retryMillis = -1;
+
+  ServerSentEventReader(BufferedSource source) {
+    this.source = source;
+  }
+
+  /**
+   * Reads up to the end of the next event that carries data, blocking on the source as needed.
+   *
+   * @return {@code false} once the source is exhausted without a further event.
+   */
+  boolean next() throws IOException {
+    data.clear();
+    dataLines = 0;
+    eventType = null;
+    while (true) {
+      long lineLength = source.indexOfElement(LINE_TERMINATORS);
+      boolean lastLine = lineLength == -1;
+      if (lastLine) {
+        // No terminator before the end of the stream: what is left is the final line, if any.
+        lineLength = source.getBuffer().size();
+        if (lineLength == 0) {
+          // Dispatch a trailing event even without the blank line the spec requires: some servers
+          // end the stream right after the last data line.
+          return dataLines > 0;
+        }
+      }
+      if (lineLength == 0) {
+        skipLineTerminator();
+        if (dataLines > 0) {
+          return true;
+        }
+        // A blank line without data only resets the event type.
+        eventType = null;
+        continue;
+      }
+      readField(lineLength);
+      if (lastLine) {
+        return dataLines > 0;
+      }
+      skipLineTerminator();
+    }
+  }
+
+  /**
+   * The data of the event returned by the last {@link #next}, with multiple {@code data} lines
+   * joined by {@code \n}. Valid until the next call to {@link #next}; consuming it is allowed.
+   */
+  Buffer data() {
+    return data;
+  }
+
+  /** The type set by the {@code event} field of the current event, or {@code null} by default. */
+  @Nullable String eventType() {
+    return eventType;
+  }
+
+  /** The last event ID set by an {@code id} field in the stream so far. */
+  @Nullable String lastEventId() {
+    return lastEventId;
+  }
+
+  /** The reconnection time set by the last valid {@code retry} field, or -1 if none. */
+  long retryMillis() {
+    return retryMillis;
+  }
+
+  /** Consumes a non-empty line of {@code lineLength} bytes and applies its field. */
+  private void readField(long lineLength) throws IOException {
+    long colon = source.indexOf((byte) ':', 0, lineLength);
+    if (colon == 0) {
+      // Comment, often sent as a keep-alive.
+      source.skip(lineLength);
+      return;
+    }
+    long nameLength = colon == -1 ? lineLength : colon;
+    long valueOffset = colon == -1 ? lineLength : colon + 1;
+    if (valueOffset < lineLength && source.getBuffer().getByte(valueOffset) == ' ') {
+      valueOffset++;
+    }
+    long valueLength = lineLength - valueOffset;
+
+    if (isField(DATA, nameLength)) {
+      if (dataLines++ > 0) {
+        data.writeByte('\n');
+      }
+      source.skip(valueOffset);
+      // Moves whole segments where possible instead of copying the bytes.
+      source.read(data, valueLength);
+    } else if (isField(EVENT, nameLength)) {
+      source.skip(valueOffset);
+      eventType = source.readUtf8(valueLength);
+    } else if (isField(ID, nameLength)) {
+      source.skip(valueOffset);
+      String id = source.readUtf8(valueLength);
+      if (id.indexOf('\0') == -1) {
+        lastEventId = id;
+      }
+    } else if (isField(RETRY, nameLength)) {
+      source.skip(valueOffset);
+      String retry = source.readUtf8(valueLength);
+      if (!retry.isEmpty() && retry.chars().allMatch(c -> c >= '0' && c <= '9')) {
+        try {
+          retryMillis = Long.parseLong(retry);
+        } catch (NumberFormatException e) {
+          // Out of range; ignored like any other invalid value.
+        }
+      }
+    } else {
+      source.skip(lineLength);
+    }
+  }
+
+  private boolean isField(ByteString name, long nameLength) throws IOException {
+    return nameLength == name.size() && source.rangeEquals(0, name);
+  }
+
+  /** Consumes {@code \n}, {@code \r\n} or a lone {@code \r}. */
+  private void skipLineTerminator() throws IOException {
+    if (source.readByte() == '\r' && source.request(1) && source.getBuffer().getByte(0) == '\n') {
+      source.skip(1);
+    }
+  }
+}
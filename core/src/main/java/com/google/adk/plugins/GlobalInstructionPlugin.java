@@ -18,7 +18,7 @@ package com.google.adk.plugins;
 import com.google.adk.agents.CallbackContext;
 import com.google.adk.models.LlmRequest;
 import com.google.adk.models.LlmResponse;
-import com.google.adk.utils.InstructionUtils;
+import com.google.adk.utils.InstructionTemplate;
 import com.google.common.collect.ImmutableList;
 import com.google.genai.types.Content;
 import com.google.genai.types.GenerateContentConfig;
@@ -46,14 +46,12 @@ public class GlobalInstructionPlugin extends BasePlugin {
 
   private static Function<CallbackContext, Maybe<String>> createInstructionProvider(
       String globalInstruction) {
-    return callbackContext -> {
-      if (globalInstruction == null) {
-        return Maybe.empty();
-      }
-      return InstructionUtils.injectSessionState(
-              callbackContext.invocationContext(), globalInstruction)
-          .toMaybe();
-    };
+    if (globalInstruction == null) {
+      return callbackContext -> Maybe.empty();
+    }
+    // Compiled once for the plugin's lifetime.
+    InstructionTemplate template = InstructionTemplate.compile(globalInstruction);
+    return callbackContext -> template.render(callbackContext.invocationContext()).toMaybe();
   }
 
   public GlobalInstructionPlugin(String globalInstruction) {
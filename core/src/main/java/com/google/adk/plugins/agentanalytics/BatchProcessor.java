@@ -16,6 +16,7 @@
 
 package com.google.adk.plugins.agentanalytics;
 
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
@@ -24,6 +25,9 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
 import com.google.cloud.bigquery.storage.v1.Exceptions.AppendSerializationError;
 import com.google.cloud.bigquery.storage.v1.StreamWriter;
@@ -34,9 +38,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.arrow.memory.BufferAllocator;
@@ -54,7 +62,16 @@ import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 
-/** Handles asynchronous batching and writing of events to BigQuery. */
+/**
+ * Handles asynchronous batching and writing of events to BigQuery.
+ *
+ * <p>A processor is shared by many invocations. Each appended row gets a sequence number, so that
+ * an invocation can wait for its own rows with {@link #flushThrough} when it completes.
+ *
+ * <p>Flushes do not wait for BigQuery to acknowledge a batch: up to {@code maxInFlightAppends}
+ * appends are in flight at once, and a flush waits for one of them to complete when the window is
+ * full. Rows keep queueing meanwhile, up to {@code queueMaxSize}.
+ */
 class BatchProcessor implements AutoCloseable {
   private static final Logger logger = Logger.getLogger(BatchProcessor.class.getName());
 
@@ -65,14 +82,35 @@ class BatchProcessor implements AutoCloseable {
   private final ScheduledExecutorService executor;
   @VisibleForTesting final BufferAllocator allocator;
   final AtomicBoolean flushLock = new AtomicBoolean(false);
-  private final Schema arrowSchema;
   private final VectorSchemaRoot root;
+  // Column names of the schema, and the writers of their vectors in root.
+  private final String[] columnNames;
+  private final ValueWriter[] columnWriters;
+  // Guards appendedSequence, and keeps the queue in sequence order.
+  private final Object appendLock = new Object();
+  private long appendedSequence;
+  // Sequence number of the last row taken off the queue. Only updated while flushing.
+  private final AtomicLong drainedSequence = new AtomicLong();
+  // Appends in flight, keyed by the sequence number of their last row, with the sequence number of
+  // the row before their first one.
+  private final ConcurrentSkipListMap<Long, Long> inFlightBatches = new ConcurrentSkipListMap<>();
+  private final Semaphore inFlightAppends;
+
+  public BatchProcessor(
+      StreamWriter writer,
+      int batchSize,
+      Duration flushInterval,
+      int queueMaxSize,
+      ScheduledExecutorService executor) {
+    this(writer, batchSize, flushInterval, queueMaxSize, /* maxInFlightAppends= */ 1, executor);
+  }
 
   public BatchProcessor(
       StreamWriter writer,
       int batchSize,
       Duration flushInterval,
       int queueMaxSize,
+      int maxInFlightAppends,
       ScheduledExecutorService executor) {
     this.writer = writer;
     this.batchSize = batchSize;
@@ -83,8 +121,16 @@ class BatchProcessor implements AutoCloseable {
     // and memory is properly managed via try-with-resources in the flush() method.
     // The actual memory usage is bounded by the batchSize and individual row sizes.
     this.allocator = new RootAllocator(Long.MAX_VALUE);
-    this.arrowSchema = BigQuerySchema.getArrowSchema();
+    Schema arrowSchema = BigQuerySchema.getArrowSchema();
     this.root = VectorSchemaRoot.create(arrowSchema, allocator);
+    List<Field> fields = arrowSchema.getFields();
+    this.columnNames = new String[fields.size()];
+    this.columnWriters = new ValueWriter[fields.size()];
+    for (int i = 0; i < fields.size(); i++) {
+      columnNames[i] = fields.get(i).getName();
+      columnWriters[i] = valueWriter(root.getVector(columnNames[i]));
+    }
+    this.inFlightAppends = new Semaphore(Math.max(1, maxInFlightAppends));
   }
 
   public void start() {
@@ -103,14 +149,47 @@ class BatchProcessor implements AutoCloseable {
             MILLISECONDS);
   }
 
-  public void append(Map<String, Object> row) {
-    if (!queue.offer(row)) {
-      logger.warning("BigQuery event queue is full, dropping event.");
-      return;
+  /** Queues a row; returns its sequence number, or -1 if the queue is full and it was dropped. */
+  public long append(Map<String, Object> row) {
+    long sequence;
+    synchronized (appendLock) {
+      if (!queue.offer(row)) {
+        logger.warning("BigQuery event queue is full, dropping event.");
+        return -1;
+      }
+      sequence = ++appendedSequence;
     }
     if (queue.size() >= batchSize && !flushLock.get()) {
       executor.execute(this::flush);
     }
+    return sequence;
+  }
+
+  /**
+   * Flushes until the rows appended up to {@code sequence} have been written. Rows queued before
+   * them, e.g. by other invocations, are written too.
+   */
+  public void flushThrough(long sequence) {
+    while (flushedSequence() < sequence) {
+      flush();
+      if (flushedSequence() >= sequence) {
+        return;
+      }
+      // With an empty queue, no flush in progress and no append in flight, every row appended so
+      // far was handled.
+      if (queue.isEmpty() && !flushLock.get() && inFlightBatches.isEmpty()) {
+        return;
+      }
+      // Another thread is flushing, or appends are in flight; let them finish.
+      LockSupport.parkNanos(MILLISECONDS.toNanos(1));
+    }
+  }
+
+  /** The sequence number up to which every row has been written, or failed to be. */
+  private long flushedSequence() {
+    long drained = drainedSequence.get();
+    Map.Entry<Long, Long> oldestInFlight = inFlightBatches.firstEntry();
+    return oldestInFlight == null ? drained : Math.min(drained, oldestInFlight.getValue());
   }
 
   public void flush() {
@@ -127,51 +206,43 @@ class BatchProcessor implements AutoCloseable {
       if (batch.isEmpty()) {
         return;
       }
+      long previousSequence = drainedSequence.get();
+      long lastSequence = previousSequence + batch.size();
+      boolean acquired = false;
+      boolean sent = false;
       try {
+        // Waits here while the in-flight window is full.
+        inFlightAppends.acquire();
+        acquired = true;
         root.allocateNew();
         for (int i = 0; i < batch.size(); i++) {
           Map<String, Object> row = batch.get(i);
-          for (Field field : arrowSchema.getFields()) {
-            populateVector(root.getVector(field.getName()), i, row.get(field.getName()));
+          for (int column = 0; column < columnWriters.length; column++) {
+            columnWriters[column].write(i, row.get(columnNames[column]));
           }
         }
         root.setRowCount(batch.size());
+        ApiFuture<AppendRowsResponse> result;
         try (ArrowRecordBatch recordBatch = new VectorUnloader(root).getRecordBatch()) {
-          AppendRowsResponse result = writer.append(recordBatch).get();
-          if (result.hasError()) {
-            logger.severe("BigQuery append error: " + result.getError().getMessage());
-            for (var error : result.getRowErrorsList()) {
-              logger.severe(
-                  String.format("Row error at index %d: %s", error.getIndex(), error.getMessage()));
-            }
-          } else {
-            logger.fine("Successfully wrote " + batch.size() + " rows to BigQuery.");
-          }
+          // The batch is serialized by append, so the vectors can be reused once it returns.
+          result = writer.append(recordBatch);
         }
+        inFlightBatches.put(lastSequence, previousSequence);
+        sent = true;
+        ApiFutures.addCallback(
+            result, new AppendCallback(batch.size(), lastSequence), directExecutor());
       } catch (Exception e) {
         if (e instanceof InterruptedException) {
           Thread.currentThread().interrupt();
         }
-        if (e.getCause() instanceof AppendSerializationError ase) {
-          logger.log(
-              Level.SEVERE, "Failed to write batch to BigQuery due to serialization error", ase);
-          Map<Integer, String> rowIndexToErrorMessage = ase.getRowIndexToErrorMessage();
-          if (rowIndexToErrorMessage != null && !rowIndexToErrorMessage.isEmpty()) {
-            logger.severe("Row-level errors found:");
-            for (Map.Entry<Integer, String> entry : rowIndexToErrorMessage.entrySet()) {
-              logger.severe(
-                  String.format("Row error at index %d: %s", entry.getKey(), entry.getValue()));
-            }
-          } else {
-            logger.severe(
-                "AppendSerializationError occurred, but no row-specific errors were provided.");
-          }
-        } else {
-          logger.log(Level.SEVERE, "Failed to write batch to BigQuery", e);
-        }
+        logWriteFailure(e);
       } finally {
         // Clear the vectors to release the memory.
         root.clear();
+        if (acquired && !sent) {
+          inFlightAppends.release();
+        }
+        drainedSequence.set(lastSequence);
       }
     } finally {
       flushLock.set(false);
@@ -181,70 +252,167 @@ class BatchProcessor implements AutoCloseable {
     }
   }
 
-  private void populateVector(FieldVector vector, int index, Object value) {
-    if (value == null || (value instanceof JsonNode jsonNode && jsonNode.isNull())) {
-      vector.setNull(index);
-      return;
+  /** Completes an append in flight, logging its errors. */
+  private final class AppendCallback implements ApiFutureCallback<AppendRowsResponse> {
+    private final int rowCount;
+    private final long lastSequence;
+
+    AppendCallback(int rowCount, long lastSequence) {
+      this.rowCount = rowCount;
+      this.lastSequence = lastSequence;
     }
-    if (vector instanceof VarCharVector varCharVector) {
-      String strValue;
-      if (value instanceof JsonNode jsonNode) {
-        strValue = jsonNode.isTextual() ? jsonNode.asText() : jsonNode.toString();
+
+    @Override
+    public void onSuccess(AppendRowsResponse result) {
+      if (result.hasError()) {
+        logger.severe("BigQuery append error: " + result.getError().getMessage());
+        for (var error : result.getRowErrorsList()) {
+          logger.severe(
+              String.format("Row error at index %d: %s", error.getIndex(), error.getMessage()));
+        }
       } else {
-        strValue = value.toString();
+        logger.fine("Successfully wrote " + rowCount + " rows to BigQuery.");
       }
-      varCharVector.setSafe(index, strValue.getBytes(UTF_8));
-    } else if (vector instanceof BigIntVector bigIntVector) {
-      long longValue;
-      if (value instanceof JsonNode jsonNode) {
-        longValue = jsonNode.asLong();
-      } else if (value instanceof Number number) {
-        longValue = number.longValue();
+      complete();
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+      logWriteFailure(t);
+      complete();
+    }
+
+    private void complete() {
+      inFlightBatches.remove(lastSequence);
+      inFlightAppends.release();
+    }
+  }
+
+  private static void logWriteFailure(Throwable e) {
+    Throwable cause = e instanceof AppendSerializationError ? e : e.getCause();
+    if (cause instanceof AppendSerializationError ase) {
+      logger.log(Level.SEVERE, "Failed to write batch to BigQuery due to serialization error", ase);
+      Map<Integer, String> rowIndexToErrorMessage = ase.getRowIndexToErrorMessage();
+      if (rowIndexToErrorMessage != null && !rowIndexToErrorMessage.isEmpty()) {
+        logger.severe("Row-level errors found:");
+        for (Map.Entry<Integer, String> entry : rowIndexToErrorMessage.entrySet()) {
+          logger.severe(
+              String.format("Row error at index %d: %s", entry.getKey(), entry.getValue()));
+        }
       } else {
-        longValue = Long.parseLong(value.toString());
+        logger.severe(
+            "AppendSerializationError occurred, but no row-specific errors were provided.");
       }
-      bigIntVector.setSafe(index, longValue);
-    } else if (vector instanceof BitVector bitVector) {
-      boolean boolValue =
-          (value instanceof JsonNode jsonNode) ? jsonNode.asBoolean() : (Boolean) value;
-      bitVector.setSafe(index, boolValue ? 1 : 0);
-    } else if (vector instanceof TimeStampVector timeStampVector) {
-      if (value instanceof Instant instant) {
-        long micros =
-            SECONDS.toMicros(instant.getEpochSecond()) + NANOSECONDS.toMicros(instant.getNano());
-        timeStampVector.setSafe(index, micros);
-      } else if (value instanceof JsonNode jsonNode) {
-        timeStampVector.setSafe(index, jsonNode.asLong());
-      } else if (value instanceof Long longValue) {
-        timeStampVector.setSafe(index, longValue);
+    } else {
+      logger.log(Level.SEVERE, "Failed to write batch to BigQuery", e);
+    }
+  }
+
+  /** Writes the value of a row at an index of a vector. */
+  @FunctionalInterface
+  private interface ValueWriter {
+    void write(int index, Object value);
+  }
+
+  /**
+   * Returns the writer for a vector, resolved once per vector rather than for each value, that sets
+   * null for null values.
+   */
+  private static ValueWriter valueWriter(FieldVector vector) {
+    ValueWriter nonNullWriter = nonNullValueWriter(vector);
+    return (index, value) -> {
+      if (value == null || (value instanceof JsonNode jsonNode && jsonNode.isNull())) {
+        vector.setNull(index);
+      } else {
+        nonNullWriter.write(index, value);
       }
-    } else if (vector instanceof ListVector listVector) {
-      int start = listVector.startNewValue(index);
-      if (value instanceof ArrayNode arrayNode) {
-        for (int i = 0; i < arrayNode.size(); i++) {
-          populateVector(listVector.getDataVector(), start + i, arrayNode.get(i));
+    };
+  }
+
+  private static ValueWriter nonNullValueWriter(FieldVector vector) {
+    if (vector instanceof VarCharVector varCharVector) {
+      return (index, value) -> {
+        String strValue;
+        if (value instanceof JsonNode jsonNode) {
+          strValue = jsonNode.isTextual() ? jsonNode.asText() : jsonNode.toString();
+        } else {
+          strValue = value.toString();
         }
-        listVector.endValue(index, arrayNode.size());
-      } else if (value instanceof List) {
-        List<?> list = (List<?>) value;
-        for (int i = 0; i < list.size(); i++) {
-          populateVector(listVector.getDataVector(), start + i, list.get(i));
+        varCharVector.setSafe(index, strValue.getBytes(UTF_8));
+      };
+    }
+    if (vector instanceof BigIntVector bigIntVector) {
+      return (index, value) -> {
+        long longValue;
+        if (value instanceof JsonNode jsonNode) {
+          longValue = jsonNode.asLong();
+        } else if (value instanceof Number number) {
+          longValue = number.longValue();
+        } else {
+          longValue = Long.parseLong(value.toString());
         }
-        listVector.endValue(index, list.size());
-      }
-    } else if (vector instanceof StructVector structVector) {
-      structVector.setIndexDefined(index);
-      if (value instanceof ObjectNode objectNode) {
-        for (FieldVector child : structVector.getChildrenFromFields()) {
-          populateVector(child, index, objectNode.get(child.getName()));
+        bigIntVector.setSafe(index, longValue);
+      };
+    }
+    if (vector instanceof BitVector bitVector) {
+      return (index, value) -> {
+        boolean boolValue =
+            (value instanceof JsonNode jsonNode) ? jsonNode.asBoolean() : (Boolean) value;
+        bitVector.setSafe(index, boolValue ? 1 : 0);
+      };
+    }
+    if (vector instanceof TimeStampVector timeStampVector) {
+      return (index, value) -> {
+        if (value instanceof Instant instant) {
+          long micros =
+              SECONDS.toMicros(instant.getEpochSecond()) + NANOSECONDS.toMicros(instant.getNano());
+          timeStampVector.setSafe(index, micros);
+        } else if (value instanceof JsonNode jsonNode) {
+          timeStampVector.setSafe(index, jsonNode.asLong());
+        } else if (value instanceof Long longValue) {
+          timeStampVector.setSafe(index, longValue);
         }
-      } else if (value instanceof Map) {
-        Map<?, ?> map = (Map<?, ?>) value;
-        for (FieldVector child : structVector.getChildrenFromFields()) {
-          populateVector(child, index, map.get(child.getName()));
+      };
+    }
+    if (vector instanceof ListVector listVector) {
+      ValueWriter elementWriter = valueWriter(listVector.getDataVector());
+      return (index, value) -> {
+        int start = listVector.startNewValue(index);
+        if (value instanceof ArrayNode arrayNode) {
+          for (int i = 0; i < arrayNode.size(); i++) {
+            elementWriter.write(start + i, arrayNode.get(i));
+          }
+          listVector.endValue(index, arrayNode.size());
+        } else if (value instanceof List<?> list) {
+          for (int i = 0; i < list.size(); i++) {
+            elementWriter.write(start + i, list.get(i));
+          }
+          listVector.endValue(index, list.size());
         }
+      };
+    }
+    if (vector instanceof StructVector structVector) {
+      List<FieldVector> children = structVector.getChildrenFromFields();
+      String[] childNames = new String[children.size()];
+      ValueWriter[] childWriters = new ValueWriter[children.size()];
+      for (int i = 0; i < children.size(); i++) {
+        childNames[i] = children.get(i).getName();
+        childWriters[i] = valueWriter(children.get(i));
       }
+      return (index, value) -> {
+        structVector.setIndexDefined(index);
+        if (value instanceof ObjectNode objectNode) {
+          for (int i = 0; i < childWriters.length; i++) {
+            childWriters[i].write(index, objectNode.get(childNames[i]));
+          }
+        } else if (value instanceof Map<?, ?> map) {
+          for (int i = 0; i < childWriters.length; i++) {
+            childWriters[i].write(index, map.get(childNames[i]));
+          }
+        }
+      };
     }
+    return (index, value) -> {};
   }
 
   @Override
@@ -286,11 +286,7 @@ public class BigQueryAgentAnalyticsPlugin extends BasePlugin {
     }
 
     CompletableFuture<Void> appendFuture =
-        parseFuture.thenRun(
-            () -> {
-              BatchProcessor processor = state.getBatchProcessor(invocationContext.invocationId());
-              processor.append(row);
-            });
+        parseFuture.thenRun(() -> state.appendRow(invocationContext.invocationId(), row));
     state.addPendingTask(invocationContext.invocationId(), appendFuture);
     return Completable.complete();
   }
@@ -76,6 +76,14 @@ public abstract class BigQueryLoggerConfig {
   // Max size of the batch processor queue.
   public abstract int queueMaxSize();
 
+  // Number of BigQuery write streams shared by all invocations. Rows of one invocation always go
+  // to the same stream.
+  public abstract int writerPoolSize();
+
+  // Max number of appends per writer waiting for BigQuery to acknowledge them. Flushing waits
+  // when this many are in flight.
+  public abstract int maxInFlightAppends();
+
   /**
    * Optional custom formatter for content.
    *
@@ -136,6 +144,8 @@ public abstract class BigQueryLoggerConfig {
         .batchFlushInterval(Duration.ofSeconds(1))
         .shutdownTimeout(Duration.ofSeconds(10))
         .queueMaxSize(10000)
+        .writerPoolSize(2)
+        .maxInFlightAppends(4)
         .logSessionMetadata(true)
         .customTags(ImmutableMap.of())
         .eventAllowlist(ImmutableList.of())
@@ -194,6 +204,12 @@ public abstract class BigQueryLoggerConfig {
     @CanIgnoreReturnValue
     public abstract Builder queueMaxSize(int queueMaxSize);
 
+    @CanIgnoreReturnValue
+    public abstract Builder writerPoolSize(int writerPoolSize);
+
+    @CanIgnoreReturnValue
+    public abstract Builder maxInFlightAppends(int maxInFlightAppends);
+
     @CanIgnoreReturnValue
     public abstract Builder contentFormatter(
         @Nullable BiFunction<Object, String, Object> contentFormatter);
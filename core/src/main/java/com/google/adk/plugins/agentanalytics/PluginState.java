@@ -19,7 +19,10 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.reactivex.rxjava3.core.Completable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -31,6 +34,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.jspecify.annotations.Nullable;
@@ -53,9 +57,11 @@ class PluginState {
   private final ExecutorService offloadExecutor;
   private final BigQueryWriteClient writeClient;
   private static final AtomicLong threadCounter = new AtomicLong(0);
-  // Map of invocation ID to BatchProcessor.
-  private final ConcurrentHashMap<String, BatchProcessor> batchProcessors =
-      new ConcurrentHashMap<>();
+  // Pool of BatchProcessors, each with its own write stream, shared by all invocations and
+  // created on first use.
+  private final AtomicReferenceArray<BatchProcessor> batchProcessors;
+  // Map of invocation ID to the sequence number of its last row in its BatchProcessor.
+  private final ConcurrentHashMap<String, Long> lastAppendedSequences = new ConcurrentHashMap<>();
   // Map of invocation ID to TraceManager.
   private final ConcurrentHashMap<String, TraceManager> traceManagers = new ConcurrentHashMap<>();
   // Cache of invocation ID to Boolean indicating invocation ID has been processed.
@@ -73,6 +79,7 @@ class PluginState {
     this.offloadExecutor = createGcsOffloadThreadPool();
     // One write client per plugin instance, shared by all invocations.
     this.writeClient = createWriteClient(config);
+    this.batchProcessors = new AtomicReferenceArray<>(Math.max(1, config.writerPoolSize()));
     this.processedInvocations =
         CacheBuilder.newBuilder()
             .maximumSize(10000)
@@ -160,21 +167,43 @@ class PluginState {
     return traceManagers.computeIfAbsent(invocationId, id -> new TraceManager());
   }
 
+  /** Returns the pooled BatchProcessor the rows of an invocation are written with. */
   @VisibleForTesting
   BatchProcessor getBatchProcessor(String invocationId) {
-    return batchProcessors.computeIfAbsent(
-        invocationId,
-        id -> {
-          BatchProcessor p =
-              new BatchProcessor(
-                  createWriter(),
-                  config.batchSize(),
-                  config.batchFlushInterval(),
-                  config.queueMaxSize(),
-                  executor);
-          p.start();
-          return p;
-        });
+    int index = Math.floorMod(invocationId.hashCode(), batchProcessors.length());
+    BatchProcessor processor = batchProcessors.get(index);
+    if (processor != null) {
+      return processor;
+    }
+    synchronized (batchProcessors) {
+      processor = batchProcessors.get(index);
+      if (processor == null) {
+        processor =
+            new BatchProcessor(
+                createWriter(),
+                config.batchSize(),
+                config.batchFlushInterval(),
+                config.queueMaxSize(),
+                config.maxInFlightAppends(),
+                executor);
+        processor.start();
+        batchProcessors.set(index, processor);
+      }
+      return processor;
+    }
+  }
+
+  /** Appends a row of an invocation, remembering its position to flush on completion. */
+  void appendRow(String invocationId, Map<String, Object> row) {
+    long sequence = getBatchProcessor(invocationId).append(row);
+    if (sequence > 0) {
+      lastAppendedSequences.merge(invocationId, sequence, Math::max);
+    }
+  }
+
+  @VisibleForTesting
+  boolean hasUnflushedRows(String invocationId) {
+    return lastAppendedSequences.containsKey(invocationId);
   }
 
   protected @Nullable GcsOffloader getGcsOffloader(BigQueryLoggerConfig config) {
@@ -196,7 +225,14 @@ class PluginState {
 
   @VisibleForTesting
   Collection<BatchProcessor> getBatchProcessors() {
-    return batchProcessors.values();
+    List<BatchProcessor> processors = new ArrayList<>();
+    for (int i = 0; i < batchProcessors.length(); i++) {
+      BatchProcessor processor = batchProcessors.get(i);
+      if (processor != null) {
+        processors.add(processor);
+      }
+    }
+    return processors;
   }
 
   @VisibleForTesting
@@ -204,17 +240,15 @@ class PluginState {
     return traceManagers.remove(invocationId);
   }
 
-  @VisibleForTesting
-  protected BatchProcessor removeProcessor(String invocationId) {
-    return batchProcessors.remove(invocationId);
-  }
-
   void clearTraceManagers() {
     traceManagers.clear();
   }
 
   void clearBatchProcessors() {
-    batchProcessors.clear();
+    for (int i = 0; i < batchProcessors.length(); i++) {
+      batchProcessors.set(i, null);
+    }
+    lastAppendedSequences.clear();
   }
 
   @VisibleForTesting
@@ -254,10 +288,11 @@ class PluginState {
             () -> {
               // Mark invocation ID as processed to avoid memory leaks.
               markProcessed(invocationId);
-              BatchProcessor processor = removeProcessor(invocationId);
-              if (processor != null) {
-                processor.flush();
-                processor.close();
+              // The processor is shared, so only the rows up to this invocation's last one are
+              // flushed, and it is kept open.
+              Long lastSequence = lastAppendedSequences.remove(invocationId);
+              if (lastSequence != null) {
+                getBatchProcessor(invocationId).flushThrough(lastSequence);
               }
               TraceManager traceManager = removeTraceManager(invocationId);
               if (traceManager != null) {
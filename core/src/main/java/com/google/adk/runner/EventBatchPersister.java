@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.runner;
+
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.events.Event;
+import com.google.adk.flows.llmflows.PersistBarrier;
+import com.google.adk.sessions.BaseSessionService;
+import com.google.adk.sessions.Session;
+import com.google.common.collect.ImmutableList;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Holds the events of one invocation back and writes them with a single {@link
+ * BaseSessionService#appendEvents} call per {@link #flush}, resolving their {@link PersistBarrier}
+ * once the write finishes.
+ *
+ * <p>Flushes are requested by the flow through {@link PersistBarrier} when it needs the session to
+ * be up to date, and by the {@link Runner} before a partial event, once {@link #MAX_HELD_EVENTS}
+ * events are held, and when the invocation ends. At most one write is in flight: batches flushed
+ * meanwhile are queued and written in the order they were flushed, even when the session service is
+ * asynchronous. A failed write fails the barriers of its events and does not stop later batches.
+ */
+final class EventBatchPersister {
+
+  /**
+   * The number of held events at which {@link #add} flushes on its own, so the agent cannot stall
+   * waiting for the {@link Runner}'s demand while every event it emitted is held back.
+   */
+  static final int MAX_HELD_EVENTS = 64;
+
+  private final BaseSessionService sessionService;
+  private final Session session;
+  private final InvocationContext context;
+
+  private final Object lock = new Object();
+  // Guarded by lock.
+  private List<Event> pending = new ArrayList<>();
+  // Guarded by lock. Flushed batches waiting for the write in flight to finish.
+  private final Deque<ImmutableList<Event>> queued = new ArrayDeque<>();
+  // Guarded by lock.
+  private boolean writing = false;
+  // Guarded by lock. The last flushed event: its barrier resolves after every earlier one.
+  private @Nullable String lastFlushedEventId;
+
+  EventBatchPersister(
+      BaseSessionService sessionService, Session session, InvocationContext context) {
+    this.sessionService = sessionService;
+    this.session = session;
+    this.context = context;
+  }
+
+  /** Holds {@code event} back until the next flush. */
+  void add(Event event) {
+    boolean full;
+    synchronized (lock) {
+      pending.add(event);
+      // Under the lock, so that a concurrent flush either writes the event or leaves it pending.
+      PersistBarrier.markPending(context, event.id());
+      full = pending.size() >= MAX_HELD_EVENTS;
+    }
+    if (full) {
+      flush();
+    }
+  }
+
+  /** Issues the write of every held event, if any. */
+  void flush() {
+    ImmutableList<Event> batch;
+    synchronized (lock) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      queued.add(ImmutableList.copyOf(pending));
+      lastFlushedEventId = pending.get(pending.size() - 1).id();
+      pending = new ArrayList<>();
+      if (writing) {
+        return;
+      }
+      writing = true;
+      batch = queued.poll();
+    }
+    // Written outside the lock: a synchronous write resumes the waiting flow on this thread.
+    write(batch);
+  }
+
+  /**
+   * Flushes the held events and completes once every flushed batch has been written, whether or not
+   * the writes succeeded; failures are reported through the barriers.
+   */
+  Completable flushAndAwait() {
+    flush();
+    String eventId;
+    synchronized (lock) {
+      eventId = lastFlushedEventId;
+    }
+    return PersistBarrier.whenPersisted(context, eventId).onErrorComplete();
+  }
+
+  private void write(ImmutableList<Event> batch) {
+    Single.defer(() -> sessionService.appendEvents(session, batch))
+        .subscribe(
+            unused -> {
+              batch.forEach(event -> PersistBarrier.markPersisted(context, event.id()));
+              writeNext();
+            },
+            error -> {
+              batch.forEach(event -> PersistBarrier.markFailed(context, event.id(), error));
+              writeNext();
+            });
+  }
+
+  /** Starts the write of the next queued batch, or records that no write is in flight. */
+  private void writeNext() {
+    ImmutableList<Event> batch;
+    synchronized (lock) {
+      batch = queued.poll();
+      if (batch == null) {
+        writing = false;
+        return;
+      }
+    }
+    write(batch);
+  }
+}
@@ -64,6 +64,7 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
 import io.reactivex.rxjava3.subjects.CompletableSubject;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -336,11 +337,16 @@ public class Runner {
     return this.pluginManager;
   }
 
-  /** Closes all plugins, code executors, and releases any resources. */
+  /**
+   * Closes all plugins, code executors, and releases any resources. Events still held by the
+   * session service are written through {@link BaseSessionService#flush}; the session service
+   * itself is not closed, as it may be shared with other runners.
+   */
   public Completable close() {
     List<Completable> completables = new ArrayList<>();
     completables.add(agent.close());
     completables.add(this.pluginManager.close());
+    completables.add(this.sessionService.flush());
     return Completable.mergeDelayError(completables);
   }
 
@@ -600,46 +606,23 @@ public class Runner {
                         .content(content)
                         .build());
 
-    // Let BaseLlmFlow block each step until this Runner has persisted the prior step's events.
-    PersistBarrier.enable(contextWithUpdatedSession);
+    Function<Event, Single<Event>> afterPersist =
+        registeredEvent -> {
+          // TODO: remove this hack after deprecating runAsync with Session.
+          copySessionStates(updatedSession, initialContext.session());
+          return contextWithUpdatedSession
+              .pluginManager()
+              .onEventCallback(contextWithUpdatedSession, registeredEvent)
+              .defaultIfEmpty(registeredEvent);
+        };
 
     // Agent execution
     Flowable<Event> agentEvents =
-        contextWithUpdatedSession
-            .agent()
-            .runAsync(contextWithUpdatedSession)
-            .concatMap(
-                agentEvent -> {
-                  // Mirror ADK Python (runners.py): partial events are streamed to the caller but
-                  // never persisted, so managed session services (e.g. VertexAiSessionService) do
-                  // not store a duplicate of the function call/text that the final aggregated event
-                  // already carries. Nothing to persist, so resolve the barrier immediately.
-                  Single<Event> persistStep =
-                      agentEvent.partial().orElse(false)
-                          ? Single.just(agentEvent)
-                          : this.sessionService.appendEvent(updatedSession, agentEvent);
-                  return persistStep
-                      // Release (or fail) BaseLlmFlow's wait for this step; the Runner stays the
-                      // sole appendEvent caller (see PersistBarrier).
-                      .doOnSuccess(
-                          unusedEvent ->
-                              PersistBarrier.markPersisted(
-                                  contextWithUpdatedSession, agentEvent.id()))
-                      .doOnError(
-                          error ->
-                              PersistBarrier.markFailed(
-                                  contextWithUpdatedSession, agentEvent.id(), error))
-                      .flatMap(
-                          registeredEvent -> {
-                            // TODO: remove this hack after deprecating runAsync with Session.
-                            copySessionStates(updatedSession, initialContext.session());
-                            return contextWithUpdatedSession
-                                .pluginManager()
-                                .onEventCallback(contextWithUpdatedSession, registeredEvent)
-                                .defaultIfEmpty(registeredEvent);
-                          })
-                      .toFlowable();
-                });
+        contextWithUpdatedSession.runConfig().batchEventPersistence()
+            ? runAgentWithBatchedPersistence(
+                contextWithUpdatedSession, updatedSession, afterPersist)
+            : runAgentWithPerEventPersistence(
+                contextWithUpdatedSession, updatedSession, afterPersist);
 
     // If beforeRunCallback returns content, emit it and skip agent
     Context capturedContext = Context.current();
@@ -652,6 +635,82 @@ public class Runner {
         .compose(Tracing.withContext(capturedContext));
   }
 
+  /**
+   * Runs the agent, appending each non-partial event to the session and then passing it to {@code
+   * afterPersist} before handling the next one.
+   */
+  private Flowable<Event> runAgentWithPerEventPersistence(
+      InvocationContext context, Session session, Function<Event, Single<Event>> afterPersist) {
+    // Let BaseLlmFlow block each step until this Runner has persisted the prior step's events.
+    PersistBarrier.enable(context);
+
+    return context
+        .agent()
+        .runAsync(context)
+        .concatMapSingle(
+            agentEvent -> {
+              // Mirror ADK Python (runners.py): partial events are streamed to the caller but
+              // never persisted, so managed session services (e.g. VertexAiSessionService) do
+              // not store a duplicate of the function call/text that the final aggregated event
+              // already carries. Nothing to persist, so resolve the barrier immediately.
+              Single<Event> persistStep =
+                  agentEvent.partial().orElse(false)
+                      ? Single.just(agentEvent)
+                      : this.sessionService.appendEvent(session, agentEvent);
+              return persistStep
+                  // Release (or fail) BaseLlmFlow's wait for this step; the Runner stays the
+                  // sole appendEvent caller (see PersistBarrier).
+                  .doOnSuccess(
+                      unusedEvent -> PersistBarrier.markPersisted(context, agentEvent.id()))
+                  .doOnError(error -> PersistBarrier.markFailed(context, agentEvent.id(), error))
+                  .flatMap(afterPersist);
+            });
+  }
+
+  /**
+   * Runs the agent, holding non-partial events back and appending them to the session in batches
+   * (see {@link RunConfig#batchEventPersistence()}). A batch is written when the flow waits on the
+   * {@link PersistBarrier} -- i.e. at the end of each step -- before a partial event, once {@link
+   * EventBatchPersister#MAX_HELD_EVENTS} events are held, and when the agent completes, fails or is
+   * cancelled; an error reaches the caller only once the held events are written. Events are passed
+   * to {@code afterPersist} in their original order, each once its batch is written.
+   */
+  private Flowable<Event> runAgentWithBatchedPersistence(
+      InvocationContext context, Session session, Function<Event, Single<Event>> afterPersist) {
+    EventBatchPersister persister = new EventBatchPersister(this.sessionService, session, context);
+    PersistBarrier.enableBatching(context, persister::flush);
+
+    return context
+        .agent()
+        .runAsync(context)
+        .doOnNext(
+            agentEvent -> {
+              if (agentEvent.partial().orElse(false)) {
+                // Keep the stream ordered: earlier events are written before the partial one is
+                // released.
+                persister.flush();
+              } else {
+                persister.add(agentEvent);
+              }
+            })
+        .doOnComplete(persister::flush)
+        // Write the held events before the error reaches the caller, so a failed invocation
+        // keeps everything its agent emitted.
+        .onErrorResumeNext(error -> persister.flushAndAwait().andThen(Flowable.error(error)))
+        .doOnCancel(persister::flush)
+        // concatMapSingle asks the agent for more events once half of its prefetch is consumed,
+        // so with this prefetch the agent only runs out of demand while more than
+        // MAX_HELD_EVENTS events are unreleased -- and the persister flushes at that many.
+        .concatMapSingle(
+            agentEvent ->
+                agentEvent.partial().orElse(false)
+                    ? afterPersist.apply(agentEvent)
+                    : PersistBarrier.whenPersisted(context, agentEvent.id())
+                        .toSingleDefault(agentEvent)
+                        .flatMap(afterPersist),
+            2 * EventBatchPersister.MAX_HELD_EVENTS);
+  }
+
   private Completable compactEvents(Session session) {
     return Optional.ofNullable(eventsCompactionConfig)
         .filter(EventsCompactionConfig::hasSlidingWindowCompactionConfig)
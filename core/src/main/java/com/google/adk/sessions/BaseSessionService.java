@@ -20,6 +20,7 @@ import com.google.adk.events.Event;
 import com.google.adk.events.EventActions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import java.util.List;
@@ -254,6 +255,38 @@ public interface BaseSessionService {
     return Single.just(event);
   }
 
+  /**
+   * Appends several events to a session, in order, as {@link #appendEvent} would one by one.
+   *
+   * <p>Services backed by a remote store can override this to persist the whole list in a single
+   * round trip. The default implementation calls {@link #appendEvent} for each event, waiting for
+   * each append to finish before starting the next one.
+   *
+   * @param session The {@link Session} object to which the events should be appended (will be
+   *     mutated).
+   * @param events The {@link Event}s to append, in order.
+   * @return The appended {@link Event} instances, in the same order as {@code events}.
+   */
+  @CanIgnoreReturnValue
+  default Single<List<Event>> appendEvents(Session session, List<Event> events) {
+    Objects.requireNonNull(session, "session cannot be null");
+    Objects.requireNonNull(events, "events cannot be null");
+    return Flowable.fromIterable(events)
+        .concatMapSingle(event -> appendEvent(session, event))
+        .toList();
+  }
+
+  /**
+   * Writes any events the service holds back to its backing store. The {@code Runner} calls this
+   * when it is closed; services wrapping another one should forward the call to it. The default
+   * implementation holds nothing back and completes immediately.
+   *
+   * @return A {@link Completable} that completes once the held events are written.
+   */
+  default Completable flush() {
+    return Completable.complete();
+  }
+
   /**
    * Ensures the given {@link Map} is a {@link ConcurrentMap}. If the input is null, returns null.
    * If the input is already a {@link ConcurrentMap}, it is cast and returned. Otherwise, a new
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.sessions;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import com.google.adk.events.Event;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An append-only log of the events of one session, stored in fixed-size chunks with a timestamp
+ * index.
+ *
+ * <p>Events are never moved or removed once appended, so any range of the log can be handed out as
+ * an immutable {@link #view} that shares the log's storage instead of copying it. Appends are
+ * serialized; reads are lock-free and only see events whose append has completed.
+ *
+ * <p>The timestamp index keeps, for each position, the largest timestamp seen up to it. It is
+ * non-decreasing even if event timestamps are not, so {@link #firstIndexAtOrAfter} is a binary
+ * search; when timestamps are out of order, {@link #eventsAtOrAfter} filters the located tail.
+ */
+final class EventLog {
+  private static final int CHUNK_SHIFT = 8;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  // Written before size is incremented; the volatile write of size publishes them to readers.
+  private volatile Event[][] eventChunks = new Event[0][];
+  private volatile long[][] maxTimestampChunks = new long[0][];
+  private volatile int size;
+  private volatile boolean timestampsInOrder = true;
+
+  /** Creates an empty log. */
+  EventLog() {}
+
+  /** Creates a log holding {@code events}, in order. */
+  EventLog(List<Event> events) {
+    events.forEach(this::append);
+  }
+
+  /** Appends {@code event} at the end of the log. */
+  synchronized void append(Event event) {
+    int index = size;
+    int chunk = index >>> CHUNK_SHIFT;
+    if (chunk == eventChunks.length) {
+      Event[][] newEventChunks = Arrays.copyOf(eventChunks, chunk + 1);
+      newEventChunks[chunk] = new Event[CHUNK_SIZE];
+      long[][] newMaxTimestampChunks = Arrays.copyOf(maxTimestampChunks, chunk + 1);
+      newMaxTimestampChunks[chunk] = new long[CHUNK_SIZE];
+      eventChunks = newEventChunks;
+      maxTimestampChunks = newMaxTimestampChunks;
+    }
+    long timestamp = event.timestamp();
+    long maxTimestamp = timestamp;
+    if (index > 0) {
+      long previousMax = maxTimestamp(index - 1);
+      if (timestamp < previousMax) {
+        timestampsInOrder = false;
+        maxTimestamp = previousMax;
+      }
+    }
+    eventChunks[chunk][index & CHUNK_MASK] = event;
+    maxTimestampChunks[chunk][index & CHUNK_MASK] = maxTimestamp;
+    size = index + 1;
+  }
+
+  /** Returns the number of events in the log. */
+  int size() {
+    return size;
+  }
+
+  /** Returns the event at {@code index}, which must be below a previously read {@link #size}. */
+  Event get(int index) {
+    return eventChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+  }
+
+  private long maxTimestamp(int index) {
+    return maxTimestampChunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+  }
+
+  /** Returns an immutable view of the events in {@code [fromIndex, toIndex)}, without copying. */
+  List<Event> view(int fromIndex, int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    return new View(this, fromIndex, toIndex);
+  }
+
+  /** Returns an immutable view of the last {@code count} events, or of all events if fewer. */
+  List<Event> lastEvents(int count) {
+    int end = size;
+    return new View(this, Math.max(0, end - Math.max(0, count)), end);
+  }
+
+  /**
+   * Returns the index of the first event that may have a timestamp at or after {@code
+   * timestampMillis}: every event before it is strictly older. Runs in O(log N).
+   */
+  int firstIndexAtOrAfter(long timestampMillis, int end) {
+    int low = 0;
+    int high = end;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (maxTimestamp(mid) < timestampMillis) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns the events whose timestamp is at or after {@code timestampMillis}, in log order. This
+   * is a view in O(log N) when timestamps were appended in order, otherwise an O(k) filtered copy
+   * of the tail starting at the first matching event.
+   */
+  List<Event> eventsAtOrAfter(long timestampMillis) {
+    int end = size;
+    int start = firstIndexAtOrAfter(timestampMillis, end);
+    if (timestampsInOrder) {
+      return new View(this, start, end);
+    }
+    List<Event> result = new ArrayList<>(end - start);
+    for (int i = start; i < end; i++) {
+      Event event = get(i);
+      if (event.timestamp() >= timestampMillis) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  /** An immutable range of an {@link EventLog}, sharing its storage. */
+  private static final class View extends AbstractList<Event> implements RandomAccess {
+    private final EventLog log;
+    private final int fromIndex;
+    private final int size;
+
+    View(EventLog log, int fromIndex, int toIndex) {
+      this.log = log;
+      this.fromIndex = fromIndex;
+      this.size = toIndex - fromIndex;
+    }
+
+    @Override
+    public Event get(int index) {
+      checkElementIndex(index, size);
+      return log.get(fromIndex + index);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * A mutable list that starts out as an immutable {@code base} list and only copies it when it is
+   * modified other than by appending, so that handing a stored history to a caller is O(1).
+   *
+   * <p>Not thread-safe; wrap it with {@link java.util.Collections#synchronizedList} as {@link
+   * Session} does.
+   */
+  static final class CopyOnWriteTailList extends AbstractList<Event> implements RandomAccess {
+    private final List<Event> base;
+    private final List<Event> appended = new ArrayList<>();
+    private @Nullable List<Event> copy;
+
+    CopyOnWriteTailList(List<Event> base) {
+      this.base = base;
+    }
+
+    @Override
+    public Event get(int index) {
+      if (copy != null) {
+        return copy.get(index);
+      }
+      checkElementIndex(index, size());
+      int baseSize = base.size();
+      return index < baseSize ? base.get(index) : appended.get(index - baseSize);
+    }
+
+    @Override
+    public int size() {
+      return copy != null ? copy.size() : base.size() + appended.size();
+    }
+
+    @Override
+    public void add(int index, Event event) {
+      if (copy == null && index == size()) {
+        appended.add(event);
+      } else {
+        materialize().add(index, event);
+      }
+      modCount++;
+    }
+
+    @Override
+    public Event set(int index, Event event) {
+      return materialize().set(index, event);
+    }
+
+    @Override
+    public Event remove(int index) {
+      Event removed = materialize().remove(index);
+      modCount++;
+      return removed;
+    }
+
+    @Override
+    public void clear() {
+      copy = new ArrayList<>();
+      modCount++;
+    }
+
+    private List<Event> materialize() {
+      if (copy == null) {
+        List<Event> newCopy = new ArrayList<>(base.size() + appended.size());
+        newCopy.addAll(base);
+        newCopy.addAll(appended);
+        copy = newCopy;
+      }
+      return copy;
+    }
+  }
+}
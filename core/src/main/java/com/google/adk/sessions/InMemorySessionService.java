@@ -45,12 +45,17 @@ import org.jspecify.annotations.Nullable;
  * concurrent maps for basic thread safety. It is suitable for testing or single-node deployments
  * where persistence is not required.
  *
+ * <p>The events of each session are kept in an append-only {@link EventLog}. Sessions returned by
+ * {@code getSession} share the log's storage instead of copying the whole history, and {@link
+ * GetSessionConfig} filters are answered from the log's timestamp index, so a read costs O(log N +
+ * k) for k returned events.
+ *
  * <p>Note: State merging (app/user state prefixed with {@code _app_} / {@code _user_}) occurs
  * during retrieval operations ({@code getSession}, {@code createSession}).
  */
 public final class InMemorySessionService implements BaseSessionService {
-  // Structure: appName -> userId -> sessionId -> Session
-  private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, Session>>>
+  // Structure: appName -> userId -> sessionId -> StoredSession
+  private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, StoredSession>>>
       sessions;
   // Structure: appName -> userId -> stateKey -> stateValue
   private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, Object>>>
@@ -93,14 +98,9 @@ public final class InMemorySessionService implements BaseSessionService {
     ConcurrentMap<String, Object> initialState =
         (state == null) ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(state);
 
-    // Assuming Session constructor or setters allow setting these mutable collections
-    Session newSession =
-        Session.builder(resolvedSessionId)
-            .appName(appName)
-            .userId(userId)
-            .state(initialState)
-            .lastUpdateTime(Instant.now())
-            .build();
+    StoredSession newSession =
+        new StoredSession(
+            resolvedSessionId, appName, userId, initialState, new EventLog(), Instant.now());
 
     sessions
         .computeIfAbsent(appName, unused -> new ConcurrentHashMap<>())
@@ -108,7 +108,7 @@ public final class InMemorySessionService implements BaseSessionService {
         .put(resolvedSessionId, newSession);
 
     // Create a mutable copy for the return value
-    Session returnCopy = copySession(newSession);
+    Session returnCopy = copySession(newSession, ImmutableList.of());
     // Merge state into the copy before returning
     return Single.just(mergeWithGlobalState(appName, userId, returnCopy));
   }
@@ -121,7 +121,7 @@ public final class InMemorySessionService implements BaseSessionService {
     Objects.requireNonNull(sessionId, "sessionId cannot be null");
     Objects.requireNonNull(configOpt, "configOpt cannot be null");
 
-    Session storedSession =
+    StoredSession storedSession =
         sessions
             .computeIfAbsent(appName, unused -> new ConcurrentHashMap<>())
             .computeIfAbsent(userId, unused -> new ConcurrentHashMap<>())
@@ -131,34 +131,20 @@ public final class InMemorySessionService implements BaseSessionService {
       return Maybe.empty();
     }
 
-    Session sessionCopy = copySession(storedSession);
-
-    // Apply filtering based on config directly to the mutable list in the copy
+    // Select the events straight from the log instead of copying and then trimming the history.
     GetSessionConfig config = configOpt.orElseGet(() -> GetSessionConfig.builder().build());
-    List<Event> eventsInCopy = sessionCopy.events();
-
-    config
-        .numRecentEvents()
-        .ifPresent(
-            num -> {
-              if (!eventsInCopy.isEmpty() && num < eventsInCopy.size()) {
-                // Keep the last 'num' events by removing older ones
-                // Create sublist view (modifications affect original list)
-
-                List<Event> eventsToRemove = eventsInCopy.subList(0, eventsInCopy.size() - num);
-                eventsToRemove.clear(); // Clear the sublist view, modifying eventsInCopy
-              }
-            });
-
-    // Only apply timestamp filter if numRecentEvents was not applied
-    if (config.numRecentEvents().isEmpty() && config.afterTimestamp().isPresent()) {
-      Instant threshold = config.afterTimestamp().get();
-
-      eventsInCopy.removeIf(event -> getInstantFromEvent(event).isBefore(threshold));
+    EventLog log = storedSession.events;
+    List<Event> events;
+    if (config.numRecentEvents().isPresent()) {
+      events = log.lastEvents(config.numRecentEvents().get());
+    } else if (config.afterTimestamp().isPresent()) {
+      events = log.eventsAtOrAfter(toEpochMilliRoundedUp(config.afterTimestamp().get()));
+    } else {
+      events = log.view(0, log.size());
     }
 
-    // Merge state into the potentially filtered copy and return
-    return Maybe.just(mergeWithGlobalState(appName, userId, sessionCopy));
+    // Merge state into the filtered copy and return
+    return Maybe.just(mergeWithGlobalState(appName, userId, copySession(storedSession, events)));
   }
 
   @Override
@@ -166,7 +152,7 @@ public final class InMemorySessionService implements BaseSessionService {
     Objects.requireNonNull(appName, "appName cannot be null");
     Objects.requireNonNull(userId, "userId cannot be null");
 
-    Map<String, Session> userSessionsMap =
+    Map<String, StoredSession> userSessionsMap =
         sessions.computeIfAbsent(appName, unused -> new ConcurrentHashMap<>()).get(userId);
 
     if (userSessionsMap == null || userSessionsMap.isEmpty()) {
@@ -209,7 +195,7 @@ public final class InMemorySessionService implements BaseSessionService {
     Objects.requireNonNull(userId, "userId cannot be null");
     Objects.requireNonNull(sessionId, "sessionId cannot be null");
 
-    Session storedSession =
+    StoredSession storedSession =
         sessions
             .computeIfAbsent(appName, unused -> new ConcurrentHashMap<>())
             .computeIfAbsent(userId, unused -> new ConcurrentHashMap<>())
@@ -219,7 +205,8 @@ public final class InMemorySessionService implements BaseSessionService {
       return Single.just(ListEventsResponse.builder().build());
     }
 
-    ImmutableList<Event> eventsCopy = ImmutableList.copyOf(storedSession.events());
+    EventLog log = storedSession.events;
+    ImmutableList<Event> eventsCopy = ImmutableList.copyOf(log.view(0, log.size()));
     return Single.just(ListEventsResponse.builder().events(eventsCopy).build());
   }
 
@@ -279,13 +266,36 @@ public final class InMemorySessionService implements BaseSessionService {
     }
 
     BaseSessionService.super.appendEvent(session, event);
-    session.lastUpdateTime(getInstantFromEvent(event));
+    Instant lastUpdateTime = getInstantFromEvent(event);
+    session.lastUpdateTime(lastUpdateTime);
 
     // --- Update the session stored in this service ---
-    sessions
-        .computeIfAbsent(appName, unused -> new ConcurrentHashMap<>())
-        .computeIfAbsent(userId, unused -> new ConcurrentHashMap<>())
-        .put(sessionId, session);
+    boolean[] created = new boolean[1];
+    StoredSession storedSession =
+        sessions
+            .computeIfAbsent(appName, unused -> new ConcurrentHashMap<>())
+            .computeIfAbsent(userId, unused -> new ConcurrentHashMap<>())
+            .computeIfAbsent(
+                sessionId,
+                unused -> {
+                  // Unknown session: adopt the caller's history, which already holds the event.
+                  created[0] = true;
+                  return new StoredSession(
+                      sessionId,
+                      appName,
+                      userId,
+                      session.state(),
+                      new EventLog(session.events()),
+                      lastUpdateTime);
+                });
+    if (!created[0]) {
+      // Partial events are not part of the history, see BaseSessionService#appendEvent.
+      if (!event.partial().orElse(false)) {
+        storedSession.events.append(event);
+      }
+      storedSession.state = session.state();
+      storedSession.lastUpdateTime = lastUpdateTime;
+    }
 
     mergeWithGlobalState(appName, userId, session);
 
@@ -299,19 +309,30 @@ public final class InMemorySessionService implements BaseSessionService {
   }
 
   /**
-   * Creates a shallow copy of the session, but with deep copies of the mutable state map and events
-   * list. Assumes Session provides necessary getters and a suitable constructor/setters.
+   * Rounds {@code instant} up to whole milliseconds, so that an event timestamp in milliseconds is
+   * at or after the result exactly when its {@link Instant} is not before {@code instant}.
+   */
+  private static long toEpochMilliRoundedUp(Instant instant) {
+    long millis = instant.toEpochMilli();
+    return instant.getNano() % 1_000_000 == 0 ? millis : millis + 1;
+  }
+
+  /**
+   * Creates a {@link Session} from the stored session, with a copy of the state map. The events
+   * list shares its storage with {@code events} and only copies it if the caller modifies it other
+   * than by appending.
    *
-   * @param original The session to copy.
-   * @return A new Session instance with copied data, including mutable collections.
+   * @param original The stored session to copy.
+   * @param events The stored events to expose, typically a view of the session's {@link EventLog}.
+   * @return A new Session instance, safe for the caller to mutate.
    */
-  private Session copySession(Session original) {
-    return Session.builder(original.id())
-        .appName(original.appName())
-        .userId(original.userId())
-        .state(new ConcurrentHashMap<>(original.state()))
-        .events(new ArrayList<>(original.events()))
-        .lastUpdateTime(original.lastUpdateTime())
+  private static Session copySession(StoredSession original, List<Event> events) {
+    return Session.builder(original.id)
+        .appName(original.appName)
+        .userId(original.userId)
+        .state(new ConcurrentHashMap<>(original.state))
+        .eventsWithoutCopy(new EventLog.CopyOnWriteTailList(events))
+        .lastUpdateTime(original.lastUpdateTime)
         .build();
   }
 
@@ -344,8 +365,8 @@ public final class InMemorySessionService implements BaseSessionService {
   /**
    * Prepares copies of sessions for use in a {@code listSessions} response.
    *
-   * <p>For each session provided, this method creates a deep copy, clears the copy's event list,
-   * and merges app-level and user-level state into the copy's state map.
+   * <p>For each session provided, this method creates a copy without events and merges app-level
+   * and user-level state into the copy's state map.
    *
    * @param appName The application name.
    * @param userId The user ID.
@@ -353,11 +374,40 @@ public final class InMemorySessionService implements BaseSessionService {
    * @return A list of processed {@link Session} copies.
    */
   private List<Session> prepareSessionsForListResponse(
-      String appName, String userId, Collection<Session> sessions) {
+      String appName, String userId, Collection<StoredSession> sessions) {
     return sessions.stream()
-        .map(this::copySession)
-        .peek(s -> s.events().clear())
+        .map(s -> copySession(s, ImmutableList.of()))
         .map(s -> mergeWithGlobalState(appName, userId, s))
         .collect(toCollection(ArrayList::new));
   }
+
+  /**
+   * The stored form of a session: its metadata and state, and the append-only log of its events.
+   *
+   * <p>The state map is the one of the latest session passed to {@code appendEvent}, as before
+   * sessions were backed by an {@link EventLog}.
+   */
+  private static final class StoredSession {
+    final String id;
+    final String appName;
+    final String userId;
+    final EventLog events;
+    volatile Map<String, Object> state;
+    volatile Instant lastUpdateTime;
+
+    StoredSession(
+        String id,
+        String appName,
+        String userId,
+        Map<String, Object> state,
+        EventLog events,
+        Instant lastUpdateTime) {
+      this.id = id;
+      this.appName = appName;
+      this.userId = userId;
+      this.state = state;
+      this.events = events;
+      this.lastUpdateTime = lastUpdateTime;
+    }
+  }
 }
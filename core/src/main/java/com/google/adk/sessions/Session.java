@@ -127,6 +127,16 @@ public final class Session extends JsonBaseModel {
       return this;
     }
 
+    /**
+     * Sets the events list as is, without the defensive copy made by {@link #events(List)}. Used by
+     * session services that hand out lists sharing storage with their event store.
+     */
+    @CanIgnoreReturnValue
+    Builder eventsWithoutCopy(List<Event> events) {
+      this.events = Collections.synchronizedList(events);
+      return this;
+    }
+
     @CanIgnoreReturnValue
     public Builder lastUpdateTime(Instant lastUpdateTime) {
       this.lastUpdateTime = lastUpdateTime;
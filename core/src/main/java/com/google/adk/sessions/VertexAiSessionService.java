@@ -25,11 +25,14 @@ import com.google.adk.JsonBaseModel;
 import com.google.adk.events.Event;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 import com.google.genai.types.HttpOptions;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -42,23 +45,49 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.jspecify.annotations.Nullable;
 
-/** Connects to the managed Vertex AI Session Service. */
+/**
+ * Connects to the managed Vertex AI Session Service.
+ *
+ * <p>Optionally keeps the events of recently read sessions in a local cache, bounded in size and
+ * time. A cached session is refreshed with the events at or after its latest cached event (the
+ * high-water mark), instead of listing its whole history on every {@link #getSession}. Events
+ * written through {@link #appendEvent} are added to the cache directly. An event written by another
+ * client with a timestamp older than the high-water mark is only seen once the entry expires.
+ */
 // TODO: Use the genai HttpApiClient and ApiResponse methods once they are public.
 public final class VertexAiSessionService implements BaseSessionService {
   private static final ObjectMapper objectMapper = JsonBaseModel.getMapper();
 
   private final VertexAiClient client;
+  // Keyed by reasoning engine ID and session ID; null when caching is disabled.
+  private final @Nullable Cache<String, CachedEvents> eventCache;
 
   /**
    * Creates a new instance of the Vertex AI Session Service with a custom ApiClient for testing.
    */
   public VertexAiSessionService(String project, String location, HttpApiClient apiClient) {
     this.client = new VertexAiClient(project, location, apiClient);
+    this.eventCache = null;
+  }
+
+  /**
+   * Creates a new instance of the Vertex AI Session Service with a custom ApiClient and an event
+   * cache, for testing.
+   */
+  public VertexAiSessionService(
+      String project,
+      String location,
+      HttpApiClient apiClient,
+      long maxCachedSessions,
+      Duration cacheTtl) {
+    this.client = new VertexAiClient(project, location, apiClient);
+    this.eventCache = createEventCache(maxCachedSessions, cacheTtl);
   }
 
   /** Creates a session service with default configuration. */
   public VertexAiSessionService() {
     this.client = new VertexAiClient();
+    this.eventCache = null;
   }
 
   /** Creates a session service with specified project, location, credentials, and HTTP options. */
@@ -68,6 +97,39 @@ public final class VertexAiSessionService implements BaseSessionService {
       @Nullable GoogleCredentials credentials,
       @Nullable HttpOptions httpOptions) {
     this.client = new VertexAiClient(project, location, credentials, httpOptions);
+    this.eventCache = null;
+  }
+
+  /**
+   * Creates a session service with specified project, location, credentials, and HTTP options, that
+   * caches the events of up to {@code maxCachedSessions} sessions for at most {@code cacheTtl}
+   * each.
+   */
+  public VertexAiSessionService(
+      String project,
+      String location,
+      @Nullable GoogleCredentials credentials,
+      @Nullable HttpOptions httpOptions,
+      long maxCachedSessions,
+      Duration cacheTtl) {
+    this.client = new VertexAiClient(project, location, credentials, httpOptions);
+    this.eventCache = createEventCache(maxCachedSessions, cacheTtl);
+  }
+
+  private static Cache<String, CachedEvents> createEventCache(
+      long maxCachedSessions, Duration cacheTtl) {
+    if (maxCachedSessions < 0) {
+      throw new IllegalArgumentException("maxCachedSessions must not be negative.");
+    }
+    if (cacheTtl.isNegative() || cacheTtl.isZero()) {
+      throw new IllegalArgumentException("cacheTtl must be positive.");
+    }
+    // Expiring after write, not access, bounds how long events missed by the incremental refresh
+    // stay hidden.
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxCachedSessions)
+        .expireAfterWrite(cacheTtl)
+        .build();
   }
 
   @Override
@@ -217,21 +279,25 @@ public final class VertexAiSessionService implements BaseSessionService {
                         new TypeReference<ConcurrentMap<String, Object>>() {}));
               }
 
-              return listEventsInternal(appName, sessionId, afterTimestampFilter(config))
+              Single<List<Event>> eventsSingle =
+                  eventCache == null
+                      ? listEventsInternal(appName, sessionId, afterTimestampFilter(config))
+                          .<List<Event>>map(ListEventsResponse::events)
+                      : listEventsCached(appName, sessionId)
+                          .map(events -> dropEventsBeforeAfterTimestamp(events, config));
+              return eventsSingle
                   .map(
-                      response -> {
+                      events -> {
                         Session.Builder sessionBuilder =
                             Session.builder(sessId)
                                 .appName(appName)
                                 .userId(userId)
                                 .lastUpdateTime(updateTimestamp)
                                 .state(sessionState);
-                        List<Event> events = response.events();
                         if (events.isEmpty()) {
                           return sessionBuilder.build();
                         }
-                        events = filterEvents(events, config);
-                        return sessionBuilder.events(events).build();
+                        return sessionBuilder.events(filterEvents(events, config)).build();
                       })
                   .toMaybe();
             });
@@ -251,6 +317,49 @@ public final class VertexAiSessionService implements BaseSessionService {
     return null;
   }
 
+  /**
+   * Returns the events of the session, sorted by timestamp, listing only those at or after the
+   * cached high-water mark when the session is cached.
+   */
+  private Single<List<Event>> listEventsCached(String appName, String sessionId) {
+    String key = cacheKey(appName, sessionId);
+    CachedEvents cached = eventCache.getIfPresent(key);
+    Optional<Long> highWaterMark = cached == null ? Optional.empty() : cached.highWaterMark();
+    if (highWaterMark.isEmpty()) {
+      return listEventsInternal(appName, sessionId, /* filter= */ null)
+          .map(
+              response -> {
+                CachedEvents loaded = new CachedEvents(response.events());
+                eventCache.put(key, loaded);
+                return loaded.snapshot();
+              });
+    }
+    // Event timestamps are truncated to milliseconds, so the inclusive filter also returns the
+    // events at the mark; the listed events replace the cached ones from the mark on.
+    String filter = "timestamp>=\"" + Instant.ofEpochMilli(highWaterMark.get()) + "\"";
+    return listEventsInternal(appName, sessionId, filter)
+        .map(response -> cached.refresh(highWaterMark.get(), response.events()));
+  }
+
+  /**
+   * Applies {@code afterTimestamp} locally, with the same precedence as {@link
+   * #afterTimestampFilter}, to events that were not filtered by the server.
+   */
+  private static List<Event> dropEventsBeforeAfterTimestamp(
+      List<Event> events, Optional<GetSessionConfig> config) {
+    if (afterTimestampFilter(config) == null) {
+      return events;
+    }
+    long threshold = config.get().afterTimestamp().get().toEpochMilli();
+    return events.stream()
+        .filter(event -> event.timestamp() >= threshold)
+        .collect(toCollection(ArrayList::new));
+  }
+
+  private static String cacheKey(String appName, String sessionId) {
+    return parseReasoningEngineId(appName) + "/" + sessionId;
+  }
+
   private static List<Event> filterEvents(
       List<Event> originalEvents, Optional<GetSessionConfig> config) {
     // Preserve the full event stream that Vertex AI returns. Event timestamps are
@@ -275,7 +384,14 @@ public final class VertexAiSessionService implements BaseSessionService {
   @Override
   public Completable deleteSession(String appName, String userId, String sessionId) {
     String reasoningEngineId = parseReasoningEngineId(appName);
-    return client.deleteSession(reasoningEngineId, sessionId);
+    return client
+        .deleteSession(reasoningEngineId, sessionId)
+        .doOnComplete(
+            () -> {
+              if (eventCache != null) {
+                eventCache.invalidate(cacheKey(appName, sessionId));
+              }
+            });
   }
 
   @Override
@@ -288,9 +404,20 @@ public final class VertexAiSessionService implements BaseSessionService {
                 client
                     .appendEvent(
                         reasoningEngineId, session.id(), SessionJsonConverter.convertEventToJson(e))
+                    .doOnComplete(() -> addToCache(session, e))
                     .toSingleDefault(e));
   }
 
+  private void addToCache(Session session, Event event) {
+    if (eventCache == null) {
+      return;
+    }
+    CachedEvents cached = eventCache.getIfPresent(cacheKey(session.appName(), session.id()));
+    if (cached != null) {
+      cached.add(event);
+    }
+  }
+
   /**
    * Extracts the reasoning engine ID from the given app name or full resource name.
    *
@@ -319,4 +446,49 @@ public final class VertexAiSessionService implements BaseSessionService {
   private static final Pattern APP_NAME_PATTERN =
       Pattern.compile(
           "^projects/([a-zA-Z0-9-_]+)/locations/([a-zA-Z0-9-_]+)/reasoningEngines/(\\d+)$");
+
+  /** The events of one cached session, sorted by timestamp. */
+  private static final class CachedEvents {
+    // Guarded by this.
+    private final List<Event> events;
+
+    CachedEvents(List<Event> events) {
+      this.events =
+          events.stream()
+              .sorted(Comparator.comparingLong(Event::timestamp))
+              .collect(toCollection(ArrayList::new));
+    }
+
+    /** The timestamp of the latest cached event, if any. */
+    synchronized Optional<Long> highWaterMark() {
+      return events.isEmpty()
+          ? Optional.empty()
+          : Optional.of(events.get(events.size() - 1).timestamp());
+    }
+
+    synchronized List<Event> snapshot() {
+      return new ArrayList<>(events);
+    }
+
+    /** Inserts {@code event} after the cached events with the same or an older timestamp. */
+    synchronized void add(Event event) {
+      int index = events.size();
+      while (index > 0 && events.get(index - 1).timestamp() > event.timestamp()) {
+        index--;
+      }
+      events.add(index, event);
+    }
+
+    /**
+     * Replaces the cached events at or after {@code highWaterMark} with {@code listed}, the events
+     * the server returned for that range, and returns a copy of the result.
+     */
+    synchronized List<Event> refresh(long highWaterMark, List<Event> listed) {
+      while (!events.isEmpty() && events.get(events.size() - 1).timestamp() >= highWaterMark) {
+        events.remove(events.size() - 1);
+      }
+      listed.stream().sorted(Comparator.comparingLong(Event::timestamp)).forEach(events::add);
+      return new ArrayList<>(events);
+    }
+  }
 }
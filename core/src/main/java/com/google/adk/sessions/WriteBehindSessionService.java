@@ -0,0 +1,399 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.sessions;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.adk.events.Event;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link BaseSessionService} decorator that acknowledges {@link #appendEvent} as soon as the
+ * event is applied to the in-memory {@link Session}, and writes it to the wrapped service in the
+ * background.
+ *
+ * <p>Held events are written at least every {@code maxLag}, and as soon as a session holds {@code
+ * maxPendingEvents} of them. Each session's events reach the wrapped service in order, through
+ * {@link BaseSessionService#appendEvents}. Reads ({@link #getSession}, {@link #listEvents}, {@link
+ * #listSessions}) first write the held events they could observe, so a caller always reads its own
+ * writes.
+ *
+ * <p>A failed write is logged and its events are kept, ahead of those held since, for the next
+ * write: they are retried at least every {@code maxLag}, and a read or {@link #flush} that needs
+ * them fails with the wrapped service's error until a retry succeeds, rather than returning stale
+ * data. If the wrapped service failed partway through a batch, its first events may be written
+ * twice.
+ *
+ * <p>Use it for interactive workloads where losing the last events on a crash is acceptable: the
+ * model's next step no longer waits for the store. Call {@link #flush} (done by {@code
+ * Runner.close()}) or {@link #close} on shutdown to write what is still held.
+ *
+ * <p>The wrapped service mutates the {@link Session} passed to it. To not apply each event twice to
+ * the caller's session, it is given a separate copy of each session, created from the caller's
+ * session on its first held event.
+ */
+public final class WriteBehindSessionService implements BaseSessionService {
+
+  private static final Logger logger = LoggerFactory.getLogger(WriteBehindSessionService.class);
+
+  /** Default for {@code maxPendingEvents}. */
+  public static final int DEFAULT_MAX_PENDING_EVENTS = 100;
+
+  private final BaseSessionService delegate;
+  private final int maxPendingEvents;
+  private final ConcurrentMap<SessionKey, SessionLog> logs = new ConcurrentHashMap<>();
+  private final Disposable flushTimer;
+
+  /**
+   * Creates a write-behind decorator that writes held events at least every {@code maxLag}.
+   *
+   * @param delegate The service events are eventually written to.
+   * @param maxLag The maximum time an event is held before its write starts.
+   */
+  public WriteBehindSessionService(BaseSessionService delegate, Duration maxLag) {
+    this(delegate, maxLag, DEFAULT_MAX_PENDING_EVENTS, Schedulers.io());
+  }
+
+  /**
+   * Creates a write-behind decorator.
+   *
+   * @param delegate The service events are eventually written to.
+   * @param maxLag The maximum time an event is held before its write starts.
+   * @param maxPendingEvents The number of held events of a session that triggers a write
+   *     immediately.
+   * @param scheduler The scheduler the periodic writes run on.
+   */
+  public WriteBehindSessionService(
+      BaseSessionService delegate, Duration maxLag, int maxPendingEvents, Scheduler scheduler) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+    if (maxLag.isNegative() || maxLag.isZero()) {
+      throw new IllegalArgumentException("maxLag must be positive.");
+    }
+    if (maxPendingEvents < 1) {
+      throw new IllegalArgumentException("maxPendingEvents must be at least 1.");
+    }
+    this.maxPendingEvents = maxPendingEvents;
+    long periodMillis = Math.max(1, maxLag.toMillis());
+    this.flushTimer =
+        Flowable.interval(periodMillis, periodMillis, MILLISECONDS, scheduler)
+            .subscribe(
+                unusedTick -> flushAll(), error -> logger.error("Flush timer failed", error));
+  }
+
+  /** Returns the wrapped service. */
+  public BaseSessionService delegate() {
+    return delegate;
+  }
+
+  // Wrapper must implement the deprecated overload, which the other overloads delegate to.
+  @SuppressWarnings("deprecation")
+  @Override
+  public Single<Session> createSession(
+      String appName,
+      String userId,
+      @Nullable ConcurrentMap<String, Object> state,
+      @Nullable String sessionId) {
+    return delegate.createSession(appName, userId, state, sessionId);
+  }
+
+  @Override
+  public Maybe<Session> getSession(
+      String appName, String userId, String sessionId, Optional<GetSessionConfig> config) {
+    return flush(new SessionKey(appName, userId, sessionId))
+        .andThen(Maybe.defer(() -> delegate.getSession(appName, userId, sessionId, config)));
+  }
+
+  @Override
+  public Single<ListSessionsResponse> listSessions(String appName, String userId) {
+    return flushUser(appName, userId)
+        .andThen(Single.defer(() -> delegate.listSessions(appName, userId)));
+  }
+
+  @Override
+  public Completable deleteSession(String appName, String userId, String sessionId) {
+    SessionKey key = new SessionKey(appName, userId, sessionId);
+    SessionLog log = logs.remove(key);
+    // Held events of a deleted session are dropped, but a write already started must finish first.
+    Completable inFlight = log == null ? Completable.complete() : log.discard();
+    return inFlight
+        .onErrorComplete()
+        .andThen(Completable.defer(() -> delegate.deleteSession(appName, userId, sessionId)));
+  }
+
+  @Override
+  public Single<ListEventsResponse> listEvents(String appName, String userId, String sessionId) {
+    return flush(new SessionKey(appName, userId, sessionId))
+        .andThen(Single.defer(() -> delegate.listEvents(appName, userId, sessionId)));
+  }
+
+  @Override
+  public Completable closeSession(Session session) {
+    return flush(session.sessionKey())
+        .andThen(Completable.defer(() -> delegate.closeSession(session)));
+  }
+
+  /**
+   * Applies {@code event} to {@code session} and holds it for a background write to the wrapped
+   * service. Completes without waiting for the store.
+   */
+  @CanIgnoreReturnValue
+  @Override
+  public Single<Event> appendEvent(Session session, Event event) {
+    Objects.requireNonNull(session, "session cannot be null");
+    Objects.requireNonNull(event, "event cannot be null");
+    if (event.partial().orElse(false)) {
+      return Single.just(event);
+    }
+    SessionLog[] target = new SessionLog[1];
+    int[] pendingCount = new int[1];
+    // Atomic with the removal of idle logs in flushAll(), so an event never lands in a dropped log.
+    logs.compute(
+        session.sessionKey(),
+        (unusedKey, log) -> {
+          // Created before the event is applied: the copy starts from the session the store knows.
+          target[0] = log != null ? log : new SessionLog(session);
+          applyToSession(session, event);
+          pendingCount[0] = target[0].add(event);
+          return target[0];
+        });
+    if (pendingCount[0] >= maxPendingEvents) {
+      target[0].flush().subscribe(() -> {}, error -> {});
+    }
+    return Single.just(event);
+  }
+
+  private void applyToSession(Session session, Event event) {
+    BaseSessionService.super.appendEvent(session, event);
+  }
+
+  /**
+   * Writes every held event to the wrapped service, then flushes it. Completes once the writes
+   * finish, or fails if any of them failed.
+   */
+  @Override
+  public Completable flush() {
+    List<Completable> writes = new ArrayList<>();
+    for (SessionLog log : logs.values()) {
+      writes.add(log.flush());
+    }
+    return Completable.concatArrayDelayError(
+        Completable.mergeDelayError(writes), Completable.defer(delegate::flush));
+  }
+
+  /** Writes every held event and stops the periodic writes. */
+  public Completable close() {
+    flushTimer.dispose();
+    return flush();
+  }
+
+  /** The number of events held and not yet written, across all sessions. */
+  public int pendingEventCount() {
+    int count = 0;
+    for (SessionLog log : logs.values()) {
+      count += log.pendingCount();
+    }
+    return count;
+  }
+
+  private Completable flush(SessionKey key) {
+    SessionLog log = logs.get(key);
+    return log == null ? Completable.complete() : log.flush();
+  }
+
+  private Completable flushUser(String appName, String userId) {
+    List<Completable> writes = new ArrayList<>();
+    logs.forEach(
+        (key, log) -> {
+          if (key.appName().equals(appName) && key.userId().equals(userId)) {
+            writes.add(log.flush());
+          }
+        });
+    return Completable.mergeDelayError(writes);
+  }
+
+  private void flushAll() {
+    for (Map.Entry<SessionKey, SessionLog> entry : logs.entrySet()) {
+      entry.getValue().flush().subscribe(() -> {}, error -> {});
+      // Forget sessions with nothing left to write; a later append starts a new log.
+      logs.computeIfPresent(entry.getKey(), (unusedKey, log) -> log.isIdle() ? null : log);
+    }
+  }
+
+  /** The held events of one session and the copy of the session given to the wrapped service. */
+  private final class SessionLog {
+    private final Session storeSession;
+    // Guarded by this. Events not yet written, oldest first, including those of a failed write.
+    private List<Event> pending = new ArrayList<>();
+    // Guarded by this. Completes once the events in pending are written; null until a flush waits
+    // for them while another write is in flight.
+    private @Nullable CompletableSubject pendingWritten;
+    // Guarded by this. Completes once the write in flight finishes; null if there is none.
+    private @Nullable CompletableSubject inFlight;
+    // Guarded by this.
+    private boolean discarded = false;
+
+    SessionLog(Session session) {
+      this.storeSession =
+          Session.builder(session.id())
+              .appName(session.appName())
+              .userId(session.userId())
+              .state(new ConcurrentHashMap<>(session.state()))
+              .events(ImmutableList.of())
+              .lastUpdateTime(session.lastUpdateTime())
+              .build();
+    }
+
+    /** Holds {@code event} and returns the number of held events. */
+    synchronized int add(Event event) {
+      pending.add(event);
+      return pending.size();
+    }
+
+    synchronized int pendingCount() {
+      return pending.size();
+    }
+
+    synchronized boolean isIdle() {
+      return pending.isEmpty() && inFlight == null;
+    }
+
+    /**
+     * Starts writing the held events unless a write is in flight, in which case they are written as
+     * soon as it finishes. Returns a {@link Completable} that completes when everything held so far
+     * is written, or fails if its write failed.
+     */
+    Completable flush() {
+      ImmutableList<Event> batch;
+      CompletableSubject written;
+      synchronized (this) {
+        if (pending.isEmpty()) {
+          return inFlight == null ? Completable.complete() : inFlight.hide();
+        }
+        if (pendingWritten == null) {
+          pendingWritten = CompletableSubject.create();
+        }
+        if (inFlight != null) {
+          return pendingWritten.hide();
+        }
+        batch = ImmutableList.copyOf(pending);
+        pending = new ArrayList<>();
+        written = pendingWritten;
+        pendingWritten = null;
+        inFlight = written;
+      }
+      // Written outside the lock, so a synchronous write does not run under it.
+      write(batch, written);
+      return written.hide();
+    }
+
+    private void write(ImmutableList<Event> batch, CompletableSubject written) {
+      Completable.defer(
+              () -> {
+                // The store only needs the session's identity and state; do not let the copy
+                // accumulate the whole history.
+                storeSession.events().clear();
+                return delegate.appendEvents(storeSession, batch).ignoreElement();
+              })
+          .subscribe(
+              () -> writeFinished(batch, written, null),
+              error -> writeFinished(batch, written, error));
+    }
+
+    /**
+     * Resolves the finished write and starts the next one if a flush asked for it. A failed batch
+     * is put back in front of the held events, so the next flush retries it in order.
+     */
+    private void writeFinished(
+        ImmutableList<Event> batch, CompletableSubject written, @Nullable Throwable error) {
+      ImmutableList<Event> nextBatch = null;
+      CompletableSubject nextWritten = null;
+      CompletableSubject waiting = null;
+      synchronized (this) {
+        inFlight = null;
+        if (error != null) {
+          if (!discarded) {
+            List<Event> requeued = new ArrayList<>(batch);
+            requeued.addAll(pending);
+            pending = requeued;
+          }
+          // The events these flushes waited for are now queued behind the failed batch.
+          waiting = pendingWritten;
+          pendingWritten = null;
+        } else if (pendingWritten != null && !pending.isEmpty()) {
+          nextBatch = ImmutableList.copyOf(pending);
+          pending = new ArrayList<>();
+          nextWritten = pendingWritten;
+          pendingWritten = null;
+          inFlight = nextWritten;
+        }
+      }
+      if (error == null) {
+        written.onComplete();
+      } else {
+        logger.error(
+            "Failed to write {} events of session {}, keeping them for the next flush",
+            batch.size(),
+            storeSession.id(),
+            error);
+        written.onError(error);
+        if (waiting != null) {
+          waiting.onError(error);
+        }
+      }
+      if (nextBatch != null) {
+        write(nextBatch, nextWritten);
+      }
+    }
+
+    /** Drops the held events; returns the write in progress, if any. */
+    Completable discard() {
+      CompletableSubject waiting;
+      Completable current;
+      synchronized (this) {
+        discarded = true;
+        pending = new ArrayList<>();
+        waiting = pendingWritten;
+        pendingWritten = null;
+        current = inFlight == null ? Completable.complete() : inFlight.hide();
+      }
+      if (waiting != null) {
+        waiting.onComplete();
+      }
+      return current;
+    }
+  }
+}
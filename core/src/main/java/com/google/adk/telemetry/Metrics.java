@@ -26,7 +26,9 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.Meter;
 import java.time.Duration;
 import java.util.List;
@@ -43,6 +45,12 @@ public final class Metrics {
   private static final AttributeKey<String> GEN_AI_TOOL_NAME =
       AttributeKey.stringKey("gen_ai.tool.name");
   private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+  private static final AttributeKey<String> GEN_AI_REQUEST_MODEL =
+      AttributeKey.stringKey("gen_ai.request.model");
+  private static final AttributeKey<String> CONTEXT_CACHE_RESULT =
+      AttributeKey.stringKey("gen_ai.context_cache.result");
+  private static final AttributeKey<String> REQUEST_PRIORITY =
+      AttributeKey.stringKey("gen_ai.request.priority");
 
   private static final AtomicReference<MetricHolder> metricHolder =
       new AtomicReference<>(new MetricHolder(GlobalOpenTelemetry.getMeter("gcp.vertex.agent")));
@@ -55,6 +63,9 @@ public final class Metrics {
     final LongHistogram agentWorkflowSteps;
     final LongHistogram toolRequestSize;
     final LongHistogram toolResponseSize;
+    final LongCounter contextCacheRequests;
+    final LongUpDownCounter llmAdmissionQueueDepth;
+    final DoubleHistogram llmAdmissionWaitDuration;
 
     MetricHolder(Meter meter) {
       this.agentInvocationDuration =
@@ -104,6 +115,24 @@ public final class Metrics {
               .setDescription("Size of tool responses.")
               .ofLongs()
               .build();
+      this.contextCacheRequests =
+          meter
+              .counterBuilder("gen_ai.context_cache.requests")
+              .setUnit("1")
+              .setDescription("LLM requests eligible for context caching, by cache result.")
+              .build();
+      this.llmAdmissionQueueDepth =
+          meter
+              .upDownCounterBuilder("gen_ai.client.admission.queue_depth")
+              .setUnit("1")
+              .setDescription("LLM requests waiting for admission.")
+              .build();
+      this.llmAdmissionWaitDuration =
+          meter
+              .histogramBuilder("gen_ai.client.admission.wait.duration")
+              .setUnit("ms")
+              .setDescription("Time LLM requests waited for admission.")
+              .build();
     }
   }
 
@@ -196,6 +225,31 @@ public final class Metrics {
     holder.toolResponseSize.record(size, attrs);
   }
 
+  /**
+   * Records the context cache lookup of an LLM request: {@code hit} when it reused a cache, {@code
+   * miss} when a cache was created for it, {@code skipped} when it was not worth caching, and
+   * {@code error} when creating the cache failed.
+   */
+  public static void recordContextCacheRequest(String model, String result) {
+    MetricHolder holder = metricHolder.get();
+    Attributes attrs = Attributes.of(GEN_AI_REQUEST_MODEL, model, CONTEXT_CACHE_RESULT, result);
+    holder.contextCacheRequests.add(1, attrs);
+  }
+
+  /** Records a change of the number of LLM requests of a model waiting for admission. */
+  public static void recordLlmAdmissionQueueDepthChange(String model, String priority, long delta) {
+    MetricHolder holder = metricHolder.get();
+    Attributes attrs = Attributes.of(GEN_AI_REQUEST_MODEL, model, REQUEST_PRIORITY, priority);
+    holder.llmAdmissionQueueDepth.add(delta, attrs);
+  }
+
+  /** Records how long an LLM request waited before it was admitted. */
+  public static void recordLlmAdmissionWait(String model, String priority, Duration wait) {
+    MetricHolder holder = metricHolder.get();
+    Attributes attrs = Attributes.of(GEN_AI_REQUEST_MODEL, model, REQUEST_PRIORITY, priority);
+    holder.llmAdmissionWaitDuration.record((double) wait.toMillis(), attrs);
+  }
+
   private static long getContentSize(@Nullable Content content) {
     return Optional.ofNullable(content)
         .map(
@@ -38,6 +38,7 @@ import com.google.genai.types.Tool;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -190,7 +191,25 @@ public abstract class BaseTool {
       return Completable.complete();
     }
 
-    llmRequestBuilder.appendTools(ImmutableList.of(this));
+    appendFunctionDeclarations(
+        llmRequestBuilder,
+        ImmutableList.of(this),
+        Tool.builder().functionDeclarations(ImmutableList.of(declaration().get())).build());
+    return Completable.complete();
+  }
+
+  /**
+   * Adds {@code tools} to the builder and merges the function declarations of {@code
+   * declarationsTool} into its {@link GenerateContentConfig} and {@link LiveConnectConfig}, with
+   * the same result as the default {@link #processLlmRequest} of each tool in turn.
+   *
+   * <p>{@code declarationsTool} is used as is if the request has no tool with function declarations
+   * yet, so a prebuilt instance can be shared between requests.
+   */
+  public static void appendFunctionDeclarations(
+      LlmRequest.Builder llmRequestBuilder, List<BaseTool> tools, Tool declarationsTool) {
+    // Each appendTools call puts its tools first, so the tools are added in reverse order.
+    llmRequestBuilder.appendTools(ImmutableList.copyOf(tools).reverse());
 
     LlmRequest llmRequest = llmRequestBuilder.build();
     ImmutableList<Tool> toolsWithoutFunctionDeclarations =
@@ -198,10 +217,9 @@ public abstract class BaseTool {
     Tool toolWithFunctionDeclarations = findToolWithFunctionDeclarations(llmRequest);
     // If LlmRequest GenerateContentConfig already has a function calling tool,
     // merge the function declarations.
-    // Otherwise, add a new tool definition with function calling declaration..
+    // Otherwise, add the given tool definition with function calling declarations.
     if (toolWithFunctionDeclarations == null) {
-      toolWithFunctionDeclarations =
-          Tool.builder().functionDeclarations(ImmutableList.of(declaration().get())).build();
+      toolWithFunctionDeclarations = declarationsTool;
     } else {
       toolWithFunctionDeclarations =
           toolWithFunctionDeclarations.toBuilder()
@@ -211,7 +229,7 @@ public abstract class BaseTool {
                           toolWithFunctionDeclarations
                               .functionDeclarations()
                               .orElseGet(ImmutableList::of))
-                      .add(declaration().get())
+                      .addAll(declarationsTool.functionDeclarations().orElseGet(ImmutableList::of))
                       .build())
               .build();
     }
@@ -232,7 +250,6 @@ public abstract class BaseTool {
         llmRequest.liveConnectConfig().toBuilder().tools(newTools).build();
     llmRequestBuilder.config(generateContentConfig);
     llmRequestBuilder.liveConnectConfig(liveConnectConfig);
-    return Completable.complete();
   }
 
   /**
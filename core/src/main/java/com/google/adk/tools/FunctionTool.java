@@ -17,6 +17,7 @@
 package com.google.adk.tools;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.adk.JsonBaseModel;
 import com.google.adk.agents.InvocationContext;
@@ -26,6 +27,9 @@ import com.google.genai.types.FunctionDeclaration;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -51,6 +55,15 @@ public class FunctionTool extends BaseTool {
   private final boolean requireConfirmation;
   private final ObjectMapper objectMapper;
 
+  /**
+   * Invokes {@link #func} with an {@code Object[]} of arguments, or null when the method is not
+   * accessible to a {@link MethodHandles.Lookup} and has to go through {@link Method#invoke}.
+   */
+  private final @Nullable MethodHandle invoker;
+
+  /** One resolver per parameter of {@link #func}, built once from its signature. */
+  private final ArgumentResolver[] argumentResolvers;
+
   public static FunctionTool create(Object instance, Method func) {
     return create(instance, func, /* requireConfirmation= */ false);
   }
@@ -209,6 +222,33 @@ public class FunctionTool extends BaseTool {
             this.func, ImmutableList.of("toolContext", "inputStream"));
     this.requireConfirmation = requireConfirmation;
     this.objectMapper = objectMapper;
+    this.invoker = createInvoker(instance, func);
+    Parameter[] parameters = func.getParameters();
+    this.argumentResolvers = new ArgumentResolver[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      argumentResolvers[i] = createArgumentResolver(parameters[i]);
+    }
+  }
+
+  /**
+   * Creates a method handle taking the arguments as an {@code Object[]} and returning the boxed
+   * result, with {@code instance} already bound for instance methods. Unlike {@link Method#invoke},
+   * it performs the access check once instead of on every call.
+   */
+  private static @Nullable MethodHandle createInvoker(@Nullable Object instance, Method func) {
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.lookup().unreflect(func).asFixedArity();
+    } catch (IllegalAccessException e) {
+      logger.debug("Falling back to reflection to call function tool {}", func.getName(), e);
+      return null;
+    }
+    if (instance != null) {
+      handle = handle.bindTo(instance);
+    }
+    return handle
+        .asSpreader(Object[].class, func.getParameterCount())
+        .asType(MethodType.methodType(Object.class, Object[].class));
   }
 
   @Override
@@ -270,7 +310,7 @@ public class FunctionTool extends BaseTool {
   private Maybe<Map<String, Object>> call(Map<String, Object> args, ToolContext toolContext)
       throws IllegalAccessException, InvocationTargetException {
     Object[] arguments = buildArguments(args, toolContext, null);
-    Object result = func.invoke(instance, arguments);
+    Object result = invoke(arguments);
     if (result == null || isEmptyOptional(result)) {
       return Maybe.empty();
     } else if (result instanceof Maybe) {
@@ -315,7 +355,7 @@ public class FunctionTool extends BaseTool {
       Map<String, Object> args, ToolContext toolContext, InvocationContext invocationContext)
       throws IllegalAccessException, InvocationTargetException {
     Object[] arguments = buildArguments(args, toolContext, invocationContext);
-    Object result = func.invoke(instance, arguments);
+    Object result = invoke(arguments);
     if (result instanceof Flowable) {
       return (Flowable<Map<String, Object>>) result;
     } else {
@@ -324,88 +364,142 @@ public class FunctionTool extends BaseTool {
     }
   }
 
-  @SuppressWarnings("unchecked") // For tool parameter type casting.
-  private @Nullable Object resolveArgumentValue(
-      @Nullable Object argValue, Class<?> paramType, Type parameterizedType, String paramName) {
-    if (paramType.equals(List.class)) {
-      if (argValue instanceof List) {
-        Type type = ((ParameterizedType) parameterizedType).getActualTypeArguments()[0];
-        Class<?> typeArgClass = getTypeClass(type, paramName);
-        return createList((List<Object>) argValue, typeArgClass);
-      }
-    } else if (argValue instanceof Map) {
-      return objectMapper.convertValue(argValue, paramType);
+  private @Nullable Object invoke(Object[] arguments)
+      throws IllegalAccessException, InvocationTargetException {
+    if (invoker == null) {
+      return func.invoke(instance, arguments);
+    }
+    try {
+      return (Object) invoker.invokeExact(arguments);
+    } catch (Throwable t) {
+      // Same contract as Method.invoke: anything thrown by the function is wrapped.
+      throw new InvocationTargetException(t);
     }
-    return castValue(argValue, paramType);
   }
 
-  @SuppressWarnings("unchecked") // For tool parameter type casting.
   private Object[] buildArguments(
       Map<String, Object> args,
       ToolContext toolContext,
       @Nullable InvocationContext invocationContext) {
-    Parameter[] parameters = func.getParameters();
-    Object[] arguments = new Object[parameters.length];
-    for (int i = 0; i < parameters.length; i++) {
-      String paramName =
-          parameters[i].isAnnotationPresent(Annotations.Schema.class)
-                  && !parameters[i].getAnnotation(Annotations.Schema.class).name().isEmpty()
-              ? parameters[i].getAnnotation(Annotations.Schema.class).name()
-              : parameters[i].getName();
-      if ("toolContext".equals(paramName)) {
-        arguments[i] = toolContext;
-        continue;
-      }
-      if ("inputStream".equals(paramName)) {
-        if (invocationContext != null
-            && invocationContext.activeStreamingTools().containsKey(this.name())
-            && invocationContext.activeStreamingTools().get(this.name()).stream() != null) {
-          arguments[i] = invocationContext.activeStreamingTools().get(this.name()).stream();
-        } else {
-          arguments[i] = null;
-        }
-        continue;
-      }
-      Annotations.Schema schema = parameters[i].getAnnotation(Annotations.Schema.class);
-      Class<?> paramType = parameters[i].getType();
+    Object[] arguments = new Object[argumentResolvers.length];
+    for (int i = 0; i < argumentResolvers.length; i++) {
+      arguments[i] = argumentResolvers[i].resolve(args, toolContext, invocationContext);
+    }
+    return arguments;
+  }
+
+  /** Produces the value passed to one parameter of the function for a given call. */
+  @FunctionalInterface
+  private interface ArgumentResolver {
+    @Nullable Object resolve(
+        Map<String, Object> args,
+        ToolContext toolContext,
+        @Nullable InvocationContext invocationContext);
+  }
+
+  /** Converts a value provided by the model to the type expected by the function. */
+  @FunctionalInterface
+  private interface ValueConverter {
+    @Nullable Object convert(@Nullable Object value);
+  }
+
+  private ArgumentResolver createArgumentResolver(Parameter parameter) {
+    Annotations.Schema schema = parameter.getAnnotation(Annotations.Schema.class);
+    String paramName =
+        schema != null && !schema.name().isEmpty() ? schema.name() : parameter.getName();
+    if ("toolContext".equals(paramName)) {
+      return (args, toolContext, invocationContext) -> toolContext;
+    }
+    if ("inputStream".equals(paramName)) {
+      return (args, toolContext, invocationContext) -> inputStream(invocationContext);
+    }
+
+    Class<?> paramType = parameter.getType();
+    boolean isOptionalParam = paramType.equals(Optional.class);
+    boolean isSchemaOptional = schema != null && schema.optional();
+    ValueConverter converter;
+    if (isOptionalParam) {
+      Type innerType =
+          parameter.getParameterizedType() instanceof ParameterizedType pType
+              ? pType.getActualTypeArguments()[0]
+              : Object.class;
+      ValueConverter innerConverter = createValueConverter(innerType, paramName);
+      converter =
+          value ->
+              value == null ? Optional.empty() : Optional.ofNullable(innerConverter.convert(value));
+    } else {
+      converter = createValueConverter(paramType, parameter.getParameterizedType(), paramName);
+    }
+
+    return (args, toolContext, invocationContext) -> {
       if (!args.containsKey(paramName)) {
-        if (schema != null && schema.optional()) {
-          if (paramType.equals(Optional.class)) {
-            arguments[i] = Optional.empty();
-          } else {
-            arguments[i] = null;
-          }
-          continue;
-        } else {
-          throw new IllegalArgumentException(
-              String.format(
-                  "The parameter '%s' was not found in the arguments provided by the model.",
-                  paramName));
+        if (isSchemaOptional) {
+          return isOptionalParam ? Optional.empty() : null;
         }
+        throw new IllegalArgumentException(
+            String.format(
+                "The parameter '%s' was not found in the arguments provided by the model.",
+                paramName));
       }
-      Object argValue = args.get(paramName);
-      if (paramType.equals(Optional.class)) {
-        if (argValue == null) {
-          arguments[i] = Optional.empty();
-        } else {
-          Type innerType;
-          Type paramParameterizedType = parameters[i].getParameterizedType();
-          if (paramParameterizedType instanceof ParameterizedType pType) {
-            innerType = pType.getActualTypeArguments()[0];
-          } else {
-            innerType = Object.class;
-          }
-          Class<?> innerClass = getTypeClass(innerType, paramName);
-          Object resolvedValue = resolveArgumentValue(argValue, innerClass, innerType, paramName);
-          arguments[i] = Optional.ofNullable(resolvedValue);
-        }
-      } else {
-        arguments[i] =
-            resolveArgumentValue(
-                argValue, paramType, parameters[i].getParameterizedType(), paramName);
+      return converter.convert(args.get(paramName));
+    };
+  }
+
+  private @Nullable Object inputStream(@Nullable InvocationContext invocationContext) {
+    if (invocationContext != null
+        && invocationContext.activeStreamingTools().containsKey(this.name())
+        && invocationContext.activeStreamingTools().get(this.name()).stream() != null) {
+      return invocationContext.activeStreamingTools().get(this.name()).stream();
+    }
+    return null;
+  }
+
+  private ValueConverter createValueConverter(Type type, String paramName) {
+    Class<?> typeClass;
+    try {
+      typeClass = getTypeClass(type, paramName);
+    } catch (IllegalArgumentException e) {
+      // Unsupported types only fail when a value is actually provided for them.
+      return failingConverter(e.getMessage());
+    }
+    return createValueConverter(typeClass, type, paramName);
+  }
+
+  private ValueConverter createValueConverter(
+      Class<?> paramType, Type parameterizedType, String paramName) {
+    if (!paramType.equals(List.class)) {
+      return createCastConverter(paramType);
+    }
+    ValueConverter listConverter = createCastConverter(paramType);
+    ValueConverter elementConverter;
+    if (parameterizedType instanceof ParameterizedType pType) {
+      Type elementType = pType.getActualTypeArguments()[0];
+      try {
+        elementConverter = createCastConverter(getTypeClass(elementType, paramName));
+      } catch (IllegalArgumentException e) {
+        elementConverter = failingConverter(e.getMessage());
       }
+    } else {
+      elementConverter =
+          failingConverter(String.format("Raw list type is not supported for '%s'", paramName));
     }
-    return arguments;
+    ValueConverter finalElementConverter = elementConverter;
+    return value -> {
+      if (value instanceof List<?> values) {
+        List<Object> list = new ArrayList<>(values.size());
+        for (Object element : values) {
+          list.add(finalElementConverter.convert(element));
+        }
+        return list;
+      }
+      return listConverter.convert(value);
+    };
+  }
+
+  private static ValueConverter failingConverter(String message) {
+    return value -> {
+      throw new IllegalArgumentException(message);
+    };
   }
 
   private static Class<?> getTypeClass(Type type, String paramName) {
@@ -421,76 +515,67 @@ public class FunctionTool extends BaseTool {
     }
   }
 
-  private List<Object> createList(List<Object> values, Class<?> type) {
-    List<Object> list = new ArrayList<>();
-    // List of parameterized type is not supported.
-    if (type == null) {
-      return list;
-    }
-    Class<?> cls = type;
-    for (Object value : values) {
-      if (cls == Integer.class
-          || cls == Long.class
-          || cls == Double.class
-          || cls == Float.class
-          || cls == Boolean.class
-          || cls == String.class) {
-        list.add(castValue(value, cls));
-      } else {
-        list.add(objectMapper.convertValue(value, type));
-      }
-    }
-    return list;
-  }
-
-  private Object castValue(Object value, Class<?> type) {
+  /**
+   * Returns a converter that passes values of the expected type through, widens numbers where the
+   * model may have produced a narrower type, and otherwise converts with the {@link ObjectMapper}.
+   * The target {@link JavaType} is resolved once here rather than on every conversion.
+   */
+  private ValueConverter createCastConverter(Class<?> type) {
+    JavaType javaType = objectMapper.constructType(type);
     if (type.equals(Integer.class) || type.equals(int.class)) {
-      if (value instanceof Integer) {
-        return value;
-      }
+      return value -> value instanceof Integer ? value : objectMapper.convertValue(value, javaType);
     }
     if (type.equals(Long.class) || type.equals(long.class)) {
-      if (value instanceof Long) {
-        return value;
-      }
-      if (value instanceof Integer i) {
-        return i.longValue();
-      }
-    } else if (type.equals(Double.class) || type.equals(double.class)) {
-      if (value instanceof Double d) {
-        return d.doubleValue();
-      }
-      if (value instanceof Float f) {
-        return f.doubleValue();
-      }
-      if (value instanceof Integer i) {
-        return i.doubleValue();
-      }
-      if (value instanceof Long l) {
-        return l.doubleValue();
-      }
-    } else if (type.equals(Float.class) || type.equals(float.class)) {
-      if (value instanceof Double d) {
-        return d.floatValue();
-      }
-      if (value instanceof Float f) {
-        return f.floatValue();
-      }
-      if (value instanceof Integer i) {
-        return i.floatValue();
-      }
-      if (value instanceof Long l) {
-        return l.floatValue();
-      }
-    } else if (type.equals(Boolean.class) || type.equals(boolean.class)) {
-      if (value instanceof Boolean) {
-        return value;
-      }
-    } else if (type.equals(String.class)) {
-      if (value instanceof String) {
-        return value;
-      }
+      return value -> {
+        if (value instanceof Long) {
+          return value;
+        }
+        if (value instanceof Integer i) {
+          return i.longValue();
+        }
+        return objectMapper.convertValue(value, javaType);
+      };
+    }
+    if (type.equals(Double.class) || type.equals(double.class)) {
+      return value -> {
+        if (value instanceof Double) {
+          return value;
+        }
+        if (value instanceof Float f) {
+          return f.doubleValue();
+        }
+        if (value instanceof Integer i) {
+          return i.doubleValue();
+        }
+        if (value instanceof Long l) {
+          return l.doubleValue();
+        }
+        return objectMapper.convertValue(value, javaType);
+      };
+    }
+    if (type.equals(Float.class) || type.equals(float.class)) {
+      return value -> {
+        if (value instanceof Double d) {
+          return d.floatValue();
+        }
+        if (value instanceof Float) {
+          return value;
+        }
+        if (value instanceof Integer i) {
+          return i.floatValue();
+        }
+        if (value instanceof Long l) {
+          return l.floatValue();
+        }
+        return objectMapper.convertValue(value, javaType);
+      };
+    }
+    if (type.equals(Boolean.class) || type.equals(boolean.class)) {
+      return value -> value instanceof Boolean ? value : objectMapper.convertValue(value, javaType);
+    }
+    if (type.equals(String.class)) {
+      return value -> value instanceof String ? value : objectMapper.convertValue(value, javaType);
     }
-    return objectMapper.convertValue(value, type);
+    return value -> objectMapper.convertValue(value, javaType);
   }
 }
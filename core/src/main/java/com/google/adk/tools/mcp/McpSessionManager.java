@@ -24,8 +24,13 @@ import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.ClientCapabilities;
 import io.modelcontextprotocol.spec.McpSchema.InitializeResult;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -41,6 +46,8 @@ public class McpSessionManager {
 
   private final Object connectionParams; // ServerParameters or SseServerParameters
   private final McpTransportBuilder transportBuilder;
+  private final @Nullable McpSessionPool sessionPool;
+  private final Set<Runnable> toolsChangeListeners = new CopyOnWriteArraySet<>();
   private static final Logger logger = LoggerFactory.getLogger(McpSessionManager.class);
 
   public McpSessionManager(Object connectionParams) {
@@ -48,12 +55,65 @@ public class McpSessionManager {
   }
 
   public McpSessionManager(Object connectionParams, McpTransportBuilder transportBuilder) {
+    this(connectionParams, transportBuilder, null);
+  }
+
+  /**
+   * Creates a session manager whose tools call the server through sessions leased from {@code
+   * sessionPool}, shared with every other session manager of the pool that has equal connection
+   * parameters.
+   */
+  public McpSessionManager(Object connectionParams, McpSessionPool sessionPool) {
+    this(connectionParams, new DefaultMcpTransportBuilder(), sessionPool);
+  }
+
+  public McpSessionManager(
+      Object connectionParams,
+      McpTransportBuilder transportBuilder,
+      @Nullable McpSessionPool sessionPool) {
     this.connectionParams = connectionParams;
     this.transportBuilder = transportBuilder;
+    this.sessionPool = sessionPool;
+  }
+
+  /** The pool tool calls lease their session from, if any. */
+  public Optional<McpSessionPool> sessionPool() {
+    return Optional.ofNullable(sessionPool);
+  }
+
+  /** The connection parameters; also the key of the sessions of this manager in a pool. */
+  Object connectionParams() {
+    return connectionParams;
   }
 
   public McpSyncClient createSession() {
-    return initializeSession(this.connectionParams, this.transportBuilder);
+    return initializeSession(
+        this.connectionParams, this.transportBuilder, unusedTools -> notifyToolsChanged());
+  }
+
+  /**
+   * Registers a listener run whenever the server of a session created by {@link #createSession()}
+   * sends a {@code notifications/tools/list_changed} notification. Registering the same listener
+   * twice has no effect.
+   */
+  public void addToolsChangeListener(Runnable listener) {
+    toolsChangeListeners.add(listener);
+  }
+
+  /** Unregisters a listener added with {@link #addToolsChangeListener}. */
+  public void removeToolsChangeListener(Runnable listener) {
+    toolsChangeListeners.remove(listener);
+  }
+
+  private void notifyToolsChanged() {
+    logger.debug("MCP server tool list changed.");
+    for (Runnable listener : toolsChangeListeners) {
+      try {
+        listener.run();
+      } catch (RuntimeException e) {
+        logger.error("Tools change listener failed", e);
+      }
+    }
   }
 
   public static McpSyncClient initializeSession(Object connectionParams) {
@@ -62,6 +122,13 @@ public class McpSessionManager {
 
   public static McpSyncClient initializeSession(
       Object connectionParams, McpTransportBuilder transportBuilder) {
+    return initializeSession(connectionParams, transportBuilder, unusedTools -> {});
+  }
+
+  private static McpSyncClient initializeSession(
+      Object connectionParams,
+      McpTransportBuilder transportBuilder,
+      Consumer<List<McpSchema.Tool>> toolsChangeConsumer) {
     Duration initializationTimeout = null;
     Duration requestTimeout = null;
     Object transportBuilderParams = connectionParams;
@@ -84,6 +151,7 @@ public class McpSessionManager {
             .requestTimeout(
                 Optional.ofNullable(requestTimeout).orElseGet(() -> Duration.ofMinutes(5)))
             .loggingConsumer(new McpServerLogConsumer())
+            .toolsChangeConsumer(toolsChangeConsumer)
             .capabilities(ClientCapabilities.builder().build())
             .build();
     InitializeResult initResult = client.initialize();
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.tools.mcp;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.collect.ImmutableList;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of live MCP client sessions, shared by every {@link McpSessionManager} created with it.
+ *
+ * <p>Sessions are grouped by the value of the session manager's connection parameters: the command,
+ * arguments and environment of a stdio {@link ServerParameters}, or every field of SSE and
+ * Streamable HTTP parameters. Toolsets of many agents or user sessions that connect to the same
+ * server, even through separately built parameters, share up to {@code maxSessionsPerServer}
+ * sessions (and, for stdio servers, subprocesses) instead of opening one each.
+ *
+ * <p>An MCP session multiplexes concurrent requests, so a {@link #lease} never waits for another
+ * call to finish: it returns the session with the fewest calls in flight, and opens a new session
+ * when every open one already carries {@code maxCallsPerSession} calls and the group is not full.
+ * Leasing is still blocking, like the {@link McpSyncClient} it hands out: opening a session or
+ * pinging an idle one happens on the leasing thread, and a lease made while every slot of the group
+ * is taken by sessions still being opened waits for one of them, for at most {@link
+ * #MAX_WAIT_FOR_OPENING_SESSION}. A session idle for longer than {@code healthCheckInterval} is
+ * pinged before it is leased again, and closed and replaced if the ping fails. A caller that sees a
+ * transport failure should {@link Lease#invalidate} its lease so the session is not handed out
+ * again.
+ *
+ * <p>Thread-safe. {@link #close} closes every pooled session.
+ */
+public final class McpSessionPool implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(McpSessionPool.class);
+
+  /** Default for {@code maxSessionsPerServer}. */
+  public static final int DEFAULT_MAX_SESSIONS_PER_SERVER = 4;
+
+  /** Default for {@code maxCallsPerSession}. */
+  public static final int DEFAULT_MAX_CALLS_PER_SESSION = 8;
+
+  /** Default for {@code healthCheckInterval}. */
+  public static final Duration DEFAULT_HEALTH_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+  /**
+   * How long a lease waits for a session being opened by another lease when no other session is
+   * usable. Matches the default MCP initialization timeout.
+   */
+  public static final Duration MAX_WAIT_FOR_OPENING_SESSION = Duration.ofMinutes(5);
+
+  private final int maxSessionsPerServer;
+  private final int maxCallsPerSession;
+  private final long healthCheckIntervalNanos;
+  private final ConcurrentMap<Object, SessionGroup> groups = new ConcurrentHashMap<>();
+  private volatile boolean closed = false;
+
+  /** Creates a pool with the default limits. */
+  public McpSessionPool() {
+    this(
+        DEFAULT_MAX_SESSIONS_PER_SERVER,
+        DEFAULT_MAX_CALLS_PER_SESSION,
+        DEFAULT_HEALTH_CHECK_INTERVAL);
+  }
+
+  /**
+   * Creates a pool.
+   *
+   * @param maxSessionsPerServer The maximum number of live sessions per connection parameters.
+   * @param maxCallsPerSession The number of calls in flight on every session of a server above
+   *     which a new session is opened, while the server has fewer than {@code
+   *     maxSessionsPerServer}.
+   * @param healthCheckInterval How long a session may stay idle before it is pinged on its next
+   *     lease. {@link Duration#ZERO} pings on every lease of an idle session.
+   */
+  public McpSessionPool(
+      int maxSessionsPerServer, int maxCallsPerSession, Duration healthCheckInterval) {
+    if (maxSessionsPerServer < 1) {
+      throw new IllegalArgumentException("maxSessionsPerServer must be at least 1.");
+    }
+    if (maxCallsPerSession < 1) {
+      throw new IllegalArgumentException("maxCallsPerSession must be at least 1.");
+    }
+    if (healthCheckInterval.isNegative()) {
+      throw new IllegalArgumentException("healthCheckInterval must not be negative.");
+    }
+    this.maxSessionsPerServer = maxSessionsPerServer;
+    this.maxCallsPerSession = maxCallsPerSession;
+    this.healthCheckIntervalNanos = healthCheckInterval.toNanos();
+  }
+
+  /**
+   * Leases a session to the server of {@code sessionManager}, opening one with {@link
+   * McpSessionManager#createSession()} if needed. The lease must be closed once the call is done.
+   *
+   * @throws IllegalStateException If the pool is closed, or if no session became available within
+   *     {@link #MAX_WAIT_FOR_OPENING_SESSION}.
+   */
+  public Lease lease(McpSessionManager sessionManager) {
+    Objects.requireNonNull(sessionManager, "sessionManager cannot be null");
+    if (closed) {
+      throw new IllegalStateException("McpSessionPool is closed.");
+    }
+    SessionGroup group =
+        groups.computeIfAbsent(
+            groupKey(sessionManager.connectionParams()),
+            unusedKey -> new SessionGroup(sessionManager));
+    return group.lease();
+  }
+
+  /** The number of open sessions to the server of {@code sessionManager}. */
+  public int sessionCount(McpSessionManager sessionManager) {
+    SessionGroup group = groups.get(groupKey(sessionManager.connectionParams()));
+    return group == null ? 0 : group.sessionCount();
+  }
+
+  /**
+   * Returns a key equal for connection parameters that reach the same server. The SDK's {@link
+   * ServerParameters} does not implement {@code equals}, so it is replaced by its values; {@link
+   * SseServerParameters} and {@link StreamableHttpServerParameters} are values already.
+   */
+  private static Object groupKey(Object connectionParams) {
+    if (connectionParams instanceof ServerParameters stdio) {
+      return new StdioKey(stdio.getCommand(), stdio.getArgs(), stdio.getEnv());
+    }
+    return connectionParams;
+  }
+
+  /** The value of a stdio {@link ServerParameters}. */
+  private record StdioKey(String command, List<String> args, Map<String, String> env) {}
+
+  /** Closes every pooled session. Sessions still leased are closed when they are returned. */
+  @Override
+  public void close() {
+    closed = true;
+    for (SessionGroup group : groups.values()) {
+      group.close();
+    }
+    groups.clear();
+  }
+
+  private static void closeQuietly(McpSyncClient client) {
+    try {
+      client.close();
+    } catch (RuntimeException e) {
+      logger.warn("Failed to close pooled MCP session", e);
+    }
+  }
+
+  /** A session handed out by {@link #lease}. Closing the lease returns the session to the pool. */
+  public static final class Lease implements AutoCloseable {
+    private final SessionGroup group;
+    private final PooledSession session;
+    private boolean released = false;
+    private boolean invalid = false;
+
+    private Lease(SessionGroup group, PooledSession session) {
+      this.group = group;
+      this.session = session;
+    }
+
+    /** The leased session. */
+    public McpSyncClient session() {
+      return session.client;
+    }
+
+    /** Marks the session as broken: it is closed once every lease of it is returned. */
+    public void invalidate() {
+      invalid = true;
+    }
+
+    /** Returns the session to the pool. Calling it more than once has no effect. */
+    @Override
+    public void close() {
+      if (!released) {
+        released = true;
+        group.release(session, invalid);
+      }
+    }
+  }
+
+  /** One live session and the bookkeeping used to pick it. Guarded by its {@link SessionGroup}. */
+  private static final class PooledSession {
+    final McpSyncClient client;
+    int callsInFlight = 0;
+    long idleSinceNanos = System.nanoTime();
+    boolean broken = false;
+
+    PooledSession(McpSyncClient client) {
+      this.client = client;
+    }
+  }
+
+  /** The sessions to one server. */
+  private final class SessionGroup {
+    private final McpSessionManager sessionManager;
+    // Guarded by this.
+    private final List<PooledSession> sessions = new ArrayList<>();
+    // Guarded by this. Sessions being opened, counted against maxSessionsPerServer.
+    private int opening = 0;
+    // Guarded by this.
+    private boolean groupClosed = false;
+
+    SessionGroup(McpSessionManager sessionManager) {
+      this.sessionManager = sessionManager;
+    }
+
+    Lease lease() {
+      long deadlineNanos = System.nanoTime() + MAX_WAIT_FOR_OPENING_SESSION.toNanos();
+      while (true) {
+        PooledSession candidate;
+        boolean open;
+        synchronized (this) {
+          if (groupClosed) {
+            throw new IllegalStateException("McpSessionPool is closed.");
+          }
+          candidate = leastLoaded();
+          open =
+              (candidate == null || candidate.callsInFlight >= maxCallsPerSession)
+                  && sessions.size() + opening < maxSessionsPerServer;
+          if (open) {
+            opening++;
+          } else if (candidate == null) {
+            // Every slot is taken by a session being opened: wait for one of them.
+            waitForSession(deadlineNanos);
+            continue;
+          } else {
+            candidate.callsInFlight++;
+          }
+        }
+        if (open) {
+          return new Lease(this, openSession());
+        }
+        if (isHealthy(candidate)) {
+          return new Lease(this, candidate);
+        }
+        release(candidate, /* invalid= */ true);
+      }
+    }
+
+    /** Returns the usable session with the fewest calls in flight, or null if there is none. */
+    private @Nullable PooledSession leastLoaded() {
+      PooledSession best = null;
+      for (PooledSession session : sessions) {
+        if (!session.broken && (best == null || session.callsInFlight < best.callsInFlight)) {
+          best = session;
+        }
+      }
+      return best;
+    }
+
+    /** Waits, holding this group's lock, for a session to be opened or to fail to open. */
+    private void waitForSession(long deadlineNanos) {
+      long remainingNanos = deadlineNanos - System.nanoTime();
+      if (remainingNanos <= 0) {
+        throw new IllegalStateException(
+            "Timed out waiting for an MCP session to "
+                + sessionManager.connectionParams()
+                + " to be opened.");
+      }
+      try {
+        // Rounded up, since wait(0) would wait forever.
+        wait(MILLISECONDS.convert(remainingNanos, NANOSECONDS) + 1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for an MCP session.", e);
+      }
+    }
+
+    /** Opens a session outside the lock, so a slow server start does not block other leases. */
+    private PooledSession openSession() {
+      McpSyncClient client;
+      try {
+        client = sessionManager.createSession();
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          opening--;
+          notifyAll();
+        }
+        throw e;
+      }
+      PooledSession session = new PooledSession(client);
+      session.callsInFlight = 1;
+      boolean discard;
+      synchronized (this) {
+        opening--;
+        discard = groupClosed;
+        if (!discard) {
+          sessions.add(session);
+        }
+        notifyAll();
+      }
+      if (discard) {
+        closeQuietly(client);
+        throw new IllegalStateException("McpSessionPool is closed.");
+      }
+      logger.debug("Opened pooled MCP session for {}", sessionManager.connectionParams());
+      return session;
+    }
+
+    /** Pings {@code session} if it has been idle for longer than the health check interval. */
+    private boolean isHealthy(PooledSession session) {
+      boolean check;
+      synchronized (this) {
+        check =
+            session.callsInFlight == 1
+                && System.nanoTime() - session.idleSinceNanos >= healthCheckIntervalNanos;
+      }
+      if (!check) {
+        return true;
+      }
+      try {
+        session.client.ping();
+        return true;
+      } catch (RuntimeException e) {
+        logger.warn("Pooled MCP session failed its health check, replacing it.", e);
+        return false;
+      }
+    }
+
+    void release(PooledSession session, boolean invalid) {
+      boolean closeClient;
+      synchronized (this) {
+        session.callsInFlight--;
+        session.idleSinceNanos = System.nanoTime();
+        if (invalid && !session.broken) {
+          session.broken = true;
+          sessions.remove(session);
+          notifyAll();
+        }
+        closeClient = (session.broken || groupClosed) && session.callsInFlight == 0;
+      }
+      if (closeClient) {
+        closeQuietly(session.client);
+      }
+    }
+
+    synchronized int sessionCount() {
+      return sessions.size();
+    }
+
+    void close() {
+      ImmutableList<PooledSession> idle;
+      synchronized (this) {
+        groupClosed = true;
+        idle =
+            sessions.stream()
+                .filter(session -> session.callsInFlight == 0)
+                .collect(ImmutableList.toImmutableList());
+        sessions.clear();
+        notifyAll();
+      }
+      idle.forEach(session -> closeQuietly(session.client));
+    }
+  }
+}
@@ -23,11 +23,15 @@ import com.google.adk.JsonBaseModel;
 import com.google.adk.tools.ToolContext;
 import com.google.common.collect.ImmutableMap;
 import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.Tool;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.Map;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +46,8 @@ public final class McpTool extends AbstractMcpTool<McpSyncClient> {
 
   private static final Logger logger = LoggerFactory.getLogger(McpTool.class);
 
+  private final @Nullable McpToolset toolset;
+
   /**
    * Creates a new McpTool with the default ObjectMapper.
    *
@@ -51,7 +57,7 @@ public final class McpTool extends AbstractMcpTool<McpSyncClient> {
    * @throws IllegalArgumentException If mcpTool or mcpSession are null.
    */
   public McpTool(Tool mcpTool, McpSyncClient mcpSession, McpSessionManager mcpSessionManager) {
-    super(mcpTool, mcpSession, mcpSessionManager, JsonBaseModel.getMapper());
+    this(mcpTool, mcpSession, mcpSessionManager, JsonBaseModel.getMapper(), null);
   }
 
   /**
@@ -68,15 +74,36 @@ public final class McpTool extends AbstractMcpTool<McpSyncClient> {
       McpSyncClient mcpSession,
       McpSessionManager mcpSessionManager,
       ObjectMapper objectMapper) {
+    this(mcpTool, mcpSession, mcpSessionManager, objectMapper, null);
+  }
+
+  /**
+   * Creates a tool listed by {@code toolset}, which replaces the session for all of its tools when
+   * a call fails.
+   */
+  McpTool(
+      Tool mcpTool,
+      McpSyncClient mcpSession,
+      McpSessionManager mcpSessionManager,
+      ObjectMapper objectMapper,
+      @Nullable McpToolset toolset) {
     super(mcpTool, mcpSession, mcpSessionManager, objectMapper);
+    this.toolset = toolset;
   }
 
   private void reinitializeSession() {
-    this.mcpSession = this.mcpSessionManager.createSession();
+    this.mcpSession =
+        toolset == null
+            ? this.mcpSessionManager.createSession()
+            : toolset.replaceSession(this.mcpSession);
   }
 
   @Override
   public Single<Map<String, Object>> runAsync(Map<String, Object> args, ToolContext toolContext) {
+    Optional<McpSessionPool> sessionPool = this.mcpSessionManager.sessionPool();
+    if (sessionPool.isPresent()) {
+      return runPooled(sessionPool.get(), args);
+    }
     return Single.<Map<String, Object>>fromCallable(
             () -> {
               CallToolResult callResult =
@@ -94,4 +121,48 @@ public final class McpTool extends AbstractMcpTool<McpSyncClient> {
                           reinitializeSession();
                         }));
   }
+
+  /**
+   * Calls the tool on a session leased from {@code sessionPool}, so concurrent calls are spread
+   * over the pooled sessions instead of all going through the session this tool was listed on. Only
+   * transport or session failures are retried, on a newly leased session; an {@link McpError}
+   * returned by the server fails the call.
+   */
+  private Single<Map<String, Object>> runPooled(
+      McpSessionPool sessionPool, Map<String, Object> args) {
+    return Single.<Map<String, Object>>fromCallable(
+            () -> {
+              try (McpSessionPool.Lease lease = sessionPool.lease(this.mcpSessionManager)) {
+                CallToolResult callResult;
+                try {
+                  callResult =
+                      lease
+                          .session()
+                          .callTool(new CallToolRequest(this.name(), ImmutableMap.copyOf(args)));
+                } catch (McpError e) {
+                  // The server answered with an error: the session itself is fine.
+                  throw e;
+                } catch (RuntimeException e) {
+                  lease.invalidate();
+                  throw e;
+                }
+                return wrapCallResult(this.objectMapper, this.name(), callResult);
+              }
+            })
+        .retryWhen(
+            errors ->
+                errors
+                    // An McpError is the server's answer: the call ran and must not be repeated.
+                    .flatMap(
+                        error ->
+                            error instanceof McpError
+                                ? Flowable.<Throwable>error(error)
+                                : Flowable.just(error))
+                    .delay(100, MILLISECONDS)
+                    .take(3)
+                    .doOnNext(
+                        error ->
+                            logger.error(
+                                "Retrying callTool due to: {}", error.getMessage(), error)));
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.google.adk.tools.mcp;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,11 +30,14 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Booleans;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema.ListToolsResult;
 import io.reactivex.rxjava3.core.Flowable;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,16 +52,33 @@ import org.slf4j.LoggerFactory;
  *       ServerParameters} or {@code SseServerParameters}.
  *   <li>{@code session}: The MCP session being initialized with the connection.
  * </ul>
+ *
+ * <p>The tools listed by the server are cached, so {@link #getTools} returns the same {@link
+ * McpTool} instances across calls without a round trip to the server. The cache is refreshed after
+ * the server sends a {@code notifications/tools/list_changed} notification, after the session is
+ * reinitialized, and once it is older than the TTL set with {@link #setToolsCacheTtl}.
  */
 public class McpToolset implements BaseToolset {
   private static final Logger logger = LoggerFactory.getLogger(McpToolset.class);
   private final McpSessionManager mcpSessionManager;
-  private McpSyncClient mcpSession;
+  private volatile McpSyncClient mcpSession;
   private final ObjectMapper objectMapper;
   private final @Nullable Object toolFilter;
+  private final Runnable toolsChangeListener = this::invalidateToolsCache;
+  // Incremented on every invalidation; a cached listing is only valid for the generation it was
+  // listed in, so a listing that raced with a notification is not kept.
+  private final AtomicLong toolsGeneration = new AtomicLong();
+  private volatile @Nullable CachedTools cachedTools;
+  private volatile Duration toolsCacheTtl = DEFAULT_TOOLS_CACHE_TTL;
 
   private static final int MAX_RETRIES = 3;
   private static final long RETRY_DELAY_MILLIS = 100;
+
+  /**
+   * Default TTL of the cached tool listing. Bounds how stale the tools are when the server does not
+   * send {@code notifications/tools/list_changed}.
+   */
+  public static final Duration DEFAULT_TOOLS_CACHE_TTL = Duration.ofMinutes(5);
   protected static final Class<? extends McpToolsetConfig> CONFIG_TYPE = McpToolsetConfig.class;
 
   /**
@@ -256,26 +277,31 @@ public class McpToolset implements BaseToolset {
     this(connectionParams, JsonBaseModel.getMapper());
   }
 
+  /**
+   * Sets how long a tool listing is reused before the server is asked again. {@link Duration#ZERO}
+   * lists the tools on every call to {@link #getTools}.
+   *
+   * @param toolsCacheTtl The TTL of the cached tool listing; must not be negative.
+   */
+  public void setToolsCacheTtl(Duration toolsCacheTtl) {
+    if (toolsCacheTtl.isNegative()) {
+      throw new IllegalArgumentException("toolsCacheTtl must not be negative.");
+    }
+    this.toolsCacheTtl = toolsCacheTtl;
+  }
+
+  /** Drops the cached tool listing, so the next call to {@link #getTools} lists the tools again. */
+  public void invalidateToolsCache() {
+    toolsGeneration.incrementAndGet();
+    cachedTools = null;
+  }
+
   @Override
   public Flowable<BaseTool> getTools(ReadonlyContext readonlyContext) {
     return Flowable.defer(
-            () -> {
-              if (this.mcpSession == null) {
-                logger.info("MCP session is null, initializing.");
-                this.mcpSession = this.mcpSessionManager.createSession();
-              }
-
-              // Retrieve tools from the MCP session, wrap them in McpTool, filter them, and return
-              // as a Flowable.
-              ListToolsResult toolsResponse = this.mcpSession.listTools();
-              return Flowable.fromStream(
-                  toolsResponse.tools().stream()
-                      .map(
-                          tool ->
-                              new McpTool(
-                                  tool, this.mcpSession, this.mcpSessionManager, this.objectMapper))
-                      .filter(tool -> isToolSelected(tool, toolFilter, readonlyContext)));
-            })
+            () ->
+                Flowable.<BaseTool>fromIterable(listTools())
+                    .filter(tool -> isToolSelected(tool, toolFilter, readonlyContext)))
         .retryWhen(
             errorObservable ->
                 errorObservable.zipWith(
@@ -295,6 +321,7 @@ public class McpToolset implements BaseToolset {
                         logger.info(
                             "Reinitializing MCP session before next retry for unexpected error.");
                         this.mcpSession = null;
+                        invalidateToolsCache();
 
                         if (retryCount < MAX_RETRIES) {
                           // For other general exceptions, we might still want to retry if they are
@@ -323,8 +350,82 @@ public class McpToolset implements BaseToolset {
         .map(tools -> tools);
   }
 
+  /** Returns the cached tools, listing and wrapping them first if the cache is not valid. */
+  private ImmutableList<McpTool> listTools() {
+    long generation = toolsGeneration.get();
+    CachedTools cached = this.cachedTools;
+    if (cached != null
+        && cached.generation() == generation
+        && System.nanoTime() - cached.listedAtNanos() < toolsCacheTtl.toNanos()) {
+      return cached.tools();
+    }
+
+    Optional<McpSessionPool> sessionPool = this.mcpSessionManager.sessionPool();
+    ImmutableList<McpTool> tools;
+    if (sessionPool.isPresent()) {
+      this.mcpSessionManager.addToolsChangeListener(toolsChangeListener);
+      // List on a pooled session rather than opening one for this toolset; the tools lease their
+      // own session for each call.
+      try (McpSessionPool.Lease lease = sessionPool.get().lease(this.mcpSessionManager)) {
+        ListToolsResult toolsResponse;
+        try {
+          toolsResponse = lease.session().listTools();
+        } catch (McpError e) {
+          // The server answered with an error: the session itself is fine.
+          throw e;
+        } catch (RuntimeException e) {
+          lease.invalidate();
+          throw e;
+        }
+        tools = wrapTools(toolsResponse, lease.session());
+      }
+    } else {
+      if (this.mcpSession == null) {
+        logger.info("MCP session is null, initializing.");
+        this.mcpSessionManager.addToolsChangeListener(toolsChangeListener);
+        this.mcpSession = this.mcpSessionManager.createSession();
+      }
+      // Retrieve tools from the MCP session and wrap them in McpTool.
+      McpSyncClient session = this.mcpSession;
+      tools = wrapTools(session.listTools(), session);
+    }
+    this.cachedTools = new CachedTools(tools, generation, System.nanoTime());
+    return tools;
+  }
+
+  private ImmutableList<McpTool> wrapTools(ListToolsResult toolsResponse, McpSyncClient session) {
+    return toolsResponse.tools().stream()
+        .map(tool -> new McpTool(tool, session, this.mcpSessionManager, this.objectMapper, this))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Replaces the toolset's session after a tool call failed on {@code failed}, and returns the
+   * session the tool should retry on. The session is replaced once, however many cached tools
+   * report it: the others get the replacement. The cached tools are dropped, so the next {@link
+   * #getTools} wraps every tool around the new session, and the failed session is closed.
+   */
+  synchronized McpSyncClient replaceSession(McpSyncClient failed) {
+    McpSyncClient current = this.mcpSession;
+    if (current != null && current != failed) {
+      return current;
+    }
+    logger.info("Replacing the MCP session after a failed tool call.");
+    McpSyncClient replacement = this.mcpSessionManager.createSession();
+    this.mcpSession = replacement;
+    invalidateToolsCache();
+    try {
+      failed.close();
+    } catch (RuntimeException e) {
+      logger.warn("Failed to close the replaced MCP session", e);
+    }
+    return replacement;
+  }
+
   @Override
   public void close() {
+    invalidateToolsCache();
+    this.mcpSessionManager.removeToolsChangeListener(toolsChangeListener);
     if (this.mcpSession != null) {
       try {
         this.mcpSession.close();
@@ -340,6 +441,9 @@ public class McpToolset implements BaseToolset {
     }
   }
 
+  /** The wrapped tools of one listing, and the cache generation and time they were listed at. */
+  private record CachedTools(ImmutableList<McpTool> tools, long generation, long listedAtNanos) {}
+
   /** Configuration class for MCPToolset. */
   public static class McpToolsetConfig extends JsonBaseModel {
 
@@ -21,6 +21,7 @@ import io.modelcontextprotocol.util.Assert;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import org.jspecify.annotations.Nullable;
 
 /** Server parameters for Streamable HTTP client transport. */
@@ -74,6 +75,26 @@ public class StreamableHttpServerParameters {
     return terminateOnClose;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof StreamableHttpServerParameters that)) {
+      return false;
+    }
+    return terminateOnClose == that.terminateOnClose
+        && url.equals(that.url)
+        && headers.equals(that.headers)
+        && timeout.equals(that.timeout)
+        && readTimeout.equals(that.readTimeout);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(url, headers, timeout, readTimeout, terminateOnClose);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
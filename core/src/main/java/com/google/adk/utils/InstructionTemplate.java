@@ -0,0 +1,288 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.utils;
+
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.sessions.Session;
+import com.google.adk.sessions.State;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.genai.types.Part;
+import io.reactivex.rxjava3.core.Single;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An instruction template parsed into literal text and placeholder segments, so it can be rendered
+ * for each model call without parsing it again.
+ *
+ * <p>The placeholder syntax is described in {@link InstructionUtils#injectSessionState}. Rendering
+ * a template without artifact placeholders reads the session state synchronously and returns an
+ * already completed {@link Single}; artifact placeholders are loaded concurrently.
+ *
+ * <p>Instances are immutable and thread-safe. {@link #compileStatic} keeps the most recently used
+ * static agent instructions, so each of them is parsed once; {@link #compile} parses every time, so
+ * generated instructions do not fill the cache with one-off entries.
+ */
+public final class InstructionTemplate {
+
+  private static final Pattern INSTRUCTION_PLACEHOLDER_PATTERN =
+      Pattern.compile("\\{+[^\\{\\}]*\\}+");
+
+  private static final String ARTIFACT_PREFIX = "artifact.";
+
+  private static final ImmutableSet<String> VALID_PREFIXES =
+      ImmutableSet.of(State.APP_PREFIX, State.USER_PREFIX, State.TEMP_PREFIX);
+
+  private static final int MAX_CACHED_STATIC_INSTRUCTIONS = 1000;
+
+  private static final Cache<String, InstructionTemplate> compiledStaticInstructions =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_STATIC_INSTRUCTIONS).build();
+
+  private final String template;
+  private final ImmutableList<Segment> segments;
+  private final boolean hasArtifacts;
+
+  private InstructionTemplate(String template, ImmutableList<Segment> segments) {
+    this.template = template;
+    this.segments = segments;
+    this.hasArtifacts = segments.stream().anyMatch(segment -> segment instanceof ArtifactRef);
+  }
+
+  /**
+   * Parses {@code template}. Callers rendering the same template repeatedly should keep the result.
+   *
+   * @throws NullPointerException if the template is null.
+   */
+  public static InstructionTemplate compile(String template) {
+    return parse(template);
+  }
+
+  /**
+   * Returns the compiled form of an agent's static instruction, parsing it only if it is not cached
+   * already. Only pass instructions fixed when the agent was built, not text generated per call
+   * (e.g. by an {@link com.google.adk.agents.Instruction.Provider}).
+   *
+   * @throws NullPointerException if the instruction is null.
+   */
+  public static InstructionTemplate compileStatic(String instruction) {
+    InstructionTemplate compiled = compiledStaticInstructions.getIfPresent(instruction);
+    if (compiled == null) {
+      compiled = parse(instruction);
+      compiledStaticInstructions.put(instruction, compiled);
+    }
+    return compiled;
+  }
+
+  /** The template this instance was compiled from. */
+  public String template() {
+    return template;
+  }
+
+  /** Whether rendering needs to load artifacts, i.e. cannot complete synchronously. */
+  public boolean hasArtifactPlaceholders() {
+    return hasArtifacts;
+  }
+
+  /**
+   * Renders the template with the session state and artifacts of {@code context}.
+   *
+   * @return A {@link Single} emitting the rendered instruction, or failing with an {@link
+   *     IllegalArgumentException} if a non-optional variable or artifact is not found.
+   */
+  public Single<String> render(InvocationContext context) {
+    if (segments.isEmpty()) {
+      return Single.just(template);
+    }
+    Map<String, Object> state = context.session().state();
+    if (!hasArtifacts) {
+      StringBuilder sb = new StringBuilder(template.length());
+      for (Segment segment : segments) {
+        if (segment instanceof Literal literal) {
+          sb.append(literal.text());
+        } else if (!appendStateVar((StateVar) segment, state, sb)) {
+          return Single.error(missingVariable((StateVar) segment));
+        }
+      }
+      return Single.just(sb.toString());
+    }
+
+    // Text around the artifacts is resolved now, like in the synchronous path; only the artifacts
+    // are loaded asynchronously, and spliced in between.
+    List<String> texts = new ArrayList<>();
+    List<Single<String>> artifacts = new ArrayList<>();
+    StringBuilder sb = new StringBuilder();
+    for (Segment segment : segments) {
+      if (segment instanceof Literal literal) {
+        sb.append(literal.text());
+      } else if (segment instanceof StateVar stateVar) {
+        if (!appendStateVar(stateVar, state, sb)) {
+          return Single.error(missingVariable(stateVar));
+        }
+      } else {
+        texts.add(sb.toString());
+        sb.setLength(0);
+        artifacts.add(loadArtifact(context, (ArtifactRef) segment));
+      }
+    }
+    texts.add(sb.toString());
+    return Single.zip(
+        artifacts,
+        loaded -> {
+          StringBuilder result = new StringBuilder(texts.get(0));
+          for (int i = 0; i < loaded.length; i++) {
+            result.append(loaded[i]).append(texts.get(i + 1));
+          }
+          return result.toString();
+        });
+  }
+
+  /** Appends the value of {@code stateVar}; returns false if it is missing and not optional. */
+  private static boolean appendStateVar(
+      StateVar stateVar, Map<String, Object> state, StringBuilder sb) {
+    if (state.containsKey(stateVar.name())) {
+      sb.append(state.get(stateVar.name()));
+      return true;
+    }
+    return stateVar.optional();
+  }
+
+  private static IllegalArgumentException missingVariable(StateVar stateVar) {
+    return new IllegalArgumentException(
+        String.format("Context variable not found: `%s`.", stateVar.name()));
+  }
+
+  private static Single<String> loadArtifact(InvocationContext context, ArtifactRef artifact) {
+    Session session = context.session();
+    return context
+        .artifactService()
+        .loadArtifact(session.appName(), session.userId(), session.id(), artifact.name())
+        .map(Part::toJson)
+        .switchIfEmpty(
+            Single.defer(
+                () -> {
+                  if (artifact.optional()) {
+                    return Single.just("");
+                  }
+                  return Single.error(
+                      new IllegalArgumentException(
+                          String.format("Artifact %s not found.", artifact.name())));
+                }));
+  }
+
+  private static InstructionTemplate parse(String template) {
+    Matcher matcher = INSTRUCTION_PLACEHOLDER_PATTERN.matcher(template);
+    ImmutableList.Builder<Segment> segments = ImmutableList.builder();
+    StringBuilder literal = new StringBuilder();
+    int lastEnd = 0;
+    while (matcher.find()) {
+      literal.append(template, lastEnd, matcher.start());
+      String placeholder = matcher.group();
+      Segment segment = parsePlaceholder(placeholder);
+      if (segment == null) {
+        // Not a valid variable name: the placeholder is kept as is.
+        literal.append(placeholder);
+      } else {
+        if (literal.length() > 0) {
+          segments.add(new Literal(literal.toString()));
+          literal.setLength(0);
+        }
+        segments.add(segment);
+      }
+      lastEnd = matcher.end();
+    }
+    if (lastEnd == 0) {
+      // No placeholders: render() returns the template itself.
+      return new InstructionTemplate(template, ImmutableList.of());
+    }
+    literal.append(template, lastEnd, template.length());
+    if (literal.length() > 0) {
+      segments.add(new Literal(literal.toString()));
+    }
+    ImmutableList<Segment> parsed = segments.build();
+    if (parsed.size() == 1 && parsed.get(0) instanceof Literal) {
+      // Only invalid placeholders, all kept as is.
+      return new InstructionTemplate(template, ImmutableList.of());
+    }
+    return new InstructionTemplate(template, parsed);
+  }
+
+  /** Returns the segment of a placeholder, or null if it names no valid variable or artifact. */
+  private static @Nullable Segment parsePlaceholder(String placeholder) {
+    int start = 0;
+    while (placeholder.charAt(start) == '{') {
+      start++;
+    }
+    int end = placeholder.length();
+    while (end > start && placeholder.charAt(end - 1) == '}') {
+      end--;
+    }
+    String name = placeholder.substring(start, end).trim();
+    boolean optional = name.endsWith("?");
+    if (optional) {
+      name = name.substring(0, name.length() - 1);
+    }
+    if (name.startsWith(ARTIFACT_PREFIX)) {
+      return new ArtifactRef(name.substring(ARTIFACT_PREFIX.length()), optional);
+    }
+    return isValidStateName(name) ? new StateVar(name, optional) : null;
+  }
+
+  /**
+   * Checks if a given string is a valid state variable name: a valid identifier, optionally
+   * preceded by one of the {@link State} prefixes.
+   */
+  private static boolean isValidStateName(String varName) {
+    if (varName.isEmpty()) {
+      return false;
+    }
+    String[] parts = varName.split(":", 2);
+    if (parts.length == 1) {
+      return isValidIdentifier(parts[0]);
+    }
+    return VALID_PREFIXES.contains(parts[0] + ":") && isValidIdentifier(parts[1]);
+  }
+
+  private static boolean isValidIdentifier(String s) {
+    if (s.isEmpty()) {
+      return false;
+    }
+    if (!Character.isJavaIdentifierStart(s.charAt(0))) {
+      return false;
+    }
+    for (int i = 1; i < s.length(); i++) {
+      if (!Character.isJavaIdentifierPart(s.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private sealed interface Segment permits Literal, StateVar, ArtifactRef {}
+
+  private record Literal(String text) implements Segment {}
+
+  private record StateVar(String name, boolean optional) implements Segment {}
+
+  private record ArtifactRef(String name, boolean optional) implements Segment {}
+}
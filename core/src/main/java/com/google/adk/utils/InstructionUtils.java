@@ -17,24 +17,11 @@
 package com.google.adk.utils;
 
 import com.google.adk.agents.InvocationContext;
-import com.google.adk.sessions.Session;
-import com.google.adk.sessions.State;
-import com.google.common.collect.ImmutableSet;
-import com.google.genai.types.Part;
-import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /** Utility methods for handling instruction templates. */
 public final class InstructionUtils {
 
-  private static final Pattern INSTRUCTION_PLACEHOLDER_PATTERN =
-      Pattern.compile("\\{+[^\\{\\}]*\\}+");
-
   private InstructionUtils() {}
 
   /**
@@ -56,8 +43,8 @@ public final class InstructionUtils {
    *       "prefix:variable_name"}) refers to a variable in session state.
    *       <ul>
    *         <li>Simple name: {@code {variable_name}}. The {@code variable_name} part must be a
-   *             valid identifier as per {@link #isValidStateName(String)}. Invalid names will
-   *             result in the placeholder being returned as is.
+   *             valid Java identifier. Invalid names will result in the placeholder being
+   *             returned as is.
    *         <li>Prefixed name: {@code {prefix:variable_name}}. Valid prefixes are: {@value
    *             com.google.adk.sessions.State#APP_PREFIX}, {@value
    *             com.google.adk.sessions.State#USER_PREFIX}, and {@value
@@ -98,6 +85,9 @@ public final class InstructionUtils {
    * );
    * }</pre>
    *
+   * <p>The template is parsed on every call, as it may be generated per call. Agents' static
+   * instructions are compiled once through {@link InstructionTemplate#compileStatic} instead.
+   *
    * @param context The invocation context providing access to session state and artifact services.
    * @param template The instruction template string containing placeholders to be populated.
    * @return A {@link Single} that will emit the populated instruction string upon successful
@@ -113,137 +103,6 @@ public final class InstructionUtils {
     if (context == null) {
       return Single.error(new NullPointerException("context cannot be null"));
     }
-    Matcher matcher = INSTRUCTION_PLACEHOLDER_PATTERN.matcher(template);
-    List<Single<String>> parts = new ArrayList<>();
-    int lastEnd = 0;
-
-    while (matcher.find()) {
-      if (matcher.start() > lastEnd) {
-        parts.add(Single.just(template.substring(lastEnd, matcher.start())));
-      }
-      MatchResult matchResult = matcher.toMatchResult();
-      parts.add(resolveMatchAsync(context, matchResult));
-      lastEnd = matcher.end();
-    }
-    if (lastEnd < template.length()) {
-      parts.add(Single.just(template.substring(lastEnd)));
-    }
-
-    if (parts.isEmpty()) {
-      return Single.just(template);
-    }
-
-    return Single.zip(
-        parts,
-        objects -> {
-          StringBuilder sb = new StringBuilder();
-          for (Object obj : objects) {
-            sb.append(obj);
-          }
-          return sb.toString();
-        });
-  }
-
-  private static Single<String> resolveMatchAsync(InvocationContext context, MatchResult match) {
-    String placeholder = match.group();
-    String varNameFromPlaceholder =
-        placeholder.replaceAll("^\\{+", "").replaceAll("\\}+$", "").trim();
-
-    final boolean optional;
-    final String cleanVarName;
-    if (varNameFromPlaceholder.endsWith("?")) {
-      optional = true;
-      cleanVarName = varNameFromPlaceholder.substring(0, varNameFromPlaceholder.length() - 1);
-    } else {
-      optional = false;
-      cleanVarName = varNameFromPlaceholder;
-    }
-
-    if (cleanVarName.startsWith("artifact.")) {
-      final String artifactName = cleanVarName.substring("artifact.".length());
-      Session session = context.session();
-
-      Maybe<Part> artifactMaybe =
-          context
-              .artifactService()
-              .loadArtifact(session.appName(), session.userId(), session.id(), artifactName);
-
-      return artifactMaybe
-          .map(Part::toJson)
-          .switchIfEmpty(
-              Single.defer(
-                  () -> {
-                    if (optional) {
-                      return Single.just("");
-                    } else {
-                      return Single.error(
-                          new IllegalArgumentException(
-                              String.format("Artifact %s not found.", artifactName)));
-                    }
-                  }));
-
-    } else if (!isValidStateName(cleanVarName)) {
-      return Single.just(placeholder);
-    } else if (context.session().state().containsKey(cleanVarName)) {
-      Object value = context.session().state().get(cleanVarName);
-      return Single.just(String.valueOf(value));
-    } else if (optional) {
-      return Single.just("");
-    } else {
-      return Single.error(
-          new IllegalArgumentException(
-              String.format("Context variable not found: `%s`.", cleanVarName)));
-    }
-  }
-
-  /**
-   * Checks if a given string is a valid state variable name.
-   *
-   * <p>A valid state variable name must either:
-   *
-   * <ul>
-   *   <li>Be a valid identifier (as defined by {@link Character#isJavaIdentifierStart(int)} and
-   *       {@link Character#isJavaIdentifierPart(int)}).
-   *   <li>Start with a valid prefix ({@value com.google.adk.sessions.State#APP_PREFIX}, {@value
-   *       com.google.adk.sessions.State#USER_PREFIX}, or {@value
-   *       com.google.adk.sessions.State#TEMP_PREFIX}) followed by a valid identifier.
-   * </ul>
-   *
-   * @param varName The string to check.
-   * @return True if the string is a valid state variable name, false otherwise.
-   */
-  private static boolean isValidStateName(String varName) {
-    if (varName.isEmpty()) {
-      return false;
-    }
-    String[] parts = varName.split(":", 2);
-    if (parts.length == 1) {
-      return isValidIdentifier(parts[0]);
-    }
-
-    if (parts.length == 2) {
-      String prefixPart = parts[0] + ":";
-      ImmutableSet<String> validPrefixes =
-          ImmutableSet.of(State.APP_PREFIX, State.USER_PREFIX, State.TEMP_PREFIX);
-      if (validPrefixes.contains(prefixPart)) {
-        return isValidIdentifier(parts[1]);
-      }
-    }
-    return false;
-  }
-
-  private static boolean isValidIdentifier(String s) {
-    if (s.isEmpty()) {
-      return false;
-    }
-    if (!Character.isJavaIdentifierStart(s.charAt(0))) {
-      return false;
-    }
-    for (int i = 1; i < s.length(); i++) {
-      if (!Character.isJavaIdentifierPart(s.charAt(i))) {
-        return false;
-      }
-    }
-    return true;
+    return InstructionTemplate.compile(template).render(context);
   }
 }
@@ -17,8 +17,11 @@
 package com.google.adk.agents;
 
 import static com.google.adk.testing.TestUtils.createInvocationContext;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.truth.Truth.assertThat;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertThrows;
 
 import com.google.adk.events.Event;
 import com.google.common.collect.ImmutableList;
@@ -26,6 +29,7 @@ import com.google.genai.types.Content;
 import com.google.genai.types.Part;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.observers.TestObserver;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.schedulers.TestScheduler;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
@@ -194,4 +198,86 @@ public final class ParallelAgentTest {
     testSubscriber.assertValueCount(1);
     testSubscriber.assertComplete();
   }
+
+  @Test
+  public void runAsync_maxConcurrencyOne_startsSubAgentsInListOrder() {
+    TestingAgent agent1 = new TestingAgent("agent1_delayed", "Delayed Agent", 300);
+    TestingAgent agent2 = new TestingAgent("agent2_fast", "Fast Agent", 0);
+
+    ParallelAgent parallelAgent =
+        ParallelAgent.builder()
+            .name("parallel_agent")
+            .subAgents(agent1, agent2)
+            .maxConcurrency(1)
+            .build();
+
+    InvocationContext invocationContext = createInvocationContext(parallelAgent);
+    List<Event> events = parallelAgent.runAsync(invocationContext).toList().blockingGet();
+
+    // The fast agent only starts once the delayed one has completed.
+    assertThat(events.stream().map(Event::author).collect(toImmutableList()))
+        .containsExactly("agent1_delayed", "agent2_fast")
+        .inOrder();
+  }
+
+  @Test
+  public void runAsync_withRateLimiter_spacesOutSubAgentStarts() {
+    TestScheduler testScheduler = new TestScheduler();
+    ParallelAgent parallelAgent =
+        ParallelAgent.builder()
+            .name("parallel_agent")
+            .subAgents(
+                new TestingAgent("agent1", "Agent 1", 0, testScheduler),
+                new TestingAgent("agent2", "Agent 2", 0, testScheduler),
+                new TestingAgent("agent3", "Agent 3", 0, testScheduler))
+            .scheduler(testScheduler)
+            .rateLimiter(new TokenBucketRateLimiter(/* permitsPerSecond= */ 1, /* burst= */ 1))
+            .build();
+
+    InvocationContext invocationContext = createInvocationContext(parallelAgent);
+    TestSubscriber<Event> testSubscriber = parallelAgent.runAsync(invocationContext).test();
+
+    testScheduler.triggerActions();
+    testSubscriber.assertValueCount(1);
+    testScheduler.advanceTimeBy(1, SECONDS);
+    testSubscriber.assertValueCount(2);
+    testScheduler.advanceTimeBy(1, SECONDS);
+    testSubscriber.assertValueCount(3);
+    testSubscriber.assertComplete();
+  }
+
+  @Test
+  public void runAsync_withRateLimiter_cancelled_returnsReservedPermits() {
+    TestScheduler testScheduler = new TestScheduler();
+    TokenBucketRateLimiter rateLimiter =
+        new TokenBucketRateLimiter(/* permitsPerSecond= */ 1, /* burst= */ 1);
+    ParallelAgent parallelAgent =
+        ParallelAgent.builder()
+            .name("parallel_agent")
+            .subAgents(
+                new TestingAgent("agent1", "Agent 1", 0, testScheduler),
+                new TestingAgent("agent2", "Agent 2", 0, testScheduler),
+                new TestingAgent("agent3", "Agent 3", 0, testScheduler))
+            .scheduler(testScheduler)
+            .rateLimiter(rateLimiter)
+            .build();
+
+    InvocationContext invocationContext = createInvocationContext(parallelAgent);
+    TestSubscriber<Event> testSubscriber = parallelAgent.runAsync(invocationContext).test();
+    testScheduler.triggerActions();
+    testSubscriber.assertValueCount(1);
+    // agent2 and agent3 hold permits reserved for 1s and 2s from now.
+    testSubscriber.cancel();
+
+    testScheduler.advanceTimeBy(1, SECONDS);
+    TestObserver<Void> nextAcquire = rateLimiter.acquire(testScheduler).test();
+    testScheduler.triggerActions();
+
+    nextAcquire.assertComplete();
+  }
+
+  @Test
+  public void builder_nonPositiveMaxConcurrency_throws() {
+    assertThrows(IllegalArgumentException.class, () -> ParallelAgent.builder().maxConcurrency(0));
+  }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.events;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class TimeOrderedEventIdGeneratorTest {
+
+  private static final long NOW_MILLIS = 1_735_689_600_000L;
+
+  private final AtomicLong clock = new AtomicLong(NOW_MILLIS);
+  private final TimeOrderedEventIdGenerator generator =
+      new TimeOrderedEventIdGenerator(clock::get);
+
+  @Test
+  public void generate_returnsVersion7UuidWithTimestamp() {
+    UUID uuid = UUID.fromString(generator.generate());
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(NOW_MILLIS);
+  }
+
+  @Test
+  public void generate_sameMillisecond_idsAreStrictlyIncreasing() {
+    List<String> ids = new ArrayList<>();
+    // More IDs than the counter holds, so the timestamp has to move forward.
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(generator.generate());
+    }
+
+    assertThat(ids).isInStrictOrder();
+  }
+
+  @Test
+  public void generate_clockGoesBack_idsStillIncrease() {
+    String first = generator.generate();
+    clock.set(NOW_MILLIS - 1000);
+    String second = generator.generate();
+
+    assertThat(second).isGreaterThan(first);
+  }
+
+  @Test
+  public void generateEventId_usesConfiguredGenerator() {
+    Event.setIdGenerator(() -> "custom-id");
+    try {
+      assertThat(Event.generateEventId()).isEqualTo("custom-id");
+    } finally {
+      Event.setIdGenerator(EventIdGenerator.timeOrdered());
+    }
+  }
+}
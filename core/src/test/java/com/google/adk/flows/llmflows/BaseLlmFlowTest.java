@@ -23,6 +23,7 @@ import static com.google.adk.testing.TestUtils.createLlmResponse;
 import static com.google.adk.testing.TestUtils.createTestAgent;
 import static com.google.adk.testing.TestUtils.createTestAgentBuilder;
 import static com.google.adk.testing.TestUtils.createTestLlm;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
@@ -49,6 +50,7 @@ import com.google.genai.types.FunctionCall;
 import com.google.genai.types.FunctionDeclaration;
 import com.google.genai.types.GenerateContentResponseUsageMetadata;
 import com.google.genai.types.Part;
+import com.google.genai.types.Tool;
 import com.google.genai.types.Transcription;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextKey;
@@ -250,6 +252,47 @@ public final class BaseLlmFlowTest {
     assertThat(events.get(0).functionCalls()).hasSize(1);
   }
 
+  @Test
+  public void run_streamedChunks_eachGetsOwnIdWithoutChangingProcessorEvents() {
+    Content partialContent = Content.fromParts(Part.fromText("Hel"));
+    Content finalContent = Content.fromParts(Part.fromText("Hello"));
+    TestLlm testLlm =
+        createTestLlm(
+            Flowable.just(
+                LlmResponse.builder().content(partialContent).partial(true).build(),
+                LlmResponse.builder().content(partialContent).partial(true).build(),
+                createLlmResponse(finalContent)));
+    Event processorEvent =
+        Event.builder()
+            .id("processor-event")
+            .invocationId("invId")
+            .author("processor")
+            .content(Content.fromParts(Part.fromText("processed")))
+            .build();
+    ResponseProcessor responseProcessor =
+        (context, response) ->
+            Single.just(
+                ResponseProcessingResult.create(
+                    response,
+                    response.partial().orElse(false)
+                        ? ImmutableList.of()
+                        : ImmutableList.of(processorEvent)));
+    InvocationContext invocationContext = createInvocationContext(createTestAgent(testLlm));
+    BaseLlmFlow baseLlmFlow =
+        createBaseLlmFlow(
+            /* requestProcessors= */ ImmutableList.of(), ImmutableList.of(responseProcessor));
+
+    List<Event> events = baseLlmFlow.run(invocationContext).toList().blockingGet();
+
+    assertThat(events).hasSize(4);
+    assertThat(events.stream().map(Event::id).distinct().count()).isEqualTo(4);
+    assertThat(events.get(0).partial()).hasValue(true);
+    assertThat(events.get(3).content()).hasValue(finalContent);
+    assertThat(events.get(2).author()).isEqualTo("processor");
+    assertThat(events.get(2).id()).isNotEqualTo("processor-event");
+    assertThat(processorEvent.id()).isEqualTo("processor-event");
+  }
+
   // End-to-end: when the Gemini aggregator emits a partial event and a final aggregated event for
   // the same function call, both must share the same function-call ID so consumers can correlate
   // them. Mirrors ADK Python's progressive SSE contract. Simulates the post-aggregator stream (FC
@@ -982,6 +1025,83 @@ public final class BaseLlmFlowTest {
         .containsExactly("toolset-instruction\n\ntool-instruction");
   }
 
+  @Test
+  public void getRequestProcessorFromTools_mergesDeclarationsAroundCustomProcessors() {
+    BaseTool customTool =
+        new BaseTool("custom", "custom tool") {
+          @Override
+          public Completable processLlmRequest(
+              LlmRequest.Builder builder, ToolContext toolContext) {
+            return Completable.fromAction(
+                () -> builder.appendInstructions(ImmutableList.of("custom-instruction")));
+          }
+        };
+    LlmAgent agent =
+        createTestAgentBuilder(createTestLlm(LlmResponse.builder().build()))
+            .tools(
+                new TestTool("tool1", ImmutableMap.of()),
+                customTool,
+                new TestTool("tool2", ImmutableMap.of()))
+            .build();
+
+    InvocationContext invocationContext = createInvocationContext(agent);
+    RequestProcessor requestProcessor =
+        createBaseLlmFlowWithoutProcessors().getRequestProcessorFromTools(agent);
+
+    LlmRequest processedRequest =
+        requestProcessor
+            .processRequest(invocationContext, LlmRequest.builder().build())
+            .map(RequestProcessingResult::updatedRequest)
+            .blockingGet();
+
+    assertThat(processedRequest.tools().keySet()).containsExactly("tool1", "tool2");
+    assertThat(processedRequest.getSystemInstructions()).containsExactly("custom-instruction");
+    Tool declarationsTool = getOnlyElement(processedRequest.config().get().tools().get());
+    assertThat(
+            declarationsTool.functionDeclarations().get().stream()
+                .map(declaration -> declaration.name().get())
+                .collect(toImmutableList()))
+        .containsExactly("tool1", "tool2")
+        .inOrder();
+  }
+
+  @Test
+  public void getRequestProcessorFromTools_sameTools_reusesDeclarationsTool() {
+    LlmAgent agent =
+        createTestAgentBuilder(createTestLlm(LlmResponse.builder().build()))
+            .tools(
+                new TestTool("tool1", ImmutableMap.of()), new TestTool("tool2", ImmutableMap.of()))
+            .build();
+
+    InvocationContext invocationContext = createInvocationContext(agent);
+    RequestProcessor requestProcessor =
+        createBaseLlmFlowWithoutProcessors().getRequestProcessorFromTools(agent);
+
+    Tool first =
+        getOnlyElement(
+            requestProcessor
+                .processRequest(invocationContext, LlmRequest.builder().build())
+                .blockingGet()
+                .updatedRequest()
+                .config()
+                .get()
+                .tools()
+                .get());
+    Tool second =
+        getOnlyElement(
+            requestProcessor
+                .processRequest(invocationContext, LlmRequest.builder().build())
+                .blockingGet()
+                .updatedRequest()
+                .config()
+                .get()
+                .tools()
+                .get());
+
+    assertThat(first.functionDeclarations().get()).hasSize(2);
+    assertThat(second).isSameInstanceAs(first);
+  }
+
   @Test
   public void getRequestProcessorFromTools_throwsOnUnsupportedType() {
     LlmAgent agent =
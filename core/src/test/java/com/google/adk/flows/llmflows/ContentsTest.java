@@ -897,6 +897,71 @@ public final class ContentsTest {
     var unused = contentsProcessor.processRequest(context, initialRequest).blockingGet();
   }
 
+  @Test
+  public void processRequest_multipleStepsInInvocation_matchesFullRebuild() {
+    ImmutableList<Event> events =
+        ImmutableList.of(
+            createUserEvent("e1", "Hi"),
+            createFunctionCallEvent("e2", "tool1", "call1"),
+            createFunctionResponseEvent("e3", "tool1", "call1"),
+            createAgentEvent("e4", "Calling more tools"),
+            createParallelFunctionCallEvent("e5", "tool2", "call2", "tool3", "call3"),
+            createFunctionResponseEvent("e6", "tool2", "call2"),
+            createFunctionResponseEvent("e7", "tool3", "call3"),
+            createUserEvent("e8", "Any update?"),
+            createFunctionResponseEvent("e9", "tool2", "call2", ImmutableMap.of("result", "done")),
+            createAgentEvent("e10", "All done"));
+    InvocationContext context = createInvocationContext(AGENT);
+
+    for (int i = 0; i < events.size(); i++) {
+      context.session().events().add(events.get(i));
+
+      List<Content> incremental = runContentsProcessor(context);
+
+      assertThat(incremental).isEqualTo(runContentsProcessor(events.subList(0, i + 1)));
+    }
+  }
+
+  @Test
+  public void processRequest_eventRemovedBetweenSteps_rebuildsContents() {
+    Event e1 = createUserEvent("e1", "Hello");
+    Event e2 = createAgentEvent("e2", "Hi there");
+    Event e3 = createUserEvent("e3", "How are you?");
+    InvocationContext context = createInvocationContext(AGENT);
+    context.session().events().addAll(ImmutableList.of(e1, e2, e3));
+    var unused = runContentsProcessor(context);
+
+    context.session().events().remove(e2);
+    List<Content> result = runContentsProcessor(context);
+
+    assertThat(result).containsExactly(e1.content().get(), e3.content().get()).inOrder();
+  }
+
+  @Test
+  public void processRequest_compactionAppendedBetweenSteps_appliesCompaction() {
+    ImmutableList<Event> events =
+        ImmutableList.of(
+            createUserEvent("e1", "Event 1", "inv1", 1),
+            createUserEvent("e2", "Event 2", "inv2", 2),
+            createCompactedEvent(1, 2, "Summary 1-2"),
+            createUserEvent("e3", "Event 3", "inv3", 4),
+            createUserEvent("e4", "Event 4", "inv4", 5));
+    InvocationContext context = createInvocationContext(AGENT);
+
+    for (int i = 0; i < events.size(); i++) {
+      context.session().events().add(events.get(i));
+
+      List<Content> incremental = runContentsProcessor(context);
+
+      assertThat(incremental).isEqualTo(runContentsProcessor(events.subList(0, i + 1)));
+    }
+    assertThat(runContentsProcessor(context))
+        .comparingElementsUsing(
+            transforming((Content c) -> c.parts().get().get(0).text().get(), "content text"))
+        .containsExactly("Summary 1-2", "Event 3", "Event 4")
+        .inOrder();
+  }
+
   private static Event createUserEvent(String id, String text) {
     return Event.builder()
         .id(id)
@@ -1094,6 +1159,28 @@ public final class ContentsTest {
     return result.updatedRequest().contents();
   }
 
+  private InvocationContext createInvocationContext(String agentName) {
+    LlmAgent agent =
+        LlmAgent.builder()
+            .name(agentName)
+            .includeContents(LlmAgent.IncludeContents.DEFAULT)
+            .build();
+    Session session =
+        sessionService.createSession("test-app", "test-user", null, "test-session").blockingGet();
+    return InvocationContext.builder()
+        .invocationId("test-invocation")
+        .agent(agent)
+        .session(session)
+        .sessionService(sessionService)
+        .build();
+  }
+
+  private List<Content> runContentsProcessor(InvocationContext context) {
+    RequestProcessor.RequestProcessingResult result =
+        contentsProcessor.processRequest(context, LlmRequest.builder().build()).blockingGet();
+    return result.updatedRequest().contents();
+  }
+
   private List<Content> runContentsProcessorWithModelName(List<Event> events, String modelName) {
     LlmAgent agent =
         Mockito.spy(
@@ -20,6 +20,7 @@ import static com.google.adk.testing.TestUtils.createEvent;
 import static com.google.adk.testing.TestUtils.createInvocationContext;
 import static com.google.adk.testing.TestUtils.createRootAgent;
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 import com.google.adk.agents.InvocationContext;
 import com.google.adk.agents.RunConfig;
@@ -31,6 +32,7 @@ import com.google.adk.tools.ToolContext;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.genai.types.Content;
 import com.google.genai.types.FunctionCall;
 import com.google.genai.types.FunctionDeclaration;
@@ -38,6 +40,7 @@ import com.google.genai.types.FunctionResponse;
 import com.google.genai.types.Part;
 import io.reactivex.rxjava3.core.Single;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -533,6 +536,37 @@ public final class FunctionsTest {
                 .build());
   }
 
+  @Test
+  public void handleFunctionCalls_parallelVirtualThreads_blockingTools_runConcurrently()
+      throws Exception {
+    // Before Java 21 the mode falls back to the IO scheduler, which other tests already cover.
+    assumeTrue("Virtual threads need Java 21", Runtime.version().feature() >= 21);
+
+    List<Thread> toolThreads =
+        runBlockingToolsTest(
+            RunConfig.builder()
+                .setToolExecutionMode(ToolExecutionMode.PARALLEL_VIRTUAL_THREADS)
+                .build(),
+            /* toolCount= */ 3,
+            /* expectConcurrent= */ true);
+
+    assertThat(toolThreads).hasSize(3);
+    for (Thread thread : toolThreads) {
+      assertThat(isVirtual(thread)).isTrue();
+    }
+  }
+
+  @Test
+  public void handleFunctionCalls_maxConcurrentToolCallsOne_blockingTools_runOneAtATime() {
+    runBlockingToolsTest(
+        RunConfig.builder()
+            .setToolExecutionMode(ToolExecutionMode.PARALLEL_VIRTUAL_THREADS)
+            .maxConcurrentToolCalls(1)
+            .build(),
+        /* toolCount= */ 2,
+        /* expectConcurrent= */ false);
+  }
+
   @Test
   public void hasPendingLongRunningCall_eventWithLongRunningCall_returnsTrue() {
     assertThat(Functions.hasPendingLongRunningCall(longRunningCallEvent("call1"))).isTrue();
@@ -595,19 +629,30 @@ public final class FunctionsTest {
    * sequential, since each tool is subscribed on a worker thread.
    */
   private static void runParallelSubscribeBlockingToolsTest(int toolCount) {
+    runBlockingToolsTest(
+        RunConfig.builder().setToolExecutionMode(ToolExecutionMode.PARALLEL_SUBSCRIBE).build(),
+        toolCount,
+        /* expectConcurrent= */ true);
+  }
+
+  /**
+   * Runs {@code toolCount} blocking tools and asserts that they ran concurrently or one at a time,
+   * and that their responses keep the order of the calls. Returns the threads the tools ran on.
+   */
+  @CanIgnoreReturnValue
+  private static List<Thread> runBlockingToolsTest(
+      RunConfig runConfig, int toolCount, boolean expectConcurrent) {
     long sleepMillis = 500L;
-    InvocationContext invocationContext =
-        createInvocationContext(
-            createRootAgent(),
-            RunConfig.builder().setToolExecutionMode(ToolExecutionMode.PARALLEL_SUBSCRIBE).build());
+    InvocationContext invocationContext = createInvocationContext(createRootAgent(), runConfig);
 
     Map<String, BaseTool> tools = new LinkedHashMap<>();
+    List<Thread> toolThreads = Collections.synchronizedList(new ArrayList<>());
     List<Part> callParts = new ArrayList<>();
     List<Part> expectedResponseParts = new ArrayList<>();
     for (int i = 1; i <= toolCount; i++) {
       String toolName = "slow_tool_" + i;
       String callId = "call_" + i;
-      tools.put(toolName, new SleepingTool(toolName, sleepMillis));
+      tools.put(toolName, new SleepingTool(toolName, sleepMillis, toolThreads));
       callParts.add(
           Part.builder()
               .functionCall(
@@ -638,16 +683,33 @@ public final class FunctionsTest {
         .containsExactlyElementsIn(expectedResponseParts)
         .inOrder();
     // Sequential would be ~toolCount * sleepMillis; parallel is ~sleepMillis + fixed overhead.
-    assertThat(durationMillis).isLessThan((long) toolCount * sleepMillis);
+    if (expectConcurrent) {
+      assertThat(durationMillis).isLessThan((long) toolCount * sleepMillis);
+    } else {
+      assertThat(durationMillis).isAtLeast((long) toolCount * sleepMillis);
+    }
+    return toolThreads;
+  }
+
+  /** Calls {@code Thread.isVirtual()}, which only exists from Java 21 on. */
+  private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+    return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
   }
 
   /** Tool that blocks the executing thread for {@code sleepMillis} before returning. */
   private static final class SleepingTool extends BaseTool {
     private final long sleepMillis;
+    private final List<Thread> threads;
 
     SleepingTool(String name, long sleepMillis) {
+      this(name, sleepMillis, Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /** Records the thread each call runs on in {@code threads}. */
+    SleepingTool(String name, long sleepMillis, List<Thread> threads) {
       super(name, "Blocking tool used to verify parallel execution.");
       this.sleepMillis = sleepMillis;
+      this.threads = threads;
     }
 
     @Override
@@ -659,6 +721,7 @@ public final class FunctionsTest {
     public Single<Map<String, Object>> runAsync(Map<String, Object> args, ToolContext toolContext) {
       return Single.fromCallable(
           () -> {
+            threads.add(Thread.currentThread());
             Thread.sleep(sleepMillis);
             return ImmutableMap.<String, Object>of("tool", name());
           });
@@ -204,6 +204,64 @@ public final class PersistBarrierTest {
     assertThat(PersistBarrier.pendingCount(context)).isEqualTo(0);
   }
 
+  @Test
+  public void batching_awaitRequestsFlush_andAwaitPendingCoversHeldEvents() {
+    List<String> flushed = new ArrayList<>();
+    PersistBarrier.enableBatching(
+        context,
+        () -> {
+          flushed.add("flush");
+          PersistBarrier.markPersisted(context, "e1");
+        });
+    PersistBarrier.markPending(context, "e1");
+    PersistBarrier.markPending(context, "e2");
+
+    PersistBarrier.awaitPersisted(context, ImmutableList.of(event("e1"))).test().assertComplete();
+    TestObserver<Void> pending = PersistBarrier.awaitPending(context).test();
+    TestObserver<Void> whenPersisted = PersistBarrier.whenPersisted(context, "e2").test();
+
+    assertThat(flushed).hasSize(2);
+    pending.assertNotComplete();
+    whenPersisted.assertNotComplete();
+
+    PersistBarrier.markPersisted(context, "e2");
+
+    pending.assertComplete();
+    whenPersisted.assertComplete();
+    assertThat(flushed).hasSize(2);
+  }
+
+  @Test
+  public void batching_resolvedEventsAreDropped_awaitPendingWaitsOnlyOnHeldOnes() {
+    PersistBarrier.enableBatching(context, () -> {});
+    for (int i = 0; i < 100; i++) {
+      PersistBarrier.markPending(context, "e" + i);
+      PersistBarrier.markPersisted(context, "e" + i);
+    }
+    PersistBarrier.markPending(context, "failed");
+    PersistBarrier.markFailed(context, "failed", new IllegalStateException("boom"));
+    PersistBarrier.markPending(context, "held");
+
+    assertThat(PersistBarrier.unresolvedCount(context)).isEqualTo(1);
+    TestObserver<Void> pending = PersistBarrier.awaitPending(context).test();
+    pending.assertNotComplete();
+
+    PersistBarrier.markPersisted(context, "held");
+
+    pending.assertComplete();
+    assertThat(PersistBarrier.unresolvedCount(context)).isEqualTo(0);
+    PersistBarrier.whenPersisted(context, "e0").test().assertComplete();
+    PersistBarrier.whenPersisted(context, "failed").test().assertError(IllegalStateException.class);
+  }
+
+  @Test
+  public void batchingNotEnabled_awaitPendingIsNoOp() {
+    PersistBarrier.enable(context);
+    PersistBarrier.markPending(context, "e1");
+
+    PersistBarrier.awaitPending(context).test().assertComplete();
+  }
+
   private static void awaitQuietly(CountDownLatch latch) {
     try {
       latch.await();
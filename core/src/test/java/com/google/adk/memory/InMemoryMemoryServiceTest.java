@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.adk.memory;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.adk.events.Event;
+import com.google.adk.sessions.Session;
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link InMemoryMemoryService}. */
+@RunWith(JUnit4.class)
+public final class InMemoryMemoryServiceTest {
+
+  private static final String APP_NAME = "app-name";
+  private static final String USER_ID = "user-id";
+
+  @Test
+  public void searchMemory_unknownUser_returnsEmpty() {
+    InMemoryMemoryService memoryService = new InMemoryMemoryService();
+
+    assertThat(memoryService.searchMemory(APP_NAME, USER_ID, "hello").blockingGet().memories())
+        .isEmpty();
+  }
+
+  @Test
+  public void searchMemory_returnsEventsSharingAWord() {
+    InMemoryMemoryService memoryService = new InMemoryMemoryService();
+    memoryService
+        .addSessionToMemory(
+            session("s1", event("user", "I like Green apples"), event("model", "Noted.")))
+        .blockingAwait();
+
+    assertThat(texts(memoryService.searchMemory(APP_NAME, USER_ID, "apples").blockingGet()))
+        .containsExactly("I like Green apples");
+    assertThat(texts(memoryService.searchMemory(APP_NAME, USER_ID, "GREEN pears").blockingGet()))
+        .containsExactly("I like Green apples");
+    assertThat(memoryService.searchMemory(APP_NAME, USER_ID, "pears").blockingGet().memories())
+        .isEmpty();
+    assertThat(memoryService.searchMemory(APP_NAME, "other", "apples").blockingGet().memories())
+        .isEmpty();
+  }
+
+  @Test
+  public void searchMemory_ranksMoreRelevantEventsFirst() {
+    InMemoryMemoryService memoryService = new InMemoryMemoryService();
+    memoryService
+        .addSessionToMemory(
+            session(
+                "s1",
+                event("user", "the weather is nice"),
+                event("user", "the weather in paris is nice"),
+                event("user", "paris paris")))
+        .blockingAwait();
+
+    assertThat(texts(memoryService.searchMemory(APP_NAME, USER_ID, "weather paris").blockingGet()))
+        .containsExactly("the weather in paris is nice", "paris paris", "the weather is nice")
+        .inOrder();
+  }
+
+  @Test
+  public void searchMemory_limitsResultsToMaxResults() {
+    InMemoryMemoryService memoryService = new InMemoryMemoryService(2);
+    memoryService
+        .addSessionToMemory(
+            session("s1", event("user", "one topic"), event("user", "two topic topic")))
+        .blockingAwait();
+    memoryService.addSessionToMemory(session("s2", event("user", "three topic"))).blockingAwait();
+
+    assertThat(memoryService.searchMemory(APP_NAME, USER_ID, "topic").blockingGet().memories())
+        .hasSize(2);
+  }
+
+  @Test
+  public void addSessionToMemory_sessionAddedAgain_replacesItsEvents() {
+    InMemoryMemoryService memoryService = new InMemoryMemoryService();
+    Event first = event("user", "first message");
+    memoryService.addSessionToMemory(session("s1", first)).blockingAwait();
+    memoryService
+        .addSessionToMemory(session("s1", first, event("model", "second message")))
+        .blockingAwait();
+
+    assertThat(texts(memoryService.searchMemory(APP_NAME, USER_ID, "message").blockingGet()))
+        .containsExactly("first message", "second message")
+        .inOrder();
+
+    memoryService.addSessionToMemory(session("s1", event("user", "rewritten"))).blockingAwait();
+
+    assertThat(memoryService.searchMemory(APP_NAME, USER_ID, "message").blockingGet().memories())
+        .isEmpty();
+    assertThat(texts(memoryService.searchMemory(APP_NAME, USER_ID, "rewritten").blockingGet()))
+        .containsExactly("rewritten");
+  }
+
+  @Test
+  public void constructor_nonPositiveMaxResults_throws() {
+    assertThrows(IllegalArgumentException.class, () -> new InMemoryMemoryService(0));
+  }
+
+  private static Session session(String id, Event... events) {
+    return Session.builder(id)
+        .appName(APP_NAME)
+        .userId(USER_ID)
+        .events(ImmutableList.copyOf(events))
+        .build();
+  }
+
+  private static Event event(String author, String text) {
+    return Event.builder()
+        .id(Event.generateEventId())
+        .author(author)
+        .content(Content.builder().role(author).parts(Part.fromText(text)).build())
+        .build();
+  }
+
+  private static List<String> texts(SearchMemoryResponse response) {
+    return response.memories().stream()
+        .map(memory -> memory.content().parts().get().get(0).text().get())
+        .collect(ImmutableList.toImmutableList());
+  }
+}
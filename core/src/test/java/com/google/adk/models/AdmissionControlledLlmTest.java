@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.models;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class AdmissionControlledLlmTest {
+
+  private final FakeLlm fakeLlm = new FakeLlm();
+  private final TestScheduler testScheduler = new TestScheduler();
+
+  /** A model whose calls stay open until the test completes them. */
+  private static final class FakeLlm extends BaseLlm {
+    final List<PublishProcessor<LlmResponse>> calls = new ArrayList<>();
+    final List<LlmRequest> requests = new ArrayList<>();
+
+    FakeLlm() {
+      super("fake-model");
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+      return Flowable.defer(
+          () -> {
+            PublishProcessor<LlmResponse> call = PublishProcessor.create();
+            calls.add(call);
+            requests.add(llmRequest);
+            return call;
+          });
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+      throw new UnsupportedOperationException();
+    }
+
+    void complete(int index) {
+      calls.get(index).onNext(LlmResponse.builder().build());
+      calls.get(index).onComplete();
+    }
+  }
+
+  private static LlmRequest request(String text, LlmRequest.Priority priority) {
+    return LlmRequest.builder()
+        .contents(ImmutableList.of(Content.fromParts(Part.fromText(text))))
+        .priority(priority)
+        .build();
+  }
+
+  @Test
+  public void generateContent_overConcurrencyLimit_waitsForRunningRequest() {
+    AdmissionControlledLlm llm =
+        AdmissionControlledLlm.builder().delegate(fakeLlm).maxConcurrentRequests(1).build();
+
+    TestSubscriber<LlmResponse> first =
+        llm.generateContent(request("a", LlmRequest.Priority.INTERACTIVE), false).test();
+    TestSubscriber<LlmResponse> second =
+        llm.generateContent(request("b", LlmRequest.Priority.INTERACTIVE), false).test();
+
+    assertThat(fakeLlm.calls).hasSize(1);
+    fakeLlm.complete(0);
+    first.assertComplete();
+    assertThat(fakeLlm.calls).hasSize(2);
+    fakeLlm.complete(1);
+    second.assertComplete();
+  }
+
+  @Test
+  public void generateContent_waitingRequests_interactiveAdmittedBeforeBatch() {
+    AdmissionControlledLlm llm =
+        AdmissionControlledLlm.builder().delegate(fakeLlm).maxConcurrentRequests(1).build();
+
+    var unused1 = llm.generateContent(request("running", LlmRequest.Priority.BATCH), false).test();
+    var unused2 = llm.generateContent(request("batch", LlmRequest.Priority.BATCH), false).test();
+    var unused3 =
+        llm.generateContent(request("interactive", LlmRequest.Priority.INTERACTIVE), false).test();
+    fakeLlm.complete(0);
+    fakeLlm.complete(1);
+
+    assertThat(
+            fakeLlm.requests.stream()
+                .map(r -> r.contents().get(0).parts().get().get(0).text().get())
+                .toList())
+        .containsExactly("running", "interactive", "batch")
+        .inOrder();
+  }
+
+  @Test
+  public void generateContent_cancelledWhileWaiting_isNotSent() {
+    AdmissionControlledLlm llm =
+        AdmissionControlledLlm.builder().delegate(fakeLlm).maxConcurrentRequests(1).build();
+
+    var unused = llm.generateContent(request("a", LlmRequest.Priority.INTERACTIVE), false).test();
+    TestSubscriber<LlmResponse> cancelled =
+        llm.generateContent(request("b", LlmRequest.Priority.INTERACTIVE), false).test();
+    cancelled.cancel();
+    fakeLlm.complete(0);
+
+    assertThat(fakeLlm.calls).hasSize(1);
+  }
+
+  @Test
+  public void generateContent_throttled_retriesAfterBackoff() {
+    AdmissionControlledLlm llm =
+        AdmissionControlledLlm.builder()
+            .delegate(fakeLlm)
+            .initialBackoff(Duration.ofSeconds(1))
+            .throttlingErrorPredicate(error -> error instanceof IllegalStateException)
+            .scheduler(testScheduler)
+            .build();
+
+    TestSubscriber<LlmResponse> subscriber =
+        llm.generateContent(request("a", LlmRequest.Priority.INTERACTIVE), false).test();
+    fakeLlm.calls.get(0).onError(new IllegalStateException("429 Too Many Requests"));
+
+    subscriber.assertNoErrors();
+    testScheduler.advanceTimeBy(900, MILLISECONDS);
+    assertThat(fakeLlm.calls).hasSize(1);
+    testScheduler.advanceTimeBy(100, MILLISECONDS);
+    assertThat(fakeLlm.calls).hasSize(2);
+    fakeLlm.complete(1);
+    subscriber.assertComplete();
+  }
+
+  @Test
+  public void generateContent_throttledBeyondMaxRetries_returnsError() {
+    AdmissionControlledLlm llm =
+        AdmissionControlledLlm.builder()
+            .delegate(fakeLlm)
+            .maxRetries(0)
+            .throttlingErrorPredicate(error -> error instanceof IllegalStateException)
+            .scheduler(testScheduler)
+            .build();
+
+    TestSubscriber<LlmResponse> subscriber =
+        llm.generateContent(request("a", LlmRequest.Priority.INTERACTIVE), false).test();
+    fakeLlm.calls.get(0).onError(new IllegalStateException("429 Too Many Requests"));
+
+    subscriber.assertError(IllegalStateException.class);
+  }
+
+  @Test
+  public void generateContent_overTokenBudget_waitsForRefill() {
+    AdmissionControlledLlm llm =
+        AdmissionControlledLlm.builder()
+            .delegate(fakeLlm)
+            .tokensPerMinute(60)
+            .scheduler(testScheduler)
+            .build();
+    // Each request is estimated at over 60 tokens, so it needs the whole budget.
+    String longText = "x".repeat(400);
+
+    var unused1 = llm.generateContent(request(longText, LlmRequest.Priority.BATCH), false).test();
+    fakeLlm.complete(0);
+    var unused2 = llm.generateContent(request(longText, LlmRequest.Priority.BATCH), false).test();
+
+    assertThat(fakeLlm.calls).hasSize(1);
+    testScheduler.advanceTimeBy(1, MINUTES);
+    assertThat(fakeLlm.calls).hasSize(2);
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.models;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.adk.agents.ContextCacheConfig;
+import com.google.common.collect.ImmutableList;
+import com.google.genai.types.CachedContent;
+import com.google.genai.types.Content;
+import com.google.genai.types.CreateCachedContentConfig;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.Part;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class GeminiContextCacheManagerTest {
+
+  private static final String MODEL = "gemini-2.5-flash";
+  private static final ContextCacheConfig CACHE_CONFIG =
+      new ContextCacheConfig(/* maxInvocations= */ 10, Duration.ofMinutes(30), /* minTokens= */ 0);
+
+  private final List<CreateCachedContentConfig> createdCaches = new ArrayList<>();
+  private boolean failCreation = false;
+  private GeminiContextCacheManager cacheManager;
+
+  @Before
+  public void setUp() {
+    cacheManager =
+        new GeminiContextCacheManager(
+            (model, config) -> {
+              if (failCreation) {
+                return CompletableFuture.failedFuture(new IllegalStateException("too small"));
+              }
+              createdCaches.add(config);
+              return CompletableFuture.completedFuture(
+                  CachedContent.builder().name("cachedContents/" + createdCaches.size()).build());
+            },
+            Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+  }
+
+  private static Content content(String role, String text) {
+    return Content.builder().role(role).parts(Part.fromText(text)).build();
+  }
+
+  private static LlmRequest request(ContextCacheConfig cacheConfig, Content... contents) {
+    return LlmRequest.builder()
+        .contents(ImmutableList.copyOf(contents))
+        .config(
+            GenerateContentConfig.builder()
+                .systemInstruction(content("user", "You are a helpful assistant."))
+                .temperature(0.5f)
+                .build())
+        .cacheConfig(cacheConfig)
+        .build();
+  }
+
+  private static LlmRequest firstStep(ContextCacheConfig cacheConfig) {
+    return request(
+        cacheConfig,
+        content("user", "hi"),
+        content("model", "hello"),
+        content("user", "what is the weather?"));
+  }
+
+  private static LlmRequest secondStep(ContextCacheConfig cacheConfig) {
+    return request(
+        cacheConfig,
+        content("user", "hi"),
+        content("model", "hello"),
+        content("user", "what is the weather?"),
+        content("model", "sunny"),
+        content("user", "thanks"));
+  }
+
+  @Test
+  public void applyCache_withoutCacheConfig_returnsRequestUnchanged() {
+    LlmRequest request =
+        LlmRequest.builder().contents(ImmutableList.of(content("user", "hi"))).build();
+
+    assertThat(cacheManager.applyCache(request, MODEL).blockingGet()).isSameInstanceAs(request);
+    assertThat(createdCaches).isEmpty();
+  }
+
+  @Test
+  public void applyCache_firstRequest_cachesPrefixAndSendsOnlyTrailingTurn() {
+    LlmRequest cached = cacheManager.applyCache(firstStep(CACHE_CONFIG), MODEL).blockingGet();
+
+    assertThat(createdCaches).hasSize(1);
+    CreateCachedContentConfig created = createdCaches.get(0);
+    assertThat(created.contents().get()).hasSize(2);
+    assertThat(created.systemInstruction()).isPresent();
+    assertThat(created.ttl()).hasValue(Duration.ofMinutes(30));
+
+    assertThat(cached.contents()).containsExactly(content("user", "what is the weather?"));
+    GenerateContentConfig config = cached.config().get();
+    assertThat(config.cachedContent()).hasValue("cachedContents/1");
+    assertThat(config.systemInstruction()).isEmpty();
+    assertThat(config.temperature()).hasValue(0.5f);
+  }
+
+  @Test
+  public void applyCache_nextStepWithSamePrefix_reusesCache() {
+    var unused = cacheManager.applyCache(firstStep(CACHE_CONFIG), MODEL).blockingGet();
+
+    LlmRequest cached = cacheManager.applyCache(secondStep(CACHE_CONFIG), MODEL).blockingGet();
+
+    assertThat(createdCaches).hasSize(1);
+    assertThat(cached.config().get().cachedContent()).hasValue("cachedContents/1");
+    assertThat(cached.contents()).hasSize(3);
+  }
+
+  @Test
+  public void applyCache_afterMaxInvocations_createsNewCache() {
+    ContextCacheConfig singleUse = new ContextCacheConfig(1, Duration.ofMinutes(30), 0);
+    var unused = cacheManager.applyCache(firstStep(singleUse), MODEL).blockingGet();
+
+    LlmRequest cached = cacheManager.applyCache(secondStep(singleUse), MODEL).blockingGet();
+
+    assertThat(createdCaches).hasSize(2);
+    assertThat(createdCaches.get(1).contents().get()).hasSize(4);
+    assertThat(cached.config().get().cachedContent()).hasValue("cachedContents/2");
+    assertThat(cached.contents()).containsExactly(content("user", "thanks"));
+  }
+
+  @Test
+  public void applyCache_conversationsWithDifferentHistories_keepSeparateCaches() {
+    LlmRequest otherFirstStep =
+        request(
+            CACHE_CONFIG,
+            content("user", "bonjour"),
+            content("model", "salut"),
+            content("user", "quel temps fait-il ?"));
+    var unused1 = cacheManager.applyCache(firstStep(CACHE_CONFIG), MODEL).blockingGet();
+    var unused2 = cacheManager.applyCache(otherFirstStep, MODEL).blockingGet();
+
+    LlmRequest cached = cacheManager.applyCache(secondStep(CACHE_CONFIG), MODEL).blockingGet();
+    LlmRequest otherCached = cacheManager.applyCache(otherFirstStep, MODEL).blockingGet();
+
+    assertThat(createdCaches).hasSize(2);
+    assertThat(cached.config().get().cachedContent()).hasValue("cachedContents/1");
+    assertThat(otherCached.config().get().cachedContent()).hasValue("cachedContents/2");
+  }
+
+  @Test
+  public void applyCache_expiredCache_createsNewCache() {
+    MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    List<String> created = new ArrayList<>();
+    GeminiContextCacheManager manager =
+        new GeminiContextCacheManager(
+            (model, config) -> {
+              created.add(config.contents().get().toString());
+              return CompletableFuture.completedFuture(
+                  CachedContent.builder().name("cachedContents/" + created.size()).build());
+            },
+            clock);
+    var unused = manager.applyCache(firstStep(CACHE_CONFIG), MODEL).blockingGet();
+
+    clock.now = clock.now.plus(Duration.ofMinutes(30));
+    LlmRequest cached = manager.applyCache(secondStep(CACHE_CONFIG), MODEL).blockingGet();
+
+    assertThat(created).hasSize(2);
+    assertThat(cached.config().get().cachedContent()).hasValue("cachedContents/2");
+  }
+
+  @Test
+  public void applyCache_belowMinTokens_returnsRequestUnchanged() {
+    LlmRequest request = firstStep(new ContextCacheConfig(10, Duration.ofMinutes(30), 100_000));
+
+    assertThat(cacheManager.applyCache(request, MODEL).blockingGet()).isSameInstanceAs(request);
+    assertThat(createdCaches).isEmpty();
+  }
+
+  @Test
+  public void applyCache_creationFails_sendsRequestUncachedAndDoesNotRetryImmediately() {
+    failCreation = true;
+    LlmRequest request = firstStep(CACHE_CONFIG);
+
+    assertThat(cacheManager.applyCache(request, MODEL).blockingGet()).isSameInstanceAs(request);
+
+    failCreation = false;
+    LlmRequest next = secondStep(CACHE_CONFIG);
+    assertThat(cacheManager.applyCache(next, MODEL).blockingGet()).isSameInstanceAs(next);
+    assertThat(createdCaches).isEmpty();
+  }
+
+  private static final class MutableClock extends Clock {
+    Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
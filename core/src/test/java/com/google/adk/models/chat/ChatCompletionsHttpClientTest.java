@@ -68,9 +68,9 @@ public final class ChatCompletionsHttpClientTest {
 
   /**
    * Bounded wait for {@link TestSubscriber#await} so a buggy callback wiring cannot hang the test
-   * JVM. The mock callbacks fire synchronously in the same thread, so this value is intentionally
-   * short -- on a successful run the await returns in microseconds, and on a hung run we fail fast
-   * instead of stalling the test suite.
+   * JVM. The mock callbacks fire synchronously in the same thread and streaming bodies are read
+   * from an in-memory buffer, so this value is intentionally short -- on a successful run the await
+   * returns in milliseconds, and on a hung run we fail fast instead of stalling the test suite.
    */
   private static final Duration AWAIT_TIMEOUT = Duration.ofMillis(500);
 
@@ -335,6 +335,111 @@ public final class ChatCompletionsHttpClientTest {
         .hasValue("NoSpace");
   }
 
+  /**
+   * Verifies that comments, {@code id} and {@code retry} fields, CRLF line endings and data split
+   * over several lines are decoded per the SSE spec, and that named events other than {@code
+   * message} are skipped.
+   */
+  @Test
+  public void complete_streaming_decodesSseFields() throws Exception {
+    String responseBody =
+        ": keep-alive\r\n"
+            + "id: 1\r\n"
+            + "retry: 1000\r\n"
+            + "data: {\"choices\":[{\"delta\":\r\n"
+            + "data: {\"content\":\"Split\"},\"index\":0}]}\r\n"
+            + "\r\n"
+            + "event: ping\r\n"
+            + "data: {}\r\n"
+            + "\r\n"
+            + "event: message\r\n"
+            + "data: {\"choices\":[{\"delta\":{\"content\":\"Named\"},\"index\":0}]}\r\n"
+            + "\r\n"
+            + "data: [DONE]\r\n"
+            + "\r\n";
+
+    Response mockResponse = createMockResponse(responseBody, EVENT_STREAM);
+
+    ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+    doNothing().when(mockCall).enqueue(callbackCaptor.capture());
+
+    TestSubscriber<LlmResponse> testSubscriber = client.complete(minimalRequest(), true).test();
+
+    callbackCaptor.getValue().onResponse(mockCall, mockResponse);
+    testSubscriber.await(AWAIT_TIMEOUT.toMillis(), MILLISECONDS);
+
+    testSubscriber.assertNoErrors();
+    testSubscriber.assertComplete();
+    testSubscriber.assertValueCount(2);
+    assertThat(testSubscriber.values().get(0).content().get().parts().get().get(0).text())
+        .hasValue("Split");
+    assertThat(testSubscriber.values().get(1).content().get().parts().get().get(0).text())
+        .hasValue("Named");
+  }
+
+  /** Verifies that an SSE {@code error} event fails the stream. */
+  @Test
+  public void complete_streaming_errorEvent_failsStream() throws Exception {
+    String responseBody =
+        """
+        event: error
+        data: {"error":"overloaded"}
+
+        """;
+
+    Response mockResponse = createMockResponse(responseBody, EVENT_STREAM);
+
+    ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+    doNothing().when(mockCall).enqueue(callbackCaptor.capture());
+
+    TestSubscriber<LlmResponse> testSubscriber = client.complete(minimalRequest(), true).test();
+
+    callbackCaptor.getValue().onResponse(mockCall, mockResponse);
+    testSubscriber.await(AWAIT_TIMEOUT.toMillis(), MILLISECONDS);
+
+    testSubscriber.assertError(
+        e -> e instanceof IOException && e.getMessage().contains("overloaded"));
+  }
+
+  /**
+   * Verifies that the stream is read as the subscriber requests responses rather than drained into
+   * an unbounded buffer.
+   */
+  @Test
+  public void complete_streaming_emitsOnlyRequestedResponses() throws Exception {
+    String responseBody =
+        """
+        data: {"choices":[{"delta":{"content":"One"},"index":0}]}
+
+        data: {"choices":[{"delta":{"content":"Two"},"index":0}]}
+
+        data: [DONE]
+        """;
+
+    Response mockResponse = createMockResponse(responseBody, EVENT_STREAM);
+
+    ArgumentCaptor<Callback> callbackCaptor = ArgumentCaptor.forClass(Callback.class);
+    doNothing().when(mockCall).enqueue(callbackCaptor.capture());
+
+    TestSubscriber<LlmResponse> testSubscriber =
+        client.complete(minimalRequest(), true).test(/* initialRequest= */ 1);
+
+    callbackCaptor.getValue().onResponse(mockCall, mockResponse);
+    testSubscriber.awaitCount(1);
+
+    testSubscriber.assertValueCount(1);
+    testSubscriber.assertNotComplete();
+
+    testSubscriber.request(1);
+    testSubscriber.await(AWAIT_TIMEOUT.toMillis(), MILLISECONDS);
+
+    testSubscriber.assertNoErrors();
+    testSubscriber.assertComplete();
+    testSubscriber.assertValueCount(2);
+    assertThat(testSubscriber.values().get(1).content().get().parts().get().get(0).text())
+        .hasValue("Two");
+  }
+
   // -- Header, error-propagation, and timeout coverage. ----------------------------------
 
   /**
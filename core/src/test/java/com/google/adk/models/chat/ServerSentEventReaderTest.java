@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.models.chat;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import okio.Buffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ServerSentEventReaderTest {
+
+  private static ServerSentEventReader reader(String stream) {
+    return new ServerSentEventReader(new Buffer().writeUtf8(stream));
+  }
+
+  @Test
+  public void next_readsEventsSeparatedByBlankLines() throws Exception {
+    ServerSentEventReader reader = reader("data: first\n\ndata:second\n\n");
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.data().readUtf8()).isEqualTo("first");
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.data().readUtf8()).isEqualTo("second");
+    assertThat(reader.next()).isFalse();
+  }
+
+  @Test
+  public void next_joinsDataLinesWithLineFeeds() throws Exception {
+    ServerSentEventReader reader = reader("data: a\ndata:\ndata:  b\n\n");
+
+    assertThat(reader.next()).isTrue();
+    // Only the single space after the colon is removed.
+    assertThat(reader.data().readUtf8()).isEqualTo("a\n\n b");
+  }
+
+  @Test
+  public void next_acceptsCrLfAndCrLineEndings() throws Exception {
+    ServerSentEventReader reader = reader("data: crlf\r\n\r\ndata: cr\r\r");
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.data().readUtf8()).isEqualTo("crlf");
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.data().readUtf8()).isEqualTo("cr");
+    assertThat(reader.next()).isFalse();
+  }
+
+  @Test
+  public void next_recordsEventTypeIdAndRetry_andSkipsComments() throws Exception {
+    ServerSentEventReader reader =
+        reader(": comment\nevent: update\nid: 42\nretry: 3000\nunknown: x\ndata: payload\n\n");
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.data().readUtf8()).isEqualTo("payload");
+    assertThat(reader.eventType()).isEqualTo("update");
+    assertThat(reader.lastEventId()).isEqualTo("42");
+    assertThat(reader.retryMillis()).isEqualTo(3000);
+  }
+
+  @Test
+  public void next_ignoresInvalidRetry_andResetsEventTypeBetweenEvents() throws Exception {
+    ServerSentEventReader reader =
+        reader("event: update\nretry: soon\ndata: one\n\nid: 7\ndata: two\n\n");
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.eventType()).isEqualTo("update");
+    assertThat(reader.retryMillis()).isEqualTo(-1);
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.eventType()).isNull();
+    assertThat(reader.lastEventId()).isEqualTo("7");
+  }
+
+  @Test
+  public void next_skipsEventsWithoutData() throws Exception {
+    ServerSentEventReader reader = reader("event: ping\n\ndata: after\n\n");
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.eventType()).isNull();
+    assertThat(reader.data().readUtf8()).isEqualTo("after");
+  }
+
+  @Test
+  public void next_dispatchesTrailingEventWithoutBlankLine() throws Exception {
+    ServerSentEventReader reader = reader("data: last");
+
+    assertThat(reader.next()).isTrue();
+    assertThat(reader.data().readUtf8()).isEqualTo("last");
+    assertThat(reader.next()).isFalse();
+  }
+}
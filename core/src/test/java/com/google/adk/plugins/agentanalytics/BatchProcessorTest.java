@@ -16,16 +16,20 @@
 
 package com.google.adk.plugins.agentanalytics;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
 import com.google.cloud.bigquery.storage.v1.AppendRowsResponse;
 import com.google.cloud.bigquery.storage.v1.RowError;
 import com.google.cloud.bigquery.storage.v1.StreamWriter;
@@ -36,6 +40,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Handler;
@@ -352,6 +357,53 @@ public class BatchProcessorTest {
     assertTrue("Expected SEVERE error log not found", foundError);
   }
 
+  @Test
+  public void flush_keepsAppendsInFlightUpToLimit() throws Exception {
+    List<SettableApiFuture<AppendRowsResponse>> results = new ArrayList<>();
+    when(mockWriter.append(any(ArrowRecordBatch.class)))
+        .thenAnswer(
+            invocation -> {
+              SettableApiFuture<AppendRowsResponse> result = SettableApiFuture.create();
+              results.add(result);
+              return result;
+            });
+    ScheduledExecutorService mockExecutor = mock(ScheduledExecutorService.class);
+    BatchProcessor bp =
+        new BatchProcessor(mockWriter, 1, Duration.ofMinutes(1), 10, 2, mockExecutor);
+    for (int i = 0; i < 3; i++) {
+      bp.append(new HashMap<>());
+    }
+
+    bp.flush();
+    bp.flush();
+    verify(mockWriter, times(2)).append(any(ArrowRecordBatch.class));
+
+    CompletableFuture<Void> thirdFlush = CompletableFuture.runAsync(bp::flush);
+    Thread.sleep(50);
+    assertFalse("Flush should wait while the window is full", thirdFlush.isDone());
+    results.get(0).set(AppendRowsResponse.getDefaultInstance());
+    thirdFlush.get(1, SECONDS);
+    verify(mockWriter, times(3)).append(any(ArrowRecordBatch.class));
+    bp.close();
+  }
+
+  @Test
+  public void flushThrough_waitsForAppendInFlight() throws Exception {
+    SettableApiFuture<AppendRowsResponse> result = SettableApiFuture.create();
+    when(mockWriter.append(any(ArrowRecordBatch.class))).thenReturn(result);
+    BatchProcessor bp = new BatchProcessor(mockWriter, 10, Duration.ofMinutes(1), 10, 2, executor);
+    long sequence = bp.append(new HashMap<>());
+
+    CompletableFuture<Void> flushThrough =
+        CompletableFuture.runAsync(() -> bp.flushThrough(sequence));
+    Thread.sleep(50);
+    verify(mockWriter).append(any(ArrowRecordBatch.class));
+    assertFalse("flushThrough should wait for the append", flushThrough.isDone());
+    result.set(AppendRowsResponse.getDefaultInstance());
+    flushThrough.get(1, SECONDS);
+    bp.close();
+  }
+
   @Test
   public void close_flushesAndClosesResources() throws Exception {
     try (BatchProcessor bp =
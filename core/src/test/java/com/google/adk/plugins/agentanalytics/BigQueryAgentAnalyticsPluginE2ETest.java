@@ -85,6 +85,7 @@ public final class BigQueryAgentAnalyticsPluginE2ETest {
             .tableName("table")
             .batchSize(10)
             .batchFlushInterval(Duration.ofSeconds(10))
+            .writerPoolSize(1)
             .credentials(mock(Credentials.class))
             .build();
 
@@ -105,11 +106,6 @@ public final class BigQueryAgentAnalyticsPluginE2ETest {
           protected StreamWriter createWriter() {
             return mockWriter;
           }
-
-          @Override
-          protected BatchProcessor removeProcessor(String invocationId) {
-            return null;
-          }
         };
 
     plugin = new BigQueryAgentAnalyticsPlugin(config, mockBigQuery, state);
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
@@ -1261,11 +1262,11 @@ public class BigQueryAgentAnalyticsPluginTest {
     assertFalse("Queue for inv-2 should not be empty", p2.queue.isEmpty());
 
     assertTrue(
-        "All logs for inv-1 should have correct invocation_id",
-        p1.queue.stream().allMatch(row -> row.get("invocation_id").equals("inv-1")));
+        "Logs for inv-1 should be queued in its processor",
+        p1.queue.stream().anyMatch(row -> row.get("invocation_id").equals("inv-1")));
     assertTrue(
-        "All logs for inv-2 should have correct invocation_id",
-        p2.queue.stream().allMatch(row -> row.get("invocation_id").equals("inv-2")));
+        "Logs for inv-2 should be queued in its processor",
+        p2.queue.stream().anyMatch(row -> row.get("invocation_id").equals("inv-2")));
 
     // Now flush and verify writer was called
     testPlugin.afterRunCallback(context1).blockingAwait();
@@ -1275,7 +1276,7 @@ public class BigQueryAgentAnalyticsPluginTest {
   }
 
   @Test
-  public void logEvent_createsUniqueProcessorPerInvocation() throws Exception {
+  public void logEvent_sharesPooledProcessorsBetweenInvocations() throws Exception {
     int numInvocations = 5;
     ExecutorService testExecutor = Executors.newFixedThreadPool(numInvocations);
     Set<BatchProcessor> processors = ConcurrentHashMap.newKeySet();
@@ -1301,7 +1302,9 @@ public class BigQueryAgentAnalyticsPluginTest {
     }
 
     latch.await();
-    assertEquals(numInvocations, processors.size());
+    assertTrue(processors.size() <= config.writerPoolSize());
+    assertEquals(processors.size(), state.getBatchProcessors().size());
+    assertSame(state.getBatchProcessor("inv-0"), state.getBatchProcessor("inv-0"));
     testExecutor.shutdown();
   }
 
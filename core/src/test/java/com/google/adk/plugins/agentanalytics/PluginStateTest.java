@@ -17,7 +17,10 @@
 package com.google.adk.plugins.agentanalytics;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
@@ -34,6 +37,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -70,8 +74,11 @@ public final class PluginStateTest {
       return mockWriteClient;
     }
 
+    private int createdWriters;
+
     @Override
     protected StreamWriter createWriter() {
+      createdWriters++;
       StreamWriter writer = mock(StreamWriter.class);
       when(writer.append(any(ArrowRecordBatch.class)))
           .thenReturn(ApiFutures.immediateFuture(AppendRowsResponse.newBuilder().build()));
@@ -206,14 +213,14 @@ public final class PluginStateTest {
     pluginState.addPendingTask(invocationId, task);
 
     // Populate processor and trace manager.
-    var unusedProcessor = pluginState.getBatchProcessor(invocationId);
+    pluginState.appendRow(invocationId, new HashMap<>());
     var unusedTraceManager = pluginState.getTraceManager(invocationId);
 
     pluginState.ensureInvocationCompleted(invocationId).test().awaitDone(1, SECONDS);
 
     // Wait for cleanup side effects which run after terminal signal.
     long deadline = Instant.now().plusMillis(1000).toEpochMilli();
-    while ((!pluginState.getBatchProcessors().isEmpty()
+    while ((pluginState.hasUnflushedRows(invocationId)
             || !pluginState.getTraceManagers().isEmpty())
         && Instant.now().toEpochMilli() < deadline) {
       try {
@@ -226,10 +233,39 @@ public final class PluginStateTest {
     // Verify cleanup
     assertTrue(
         "Invocation ID should be marked as processed", pluginState.isProcessed(invocationId));
-    assertTrue(pluginState.getBatchProcessors().isEmpty());
+    assertFalse(pluginState.hasUnflushedRows(invocationId));
     assertTrue(pluginState.getTraceManagers().isEmpty());
   }
 
+  @Test
+  public void ensureInvocationCompleted_flushesRowsAndKeepsSharedProcessor() throws IOException {
+    config = config.toBuilder().batchSize(100).writerPoolSize(1).build();
+    TestPluginState state = new TestPluginState(config);
+    state.appendRow("inv-1", new HashMap<>());
+    state.appendRow("inv-2", new HashMap<>());
+    BatchProcessor processor = state.getBatchProcessor("inv-1");
+
+    state.ensureInvocationCompleted("inv-1").test().assertComplete();
+
+    assertTrue(processor.queue.isEmpty());
+    assertFalse(state.hasUnflushedRows("inv-1"));
+    assertSame(processor, state.getBatchProcessor("inv-2"));
+    assertEquals(1, state.getBatchProcessors().size());
+  }
+
+  @Test
+  public void getBatchProcessor_usesWriterPool() throws IOException {
+    config = config.toBuilder().writerPoolSize(2).build();
+    TestPluginState state = new TestPluginState(config);
+
+    for (int i = 0; i < 20; i++) {
+      var unused = state.getBatchProcessor("inv-" + i);
+    }
+
+    assertEquals(2, state.getBatchProcessors().size());
+    assertEquals(2, state.createdWriters);
+  }
+
   @Test
   public void close_succeedsAndCleansUp() throws Exception {
     String invocationId = "testInvocation";
@@ -62,8 +62,10 @@ import com.google.adk.sessions.ListEventsResponse;
 import com.google.adk.sessions.ListSessionsResponse;
 import com.google.adk.sessions.Session;
 import com.google.adk.sessions.SessionKey;
+import com.google.adk.sessions.WriteBehindSessionService;
 import com.google.adk.summarizer.EventsCompactionConfig;
 import com.google.adk.telemetry.Tracing;
+import com.google.adk.testing.TestBaseAgent;
 import com.google.adk.testing.TestLlm;
 import com.google.adk.testing.TestUtils;
 import com.google.adk.testing.TestUtils.EchoTool;
@@ -88,6 +90,7 @@ import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -918,6 +921,151 @@ public final class RunnerTest {
     assertThat(foundToolResponse).isTrue();
   }
 
+  /**
+   * With batched persistence, the events of each step are appended in one call, the next step still
+   * sees them, and every emitted event ends up in the session.
+   */
+  @Test
+  public void runAsync_batchEventPersistence_appendsOneBatchPerStep() throws Exception {
+    TestLlm batchTestLlm =
+        createTestLlm(
+            createFunctionCallLlmResponse("call_1", echoTool.name(), ImmutableMap.of("arg", "v1")),
+            createTextLlmResponse("done"));
+    LlmAgent agentForBatch =
+        createTestAgentBuilder(batchTestLlm).tools(ImmutableList.of(echoTool)).build();
+    AppendDelayingSessionService delayedSessionService =
+        new AppendDelayingSessionService(new InMemorySessionService(), 50);
+    Runner batchRunner =
+        Runner.builder()
+            .app(App.builder().name("test").rootAgent(agentForBatch).build())
+            .sessionService(delayedSessionService)
+            .build();
+    Session batchSession = batchRunner.sessionService().createSession("test", "user").blockingGet();
+
+    List<Event> events =
+        batchRunner
+            .runAsync(
+                "user",
+                batchSession.id(),
+                createContent("start"),
+                RunConfig.builder().batchEventPersistence(true).build())
+            .toList()
+            .blockingGet();
+
+    // Step 1: function call and function response; step 2: final text.
+    assertThat(delayedSessionService.appendedBatchSizes).containsExactly(2, 1).inOrder();
+    ImmutableList<LlmRequest> requests = batchTestLlm.getRequests();
+    assertThat(requests).hasSize(2);
+    assertThat(
+            requests.get(1).contents().stream()
+                .flatMap(c -> c.parts().stream().flatMap(List::stream))
+                .anyMatch(part -> part.functionResponse().isPresent()))
+        .isTrue();
+    Session finalSession =
+        delayedSessionService
+            .getSession("test", "user", batchSession.id(), Optional.empty())
+            .blockingGet();
+    assertThat(finalSession.events().stream().map(Event::id).toList())
+        .containsAtLeastElementsIn(events.stream().map(Event::id).toList())
+        .inOrder();
+  }
+
+  /** With batched persistence, held events are written before an agent error reaches the caller. */
+  @Test
+  public void runAsync_batchEventPersistence_agentFails_writesHeldEventsBeforeError() {
+    ImmutableList<Event> agentEvents =
+        ImmutableList.of(
+            Event.builder().id("event-1").author("agent").content(createContent("one")).build(),
+            Event.builder().id("event-2").author("agent").content(createContent("two")).build());
+    BaseAgent failingAgent =
+        new TestBaseAgent(
+            "failing_agent",
+            "description",
+            () ->
+                Flowable.fromIterable(agentEvents)
+                    .concatWith(Flowable.error(new IllegalStateException("agent failed"))),
+            ImmutableList.of(),
+            null,
+            null);
+    AppendDelayingSessionService delayedSessionService =
+        new AppendDelayingSessionService(new InMemorySessionService(), 50);
+    Runner batchRunner =
+        Runner.builder()
+            .app(App.builder().name("test").rootAgent(failingAgent).build())
+            .sessionService(delayedSessionService)
+            .build();
+    Session batchSession = batchRunner.sessionService().createSession("test", "user").blockingGet();
+
+    batchRunner
+        .runAsync(
+            "user",
+            batchSession.id(),
+            createContent("start"),
+            RunConfig.builder().batchEventPersistence(true).build())
+        .test()
+        .awaitDone(10, SECONDS)
+        .assertError(IllegalStateException.class);
+
+    // Checked right away: the error must not have overtaken the write.
+    Session finalSession =
+        delayedSessionService
+            .getSession("test", "user", batchSession.id(), Optional.empty())
+            .blockingGet();
+    assertThat(finalSession.events().stream().map(Event::id).toList())
+        .containsAtLeast("event-1", "event-2")
+        .inOrder();
+  }
+
+  /**
+   * With batched persistence, an agent that never waits on the barrier still makes progress: the
+   * Runner flushes once it holds {@link EventBatchPersister#MAX_HELD_EVENTS} events rather than
+   * buffering the agent's output without bound.
+   */
+  @Test
+  public void runAsync_batchEventPersistence_manyEventsWithoutBarrier_flushesBoundedBatches() {
+    int eventCount = 3 * EventBatchPersister.MAX_HELD_EVENTS + 1;
+    BaseAgent chattyAgent =
+        new TestBaseAgent(
+            "chatty_agent",
+            "description",
+            () ->
+                Flowable.range(0, eventCount)
+                    .map(
+                        i ->
+                            Event.builder()
+                                .id("event-" + i)
+                                .author("agent")
+                                .content(createContent("message " + i))
+                                .build()),
+            ImmutableList.of(),
+            null,
+            null);
+    AppendDelayingSessionService countingSessionService =
+        new AppendDelayingSessionService(new InMemorySessionService(), 0);
+    Runner batchRunner =
+        Runner.builder()
+            .app(App.builder().name("test").rootAgent(chattyAgent).build())
+            .sessionService(countingSessionService)
+            .build();
+    Session batchSession = batchRunner.sessionService().createSession("test", "user").blockingGet();
+
+    batchRunner
+        .runAsync(
+            "user",
+            batchSession.id(),
+            createContent("start"),
+            RunConfig.builder().batchEventPersistence(true).build())
+        .test()
+        .awaitDone(10, SECONDS)
+        .assertNoErrors()
+        .assertValueCount(eventCount);
+
+    assertThat(countingSessionService.appendedBatchSizes.stream().mapToInt(Integer::intValue).sum())
+        .isEqualTo(eventCount);
+    assertThat(Collections.max(countingSessionService.appendedBatchSizes))
+        .isAtMost(EventBatchPersister.MAX_HELD_EVENTS);
+  }
+
   /**
    * When an LlmAgent transfers to a sub-LlmAgent, the sub-agent's events flow back up through the
    * parent's flow and must each be appended to the session exactly once.
@@ -973,6 +1121,7 @@ public final class RunnerTest {
   private static final class AppendDelayingSessionService implements BaseSessionService {
     private final BaseSessionService delegate;
     private final long appendDelayMs;
+    final List<Integer> appendedBatchSizes = Collections.synchronizedList(new ArrayList<>());
 
     AppendDelayingSessionService(BaseSessionService delegate, long appendDelayMs) {
       this.delegate = delegate;
@@ -1014,6 +1163,12 @@ public final class RunnerTest {
       return Single.timer(appendDelayMs, MILLISECONDS)
           .flatMap(unused -> delegate.appendEvent(session, event));
     }
+
+    @Override
+    public Single<List<Event>> appendEvents(Session session, List<Event> events) {
+      appendedBatchSizes.add(events.size());
+      return BaseSessionService.super.appendEvents(session, events);
+    }
   }
 
   /**
@@ -2503,6 +2658,21 @@ public final class RunnerTest {
     verify(plugin).close();
   }
 
+  @Test
+  public void close_flushesSessionServiceThroughWrappers() {
+    BaseSessionService wrapped = mock(BaseSessionService.class);
+    when(wrapped.flush()).thenReturn(Completable.complete());
+    Runner runner =
+        Runner.builder()
+            .app(App.builder().name("test").rootAgent(createTestAgent(testLlm)).build())
+            .sessionService(new WriteBehindSessionService(wrapped, Duration.ofMinutes(1)))
+            .build();
+
+    runner.close().blockingAwait();
+
+    verify(wrapped).flush();
+  }
+
   @Test
   public void runAsync_contextPropagation() {
     ContextKey<String> testKey = ContextKey.named("test-key");
@@ -268,6 +268,90 @@ public final class InMemorySessionServiceTest {
     assertThat(retrievedSession.state()).containsEntry("temp:agent2_output", "processed_data");
   }
 
+  @Test
+  public void getSession_numRecentEvents_returnsLatestEvents() {
+    InMemorySessionService sessionService = new InMemorySessionService();
+    Session session =
+        sessionService.createSession("app", "user", new HashMap<>(), "session1").blockingGet();
+    for (int i = 0; i < 300; i++) {
+      var unused =
+          sessionService
+              .appendEvent(session, Event.builder().id("e" + i).timestamp(1000 + i).build())
+              .blockingGet();
+    }
+
+    Session retrievedSession =
+        sessionService
+            .getSession(
+                "app",
+                "user",
+                "session1",
+                Optional.of(GetSessionConfig.builder().numRecentEvents(3).build()))
+            .blockingGet();
+
+    assertThat(retrievedSession.events().stream().map(Event::id))
+        .containsExactly("e297", "e298", "e299")
+        .inOrder();
+  }
+
+  @Test
+  public void getSession_afterTimestamp_returnsEventsAtOrAfterTimestamp() {
+    InMemorySessionService sessionService = new InMemorySessionService();
+    Session session =
+        sessionService.createSession("app", "user", new HashMap<>(), "session1").blockingGet();
+    long[] timestamps = {1000, 2000, 1500, 3000, 2500};
+    for (int i = 0; i < timestamps.length; i++) {
+      var unused =
+          sessionService
+              .appendEvent(session, Event.builder().id("e" + i).timestamp(timestamps[i]).build())
+              .blockingGet();
+    }
+
+    Session retrievedSession =
+        sessionService
+            .getSession(
+                "app",
+                "user",
+                "session1",
+                Optional.of(
+                    GetSessionConfig.builder()
+                        .afterTimestamp(Instant.ofEpochSecond(1, 999_500_000))
+                        .build()))
+            .blockingGet();
+
+    assertThat(retrievedSession.events().stream().map(Event::id))
+        .containsExactly("e1", "e3", "e4")
+        .inOrder();
+  }
+
+  @Test
+  public void getSession_modifyingReturnedEvents_doesNotChangeStoredSession() {
+    InMemorySessionService sessionService = new InMemorySessionService();
+    Session session =
+        sessionService.createSession("app", "user", new HashMap<>(), "session1").blockingGet();
+    var unused =
+        sessionService.appendEvent(session, Event.builder().id("e1").build()).blockingGet();
+    unused = sessionService.appendEvent(session, Event.builder().id("e2").build()).blockingGet();
+
+    Session retrievedSession =
+        sessionService.getSession("app", "user", "session1", Optional.empty()).blockingGet();
+    retrievedSession.events().remove(0);
+    retrievedSession.events().add(Event.builder().id("local").build());
+
+    assertThat(retrievedSession.events().stream().map(Event::id))
+        .containsExactly("e2", "local")
+        .inOrder();
+    assertThat(
+            sessionService
+                .getSession("app", "user", "session1", Optional.empty())
+                .blockingGet()
+                .events()
+                .stream()
+                .map(Event::id))
+        .containsExactly("e1", "e2")
+        .inOrder();
+  }
+
   @Test
   public void deleteSession_cleansUpEmptyParentMaps() throws Exception {
     InMemorySessionService sessionService = new InMemorySessionService();
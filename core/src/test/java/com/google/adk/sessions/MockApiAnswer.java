@@ -239,7 +239,7 @@ class MockApiAnswer implements Answer<ApiResponse> {
         mapper.readValue(eventData, new TypeReference<List<Map<String, Object>>>() {});
     List<Map<String, Object>> kept = new ArrayList<>();
     for (Map<String, Object> event : events) {
-      Instant timestamp = Instant.parse((String) event.get("timestamp"));
+      Instant timestamp = parseTimestamp(event.get("timestamp"));
       if (!timestamp.isBefore(threshold)) {
         kept.add(event);
       }
@@ -247,6 +247,16 @@ class MockApiAnswer implements Answer<ApiResponse> {
     return mapper.writeValueAsString(kept);
   }
 
+  /** Parses an event timestamp, stored as an ISO string or as appended ({seconds, nanos}). */
+  private static Instant parseTimestamp(Object timestamp) {
+    if (timestamp instanceof Map<?, ?> timestampMap) {
+      return Instant.ofEpochSecond(
+          ((Number) timestampMap.get("seconds")).longValue(),
+          ((Number) timestampMap.get("nanos")).longValue());
+    }
+    return Instant.parse((String) timestamp);
+  }
+
   private ApiResponse handleGetLro(String path) {
     return responseWithBody(
         String.format(
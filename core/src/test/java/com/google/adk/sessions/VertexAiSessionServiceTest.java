@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.genai.types.Content;
 import com.google.genai.types.Part;
 import io.reactivex.rxjava3.core.Single;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -490,6 +491,97 @@ public class VertexAiSessionServiceTest {
     assertThat(session.events().stream().map(Event::id)).containsExactly("e2", "e3").inOrder();
   }
 
+  @Test
+  public void getSession_withEventCache_listsOnlyEventsSinceLatestCachedEvent() {
+    VertexAiSessionService cachingService =
+        new VertexAiSessionService(
+            "test-project", "test-location", mockApiClient, 10, Duration.ofMinutes(5));
+    sessionMap.put("10", mockSessionJson("10", "2024-12-12T12:00:30.000000Z"));
+    eventMap.put(
+        "10",
+        mockEventsJson(
+            mockEventJson("e1", "2024-12-12T12:00:05.000000Z"),
+            mockEventJson("e2", "2024-12-12T12:00:10.000000Z")));
+
+    Object unused = cachingService.getSession("123", "user", "10", Optional.empty()).blockingGet();
+    eventMap.put(
+        "10",
+        mockEventsJson(
+            mockEventJson("e1", "2024-12-12T12:00:05.000000Z"),
+            mockEventJson("e2", "2024-12-12T12:00:10.000000Z"),
+            mockEventJson("e3", "2024-12-12T12:00:15.000000Z")));
+    Session session =
+        cachingService.getSession("123", "user", "10", Optional.empty()).blockingGet();
+
+    assertThat(session.events().stream().map(Event::id))
+        .containsExactly("e1", "e2", "e3")
+        .inOrder();
+    ArgumentCaptor<String> pathCaptor = ArgumentCaptor.forClass(String.class);
+    verify(mockApiClient, atLeastOnce()).request(eq("GET"), pathCaptor.capture(), eq(""));
+    ImmutableList<String> eventsPaths =
+        pathCaptor.getAllValues().stream()
+            .filter(path -> path.contains("/events"))
+            .collect(toImmutableList());
+    assertThat(eventsPaths).hasSize(2);
+    assertThat(eventsPaths.get(0)).doesNotContain("filter=");
+    // The second read only lists the events at or after e2, the latest cached one.
+    assertThat(eventsPaths.get(1))
+        .contains("filter=timestamp%3E%3D%222024-12-12T12%3A00%3A10Z%22");
+  }
+
+  @Test
+  public void appendEvent_withEventCache_isReadBackOnce() {
+    VertexAiSessionService cachingService =
+        new VertexAiSessionService(
+            "test-project", "test-location", mockApiClient, 10, Duration.ofMinutes(5));
+    sessionMap.put("11", mockSessionJson("11", "2024-12-12T12:00:30.000000Z"));
+    eventMap.put("11", mockEventsJson(mockEventJson("e1", "2024-12-12T12:00:05.000000Z")));
+    Session session =
+        cachingService.getSession("123", "user", "11", Optional.empty()).blockingGet();
+    Event event =
+        Event.builder()
+            .invocationId("456")
+            .author("user")
+            .timestamp(Instant.parse("2024-12-12T12:00:20Z").toEpochMilli())
+            .content(Content.fromParts(Part.fromText("appended")))
+            .build();
+
+    var unused = cachingService.appendEvent(session, event).blockingGet();
+    Session retrieved =
+        cachingService.getSession("123", "user", "11", Optional.empty()).blockingGet();
+
+    assertThat(retrieved.events()).hasSize(2);
+    assertThat(retrieved.events().get(0).id()).isEqualTo("e1");
+    assertThat(retrieved.events().get(1).content().get().text()).isEqualTo("appended");
+  }
+
+  @Test
+  public void getSession_withEventCache_appliesConfigLocally() {
+    VertexAiSessionService cachingService =
+        new VertexAiSessionService(
+            "test-project", "test-location", mockApiClient, 10, Duration.ofMinutes(5));
+    sessionMap.put("12", mockSessionJson("12", "2024-12-12T12:00:30.000000Z"));
+    eventMap.put(
+        "12",
+        mockEventsJson(
+            mockEventJson("e1", "2024-12-12T12:00:05.000000Z"),
+            mockEventJson("e2", "2024-12-12T12:00:10.000000Z"),
+            mockEventJson("e3", "2024-12-12T12:00:15.000000Z")));
+    GetSessionConfig afterTimestamp =
+        GetSessionConfig.builder()
+            .afterTimestamp(Instant.parse("2024-12-12T12:00:10.000000Z"))
+            .build();
+    GetSessionConfig numRecentEvents = GetSessionConfig.builder().numRecentEvents(1).build();
+
+    Session first =
+        cachingService.getSession("123", "user", "12", Optional.of(afterTimestamp)).blockingGet();
+    Session second =
+        cachingService.getSession("123", "user", "12", Optional.of(numRecentEvents)).blockingGet();
+
+    assertThat(first.events().stream().map(Event::id)).containsExactly("e2", "e3").inOrder();
+    assertThat(second.events().stream().map(Event::id)).containsExactly("e3");
+  }
+
   private static String mockSessionJson(String sessionId, String updateTime) {
     return String.format(
         """
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.sessions;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.adk.events.Event;
+import com.google.adk.events.EventActions;
+import com.google.common.collect.ImmutableMap;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link WriteBehindSessionService}. */
+@RunWith(JUnit4.class)
+public final class WriteBehindSessionServiceTest {
+
+  private FlakySessionService store;
+  private TestScheduler scheduler;
+  private WriteBehindSessionService sessionService;
+  private Session session;
+
+  @Before
+  public void setUp() {
+    store = new FlakySessionService(new InMemorySessionService());
+    scheduler = new TestScheduler();
+    sessionService =
+        new WriteBehindSessionService(
+            store, Duration.ofSeconds(1), /* maxPendingEvents= */ 3, scheduler);
+    session = sessionService.createSession("app", "user").blockingGet();
+  }
+
+  @After
+  public void tearDown() {
+    sessionService.close().blockingAwait();
+  }
+
+  private static Event event(String id) {
+    return Event.builder()
+        .id(id)
+        .author("user")
+        .timestamp(1L)
+        .actions(EventActions.builder().stateDelta(ImmutableMap.of("key", id)).build())
+        .build();
+  }
+
+  private Session storedSession() {
+    return store.getSession("app", "user", session.id(), Optional.empty()).blockingGet();
+  }
+
+  @Test
+  public void appendEvent_appliesToSessionImmediately_andWritesAfterMaxLag() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+
+    assertThat(session.events()).hasSize(1);
+    assertThat(session.state()).containsEntry("key", "e1");
+    assertThat(storedSession().events()).isEmpty();
+    assertThat(sessionService.pendingEventCount()).isEqualTo(1);
+
+    scheduler.advanceTimeBy(1, SECONDS);
+
+    assertThat(storedSession().events()).hasSize(1);
+    assertThat(storedSession().state()).containsEntry("key", "e1");
+    assertThat(session.events()).hasSize(1);
+    assertThat(sessionService.pendingEventCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void getSession_writesHeldEventsFirst() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+    unused = sessionService.appendEvent(session, event("e2")).blockingGet();
+
+    Session retrieved =
+        sessionService.getSession("app", "user", session.id(), Optional.empty()).blockingGet();
+
+    assertThat(retrieved.events().stream().map(Event::id).toList())
+        .containsExactly("e1", "e2")
+        .inOrder();
+    assertThat(retrieved.state()).containsEntry("key", "e2");
+  }
+
+  @Test
+  public void appendEvent_atMaxPendingEvents_writesWithoutWaitingForMaxLag() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+    unused = sessionService.appendEvent(session, event("e2")).blockingGet();
+    assertThat(storedSession().events()).isEmpty();
+
+    unused = sessionService.appendEvent(session, event("e3")).blockingGet();
+
+    assertThat(storedSession().events()).hasSize(3);
+  }
+
+  @Test
+  public void appendEvent_partialEvent_isNotHeld() {
+    Event partial = event("p1").toBuilder().partial(true).build();
+
+    var unused = sessionService.appendEvent(session, partial).blockingGet();
+    sessionService.flush().blockingAwait();
+
+    assertThat(session.events()).isEmpty();
+    assertThat(storedSession().events()).isEmpty();
+  }
+
+  @Test
+  public void deleteSession_dropsHeldEvents() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+
+    sessionService.deleteSession("app", "user", session.id()).blockingAwait();
+
+    assertThat(sessionService.pendingEventCount()).isEqualTo(0);
+    assertThat(storedSession()).isNull();
+  }
+
+  @Test
+  public void close_writesHeldEvents_andStopsPeriodicWrites() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+
+    sessionService.close().blockingAwait();
+    assertThat(storedSession().events()).hasSize(1);
+
+    unused = sessionService.appendEvent(session, event("e2")).blockingGet();
+    scheduler.advanceTimeBy(10, SECONDS);
+
+    assertThat(storedSession().events()).hasSize(1);
+    assertThat(sessionService.pendingEventCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void getSession_afterFailedWrite_failsAndKeepsEventsForRetry() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+    store.failAppends = true;
+
+    sessionService
+        .getSession("app", "user", session.id(), Optional.empty())
+        .test()
+        .assertError(IllegalStateException.class);
+    assertThat(sessionService.pendingEventCount()).isEqualTo(1);
+
+    store.failAppends = false;
+    unused = sessionService.appendEvent(session, event("e2")).blockingGet();
+    Session retrieved =
+        sessionService.getSession("app", "user", session.id(), Optional.empty()).blockingGet();
+
+    assertThat(retrieved.events().stream().map(Event::id).toList())
+        .containsExactly("e1", "e2")
+        .inOrder();
+    assertThat(sessionService.pendingEventCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void failedWrite_isRetriedAfterMaxLag() {
+    var unused = sessionService.appendEvent(session, event("e1")).blockingGet();
+    store.failAppends = true;
+    scheduler.advanceTimeBy(1, SECONDS);
+    assertThat(storedSession().events()).isEmpty();
+
+    store.failAppends = false;
+    scheduler.advanceTimeBy(1, SECONDS);
+
+    assertThat(storedSession().events().stream().map(Event::id).toList()).containsExactly("e1");
+    assertThat(sessionService.pendingEventCount()).isEqualTo(0);
+  }
+
+  /** Wraps a {@link BaseSessionService} and fails {@link #appendEvents} while asked to. */
+  private static final class FlakySessionService implements BaseSessionService {
+    private final BaseSessionService delegate;
+    volatile boolean failAppends = false;
+
+    FlakySessionService(BaseSessionService delegate) {
+      this.delegate = delegate;
+    }
+
+    // Wrapper must preserve the deprecated overload's signature.
+    @SuppressWarnings("deprecation")
+    @Override
+    public Single<Session> createSession(
+        String appName, String userId, ConcurrentMap<String, Object> state, String sessionId) {
+      return delegate.createSession(appName, userId, state, sessionId);
+    }
+
+    @Override
+    public Maybe<Session> getSession(
+        String appName, String userId, String sessionId, Optional<GetSessionConfig> config) {
+      return delegate.getSession(appName, userId, sessionId, config);
+    }
+
+    @Override
+    public Single<ListSessionsResponse> listSessions(String appName, String userId) {
+      return delegate.listSessions(appName, userId);
+    }
+
+    @Override
+    public Completable deleteSession(String appName, String userId, String sessionId) {
+      return delegate.deleteSession(appName, userId, sessionId);
+    }
+
+    @Override
+    public Single<ListEventsResponse> listEvents(String appName, String userId, String sessionId) {
+      return delegate.listEvents(appName, userId, sessionId);
+    }
+
+    @Override
+    public Single<Event> appendEvent(Session session, Event event) {
+      return delegate.appendEvent(session, event);
+    }
+
+    @Override
+    public Single<List<Event>> appendEvents(Session session, List<Event> events) {
+      if (failAppends) {
+        return Single.error(new IllegalStateException("store unavailable"));
+      }
+      return delegate.appendEvents(session, events);
+    }
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.google.adk.telemetry;
 
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.truth.Truth.assertThat;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -30,6 +31,7 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.testing.junit4.OpenTelemetryRule;
 import java.time.Duration;
@@ -195,6 +197,39 @@ public final class MetricsTest {
         .isEqualTo("my-tool");
   }
 
+  @Test
+  public void recordContextCacheRequest_countsByResult() {
+    Metrics.recordContextCacheRequest("gemini-2.5-flash", "hit");
+    Metrics.recordContextCacheRequest("gemini-2.5-flash", "hit");
+    Metrics.recordContextCacheRequest("gemini-2.5-flash", "miss");
+
+    MetricData metric = findMetricByName("gen_ai.context_cache.requests");
+    List<LongPointData> points = ImmutableList.copyOf(metric.getLongSumData().getPoints());
+    assertThat(points).hasSize(2);
+    AttributeKey<String> result = AttributeKey.stringKey("gen_ai.context_cache.result");
+    LongPointData hits =
+        points.stream()
+            .filter(point -> "hit".equals(point.getAttributes().get(result)))
+            .findFirst()
+            .orElseThrow();
+    assertThat(hits.getValue()).isEqualTo(2);
+    assertThat(hits.getAttributes().get(AttributeKey.stringKey("gen_ai.request.model")))
+        .isEqualTo("gemini-2.5-flash");
+  }
+
+  @Test
+  public void recordLlmAdmissionQueueDepthChange_tracksWaitingRequests() {
+    Metrics.recordLlmAdmissionQueueDepthChange("gemini-2.5-flash", "batch", 1);
+    Metrics.recordLlmAdmissionQueueDepthChange("gemini-2.5-flash", "batch", 1);
+    Metrics.recordLlmAdmissionQueueDepthChange("gemini-2.5-flash", "batch", -1);
+
+    MetricData metric = findMetricByName("gen_ai.client.admission.queue_depth");
+    LongPointData point = getOnlyElement(metric.getLongSumData().getPoints());
+    assertThat(point.getValue()).isEqualTo(1);
+    assertThat(point.getAttributes().get(AttributeKey.stringKey("gen_ai.request.priority")))
+        .isEqualTo("batch");
+  }
+
   private MetricData findMetricByName(String name) {
     return openTelemetryRule.getMetrics().stream()
         .filter(m -> m.getName().equals(name))
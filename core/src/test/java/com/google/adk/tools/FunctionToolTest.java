@@ -31,8 +31,10 @@ import com.google.common.collect.ImmutableMap;
 import com.google.genai.types.FunctionDeclaration;
 import com.google.genai.types.Schema;
 import com.google.protobuf.Timestamp;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -681,6 +683,30 @@ public final class FunctionToolTest {
     assertThat(result).containsExactly("status", "error", "message", "An internal error occurred.");
   }
 
+  @Test
+  public void callLive_throwsException_wrapsInInvocationTargetException() {
+    FunctionTool tool = FunctionTool.create(Functions.class, "throwExceptionFromStream");
+
+    InvocationTargetException e =
+        assertThrows(
+            InvocationTargetException.class,
+            () -> tool.callLive(ImmutableMap.of(), toolContext, /* invocationContext= */ null));
+
+    assertThat(e).hasCauseThat().isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void call_withOptionalListOfLongParam_widensElements() throws Exception {
+    FunctionTool tool = FunctionTool.create(Functions.class, "sumOptionalLongs");
+
+    Map<String, Object> present =
+        tool.runAsync(ImmutableMap.of("values", ImmutableList.of(1, 2, 3L)), null).blockingGet();
+    Map<String, Object> missing = tool.runAsync(ImmutableMap.of(), null).blockingGet();
+
+    assertThat(present).containsExactly("sum", 6L);
+    assertThat(missing).containsExactly("sum", 0L);
+  }
+
   @Test
   public void create_withPojoParamWithGettersAndSetters() {
     FunctionTool tool = FunctionTool.create(Functions.class, "pojoParamWithGettersAndSetters");
@@ -1048,6 +1074,19 @@ public final class FunctionToolTest {
 
     public static void voidReturnWithoutSchema() {}
 
+    public static Flowable<Map<String, Object>> throwExceptionFromStream() {
+      throw new IllegalStateException("test exception");
+    }
+
+    public static ImmutableMap<String, Object> sumOptionalLongs(
+        @Annotations.Schema(name = "values", optional = true) Optional<List<Long>> values) {
+      long sum = 0;
+      for (Long value : values.orElse(ImmutableList.of())) {
+        sum += value;
+      }
+      return ImmutableMap.of("sum", sum);
+    }
+
     public static ImmutableMap<String, Object> returnsMap() {
       return ImmutableMap.of("key", "value");
     }
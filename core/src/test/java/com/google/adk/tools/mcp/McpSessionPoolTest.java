@@ -0,0 +1,254 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.tools.mcp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.adk.JsonBaseModel;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.json.McpJsonDefaults;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.ErrorCodes;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCError;
+import io.modelcontextprotocol.spec.McpSchema.ListToolsResult;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(JUnit4.class)
+public class McpSessionPoolTest {
+  @Rule public final MockitoRule mocks = MockitoJUnit.rule();
+
+  @Mock private McpSessionManager mockSessionManager;
+  @Mock private McpSessionManager mockOtherSessionManager;
+  @Mock private McpSyncClient mockClient1;
+  @Mock private McpSyncClient mockClient2;
+
+  @Before
+  public void setUp() {
+    when(mockSessionManager.connectionParams()).thenReturn("server");
+    when(mockSessionManager.createSession()).thenReturn(mockClient1, mockClient2);
+  }
+
+  @Test
+  public void lease_opensNewSessionOnlyWhenOthersAreBusy() {
+    McpSessionPool pool = new McpSessionPool(2, 1, Duration.ofMinutes(1));
+
+    McpSessionPool.Lease lease1 = pool.lease(mockSessionManager);
+    McpSessionPool.Lease lease2 = pool.lease(mockSessionManager);
+    McpSessionPool.Lease lease3 = pool.lease(mockSessionManager);
+
+    assertThat(lease1.session()).isSameInstanceAs(mockClient1);
+    assertThat(lease2.session()).isSameInstanceAs(mockClient2);
+    // The pool is full, so the third call is multiplexed on a busy session.
+    assertThat(lease3.session()).isSameInstanceAs(mockClient1);
+    assertThat(pool.sessionCount(mockSessionManager)).isEqualTo(2);
+    verify(mockSessionManager, times(2)).createSession();
+  }
+
+  @Test
+  public void lease_afterClose_reusesSession() {
+    McpSessionPool pool = new McpSessionPool(2, 1, Duration.ofMinutes(1));
+
+    pool.lease(mockSessionManager).close();
+    McpSessionPool.Lease lease = pool.lease(mockSessionManager);
+
+    assertThat(lease.session()).isSameInstanceAs(mockClient1);
+    verify(mockSessionManager).createSession();
+  }
+
+  @Test
+  public void lease_sharesSessionsAcrossManagersWithEqualParameters() {
+    when(mockOtherSessionManager.connectionParams()).thenReturn("server");
+    McpSessionPool pool = new McpSessionPool();
+
+    pool.lease(mockSessionManager).close();
+    McpSessionPool.Lease lease = pool.lease(mockOtherSessionManager);
+
+    assertThat(lease.session()).isSameInstanceAs(mockClient1);
+    verify(mockOtherSessionManager, never()).createSession();
+  }
+
+  @Test
+  public void invalidate_closesSessionAndNextLeaseOpensNewOne() {
+    McpSessionPool pool = new McpSessionPool(2, 1, Duration.ofMinutes(1));
+
+    McpSessionPool.Lease lease = pool.lease(mockSessionManager);
+    lease.invalidate();
+    lease.close();
+
+    verify(mockClient1).close();
+    assertThat(pool.lease(mockSessionManager).session()).isSameInstanceAs(mockClient2);
+  }
+
+  @Test
+  public void lease_idleSessionFailingHealthCheck_isReplaced() {
+    when(mockClient1.ping()).thenThrow(new RuntimeException("connection lost"));
+    McpSessionPool pool = new McpSessionPool(2, 1, Duration.ZERO);
+
+    pool.lease(mockSessionManager).close();
+    McpSessionPool.Lease lease = pool.lease(mockSessionManager);
+
+    assertThat(lease.session()).isSameInstanceAs(mockClient2);
+    verify(mockClient1).close();
+    assertThat(pool.sessionCount(mockSessionManager)).isEqualTo(1);
+  }
+
+  @Test
+  public void close_closesIdleSessionsNowAndLeasedSessionsOnReturn() {
+    McpSessionPool pool = new McpSessionPool(2, 1, Duration.ofMinutes(1));
+    McpSessionPool.Lease lease1 = pool.lease(mockSessionManager);
+    pool.lease(mockSessionManager).close();
+
+    pool.close();
+
+    verify(mockClient2).close();
+    verify(mockClient1, never()).close();
+    lease1.close();
+    verify(mockClient1).close();
+    assertThrows(IllegalStateException.class, () -> pool.lease(mockSessionManager));
+  }
+
+  @Test
+  public void toolsetsWithPool_listToolsOnOneSharedSession() {
+    when(mockSessionManager.sessionPool()).thenReturn(Optional.of(pool()));
+    when(mockClient1.listTools()).thenReturn(new ListToolsResult(ImmutableList.of(), null));
+    McpToolset toolset1 = new McpToolset(mockSessionManager, JsonBaseModel.getMapper());
+    McpToolset toolset2 = new McpToolset(mockSessionManager, JsonBaseModel.getMapper());
+
+    var unused1 = toolset1.getTools(null).toList().blockingGet();
+    var unused2 = toolset2.getTools(null).toList().blockingGet();
+    toolset1.close();
+
+    verify(mockSessionManager, times(1)).createSession();
+    verify(mockClient1, times(2)).listTools();
+    verify(mockClient1, never()).close();
+  }
+
+  @Test
+  public void mcpToolWithPool_serverError_isNotRetried() {
+    when(mockSessionManager.sessionPool()).thenReturn(Optional.of(pool()));
+    when(mockClient1.callTool(any()))
+        .thenThrow(
+            new McpError(new JSONRPCError(ErrorCodes.INTERNAL_ERROR, "tool failed", null)));
+    McpTool tool =
+        new McpTool(
+            McpSchema.Tool.builder()
+                .name("tool")
+                .description("desc")
+                .inputSchema(McpJsonDefaults.getMapper(), "{}")
+                .build(),
+            mockClient1,
+            mockSessionManager);
+
+    tool.runAsync(ImmutableMap.of(), null).test().awaitDone(5, SECONDS).assertError(McpError.class);
+
+    verify(mockClient1, times(1)).callTool(any());
+  }
+
+  @Test
+  public void mcpToolWithPool_transportError_isRetriedOnNewSession() {
+    when(mockSessionManager.sessionPool()).thenReturn(Optional.of(pool()));
+    when(mockClient1.callTool(any())).thenThrow(new RuntimeException("connection reset"));
+    when(mockClient2.callTool(any()))
+        .thenReturn(CallToolResult.builder().content(ImmutableList.of()).isError(false).build());
+    McpTool tool =
+        new McpTool(
+            McpSchema.Tool.builder()
+                .name("tool")
+                .description("desc")
+                .inputSchema(McpJsonDefaults.getMapper(), "{}")
+                .build(),
+            mockClient1,
+            mockSessionManager);
+
+    tool.runAsync(ImmutableMap.of(), null).test().awaitDone(5, SECONDS).assertNoErrors();
+
+    verify(mockClient1).close();
+    verify(mockClient2).callTool(any());
+  }
+
+  @Test
+  public void toolsetsWithEqualStdioParameters_shareOneSession() {
+    assertToolsetsShareOneSession(
+        () ->
+            ServerParameters.builder("npx")
+                .args("-y", "@modelcontextprotocol/server-everything")
+                .env(ImmutableMap.of("DEBUG", "1"))
+                .build());
+  }
+
+  @Test
+  public void toolsetsWithEqualStreamableHttpParameters_shareOneSession() {
+    assertToolsetsShareOneSession(
+        () ->
+            StreamableHttpServerParameters.builder()
+                .url("http://localhost:8080/mcp")
+                .headers(ImmutableMap.of("Authorization", "Bearer token"))
+                .build());
+  }
+
+  /**
+   * Builds two pooled toolsets whose session managers get separately constructed but equal
+   * connection parameters from {@code connectionParams}, and asserts that they share one session.
+   */
+  private void assertToolsetsShareOneSession(Supplier<Object> connectionParams) {
+    McpSessionPool pool = pool();
+    Object params1 = connectionParams.get();
+    Object params2 = connectionParams.get();
+    assertThat(params1).isNotSameInstanceAs(params2);
+    when(mockSessionManager.connectionParams()).thenReturn(params1);
+    when(mockSessionManager.sessionPool()).thenReturn(Optional.of(pool));
+    when(mockOtherSessionManager.connectionParams()).thenReturn(params2);
+    when(mockOtherSessionManager.sessionPool()).thenReturn(Optional.of(pool));
+    when(mockClient1.listTools()).thenReturn(new ListToolsResult(ImmutableList.of(), null));
+    McpToolset toolset1 = new McpToolset(mockSessionManager, JsonBaseModel.getMapper());
+    McpToolset toolset2 = new McpToolset(mockOtherSessionManager, JsonBaseModel.getMapper());
+
+    var unused1 = toolset1.getTools(null).toList().blockingGet();
+    var unused2 = toolset2.getTools(null).toList().blockingGet();
+
+    verify(mockSessionManager, times(1)).createSession();
+    verify(mockOtherSessionManager, never()).createSession();
+    verify(mockClient1, times(2)).listTools();
+    assertThat(pool.sessionCount(mockOtherSessionManager)).isEqualTo(1);
+  }
+
+  private static McpSessionPool pool() {
+    return new McpSessionPool(2, 8, Duration.ofMinutes(1));
+  }
+}
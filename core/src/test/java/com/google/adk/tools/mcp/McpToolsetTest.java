@@ -19,6 +19,8 @@ package com.google.adk.tools.mcp;
 import static com.google.common.truth.Truth.assertThat;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,11 +36,13 @@ import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.json.McpJsonDefaults;
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.spec.McpSchema;
+import java.time.Duration;
 import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -369,4 +373,109 @@ public class McpToolsetTest {
     verify(mockMcpSessionManager, times(3)).createSession();
     verify(mockMcpSyncClient, times(3)).listTools();
   }
+
+  private static McpSchema.ListToolsResult listToolsResult(String... names) {
+    ImmutableList.Builder<McpSchema.Tool> tools = ImmutableList.builder();
+    for (String name : names) {
+      tools.add(
+          McpSchema.Tool.builder()
+              .name(name)
+              .description("desc")
+              .inputSchema(jsonMapper, "{}")
+              .build());
+    }
+    return new McpSchema.ListToolsResult(tools.build(), null);
+  }
+
+  @Test
+  public void getTools_calledTwice_listsToolsOnceAndReusesWrappers() {
+    when(mockMcpSessionManager.createSession()).thenReturn(mockMcpSyncClient);
+    when(mockMcpSyncClient.listTools()).thenReturn(listToolsResult("tool1", "tool2"));
+    McpToolset toolset = new McpToolset(mockMcpSessionManager, JsonBaseModel.getMapper());
+
+    List<BaseTool> first = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+    List<BaseTool> second = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+
+    assertThat(second).hasSize(2);
+    assertThat(second.get(0)).isSameInstanceAs(first.get(0));
+    assertThat(second.get(1)).isSameInstanceAs(first.get(1));
+    verify(mockMcpSessionManager).createSession();
+    verify(mockMcpSyncClient).listTools();
+  }
+
+  @Test
+  public void cachedToolCallFails_replacesSessionOnceForAllTools() {
+    McpSyncClient replacementClient = mock(McpSyncClient.class);
+    when(mockMcpSessionManager.createSession())
+        .thenReturn(mockMcpSyncClient)
+        .thenReturn(replacementClient);
+    when(mockMcpSyncClient.listTools()).thenReturn(listToolsResult("tool1", "tool2"));
+    when(mockMcpSyncClient.callTool(any())).thenThrow(new RuntimeException("connection reset"));
+    when(replacementClient.listTools()).thenReturn(listToolsResult("tool1", "tool2"));
+    when(replacementClient.callTool(any()))
+        .thenReturn(McpSchema.CallToolResult.builder().content(ImmutableList.of()).build());
+    McpToolset toolset = new McpToolset(mockMcpSessionManager, JsonBaseModel.getMapper());
+
+    List<BaseTool> firstStep = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+    var unused =
+        firstStep.get(0).runAsync(ImmutableMap.of(), null).timeout(5, SECONDS).blockingGet();
+    List<BaseTool> nextStep = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+
+    assertThat(nextStep).hasSize(2);
+    for (BaseTool tool : nextStep) {
+      assertThat(((McpTool) tool).getMcpSession()).isSameInstanceAs(replacementClient);
+    }
+    verify(mockMcpSessionManager, times(2)).createSession();
+    verify(mockMcpSyncClient).close();
+    verify(replacementClient).listTools();
+  }
+
+  @Test
+  public void getTools_afterToolsListChanged_listsToolsAgain() {
+    when(mockMcpSessionManager.createSession()).thenReturn(mockMcpSyncClient);
+    when(mockMcpSyncClient.listTools())
+        .thenReturn(listToolsResult("tool1"))
+        .thenReturn(listToolsResult("tool1", "tool2"));
+    McpToolset toolset = new McpToolset(mockMcpSessionManager, JsonBaseModel.getMapper());
+    var unused = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+    ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockMcpSessionManager).addToolsChangeListener(listener.capture());
+
+    listener.getValue().run();
+    List<BaseTool> tools = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+
+    assertThat(tools.stream().map(BaseTool::name).collect(ImmutableList.toImmutableList()))
+        .containsExactly("tool1", "tool2")
+        .inOrder();
+    verify(mockMcpSessionManager).createSession();
+    verify(mockMcpSyncClient, times(2)).listTools();
+  }
+
+  @Test
+  public void getTools_withZeroTtl_listsToolsEveryTime() {
+    when(mockMcpSessionManager.createSession()).thenReturn(mockMcpSyncClient);
+    when(mockMcpSyncClient.listTools()).thenReturn(listToolsResult("tool1"));
+    McpToolset toolset = new McpToolset(mockMcpSessionManager, JsonBaseModel.getMapper());
+    toolset.setToolsCacheTtl(Duration.ZERO);
+
+    var unused = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+    unused = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+
+    verify(mockMcpSyncClient, times(2)).listTools();
+  }
+
+  @Test
+  public void close_unregistersListenerAndDropsCachedTools() {
+    when(mockMcpSessionManager.createSession()).thenReturn(mockMcpSyncClient);
+    when(mockMcpSyncClient.listTools()).thenReturn(listToolsResult("tool1"));
+    McpToolset toolset = new McpToolset(mockMcpSessionManager, JsonBaseModel.getMapper());
+    var unused = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+
+    toolset.close();
+    unused = toolset.getTools(mockReadonlyContext).toList().blockingGet();
+
+    verify(mockMcpSessionManager).removeToolsChangeListener(any());
+    verify(mockMcpSessionManager, times(2)).createSession();
+    verify(mockMcpSyncClient, times(2)).listTools();
+  }
 }
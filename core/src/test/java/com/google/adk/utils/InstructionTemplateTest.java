@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.utils;
+
+import static com.google.adk.testing.TestUtils.createRootAgent;
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.artifacts.InMemoryArtifactService;
+import com.google.adk.memory.InMemoryMemoryService;
+import com.google.adk.sessions.InMemorySessionService;
+import com.google.adk.sessions.Session;
+import com.google.genai.types.Part;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class InstructionTemplateTest {
+
+  private InvocationContext context;
+
+  @Before
+  public void setUp() {
+    InMemorySessionService sessionService = new InMemorySessionService();
+    context =
+        InvocationContext.builder()
+            .sessionService(sessionService)
+            .artifactService(new InMemoryArtifactService())
+            .memoryService(new InMemoryMemoryService())
+            .invocationId("invocationId")
+            .agent(createRootAgent())
+            .session(sessionService.createSession("test-app", "test-user").blockingGet())
+            .build();
+  }
+
+  @Test
+  public void compileStatic_sameInstruction_returnsCachedInstance() {
+    String instruction = "Hello {name}, today is {app:day?}.";
+
+    assertThat(InstructionTemplate.compileStatic(instruction))
+        .isSameInstanceAs(InstructionTemplate.compileStatic(new String(instruction)));
+  }
+
+  @Test
+  public void compile_generatedTemplate_isNotCached() {
+    String template = "Hello {name}, it is " + System.nanoTime() + ".";
+
+    assertThat(InstructionTemplate.compile(template))
+        .isNotSameInstanceAs(InstructionTemplate.compile(template));
+  }
+
+  @Test
+  public void render_reflectsCurrentStateOnEachCall() {
+    InstructionTemplate template = InstructionTemplate.compile("Hello {name}!");
+
+    context.session().state().put("name", "Alice");
+    String first = template.render(context).blockingGet();
+    context.session().state().put("name", "Bob");
+    String second = template.render(context).blockingGet();
+
+    assertThat(first).isEqualTo("Hello Alice!");
+    assertThat(second).isEqualTo("Hello Bob!");
+  }
+
+  @Test
+  public void render_onlyInvalidPlaceholders_returnsTemplateItself() {
+    String source = "Return JSON like {\"key\": 1} or { not a name }.";
+    InstructionTemplate template = InstructionTemplate.compile(source);
+
+    assertThat(template.hasArtifactPlaceholders()).isFalse();
+    assertThat(template.render(context).blockingGet()).isSameInstanceAs(source);
+  }
+
+  @Test
+  public void render_artifactsBetweenStateVariables_keepsOrder() {
+    Session session = context.session();
+    session.state().put("user:name", "Carol");
+    var unused =
+        context
+            .artifactService()
+            .saveArtifact(
+                session.appName(), session.userId(), session.id(), "a.txt", Part.fromText("A"))
+            .blockingGet();
+    InstructionTemplate template =
+        InstructionTemplate.compile(
+            "{user:name}: {artifact.a.txt} then {artifact.b.txt?} for {user:name}.");
+
+    String result = template.render(context).blockingGet();
+
+    assertThat(template.hasArtifactPlaceholders()).isTrue();
+    assertThat(result).isEqualTo("Carol: {\"text\":\"A\"} then  for Carol.");
+  }
+}
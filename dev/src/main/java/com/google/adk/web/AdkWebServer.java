@@ -25,6 +25,7 @@ import com.google.adk.memory.BaseMemoryService;
 import com.google.adk.memory.InMemoryMemoryService;
 import com.google.adk.sessions.BaseSessionService;
 import com.google.adk.sessions.InMemorySessionService;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -37,6 +38,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -51,6 +53,9 @@ public class AdkWebServer implements WebMvcConfigurer {
   @Value("${adk.web.ui.dir:#{null}}")
   private String webUiDir;
 
+  @Value("${spring.mvc.async.request-timeout:1h}")
+  private Duration asyncRequestTimeout;
+
   @Bean
   public BaseSessionService sessionService() {
     // TODO: Add logic to select service based on config (e.g., DB URL)
@@ -108,6 +113,16 @@ public class AdkWebServer implements WebMvcConfigurer {
     return new MappingJackson2HttpMessageConverter(objectMapper);
   }
 
+  /**
+   * Sets the timeout of asynchronous requests, such as session lookups and agent runs, which
+   * otherwise default to the servlet container's (30 seconds on Tomcat) and would cut long agent
+   * runs short. Matches the timeout of the {@code /run_sse} emitter.
+   */
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+  }
+
   /**
    * Configures resource handlers for serving static content (like the Dev UI). Maps requests
    * starting with "/dev-ui/" to the directory specified by the 'adk.web.ui.dir' system property.
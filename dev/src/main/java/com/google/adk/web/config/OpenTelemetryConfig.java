@@ -25,6 +25,7 @@ import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,8 +40,14 @@ public class OpenTelemetryConfig {
 
   @Bean
   public ApiServerSpanExporterConfig apiServerSpanExporterConfig(
-      @Value("${adk.debug.trace.max-spans:#{null}}") Optional<Integer> maxSpansToKeep) {
-    return ApiServerSpanExporterConfig.builder().maxSpansToKeep(maxSpansToKeep).build();
+      @Value("${adk.debug.trace.max-spans:10000}") Optional<Integer> maxSpansToKeep,
+      @Value("${adk.debug.trace.max-age:#{null}}") Optional<Duration> maxSpanAge,
+      @Value("${adk.debug.trace.max-bytes:#{null}}") Optional<Long> maxRetainedBytes) {
+    return ApiServerSpanExporterConfig.builder()
+        .maxSpansToKeep(maxSpansToKeep)
+        .maxSpanAge(maxSpanAge)
+        .maxRetainedBytes(maxRetainedBytes)
+        .build();
   }
 
   @Bean
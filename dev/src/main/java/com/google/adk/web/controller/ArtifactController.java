@@ -16,14 +16,15 @@
 
 package com.google.adk.web.controller;
 
+import static com.google.adk.web.controller.RxFutures.toFuture;
+
 import com.google.adk.artifacts.BaseArtifactService;
-import com.google.adk.artifacts.ListArtifactsResponse;
-import com.google.common.collect.ImmutableList;
 import com.google.genai.types.Part;
-import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,7 +62,7 @@ public class ArtifactController {
    * @throws ResponseStatusException if the artifact is not found (NOT_FOUND).
    */
   @GetMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}/artifacts/{artifactName}")
-  public Part loadArtifact(
+  public CompletableFuture<Part> loadArtifact(
       @PathVariable String appName,
       @PathVariable String userId,
       @PathVariable String sessionId,
@@ -76,23 +77,27 @@ public class ArtifactController {
         artifactName,
         versionStr);
 
-    Maybe<Part> artifactMaybe =
-        artifactService.loadArtifact(appName, userId, sessionId, artifactName, version);
-
-    Part artifact = artifactMaybe.blockingGet();
-
-    if (artifact == null) {
-      log.warn(
-          "Artifact not found: app={}, user={}, session={}, artifact={}, version={}",
-          appName,
-          userId,
-          sessionId,
-          artifactName,
-          versionStr);
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Artifact not found");
-    }
-    log.debug("Artifact {} version {} loaded successfully.", artifactName, versionStr);
-    return artifact;
+    return toFuture(
+        artifactService
+            .loadArtifact(appName, userId, sessionId, artifactName, version)
+            .doOnSuccess(
+                artifact ->
+                    log.debug(
+                        "Artifact {} version {} loaded successfully.", artifactName, versionStr))
+            .switchIfEmpty(
+                Single.error(
+                    () -> {
+                      log.warn(
+                          "Artifact not found: app={}, user={}, session={}, artifact={},"
+                              + " version={}",
+                          appName,
+                          userId,
+                          sessionId,
+                          artifactName,
+                          versionStr);
+                      return new ResponseStatusException(
+                          HttpStatus.NOT_FOUND, "Artifact not found");
+                    })));
   }
 
   /**
@@ -108,7 +113,7 @@ public class ArtifactController {
    */
   @GetMapping(
       "/apps/{appName}/users/{userId}/sessions/{sessionId}/artifacts/{artifactName}/versions/{versionId}")
-  public Part loadArtifactVersion(
+  public CompletableFuture<Part> loadArtifactVersion(
       @PathVariable String appName,
       @PathVariable String userId,
       @PathVariable String sessionId,
@@ -123,23 +128,27 @@ public class ArtifactController {
         artifactName,
         versionId);
 
-    Maybe<Part> artifactMaybe =
-        artifactService.loadArtifact(appName, userId, sessionId, artifactName, versionId);
-
-    Part artifact = artifactMaybe.blockingGet();
-
-    if (artifact == null) {
-      log.warn(
-          "Artifact version not found: app={}, user={}, session={}, artifact={}, version={}",
-          appName,
-          userId,
-          sessionId,
-          artifactName,
-          versionId);
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Artifact version not found");
-    }
-    log.debug("Artifact {} version {} loaded successfully.", artifactName, versionId);
-    return artifact;
+    return toFuture(
+        artifactService
+            .loadArtifact(appName, userId, sessionId, artifactName, versionId)
+            .doOnSuccess(
+                artifact ->
+                    log.debug(
+                        "Artifact {} version {} loaded successfully.", artifactName, versionId))
+            .switchIfEmpty(
+                Single.error(
+                    () -> {
+                      log.warn(
+                          "Artifact version not found: app={}, user={}, session={}, artifact={},"
+                              + " version={}",
+                          appName,
+                          userId,
+                          sessionId,
+                          artifactName,
+                          versionId);
+                      return new ResponseStatusException(
+                          HttpStatus.NOT_FOUND, "Artifact version not found");
+                    })));
   }
 
   /**
@@ -151,7 +160,7 @@ public class ArtifactController {
    * @return A list of artifact names.
    */
   @GetMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}/artifacts")
-  public List<String> listArtifactNames(
+  public CompletableFuture<List<String>> listArtifactNames(
       @PathVariable String appName, @PathVariable String userId, @PathVariable String sessionId) {
     log.info(
         "Request received to list artifact names for app={}, user={}, session={}",
@@ -159,16 +168,18 @@ public class ArtifactController {
         userId,
         sessionId);
 
-    Single<ListArtifactsResponse> responseSingle =
-        artifactService.listArtifactKeys(appName, userId, sessionId);
-
-    ListArtifactsResponse response = responseSingle.blockingGet();
-    List<String> filenames =
-        (response != null && response.filenames() != null)
-            ? response.filenames()
-            : Collections.emptyList();
-    log.info("Found {} artifact names for session {}", filenames.size(), sessionId);
-    return filenames;
+    return toFuture(
+        artifactService
+            .listArtifactKeys(appName, userId, sessionId)
+            .map(
+                response -> {
+                  List<String> filenames =
+                      response.filenames() != null
+                          ? response.filenames()
+                          : Collections.<String>emptyList();
+                  log.info("Found {} artifact names for session {}", filenames.size(), sessionId);
+                  return filenames;
+                }));
   }
 
   /**
@@ -182,7 +193,7 @@ public class ArtifactController {
    */
   @GetMapping(
       "/apps/{appName}/users/{userId}/sessions/{sessionId}/artifacts/{artifactName}/versions")
-  public List<Integer> listArtifactVersions(
+  public CompletableFuture<List<Integer>> listArtifactVersions(
       @PathVariable String appName,
       @PathVariable String userId,
       @PathVariable String sessionId,
@@ -195,12 +206,14 @@ public class ArtifactController {
         sessionId,
         artifactName);
 
-    Single<ImmutableList<Integer>> versionsSingle =
-        artifactService.listVersions(appName, userId, sessionId, artifactName);
-    ImmutableList<Integer> versions = versionsSingle.blockingGet();
-    log.info(
-        "Found {} versions for artifact {}", versions != null ? versions.size() : 0, artifactName);
-    return versions != null ? versions : Collections.emptyList();
+    return toFuture(
+        artifactService
+            .listVersions(appName, userId, sessionId, artifactName)
+            .<List<Integer>>map(
+                versions -> {
+                  log.info("Found {} versions for artifact {}", versions.size(), artifactName);
+                  return versions;
+                }));
   }
 
   /**
@@ -214,7 +227,7 @@ public class ArtifactController {
    * @throws ResponseStatusException if deletion fails (INTERNAL_SERVER_ERROR).
    */
   @DeleteMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}/artifacts/{artifactName}")
-  public ResponseEntity<Void> deleteArtifact(
+  public CompletableFuture<ResponseEntity<Void>> deleteArtifact(
       @PathVariable String appName,
       @PathVariable String userId,
       @PathVariable String sessionId,
@@ -226,16 +239,20 @@ public class ArtifactController {
         sessionId,
         artifactName);
 
-    try {
-
-      artifactService.deleteArtifact(appName, userId, sessionId, artifactName);
-      log.info("Artifact deleted successfully: {}", artifactName);
-      return ResponseEntity.noContent().build();
-    } catch (Exception e) {
-      log.error("Error deleting artifact {}", artifactName, e);
-
-      throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting artifact", e);
-    }
+    return toFuture(
+        Completable.defer(
+                () -> artifactService.deleteArtifact(appName, userId, sessionId, artifactName))
+            .<ResponseEntity<Void>>toSingle(
+                () -> {
+                  log.info("Artifact deleted successfully: {}", artifactName);
+                  return ResponseEntity.noContent().build();
+                })
+            .onErrorResumeNext(
+                e -> {
+                  log.error("Error deleting artifact {}", artifactName, e);
+                  return Single.error(
+                      new ResponseStatusException(
+                          HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting artifact", e));
+                }));
   }
 }
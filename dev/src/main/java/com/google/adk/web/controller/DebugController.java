@@ -22,10 +22,8 @@ import io.opentelemetry.sdk.trace.data.SpanData;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -78,48 +76,34 @@ public class DebugController {
   public ResponseEntity<Object> getSessionTrace(@PathVariable String sessionId) {
     log.info("Request received for GET /debug/trace/session/{}", sessionId);
 
-    List<String> traceIdsForSession =
-        this.apiServerSpanExporter.getSessionToTraceIdsMap().get(sessionId);
+    List<SpanData> sessionSpans = this.apiServerSpanExporter.getSpansForSession(sessionId);
 
-    if (traceIdsForSession == null || traceIdsForSession.isEmpty()) {
-      log.warn("No trace IDs found for session ID: {}", sessionId);
+    if (sessionSpans.isEmpty()) {
+      log.warn("No spans found for session ID: {}", sessionId);
       return ResponseEntity.ok(Collections.emptyList());
     }
 
-    // Iterate over a snapshot of all spans to avoid concurrent modification issues
-    // if the exporter is actively adding spans.
-    List<SpanData> allSpansSnapshot =
-        new ArrayList<>(this.apiServerSpanExporter.getAllExportedSpans());
-
-    if (allSpansSnapshot.isEmpty()) {
-      log.warn("No spans have been exported yet overall.");
-      return ResponseEntity.ok(Collections.emptyList());
-    }
-
-    Set<String> relevantTraceIds = new HashSet<>(traceIdsForSession);
     List<Map<String, Object>> resultSpans = new ArrayList<>();
 
-    for (SpanData span : allSpansSnapshot) {
-      if (relevantTraceIds.contains(span.getSpanContext().getTraceId())) {
-        Map<String, Object> spanMap = new HashMap<>();
-        spanMap.put("name", span.getName());
-        spanMap.put("span_id", span.getSpanContext().getSpanId());
-        spanMap.put("trace_id", span.getSpanContext().getTraceId());
-        spanMap.put("start_time", span.getStartEpochNanos());
-        spanMap.put("end_time", span.getEndEpochNanos());
-
-        Map<String, Object> attributesMap = new HashMap<>();
-        span.getAttributes().forEach((key, value) -> attributesMap.put(key.getKey(), value));
-        spanMap.put("attributes", attributesMap);
-
-        String parentSpanId = span.getParentSpanId();
-        if (SpanId.isValid(parentSpanId)) {
-          spanMap.put("parent_span_id", parentSpanId);
-        } else {
-          spanMap.put("parent_span_id", null);
-        }
-        resultSpans.add(spanMap);
+    for (SpanData span : sessionSpans) {
+      Map<String, Object> spanMap = new HashMap<>();
+      spanMap.put("name", span.getName());
+      spanMap.put("span_id", span.getSpanContext().getSpanId());
+      spanMap.put("trace_id", span.getSpanContext().getTraceId());
+      spanMap.put("start_time", span.getStartEpochNanos());
+      spanMap.put("end_time", span.getEndEpochNanos());
+
+      Map<String, Object> attributesMap = new HashMap<>();
+      span.getAttributes().forEach((key, value) -> attributesMap.put(key.getKey(), value));
+      spanMap.put("attributes", attributesMap);
+
+      String parentSpanId = span.getParentSpanId();
+      if (SpanId.isValid(parentSpanId)) {
+        spanMap.put("parent_span_id", parentSpanId);
+      } else {
+        spanMap.put("parent_span_id", null);
       }
+      resultSpans.add(spanMap);
     }
 
     log.info("Returning {} spans for session ID: {}", resultSpans.size(), sessionId);
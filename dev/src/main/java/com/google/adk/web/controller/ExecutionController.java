@@ -16,18 +16,21 @@
 
 package com.google.adk.web.controller;
 
+import static com.google.adk.web.controller.RxFutures.toFuture;
+
 import com.google.adk.agents.RunConfig;
 import com.google.adk.agents.RunConfig.StreamingMode;
 import com.google.adk.events.Event;
 import com.google.adk.runner.Runner;
 import com.google.adk.web.dto.AgentRunRequest;
 import com.google.adk.web.service.RunnerService;
-import com.google.common.collect.Lists;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.slf4j.Logger;
@@ -56,14 +59,16 @@ public class ExecutionController {
   }
 
   /**
-   * Executes a non-streaming agent run for a given session and message.
+   * Executes a non-streaming agent run for a given session and message. The request is served
+   * asynchronously: no servlet thread is held while the agent runs, and the response is written
+   * once the run completes. Use {@code /run_sse} to receive the events as they are produced.
    *
    * @param request The AgentRunRequest containing run details.
-   * @return A list of events generated during the run.
+   * @return A future of the list of events generated during the run.
    * @throws ResponseStatusException if the session is not found or the run fails.
    */
   @PostMapping("/run")
-  public List<Event> agentRun(@RequestBody AgentRunRequest request) {
+  public CompletableFuture<List<Event>> agentRun(@RequestBody AgentRunRequest request) {
     if (request.appName == null || request.appName.trim().isEmpty()) {
       log.warn("appName cannot be null or empty in POST /run request.");
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "appName cannot be null or empty");
@@ -76,24 +81,30 @@ public class ExecutionController {
     log.info("Request received for POST /run for session: {}", request.sessionId);
 
     Runner runner = this.runnerService.getRunner(request.appName);
-    try {
-
-      RunConfig runConfig = RunConfig.builder().setStreamingMode(StreamingMode.NONE).build();
-      Flowable<Event> eventStream =
-          runner.runAsync(
-              request.userId,
-              request.sessionId,
-              request.getNewMessage(),
-              runConfig,
-              request.stateDelta);
-
-      List<Event> events = Lists.newArrayList(eventStream.blockingIterable());
-      log.info("Agent run for session {} generated {} events.", request.sessionId, events.size());
-      return events;
-    } catch (Exception e) {
-      log.error("Error during agent run for session {}", request.sessionId, e);
-      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Agent run failed", e);
-    }
+    RunConfig runConfig = RunConfig.builder().setStreamingMode(StreamingMode.NONE).build();
+    return toFuture(
+        Flowable.defer(
+                () ->
+                    runner.runAsync(
+                        request.userId,
+                        request.sessionId,
+                        request.getNewMessage(),
+                        runConfig,
+                        request.stateDelta))
+            .toList()
+            .doOnSuccess(
+                events ->
+                    log.info(
+                        "Agent run for session {} generated {} events.",
+                        request.sessionId,
+                        events.size()))
+            .onErrorResumeNext(
+                e -> {
+                  log.error("Error during agent run for session {}", request.sessionId, e);
+                  return Single.error(
+                      new ResponseStatusException(
+                          HttpStatus.INTERNAL_SERVER_ERROR, "Agent run failed", e));
+                }));
   }
 
   /**
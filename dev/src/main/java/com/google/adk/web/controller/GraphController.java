@@ -16,6 +16,8 @@
 
 package com.google.adk.web.controller;
 
+import static com.google.adk.web.controller.RxFutures.toFuture;
+
 import com.google.adk.agents.BaseAgent;
 import com.google.adk.events.Event;
 import com.google.adk.sessions.BaseSessionService;
@@ -26,11 +28,12 @@ import com.google.adk.web.dto.GraphResponse;
 import com.google.common.collect.ImmutableList;
 import com.google.genai.types.FunctionCall;
 import com.google.genai.types.FunctionResponse;
-import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -57,47 +60,52 @@ public class GraphController {
   }
 
   /**
-   * Finds a session by its identifiers or throws a ResponseStatusException if not found or if
+   * Finds a session by its identifiers, failing with a ResponseStatusException if not found or if
    * there's an app/user mismatch.
    *
    * @param appName The application name.
    * @param userId The user ID.
    * @param sessionId The session ID.
-   * @return The found Session object.
-   * @throws ResponseStatusException with HttpStatus.NOT_FOUND if the session doesn't exist or
-   *     belongs to a different app/user.
+   * @return A Single emitting the found Session object.
+   * @throws ResponseStatusException (as the Single's error) with HttpStatus.NOT_FOUND if the
+   *     session doesn't exist or belongs to a different app/user.
    */
-  private Session findSessionOrThrow(String appName, String userId, String sessionId) {
-    Maybe<Session> maybeSession =
-        sessionService.getSession(appName, userId, sessionId, Optional.empty());
-
-    Session session = maybeSession.blockingGet();
-
-    if (session == null) {
-      log.warn(
-          "Session not found for appName={}, userId={}, sessionId={}", appName, userId, sessionId);
-      throw new ResponseStatusException(
-          HttpStatus.NOT_FOUND,
-          String.format(
-              "Session not found: appName=%s, userId=%s, sessionId=%s",
-              appName, userId, sessionId));
-    }
-
-    if (!Objects.equals(session.appName(), appName) || !Objects.equals(session.userId(), userId)) {
-      log.warn(
-          "Session ID {} found but appName/userId mismatch (Expected: {}/{}, Found: {}/{}) -"
-              + " Treating as not found.",
-          sessionId,
-          appName,
-          userId,
-          session.appName(),
-          session.userId());
-
-      throw new ResponseStatusException(
-          HttpStatus.NOT_FOUND, "Session found but belongs to a different app/user.");
-    }
-    log.debug("Found session: {}", sessionId);
-    return session;
+  private Single<Session> findSession(String appName, String userId, String sessionId) {
+    return sessionService
+        .getSession(appName, userId, sessionId, Optional.empty())
+        .switchIfEmpty(
+            Single.error(
+                () -> {
+                  log.warn(
+                      "Session not found for appName={}, userId={}, sessionId={}",
+                      appName,
+                      userId,
+                      sessionId);
+                  return new ResponseStatusException(
+                      HttpStatus.NOT_FOUND,
+                      String.format(
+                          "Session not found: appName=%s, userId=%s, sessionId=%s",
+                          appName, userId, sessionId));
+                }))
+        .map(
+            session -> {
+              if (!Objects.equals(session.appName(), appName)
+                  || !Objects.equals(session.userId(), userId)) {
+                log.warn(
+                    "Session ID {} found but appName/userId mismatch (Expected: {}/{}, Found:"
+                        + " {}/{}) - Treating as not found.",
+                    sessionId,
+                    appName,
+                    userId,
+                    session.appName(),
+                    session.userId());
+
+                throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Session found but belongs to a different app/user.");
+              }
+              log.debug("Found session: {}", sessionId);
+              return session;
+            });
   }
 
   /**
@@ -112,7 +120,7 @@ public class GraphController {
    * @throws ResponseStatusException if the session or event is not found.
    */
   @GetMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}/events/{eventId}/graph")
-  public ResponseEntity<GraphResponse> getEventGraph(
+  public CompletableFuture<ResponseEntity<GraphResponse>> getEventGraph(
       @PathVariable String appName,
       @PathVariable String userId,
       @PathVariable String sessionId,
@@ -129,15 +137,24 @@ public class GraphController {
       currentAppAgent = agentProvider.loadAgent(appName);
     } catch (java.util.NoSuchElementException e) {
       log.warn("Agent app '{}' not found for graph generation.", appName);
-      return ResponseEntity.status(HttpStatus.NOT_FOUND)
-          .body(new GraphResponse("Agent app not found: " + appName));
+      return CompletableFuture.completedFuture(
+          ResponseEntity.status(HttpStatus.NOT_FOUND)
+              .body(new GraphResponse("Agent app not found: " + appName)));
     } catch (IllegalStateException e) {
       log.warn("Agent app '{}' failed to load for graph generation: {}", appName, e.getMessage());
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body(new GraphResponse("Agent app failed to load: " + appName));
+      return CompletableFuture.completedFuture(
+          ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+              .body(new GraphResponse("Agent app failed to load: " + appName)));
     }
 
-    Session session = findSessionOrThrow(appName, userId, sessionId);
+    return toFuture(
+        findSession(appName, userId, sessionId)
+            .map(session -> buildEventGraph(currentAppAgent, session, eventId)));
+  }
+
+  private ResponseEntity<GraphResponse> buildEventGraph(
+      BaseAgent currentAppAgent, Session session, String eventId) {
+    String sessionId = session.id();
     Event event =
         session.events().stream()
             .filter(e -> Objects.equals(e.id(), eventId))
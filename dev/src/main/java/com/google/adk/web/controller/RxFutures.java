@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.web.controller;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bridges RxJava results to the {@link CompletableFuture}s that Spring MVC serves asynchronously,
+ * so that a request does not hold a servlet thread while the session, artifact or agent work is
+ * pending. Errors such as {@link org.springframework.web.server.ResponseStatusException} are
+ * handled by Spring exactly as if the controller had thrown them.
+ */
+final class RxFutures {
+
+  /**
+   * Subscribes to {@code single} and returns a future of its result. Completing or cancelling the
+   * future (e.g. when the async request times out) disposes the subscription.
+   */
+  static <T> CompletableFuture<T> toFuture(Single<T> single) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Disposable disposable = single.subscribe(future::complete, future::completeExceptionally);
+    future.whenComplete((result, error) -> disposable.dispose());
+    return future;
+  }
+
+  private RxFutures() {}
+}
@@ -16,19 +16,20 @@
 
 package com.google.adk.web.controller;
 
+import static com.google.adk.web.controller.RxFutures.toFuture;
 import static java.util.stream.Collectors.toList;
 
 import com.google.adk.sessions.BaseSessionService;
-import com.google.adk.sessions.ListSessionsResponse;
 import com.google.adk.sessions.Session;
 import com.google.adk.web.dto.SessionRequest;
-import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,47 +61,75 @@ public class SessionController {
   }
 
   /**
-   * Finds a session by its identifiers or throws a ResponseStatusException if not found or if
+   * Finds a session by its identifiers, failing with a ResponseStatusException if not found or if
    * there's an app/user mismatch.
    *
    * @param appName The application name.
    * @param userId The user ID.
    * @param sessionId The session ID.
-   * @return The found Session object.
-   * @throws ResponseStatusException with HttpStatus.NOT_FOUND if the session doesn't exist or
-   *     belongs to a different app/user.
+   * @return A Single emitting the found Session object.
+   * @throws ResponseStatusException (as the Single's error) with HttpStatus.NOT_FOUND if the
+   *     session doesn't exist or belongs to a different app/user.
    */
-  private Session findSessionOrThrow(String appName, String userId, String sessionId) {
-    Maybe<Session> maybeSession =
-        sessionService.getSession(appName, userId, sessionId, Optional.empty());
-
-    Session session = maybeSession.blockingGet();
-
-    if (session == null) {
-      log.warn(
-          "Session not found for appName={}, userId={}, sessionId={}", appName, userId, sessionId);
-      throw new ResponseStatusException(
-          HttpStatus.NOT_FOUND,
-          String.format(
-              "Session not found: appName=%s, userId=%s, sessionId=%s",
-              appName, userId, sessionId));
-    }
-
-    if (!Objects.equals(session.appName(), appName) || !Objects.equals(session.userId(), userId)) {
-      log.warn(
-          "Session ID {} found but appName/userId mismatch (Expected: {}/{}, Found: {}/{}) -"
-              + " Treating as not found.",
-          sessionId,
-          appName,
-          userId,
-          session.appName(),
-          session.userId());
+  private Single<Session> findSession(String appName, String userId, String sessionId) {
+    return sessionService
+        .getSession(appName, userId, sessionId, Optional.empty())
+        .switchIfEmpty(
+            Single.error(
+                () -> {
+                  log.warn(
+                      "Session not found for appName={}, userId={}, sessionId={}",
+                      appName,
+                      userId,
+                      sessionId);
+                  return new ResponseStatusException(
+                      HttpStatus.NOT_FOUND,
+                      String.format(
+                          "Session not found: appName=%s, userId=%s, sessionId=%s",
+                          appName, userId, sessionId));
+                }))
+        .map(
+            session -> {
+              if (!Objects.equals(session.appName(), appName)
+                  || !Objects.equals(session.userId(), userId)) {
+                log.warn(
+                    "Session ID {} found but appName/userId mismatch (Expected: {}/{}, Found:"
+                        + " {}/{}) - Treating as not found.",
+                    sessionId,
+                    appName,
+                    userId,
+                    session.appName(),
+                    session.userId());
+
+                throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Session found but belongs to a different app/user.");
+              }
+              log.debug("Found session: {}", sessionId);
+              return session;
+            });
+  }
 
-      throw new ResponseStatusException(
-          HttpStatus.NOT_FOUND, "Session found but belongs to a different app/user.");
-    }
-    log.debug("Found session: {}", sessionId);
-    return session;
+  /**
+   * Creates a session through the session service, mapping failures to INTERNAL_SERVER_ERROR.
+   *
+   * @param sessionId The desired session ID, or null to let the service generate one.
+   */
+  private Single<Session> newSession(
+      String appName, String userId, Map<String, Object> initialState, String sessionId) {
+    return Single.defer(
+            () ->
+                sessionService.createSession(
+                    appName, userId, new ConcurrentHashMap<>(initialState), sessionId))
+        .doOnSuccess(
+            createdSession ->
+                log.info("Session created successfully with id: {}", createdSession.id()))
+        .onErrorResumeNext(
+            e -> {
+              log.error("Error creating session {} for user {}", sessionId, userId, e);
+              return Single.error(
+                  new ResponseStatusException(
+                      HttpStatus.INTERNAL_SERVER_ERROR, "Error creating session", e));
+            });
   }
 
   /**
@@ -113,10 +142,10 @@ public class SessionController {
    * @throws ResponseStatusException if the session is not found.
    */
   @GetMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}")
-  public Session getSession(
+  public CompletableFuture<Session> getSession(
       @PathVariable String appName, @PathVariable String userId, @PathVariable String sessionId) {
     log.info("Request received for GET /apps/{}/users/{}/sessions/{}", appName, userId, sessionId);
-    return findSessionOrThrow(appName, userId, sessionId);
+    return toFuture(findSession(appName, userId, sessionId));
   }
 
   /**
@@ -127,29 +156,32 @@ public class SessionController {
    * @return A list of sessions, excluding those used for evaluation.
    */
   @GetMapping("/apps/{appName}/users/{userId}/sessions")
-  public List<Session> listSessions(@PathVariable String appName, @PathVariable String userId) {
+  public CompletableFuture<List<Session>> listSessions(
+      @PathVariable String appName, @PathVariable String userId) {
     log.info("Request received for GET /apps/{}/users/{}/sessions", appName, userId);
 
-    Single<ListSessionsResponse> sessionsResponseSingle =
-        sessionService.listSessions(appName, userId);
-
-    ListSessionsResponse response = sessionsResponseSingle.blockingGet();
-    if (response == null || response.sessions() == null) {
-      log.warn(
-          "Received null response or null sessions list for listSessions({}, {})", appName, userId);
-      return Collections.emptyList();
-    }
-
-    List<Session> filteredSessions =
-        response.sessions().stream()
-            .filter(s -> !s.id().startsWith(EVAL_SESSION_ID_PREFIX))
-            .collect(toList());
-    log.info(
-        "Found {} non-evaluation sessions for app={}, user={}",
-        filteredSessions.size(),
-        appName,
-        userId);
-    return filteredSessions;
+    return toFuture(
+        sessionService
+            .listSessions(appName, userId)
+            .map(
+                response -> {
+                  if (response.sessions() == null) {
+                    log.warn(
+                        "Received null sessions list for listSessions({}, {})", appName, userId);
+                    return Collections.<Session>emptyList();
+                  }
+
+                  List<Session> filteredSessions =
+                      response.sessions().stream()
+                          .filter(s -> !s.id().startsWith(EVAL_SESSION_ID_PREFIX))
+                          .collect(toList());
+                  log.info(
+                      "Found {} non-evaluation sessions for app={}, user={}",
+                      filteredSessions.size(),
+                      appName,
+                      userId);
+                  return filteredSessions;
+                }));
   }
 
   /**
@@ -163,7 +195,7 @@ public class SessionController {
    *     if creation fails (INTERNAL_SERVER_ERROR).
    */
   @PostMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}")
-  public Session createSessionWithId(
+  public CompletableFuture<Session> createSessionWithId(
       @PathVariable String appName,
       @PathVariable String userId,
       @PathVariable String sessionId,
@@ -177,43 +209,26 @@ public class SessionController {
 
     Map<String, Object> initialState = (body != null) ? body.getState() : Collections.emptyMap();
 
-    try {
-      findSessionOrThrow(appName, userId, sessionId);
-
-      log.warn("Attempted to create session with existing ID: {}", sessionId);
-      throw new ResponseStatusException(
-          HttpStatus.BAD_REQUEST, "Session already exists: " + sessionId);
-    } catch (ResponseStatusException e) {
-
-      if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
-        throw e;
-      }
-
-      log.info("Session {} not found, proceeding with creation.", sessionId);
-    }
-
-    try {
-      Session createdSession =
-          sessionService
-              .createSession(appName, userId, new ConcurrentHashMap<>(initialState), sessionId)
-              .blockingGet();
-
-      if (createdSession == null) {
-
-        log.error(
-            "Session creation call completed without error but returned null session for {}",
-            sessionId);
-        throw new ResponseStatusException(
-            HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create session (null result)");
-      }
-      log.info("Session created successfully with id: {}", createdSession.id());
-      return createdSession;
-    } catch (Exception e) {
-      log.error("Error creating session with id {}", sessionId, e);
-
-      throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Error creating session", e);
-    }
+    return toFuture(
+        findSession(appName, userId, sessionId)
+            .map(Optional::of)
+            .onErrorResumeNext(
+                e ->
+                    e instanceof ResponseStatusException rse
+                            && rse.getStatusCode() == HttpStatus.NOT_FOUND
+                        ? Single.just(Optional.<Session>empty())
+                        : Single.error(e))
+            .flatMap(
+                existing -> {
+                  if (existing.isPresent()) {
+                    log.warn("Attempted to create session with existing ID: {}", sessionId);
+                    return Single.<Session>error(
+                        new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST, "Session already exists: " + sessionId));
+                  }
+                  log.info("Session {} not found, proceeding with creation.", sessionId);
+                  return newSession(appName, userId, initialState, sessionId);
+                }));
   }
 
   /**
@@ -225,7 +240,7 @@ public class SessionController {
    * @throws ResponseStatusException if creation fails (INTERNAL_SERVER_ERROR).
    */
   @PostMapping("/apps/{appName}/users/{userId}/sessions")
-  public Session createSession(
+  public CompletableFuture<Session> createSession(
       @PathVariable String appName,
       @PathVariable String userId,
       @RequestBody(required = false) SessionRequest body) {
@@ -237,27 +252,8 @@ public class SessionController {
         userId,
         body);
 
-    try {
-      Map<String, Object> initialState = (body != null) ? body.getState() : Collections.emptyMap();
-      Session createdSession =
-          sessionService
-              .createSession(appName, userId, new ConcurrentHashMap<>(initialState), null)
-              .blockingGet();
-
-      if (createdSession == null) {
-        log.error(
-            "Session creation call completed without error but returned null session for user {}",
-            userId);
-        throw new ResponseStatusException(
-            HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create session (null result)");
-      }
-      log.info("Session created successfully with generated id: {}", createdSession.id());
-      return createdSession;
-    } catch (Exception e) {
-      log.error("Error creating session for user {}", userId, e);
-      throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Error creating session", e);
-    }
+    Map<String, Object> initialState = (body != null) ? body.getState() : Collections.emptyMap();
+    return toFuture(newSession(appName, userId, initialState, null));
   }
 
   /**
@@ -270,21 +266,23 @@ public class SessionController {
    * @throws ResponseStatusException if deletion fails (INTERNAL_SERVER_ERROR).
    */
   @DeleteMapping("/apps/{appName}/users/{userId}/sessions/{sessionId}")
-  public ResponseEntity<Void> deleteSession(
+  public CompletableFuture<ResponseEntity<Void>> deleteSession(
       @PathVariable String appName, @PathVariable String userId, @PathVariable String sessionId) {
     log.info(
         "Request received for DELETE /apps/{}/users/{}/sessions/{}", appName, userId, sessionId);
-    try {
-
-      sessionService.deleteSession(appName, userId, sessionId).blockingAwait();
-      log.info("Session deleted successfully: {}", sessionId);
-      return ResponseEntity.noContent().build();
-    } catch (Exception e) {
-
-      log.error("Error deleting session {}", sessionId, e);
-
-      throw new ResponseStatusException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting session", e);
-    }
+    return toFuture(
+        Completable.defer(() -> sessionService.deleteSession(appName, userId, sessionId))
+            .<ResponseEntity<Void>>toSingle(
+                () -> {
+                  log.info("Session deleted successfully: {}", sessionId);
+                  return ResponseEntity.noContent().build();
+                })
+            .onErrorResumeNext(
+                e -> {
+                  log.error("Error deleting session {}", sessionId, e);
+                  return Single.error(
+                      new ResponseStatusException(
+                          HttpStatus.INTERNAL_SERVER_ERROR, "Error deleting session", e));
+                }));
   }
 }
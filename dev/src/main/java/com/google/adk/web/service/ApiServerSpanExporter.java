@@ -20,13 +20,21 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Deque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,69 +45,203 @@ import org.slf4j.LoggerFactory;
  * based: Stores all exported spans and maintains a mapping from `session_id` (extracted from
  * `call_llm` spans) to a list of `trace_id`s. This is used for retrieving all spans related to a
  * session.
+ *
+ * <p>The stored spans are bounded by the limits of {@link ApiServerSpanExporterConfig} (count, age
+ * and estimated size), oldest first, and indexed by session, trace and event ID. Exports are
+ * serialized with each other, but reads never wait for them: they go to concurrent indexes and see
+ * the store as of some recent export.
  */
 public class ApiServerSpanExporter implements SpanExporter {
   private static final Logger exporterLog = LoggerFactory.getLogger(ApiServerSpanExporter.class);
 
+  private static final AttributeKey<String> EVENT_ID_KEY =
+      AttributeKey.stringKey("gcp.vertex.agent.event_id");
+  private static final AttributeKey<String> SESSION_ID_KEY =
+      AttributeKey.stringKey("gcp.vertex.agent.session_id");
+
+  // Rough per-span cost of the span data, context and resource references, on top of the name and
+  // attributes, used to estimate the store's memory.
+  private static final long SPAN_OVERHEAD_BYTES = 256;
+
+  /** The limit that caused spans to be evicted from the store. */
+  public enum EvictionReason {
+    MAX_SPANS,
+    MAX_AGE,
+    MAX_BYTES
+  }
+
+  /** A stored span, with what the store needs to order, expire and account for it. */
+  private record StoredSpan(SpanData span, long sequence, long exportedAtMillis, long sizeBytes) {}
+
   private final ApiServerSpanExporterConfig config;
+  private final LongSupplier currentTimeMillis;
 
-  private final Map<String, Integer> eventIdRefCount = new HashMap<>();
-  private final Map<String, Map<String, Object>> eventIdTraceStorage = new HashMap<>();
+  // Serializes exports and shutdown. Reads never take it.
+  private final Object writeLock = new Object();
 
-  // Session ID -> Trace IDs -> Trace Object
-  private final Map<String, List<String>> sessionToTraceIdsMap = new HashMap<>();
+  // All stored spans, oldest first.
+  private final ConcurrentLinkedDeque<StoredSpan> allExportedSpans = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger retainedSpans = new AtomicInteger();
+  private final AtomicLong retainedBytes = new AtomicLong();
+  private long nextSequence; // Guarded by writeLock.
 
-  private final Deque<SpanData> allExportedSpans = new ArrayDeque<>();
+  private final Map<String, Integer> eventIdRefCount = new HashMap<>(); // Guarded by writeLock.
+  private final Map<String, Map<String, Object>> eventIdTraceStorage = new ConcurrentHashMap<>();
+
+  // Session ID -> Trace IDs. The lists are immutable and replaced on every change.
+  private final Map<String, List<String>> sessionToTraceIdsMap = new ConcurrentHashMap<>();
+
+  // Trace ID -> stored spans of the trace, oldest first.
+  private final Map<String, ConcurrentLinkedDeque<StoredSpan>> traceIdToSpans =
+      new ConcurrentHashMap<>();
+
+  private final Map<EvictionReason, LongAdder> evictedSpans = new EnumMap<>(EvictionReason.class);
 
   public ApiServerSpanExporter() {
     this(ApiServerSpanExporterConfig.builder().build());
   }
 
   public ApiServerSpanExporter(ApiServerSpanExporterConfig config) {
+    this(config, System::currentTimeMillis);
+  }
+
+  ApiServerSpanExporter(ApiServerSpanExporterConfig config, LongSupplier currentTimeMillis) {
     this.config = config;
+    this.currentTimeMillis = currentTimeMillis;
+    for (EvictionReason reason : EvictionReason.values()) {
+      evictedSpans.put(reason, new LongAdder());
+    }
   }
 
   public Map<String, Object> getEventTraceAttributes(String eventId) {
-    synchronized (allExportedSpans) {
-      return this.eventIdTraceStorage.get(eventId);
-    }
+    return this.eventIdTraceStorage.get(eventId);
   }
 
   public Map<String, List<String>> getSessionToTraceIdsMap() {
-    synchronized (allExportedSpans) {
-      return new HashMap<>(this.sessionToTraceIdsMap);
+    return new HashMap<>(this.sessionToTraceIdsMap);
+  }
+
+  /** Returns the IDs of the traces with a {@code call_llm} span of the session, if any. */
+  public List<String> getTraceIdsForSession(String sessionId) {
+    return sessionToTraceIdsMap.getOrDefault(sessionId, Collections.emptyList());
+  }
+
+  /**
+   * Returns the stored spans of all traces of the session, in export order. Only the session's
+   * traces are visited, not the whole store.
+   */
+  public List<SpanData> getSpansForSession(String sessionId) {
+    List<StoredSpan> stored = new ArrayList<>();
+    for (String traceId : new LinkedHashSet<>(getTraceIdsForSession(sessionId))) {
+      ConcurrentLinkedDeque<StoredSpan> traceSpans = traceIdToSpans.get(traceId);
+      if (traceSpans != null) {
+        stored.addAll(traceSpans);
+      }
     }
+    stored.sort(Comparator.comparingLong(StoredSpan::sequence));
+    List<SpanData> spans = new ArrayList<>(stored.size());
+    stored.forEach(s -> spans.add(s.span()));
+    return spans;
   }
 
   public List<SpanData> getAllExportedSpans() {
-    synchronized (allExportedSpans) {
-      return new ArrayList<>(this.allExportedSpans);
-    }
+    List<SpanData> spans = new ArrayList<>(retainedSpans.get());
+    allExportedSpans.forEach(s -> spans.add(s.span()));
+    return spans;
+  }
+
+  /** Returns the number of spans currently stored. */
+  public int getRetainedSpanCount() {
+    return retainedSpans.get();
+  }
+
+  /** Returns the estimated memory, in bytes, used by the spans currently stored. */
+  public long getRetainedBytes() {
+    return retainedBytes.get();
+  }
+
+  /** Returns how many spans have been evicted so far, by the limit that evicted them. */
+  public Map<EvictionReason, Long> getEvictionCounts() {
+    Map<EvictionReason, Long> counts = new EnumMap<>(EvictionReason.class);
+    evictedSpans.forEach((reason, count) -> counts.put(reason, count.sum()));
+    return counts;
   }
 
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
     exporterLog.debug("ApiServerSpanExporter received {} spans to export.", spans.size());
 
-    synchronized (allExportedSpans) {
+    synchronized (writeLock) {
+      long now = currentTimeMillis.getAsLong();
       for (SpanData span : spans) {
-        if (config.maxSpansToKeep().isPresent()
-            && allExportedSpans.size() >= config.maxSpansToKeep().get()) {
-          SpanData evicted = allExportedSpans.pollFirst();
-          if (evicted != null) {
-            handleEviction(evicted);
-          }
-        }
-        allExportedSpans.addLast(span);
-        handleAddition(span);
+        StoredSpan stored = new StoredSpan(span, nextSequence++, now, estimateSize(span));
+        allExportedSpans.addLast(stored);
+        retainedSpans.incrementAndGet();
+        retainedBytes.addAndGet(stored.sizeBytes());
+        handleAddition(stored);
+        evictOverLimits();
       }
+      config.maxSpanAge().ifPresent(maxAge -> evictExpired(now - maxAge.toMillis()));
     }
     return CompletableResultCode.ofSuccess();
   }
 
-  private void handleAddition(SpanData span) {
+  /** Evicts the oldest spans until the count and size limits hold, keeping the newest span. */
+  private void evictOverLimits() {
+    while (retainedSpans.get() > 1) {
+      if (config.maxSpansToKeep().isPresent()
+          && retainedSpans.get() > config.maxSpansToKeep().get()) {
+        evictOldest(EvictionReason.MAX_SPANS);
+      } else if (config.maxRetainedBytes().isPresent()
+          && retainedBytes.get() > config.maxRetainedBytes().get()) {
+        evictOldest(EvictionReason.MAX_BYTES);
+      } else {
+        return;
+      }
+    }
+  }
+
+  /** Evicts the spans exported before {@code cutoffMillis}. */
+  private void evictExpired(long cutoffMillis) {
+    StoredSpan oldest;
+    while ((oldest = allExportedSpans.peekFirst()) != null
+        && oldest.exportedAtMillis() < cutoffMillis) {
+      evictOldest(EvictionReason.MAX_AGE);
+    }
+  }
+
+  private void evictOldest(EvictionReason reason) {
+    StoredSpan evicted = allExportedSpans.pollFirst();
+    if (evicted == null) {
+      return;
+    }
+    retainedSpans.decrementAndGet();
+    retainedBytes.addAndGet(-evicted.sizeBytes());
+    evictedSpans.get(reason).increment();
+    exporterLog.trace("Evicted span {} ({}).", evicted.span().getName(), reason);
+    handleEviction(evicted);
+  }
+
+  private static long estimateSize(SpanData span) {
+    // Strings are counted at two bytes per character.
+    long[] size = {SPAN_OVERHEAD_BYTES};
+    if (span.getName() != null) {
+      size[0] += 2L * span.getName().length();
+    }
+    span.getAttributes()
+        .forEach(
+            (key, value) ->
+                size[0] += 2L * (key.getKey().length() + String.valueOf(value).length()));
+    return size[0];
+  }
+
+  private void handleAddition(StoredSpan stored) {
+    SpanData span = stored.span();
+    String traceId = span.getSpanContext().getTraceId();
+    traceIdToSpans.computeIfAbsent(traceId, k -> new ConcurrentLinkedDeque<>()).addLast(stored);
+
     String spanName = span.getName();
-    String eventId = span.getAttributes().get(AttributeKey.stringKey("gcp.vertex.agent.event_id"));
+    String eventId = span.getAttributes().get(EVENT_ID_KEY);
     boolean isEventTraceSpan =
         "call_llm".equals(spanName)
             || "send_data".equals(spanName)
@@ -123,11 +265,18 @@ public class ApiServerSpanExporter implements SpanExporter {
     }
 
     if ("call_llm".equals(spanName)) {
-      String sessionId =
-          span.getAttributes().get(AttributeKey.stringKey("gcp.vertex.agent.session_id"));
+      String sessionId = span.getAttributes().get(SESSION_ID_KEY);
       if (sessionId != null && !sessionId.isEmpty()) {
-        String traceId = span.getSpanContext().getTraceId();
-        sessionToTraceIdsMap.computeIfAbsent(sessionId, k -> new ArrayList<>()).add(traceId);
+        sessionToTraceIdsMap.compute(
+            sessionId,
+            (k, traceIds) -> {
+              List<String> updated = new ArrayList<>();
+              if (traceIds != null) {
+                updated.addAll(traceIds);
+              }
+              updated.add(traceId);
+              return Collections.unmodifiableList(updated);
+            });
         exporterLog.trace(
             "Associated trace_id {} with session_id {} for session tracing", traceId, sessionId);
       } else {
@@ -138,9 +287,20 @@ public class ApiServerSpanExporter implements SpanExporter {
     }
   }
 
-  private void handleEviction(SpanData span) {
+  private void handleEviction(StoredSpan stored) {
+    SpanData span = stored.span();
+    String traceId = span.getSpanContext().getTraceId();
+    ConcurrentLinkedDeque<StoredSpan> traceSpans = traceIdToSpans.get(traceId);
+    if (traceSpans != null) {
+      // The evicted span is the oldest one stored, so it is at the head of its trace.
+      traceSpans.removeFirstOccurrence(stored);
+      if (traceSpans.isEmpty()) {
+        traceIdToSpans.remove(traceId);
+      }
+    }
+
     String spanName = span.getName();
-    String eventId = span.getAttributes().get(AttributeKey.stringKey("gcp.vertex.agent.event_id"));
+    String eventId = span.getAttributes().get(EVENT_ID_KEY);
     if (eventId != null && !eventId.isEmpty()) {
       Integer count = eventIdRefCount.get(eventId);
       if (count != null) {
@@ -154,16 +314,15 @@ public class ApiServerSpanExporter implements SpanExporter {
     }
 
     if ("call_llm".equals(spanName)) {
-      String sessionId =
-          span.getAttributes().get(AttributeKey.stringKey("gcp.vertex.agent.session_id"));
+      String sessionId = span.getAttributes().get(SESSION_ID_KEY);
       if (sessionId != null && !sessionId.isEmpty()) {
-        List<String> traceIds = sessionToTraceIdsMap.get(sessionId);
-        if (traceIds != null) {
-          traceIds.remove(span.getSpanContext().getTraceId());
-          if (traceIds.isEmpty()) {
-            sessionToTraceIdsMap.remove(sessionId);
-          }
-        }
+        sessionToTraceIdsMap.computeIfPresent(
+            sessionId,
+            (k, traceIds) -> {
+              List<String> updated = new ArrayList<>(traceIds);
+              updated.remove(traceId);
+              return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+            });
       }
     }
   }
@@ -176,11 +335,14 @@ public class ApiServerSpanExporter implements SpanExporter {
   @Override
   public CompletableResultCode shutdown() {
     exporterLog.debug("Shutting down ApiServerSpanExporter.");
-    synchronized (allExportedSpans) {
+    synchronized (writeLock) {
       allExportedSpans.clear();
+      retainedSpans.set(0);
+      retainedBytes.set(0);
       eventIdRefCount.clear();
       eventIdTraceStorage.clear();
       sessionToTraceIdsMap.clear();
+      traceIdToSpans.clear();
     }
     return CompletableResultCode.ofSuccess();
   }
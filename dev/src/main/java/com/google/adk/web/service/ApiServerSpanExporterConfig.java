@@ -17,6 +17,7 @@
 package com.google.adk.web.service;
 
 import com.google.auto.value.AutoValue;
+import java.time.Duration;
 import java.util.Optional;
 
 /** Configuration for {@link ApiServerSpanExporter}. */
@@ -31,6 +32,22 @@ public abstract class ApiServerSpanExporterConfig {
    */
   public abstract Optional<Integer> maxSpansToKeep();
 
+  /**
+   * How long a span is kept after it was exported. Expired spans are evicted on the next export. If
+   * empty, spans are never evicted because of their age.
+   *
+   * <p>When set, the duration must be positive.
+   */
+  public abstract Optional<Duration> maxSpanAge();
+
+  /**
+   * The maximum estimated memory, in bytes, used by the kept spans. When exceeded, the oldest spans
+   * are evicted (FIFO); the most recent span is always kept. If empty, no limit is enforced.
+   *
+   * <p>When set, the value must be a positive number.
+   */
+  public abstract Optional<Long> maxRetainedBytes();
+
   public static Builder builder() {
     return new AutoValue_ApiServerSpanExporterConfig.Builder();
   }
@@ -40,6 +57,10 @@ public abstract class ApiServerSpanExporterConfig {
   public abstract static class Builder {
     public abstract Builder maxSpansToKeep(Optional<Integer> maxSpansToKeep);
 
+    public abstract Builder maxSpanAge(Optional<Duration> maxSpanAge);
+
+    public abstract Builder maxRetainedBytes(Optional<Long> maxRetainedBytes);
+
     abstract ApiServerSpanExporterConfig autoBuild();
 
     public final ApiServerSpanExporterConfig build() {
@@ -53,6 +74,24 @@ public abstract class ApiServerSpanExporterConfig {
                       "maxSpansToKeep must be >= 1 when set, got: " + max);
                 }
               });
+      config
+          .maxSpanAge()
+          .ifPresent(
+              age -> {
+                if (age.isNegative() || age.isZero()) {
+                  throw new IllegalArgumentException(
+                      "maxSpanAge must be positive when set, got: " + age);
+                }
+              });
+      config
+          .maxRetainedBytes()
+          .ifPresent(
+              max -> {
+                if (max < 1) {
+                  throw new IllegalArgumentException(
+                      "maxRetainedBytes must be >= 1 when set, got: " + max);
+                }
+              });
       return config;
     }
   }
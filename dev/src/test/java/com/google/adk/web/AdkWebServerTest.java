@@ -16,6 +16,7 @@
 
 package com.google.adk.web;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -30,6 +31,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 /**
  * Integration tests for the {@link AdkWebServer}.
@@ -46,6 +50,13 @@ public class AdkWebServerTest {
 
   @Autowired private MockMvc mockMvc;
 
+  /** Performs a request served asynchronously, and returns the result of its async dispatch. */
+  private ResultActions performAsync(RequestBuilder request) throws Exception {
+    var result =
+        mockMvc.perform(request).andExpect(MockMvcResultMatchers.request().asyncStarted());
+    return mockMvc.perform(asyncDispatch(result.andReturn()));
+  }
+
   @Test
   public void listApps_shouldReturnOkAndEmptyList() throws Exception {
     mockMvc.perform(get("/list-apps")).andExpect(status().isOk()).andExpect(content().json("[]"));
@@ -54,8 +65,7 @@ public class AdkWebServerTest {
   @Test
   public void createSession_shouldReturnCreated() throws Exception {
     var result =
-        mockMvc
-            .perform(
+        performAsync(
                 post("/apps/test-app/users/test-user/sessions")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content("{}"))
@@ -72,8 +82,7 @@ public class AdkWebServerTest {
   @Test
   public void createSessionWithId_shouldReturnCreated() throws Exception {
     try {
-      mockMvc
-          .perform(
+      performAsync(
               post("/apps/test-app/users/test-user/sessions/test-session")
                   .contentType(MediaType.APPLICATION_JSON)
                   .content("{}"))
@@ -93,8 +102,7 @@ public class AdkWebServerTest {
             .contentType(MediaType.APPLICATION_JSON)
             .content("{}"));
 
-    mockMvc
-        .perform(delete("/apps/test-app/users/test-user/sessions/test-session-to-delete"))
+    performAsync(delete("/apps/test-app/users/test-user/sessions/test-session-to-delete"))
         .andExpect(status().isNoContent());
   }
 
@@ -106,8 +114,7 @@ public class AdkWebServerTest {
             .content("{}"));
 
     try {
-      mockMvc
-          .perform(get("/apps/test-app/users/test-user/sessions/test-session"))
+      performAsync(get("/apps/test-app/users/test-user/sessions/test-session"))
           .andExpect(status().isOk())
           .andExpect(jsonPath("$.appName", Matchers.is("test-app")))
           .andExpect(jsonPath("$.userId", Matchers.is("test-user")))
@@ -128,8 +135,7 @@ public class AdkWebServerTest {
             .contentType(MediaType.APPLICATION_JSON)
             .content("{}"));
 
-    mockMvc
-        .perform(get("/apps/test-app/users/test-user/sessions"))
+    performAsync(get("/apps/test-app/users/test-user/sessions"))
         .andExpect(status().isOk())
         .andExpect(
             jsonPath(
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.adk.web.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.adk.events.Event;
+import com.google.adk.runner.Runner;
+import com.google.adk.web.dto.AgentRunRequest;
+import com.google.adk.web.service.RunnerService;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+class ExecutionControllerTest {
+
+  // Tomcat's default maximum number of request threads.
+  private static final int SERVLET_THREAD_POOL_SIZE = 200;
+
+  private final RunnerService runnerService = mock(RunnerService.class);
+  private final Runner runner = mock(Runner.class);
+  private final ExecutionController controller = new ExecutionController(runnerService);
+
+  private static AgentRunRequest runRequest(String sessionId) {
+    AgentRunRequest request = new AgentRunRequest();
+    request.appName = "test-app";
+    request.userId = "test-user";
+    request.sessionId = sessionId;
+    request.newMessage = Content.fromParts(Part.fromText("hello"));
+    return request;
+  }
+
+  @Test
+  void agentRun_concurrentRunsBeyondServletThreadPool_areServedFromOneThread() throws Exception {
+    when(runnerService.getRunner("test-app")).thenReturn(runner);
+    PublishProcessor<Event> agentOutput = PublishProcessor.create();
+    AtomicInteger startedRuns = new AtomicInteger();
+    when(runner.runAsync(any(), any(), any(), any(), any()))
+        .thenReturn(agentOutput.doOnSubscribe(s -> startedRuns.incrementAndGet()));
+
+    // Start several times as many runs as there are servlet threads, all from this one thread. A
+    // blocking controller could not return from the first call until its run had finished.
+    int runs = 3 * SERVLET_THREAD_POOL_SIZE;
+    List<CompletableFuture<List<Event>>> responses = new ArrayList<>();
+    for (int i = 0; i < runs; i++) {
+      responses.add(controller.agentRun(runRequest("session-" + i)));
+    }
+    assertTrue(responses.stream().noneMatch(CompletableFuture::isDone));
+    assertEquals(runs, startedRuns.get());
+
+    Event event = Event.builder().id("event-1").author("test-agent").build();
+    agentOutput.onNext(event);
+    agentOutput.onComplete();
+
+    for (CompletableFuture<List<Event>> response : responses) {
+      assertEquals(List.of(event), response.get());
+    }
+  }
+
+  @Test
+  void agentRun_cancelledResponse_disposesRun() {
+    when(runnerService.getRunner("test-app")).thenReturn(runner);
+    PublishProcessor<Event> agentOutput = PublishProcessor.create();
+    when(runner.runAsync(any(), any(), any(), any(), any())).thenReturn(agentOutput);
+
+    CompletableFuture<List<Event>> response = controller.agentRun(runRequest("session"));
+    response.cancel(false);
+
+    assertFalse(agentOutput.hasSubscribers());
+  }
+
+  @Test
+  void agentRun_failedRun_completesWithInternalServerError() {
+    when(runnerService.getRunner("test-app")).thenReturn(runner);
+    when(runner.runAsync(any(), any(), any(), any(), any()))
+        .thenReturn(Flowable.error(new IllegalStateException("boom")));
+
+    CompletableFuture<List<Event>> response = controller.agentRun(runRequest("session"));
+
+    ExecutionException e = assertThrows(ExecutionException.class, response::get);
+    ResponseStatusException cause = assertInstanceOf(ResponseStatusException.class, e.getCause());
+    assertEquals(500, cause.getStatusCode().value());
+  }
+
+  @Test
+  void agentRun_missingSessionId_isRejected() {
+    AgentRunRequest request = runRequest(" ");
+
+    ResponseStatusException e =
+        assertThrows(ResponseStatusException.class, () -> controller.agentRun(request));
+    assertEquals(400, e.getStatusCode().value());
+  }
+}
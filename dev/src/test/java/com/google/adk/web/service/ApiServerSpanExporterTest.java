@@ -29,6 +29,7 @@ import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,10 @@ class ApiServerSpanExporterTest {
   }
 
   private SpanData mockSpan(String name, String eventId, String sessionId) {
+    return mockSpan(name, eventId, sessionId, null);
+  }
+
+  private SpanData mockSpan(String name, String eventId, String sessionId, String traceId) {
     SpanData span = mock(SpanData.class);
     Attributes attrs = mock(Attributes.class);
     SpanContext spanContext = mock(SpanContext.class);
@@ -53,7 +58,7 @@ class ApiServerSpanExporterTest {
     when(span.getName()).thenReturn(name);
     when(span.getAttributes()).thenReturn(attrs);
     when(span.getSpanContext()).thenReturn(spanContext);
-    when(spanContext.getTraceId()).thenReturn("trace-" + id);
+    when(spanContext.getTraceId()).thenReturn(traceId != null ? traceId : "trace-" + id);
     when(spanContext.getSpanId()).thenReturn("span-" + id);
 
     when(attrs.get(any()))
@@ -181,6 +186,95 @@ class ApiServerSpanExporterTest {
         () -> ApiServerSpanExporterConfig.builder().maxSpansToKeep(Optional.of(-1)).build());
   }
 
+  @Test
+  void configBuilder_shouldRejectNonPositiveAgeAndBytes() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ApiServerSpanExporterConfig.builder().maxSpanAge(Optional.of(Duration.ZERO)).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ApiServerSpanExporterConfig.builder().maxRetainedBytes(Optional.of(0L)).build());
+  }
+
+  @Test
+  void export_shouldEvictSpansOlderThanMaxAge() {
+    AtomicLong now = new AtomicLong(0);
+    ApiServerSpanExporter exporter =
+        new ApiServerSpanExporter(
+            ApiServerSpanExporterConfig.builder()
+                .maxSpanAge(Optional.of(Duration.ofMinutes(1)))
+                .build(),
+            now::get);
+    exporter.export(List.of(mockSpan("call_llm", "old-event", "session1"), mockSpan()));
+
+    now.set(Duration.ofSeconds(90).toMillis());
+    SpanData recent = mockSpan();
+    exporter.export(Collections.singletonList(recent));
+
+    assertEquals(List.of(recent), exporter.getAllExportedSpans());
+    assertNull(exporter.getEventTraceAttributes("old-event"));
+    assertTrue(exporter.getSessionToTraceIdsMap().isEmpty());
+    assertEquals(
+        2L, exporter.getEvictionCounts().get(ApiServerSpanExporter.EvictionReason.MAX_AGE));
+  }
+
+  @Test
+  void export_shouldStayUnderMaxRetainedBytes() {
+    ApiServerSpanExporter exporter =
+        new ApiServerSpanExporter(
+            ApiServerSpanExporterConfig.builder().maxRetainedBytes(Optional.of(1000L)).build());
+
+    for (int i = 0; i < 10; i++) {
+      exporter.export(Collections.singletonList(mockSpan()));
+    }
+
+    assertTrue(exporter.getRetainedBytes() <= 1000);
+    assertEquals(exporter.getRetainedSpanCount(), exporter.getAllExportedSpans().size());
+    assertEquals(
+        10L - exporter.getRetainedSpanCount(),
+        exporter.getEvictionCounts().get(ApiServerSpanExporter.EvictionReason.MAX_BYTES));
+  }
+
+  @Test
+  void export_spanOverMaxRetainedBytes_isStillKept() {
+    ApiServerSpanExporter exporter =
+        new ApiServerSpanExporter(
+            ApiServerSpanExporterConfig.builder().maxRetainedBytes(Optional.of(1L)).build());
+    exporter.export(Collections.singletonList(mockSpan()));
+    SpanData latest = mockSpan();
+    exporter.export(Collections.singletonList(latest));
+
+    assertEquals(List.of(latest), exporter.getAllExportedSpans());
+  }
+
+  @Test
+  void getSpansForSession_shouldReturnSpansOfSessionTracesInExportOrder() {
+    ApiServerSpanExporter exporter = new ApiServerSpanExporter();
+    SpanData tool = mockSpan("tool_response", null, null, "trace-a");
+    SpanData callLlm = mockSpan("call_llm", null, "session1", "trace-a");
+    SpanData otherSession = mockSpan("call_llm", null, "session2", "trace-b");
+    SpanData secondCall = mockSpan("call_llm", null, "session1", "trace-c");
+    exporter.export(List.of(tool, callLlm, otherSession, secondCall));
+
+    assertEquals(List.of(tool, callLlm, secondCall), exporter.getSpansForSession("session1"));
+    assertEquals(List.of("trace-a", "trace-c"), exporter.getTraceIdsForSession("session1"));
+    assertTrue(exporter.getSpansForSession("unknown").isEmpty());
+  }
+
+  @Test
+  void getSpansForSession_shouldNotReturnEvictedSpans() {
+    ApiServerSpanExporter exporter =
+        new ApiServerSpanExporter(
+            ApiServerSpanExporterConfig.builder().maxSpansToKeep(Optional.of(2)).build());
+    SpanData tool = mockSpan("tool_response", null, null, "trace-a");
+    SpanData callLlm = mockSpan("call_llm", null, "session1", "trace-a");
+    exporter.export(List.of(tool, callLlm, mockSpan()));
+
+    assertEquals(List.of(callLlm), exporter.getSpansForSession("session1"));
+    assertEquals(
+        1L, exporter.getEvictionCounts().get(ApiServerSpanExporter.EvictionReason.MAX_SPANS));
+  }
+
   @Test
   void shutdown_shouldClearStorage() {
     ApiServerSpanExporter exporter =
@@ -194,6 +288,8 @@ class ApiServerSpanExporterTest {
 
     assertTrue(exporter.getAllExportedSpans().isEmpty());
     assertTrue(exporter.getSessionToTraceIdsMap().isEmpty());
+    assertEquals(0, exporter.getRetainedSpanCount());
+    assertEquals(0, exporter.getRetainedBytes());
     // eventIdTraceStorage is private but we can infer it should be cleared if we had access or
     // tests for it
   }